@@ -0,0 +1,15 @@
+-- Fraud rules scored by the point service, reloaded without a restart.
+-- fraud.rules scores every earn; fraud.rules.candidate, when not blank, is scored alongside it
+-- without affecting earns so a change can be compared before it goes live.
+INSERT INTO system_config (config_key, config_value, config_type, description)
+VALUES
+    ('fraud.rules',
+'rule "High transaction velocity" when velocity(10m) > 5 score 0.3
+rule "Unusual transaction time" when time between 01:00 and 06:00 score 0.2
+rule "Large point amount" when points > 10000 score 0.3
+rule "New device" when new_device score 0.3
+block when score > 0.8
+verify when score > 0.5',
+     'STRING', 'Fraud rules scoring every earn'),
+    ('fraud.rules.candidate', '', 'STRING', 'Candidate fraud rules scored in shadow; blank to disable')
+ON CONFLICT (config_key) DO NOTHING;
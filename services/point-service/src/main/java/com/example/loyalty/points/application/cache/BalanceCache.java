@@ -0,0 +1,27 @@
+package com.example.loyalty.points.application.cache;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port for caching committed point balances in front of the database
+ */
+public interface BalanceCache {
+
+    /**
+     * Cached balance for the user, if any
+     */
+    Optional<PointBalance> get(UUID userId);
+
+    /**
+     * Store a committed balance. An entry is only replaced by a balance with the
+     * same or a newer version, so out-of-order writes cannot roll the cache back.
+     */
+    void put(PointBalance balance);
+
+    /**
+     * Drop the user's balance from every cache level
+     */
+    void evict(UUID userId);
+}
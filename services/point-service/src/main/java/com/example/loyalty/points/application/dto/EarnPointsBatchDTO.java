@@ -0,0 +1,152 @@
+package com.example.loyalty.points.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Data Transfer Objects for batch Earn Points operations
+ */
+public class EarnPointsBatchDTO {
+
+    public static class Request {
+        @NotEmpty
+        private List<EarnPointsDTO.Request> items = new ArrayList<>();
+
+        // Constructors
+        public Request() {}
+
+        public Request(List<EarnPointsDTO.Request> items) {
+            this.items = items;
+        }
+
+        // Getters and Setters
+        public List<EarnPointsDTO.Request> getItems() { return items; }
+        public void setItems(List<EarnPointsDTO.Request> items) { this.items = items; }
+    }
+
+    public static class ItemResult {
+        public static final String POSTED = "POSTED";
+        public static final String REJECTED = "REJECTED";
+        public static final String DUPLICATE = "DUPLICATE";
+
+        private int index;
+        private UUID referenceId;
+        private UUID userId;
+        private String status;
+        private String transactionId;
+        private long pointsEarned;
+        private long newBalance;
+        private String error;
+
+        // Constructors
+        public ItemResult() {}
+
+        public static ItemResult posted(int index, EarnPointsDTO.Request request, EarnPointsDTO.Response response) {
+            ItemResult result = new ItemResult();
+            result.index = index;
+            result.referenceId = request.getReferenceId();
+            result.userId = request.getUserId();
+            result.status = POSTED;
+            result.transactionId = response.getTransactionId();
+            result.pointsEarned = response.getPointsEarned();
+            result.newBalance = response.getNewBalance();
+            return result;
+        }
+
+        /**
+         * Item whose referenceId was already posted; carries the original result
+         */
+        public static ItemResult duplicate(int index, EarnPointsDTO.Request request, EarnPointsDTO.Response original) {
+            ItemResult result = posted(index, request, original);
+            result.status = DUPLICATE;
+            return result;
+        }
+
+        public static ItemResult rejected(int index, EarnPointsDTO.Request request, String error) {
+            ItemResult result = new ItemResult();
+            result.index = index;
+            if (request != null) {
+                result.referenceId = request.getReferenceId();
+                result.userId = request.getUserId();
+            }
+            result.status = REJECTED;
+            result.error = error;
+            return result;
+        }
+
+        @JsonIgnore
+        public boolean isPosted() { return POSTED.equals(status); }
+
+        @JsonIgnore
+        public boolean isDuplicate() { return DUPLICATE.equals(status); }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public UUID getReferenceId() { return referenceId; }
+        public void setReferenceId(UUID referenceId) { this.referenceId = referenceId; }
+
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+        public long getPointsEarned() { return pointsEarned; }
+        public void setPointsEarned(long pointsEarned) { this.pointsEarned = pointsEarned; }
+
+        public long getNewBalance() { return newBalance; }
+        public void setNewBalance(long newBalance) { this.newBalance = newBalance; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+
+    public static class Response {
+        private int total;
+        private int posted;
+        private int rejected;
+        private int duplicates;
+        private List<ItemResult> results;
+
+        // Constructors
+        public Response() {}
+
+        public Response(List<ItemResult> results) {
+            this.results = results;
+            this.total = results.size();
+            for (ItemResult result : results) {
+                if (result.isPosted()) {
+                    posted++;
+                } else if (result.isDuplicate()) {
+                    duplicates++;
+                } else {
+                    rejected++;
+                }
+            }
+        }
+
+        // Getters and Setters
+        public int getTotal() { return total; }
+        public void setTotal(int total) { this.total = total; }
+
+        public int getPosted() { return posted; }
+        public void setPosted(int posted) { this.posted = posted; }
+
+        public int getRejected() { return rejected; }
+        public void setRejected(int rejected) { this.rejected = rejected; }
+
+        public int getDuplicates() { return duplicates; }
+        public void setDuplicates(int duplicates) { this.duplicates = duplicates; }
+
+        public List<ItemResult> getResults() { return results; }
+        public void setResults(List<ItemResult> results) { this.results = results; }
+    }
+}
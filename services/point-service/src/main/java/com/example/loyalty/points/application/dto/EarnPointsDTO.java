@@ -24,10 +24,19 @@ public class EarnPointsDTO {
         
         private UUID referenceId;
         
+        /** Ignored: the point service evaluates the tier from the user's spending */
         private String userTier;
         
         private BigDecimal bonusMultiplier;
 
+        /** Registered partner the transaction came from, selects its rule set and budget */
+        private String partnerId;
+
+        /** Client device, used by fraud screening to spot earns from devices new to the user */
+        private String deviceFingerprint;
+
+        private String ipAddress;
+
         // Constructors
         public Request() {}
         
@@ -58,6 +67,15 @@ public class EarnPointsDTO {
         
         public BigDecimal getBonusMultiplier() { return bonusMultiplier; }
         public void setBonusMultiplier(BigDecimal bonusMultiplier) { this.bonusMultiplier = bonusMultiplier; }
+        
+        public String getPartnerId() { return partnerId; }
+        public void setPartnerId(String partnerId) { this.partnerId = partnerId; }
+        
+        public String getDeviceFingerprint() { return deviceFingerprint; }
+        public void setDeviceFingerprint(String deviceFingerprint) { this.deviceFingerprint = deviceFingerprint; }
+        
+        public String getIpAddress() { return ipAddress; }
+        public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
     }
     
     public static class Response {
@@ -68,6 +86,7 @@ public class EarnPointsDTO {
         private String message;
         private String earningType;
         private BigDecimal transactionAmount;
+        private String userTier;
 
         // Constructors
         public Response() {}
@@ -101,5 +120,8 @@ public class EarnPointsDTO {
         
         public BigDecimal getTransactionAmount() { return transactionAmount; }
         public void setTransactionAmount(BigDecimal transactionAmount) { this.transactionAmount = transactionAmount; }
+        
+        public String getUserTier() { return userTier; }
+        public void setUserTier(String userTier) { this.userTier = userTier; }
     }
 }
\ No newline at end of file
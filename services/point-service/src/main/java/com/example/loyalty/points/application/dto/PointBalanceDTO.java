@@ -53,4 +53,41 @@ public class PointBalanceDTO {
         public LocalDateTime getLastUpdated() { return lastUpdated; }
         public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
     }
-}
\ No newline at end of file
+
+    /**
+     * Balance as of a point in time, derived from the ledger. Holds are not part of the ledger,
+     * so only the total is known, not how much of it was available or pending.
+     */
+    public static class AtTime {
+        private UUID userId;
+        private LocalDateTime at;
+        private long totalPoints;
+        private long lifetimeEarned;
+        private long lifetimeSpent;
+
+        public AtTime() {}
+
+        public AtTime(UUID userId, LocalDateTime at, long totalPoints, long lifetimeEarned, long lifetimeSpent) {
+            this.userId = userId;
+            this.at = at;
+            this.totalPoints = totalPoints;
+            this.lifetimeEarned = lifetimeEarned;
+            this.lifetimeSpent = lifetimeSpent;
+        }
+
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public LocalDateTime getAt() { return at; }
+        public void setAt(LocalDateTime at) { this.at = at; }
+
+        public long getTotalPoints() { return totalPoints; }
+        public void setTotalPoints(long totalPoints) { this.totalPoints = totalPoints; }
+
+        public long getLifetimeEarned() { return lifetimeEarned; }
+        public void setLifetimeEarned(long lifetimeEarned) { this.lifetimeEarned = lifetimeEarned; }
+
+        public long getLifetimeSpent() { return lifetimeSpent; }
+        public void setLifetimeSpent(long lifetimeSpent) { this.lifetimeSpent = lifetimeSpent; }
+    }
+}
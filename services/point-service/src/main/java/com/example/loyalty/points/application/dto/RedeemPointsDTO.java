@@ -0,0 +1,140 @@
+package com.example.loyalty.points.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Data Transfer Objects for Redeem Points operations
+ */
+public class RedeemPointsDTO {
+
+    public static class Request {
+        @NotNull
+        private UUID userId;
+
+        @NotNull
+        @Positive
+        private Long points;
+
+        private UUID referenceId;
+
+        private String description;
+
+        // Constructors
+        public Request() {}
+
+        public Request(UUID userId, Long points, UUID referenceId) {
+            this.userId = userId;
+            this.points = points;
+            this.referenceId = referenceId;
+        }
+
+        // Getters and Setters
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public Long getPoints() { return points; }
+        public void setPoints(Long points) { this.points = points; }
+
+        public UUID getReferenceId() { return referenceId; }
+        public void setReferenceId(UUID referenceId) { this.referenceId = referenceId; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+    }
+
+    /**
+     * State of a hold after it was reserved or released
+     */
+    public static class HoldResponse {
+        private UUID holdId;
+        private UUID userId;
+        private long points;
+        private String status;
+        private long availablePoints;
+        private long pendingPoints;
+        private LocalDateTime expiresAt;
+
+        // Constructors
+        public HoldResponse() {}
+
+        public HoldResponse(UUID holdId, UUID userId, long points, String status,
+                            long availablePoints, long pendingPoints, LocalDateTime expiresAt) {
+            this.holdId = holdId;
+            this.userId = userId;
+            this.points = points;
+            this.status = status;
+            this.availablePoints = availablePoints;
+            this.pendingPoints = pendingPoints;
+            this.expiresAt = expiresAt;
+        }
+
+        // Getters and Setters
+        public UUID getHoldId() { return holdId; }
+        public void setHoldId(UUID holdId) { this.holdId = holdId; }
+
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public long getPoints() { return points; }
+        public void setPoints(long points) { this.points = points; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public long getAvailablePoints() { return availablePoints; }
+        public void setAvailablePoints(long availablePoints) { this.availablePoints = availablePoints; }
+
+        public long getPendingPoints() { return pendingPoints; }
+        public void setPendingPoints(long pendingPoints) { this.pendingPoints = pendingPoints; }
+
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+        public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    }
+
+    /**
+     * Result of a confirmed redemption
+     */
+    public static class Response {
+        private String transactionId;
+        private UUID holdId;
+        private UUID userId;
+        private long pointsRedeemed;
+        private long newBalance;
+        private String message;
+
+        // Constructors
+        public Response() {}
+
+        public Response(String transactionId, UUID holdId, UUID userId, long pointsRedeemed,
+                        long newBalance, String message) {
+            this.transactionId = transactionId;
+            this.holdId = holdId;
+            this.userId = userId;
+            this.pointsRedeemed = pointsRedeemed;
+            this.newBalance = newBalance;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+        public UUID getHoldId() { return holdId; }
+        public void setHoldId(UUID holdId) { this.holdId = holdId; }
+
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public long getPointsRedeemed() { return pointsRedeemed; }
+        public void setPointsRedeemed(long pointsRedeemed) { this.pointsRedeemed = pointsRedeemed; }
+
+        public long getNewBalance() { return newBalance; }
+        public void setNewBalance(long newBalance) { this.newBalance = newBalance; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.loyalty.points.application.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Data Transfer Objects for tier operations
+ */
+public class TierDTO {
+
+    public static class Response {
+        private UUID userId;
+        private String tier;
+        private BigDecimal multiplier;
+        private BigDecimal rollingSpend;
+        private String nextTier;
+        private BigDecimal spendToNextTier;
+
+        // Constructors
+        public Response() {}
+
+        public Response(UUID userId, String tier, BigDecimal multiplier, BigDecimal rollingSpend,
+                        String nextTier, BigDecimal spendToNextTier) {
+            this.userId = userId;
+            this.tier = tier;
+            this.multiplier = multiplier;
+            this.rollingSpend = rollingSpend;
+            this.nextTier = nextTier;
+            this.spendToNextTier = spendToNextTier;
+        }
+
+        // Getters and Setters
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public String getTier() { return tier; }
+        public void setTier(String tier) { this.tier = tier; }
+
+        public BigDecimal getMultiplier() { return multiplier; }
+        public void setMultiplier(BigDecimal multiplier) { this.multiplier = multiplier; }
+
+        public BigDecimal getRollingSpend() { return rollingSpend; }
+        public void setRollingSpend(BigDecimal rollingSpend) { this.rollingSpend = rollingSpend; }
+
+        public String getNextTier() { return nextTier; }
+        public void setNextTier(String nextTier) { this.nextTier = nextTier; }
+
+        public BigDecimal getSpendToNextTier() { return spendToNextTier; }
+        public void setSpendToNextTier(BigDecimal spendToNextTier) { this.spendToNextTier = spendToNextTier; }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.loyalty.points.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Objects for transaction history operations
+ */
+public class TransactionHistoryDTO {
+
+    public static class Item {
+        private UUID transactionId;
+        private String transactionType;
+        private long points;
+        private long balanceAfter;
+        private String source;
+        private UUID sourceId;
+        private String description;
+        private String status;
+        private LocalDateTime createdAt;
+
+        // Constructors
+        public Item() {}
+
+        public Item(UUID transactionId, String transactionType, long points, long balanceAfter, String source,
+                    UUID sourceId, String description, String status, LocalDateTime createdAt) {
+            this.transactionId = transactionId;
+            this.transactionType = transactionType;
+            this.points = points;
+            this.balanceAfter = balanceAfter;
+            this.source = source;
+            this.sourceId = sourceId;
+            this.description = description;
+            this.status = status;
+            this.createdAt = createdAt;
+        }
+
+        // Getters and Setters
+        public UUID getTransactionId() { return transactionId; }
+        public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+
+        public String getTransactionType() { return transactionType; }
+        public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+
+        public long getPoints() { return points; }
+        public void setPoints(long points) { this.points = points; }
+
+        public long getBalanceAfter() { return balanceAfter; }
+        public void setBalanceAfter(long balanceAfter) { this.balanceAfter = balanceAfter; }
+
+        public String getSource() { return source; }
+        public void setSource(String source) { this.source = source; }
+
+        public UUID getSourceId() { return sourceId; }
+        public void setSourceId(UUID sourceId) { this.sourceId = sourceId; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    }
+
+    public static class Page {
+        private List<Item> items;
+        private String nextCursor;
+        private boolean hasMore;
+
+        // Constructors
+        public Page() {}
+
+        public Page(List<Item> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.hasMore = nextCursor != null;
+        }
+
+        // Getters and Setters
+        public List<Item> getItems() { return items; }
+        public void setItems(List<Item> items) { this.items = items; }
+
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+        public boolean isHasMore() { return hasMore; }
+        public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    }
+}
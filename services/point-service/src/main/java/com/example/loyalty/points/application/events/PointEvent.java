@@ -0,0 +1,82 @@
+package com.example.loyalty.points.application.events;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event payload sent to downstream consumers (tier, notification) when a ledger entry is posted
+ */
+public class PointEvent {
+
+    public enum Type {
+        POINTS_EARNED,
+        POINTS_SPENT,
+        POINTS_EXPIRED,
+        REFERRAL_POINTS_EARNED;
+
+        public static Type of(PointTransaction transaction) {
+            TransactionType transactionType = transaction.getTransactionType();
+            if (transactionType == TransactionType.SPEND) {
+                return POINTS_SPENT;
+            }
+            if (transactionType == TransactionType.EXPIRE) {
+                return POINTS_EXPIRED;
+            }
+            if (transactionType == TransactionType.REFERRAL || "REFERRAL".equalsIgnoreCase(transaction.getSource())) {
+                return REFERRAL_POINTS_EARNED;
+            }
+            return POINTS_EARNED;
+        }
+    }
+
+    private final UUID eventId;
+    private final Type eventType;
+    private final UUID transactionId;
+    private final UUID userId;
+    private final String transactionType;
+    private final long points;
+    private final long newBalance;
+    private final long availableBalance;
+    private final long lifetimeEarned;
+    private final int balanceVersion;
+    private final String source;
+    private final UUID sourceId;
+    private final LocalDateTime timestamp;
+
+    private PointEvent(Type eventType, PointTransaction transaction, PointBalance balance) {
+        this.eventId = UUID.randomUUID();
+        this.eventType = eventType;
+        this.transactionId = transaction.getId();
+        this.userId = transaction.getUserId();
+        this.transactionType = transaction.getTransactionType().name();
+        this.points = transaction.getPointsAmount().longValue();
+        this.newBalance = balance.getTotalPoints().longValue();
+        this.availableBalance = balance.getAvailablePoints().longValue();
+        this.lifetimeEarned = balance.getLifetimeEarned().longValue();
+        this.balanceVersion = balance.getVersion();
+        this.source = transaction.getSource();
+        this.sourceId = transaction.getSourceId();
+        this.timestamp = transaction.getProcessedAt() != null ? transaction.getProcessedAt() : LocalDateTime.now();
+    }
+
+    public static PointEvent of(Type eventType, PointTransaction transaction, PointBalance balance) {
+        return new PointEvent(eventType, transaction, balance);
+    }
+
+    public UUID getEventId() { return eventId; }
+    public Type getEventType() { return eventType; }
+    public UUID getTransactionId() { return transactionId; }
+    public UUID getUserId() { return userId; }
+    public String getTransactionType() { return transactionType; }
+    public long getPoints() { return points; }
+    public long getNewBalance() { return newBalance; }
+    public long getAvailableBalance() { return availableBalance; }
+    public long getLifetimeEarned() { return lifetimeEarned; }
+    public int getBalanceVersion() { return balanceVersion; }
+    public String getSource() { return source; }
+    public UUID getSourceId() { return sourceId; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+}
@@ -1,10 +1,15 @@
 package com.example.loyalty.points.application.events;
 
+import com.example.loyalty.points.application.ledger.PointLedger;
 import com.example.loyalty.points.domain.entities.PointBalance;
 import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.util.List;
 
 /**
- * Interface for publishing point-related events
+ * Interface for publishing point-related events.
+ *
+ * The ledger calls the publisher inside the transaction that posts the ledger rows, so an
+ * implementation that writes to the database commits or rolls back together with them.
  */
 public interface PointEventPublisher {
     
@@ -27,4 +32,19 @@ public interface PointEventPublisher {
      * Publish event when referral points are awarded
      */
     void publishReferralPointsEarned(PointTransaction transaction, PointBalance balance);
-}
\ No newline at end of file
+
+    /**
+     * Publish the matching event for each posted ledger entry, in order
+     */
+    default void publishPosted(List<PointLedger.Entry> entries) {
+        for (PointLedger.Entry entry : entries) {
+            PointTransaction transaction = entry.getTransaction();
+            switch (PointEvent.Type.of(transaction)) {
+                case POINTS_SPENT -> publishPointsSpent(transaction, entry.getBalance());
+                case POINTS_EXPIRED -> publishPointsExpired(transaction, entry.getBalance());
+                case REFERRAL_POINTS_EARNED -> publishReferralPointsEarned(transaction, entry.getBalance());
+                default -> publishPointsEarned(transaction, entry.getBalance());
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.loyalty.points.application.execution;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the work that holds a database connection at the same time.
+ *
+ * With at most as many permits as the connection pool has connections, admitted work never
+ * queues inside the pool. Callers wait for a permit for a bounded time instead, and are turned
+ * away at once when too many are already waiting, so a burst fails fast rather than piling up
+ * threads behind the pool's connection timeout.
+ *
+ * A partner's work is further bounded by a {@link Quota} of its own: it waits for one of the
+ * partner's permits first and only then joins the shared queue, so one partner never holds more
+ * of the pool than its quota.
+ */
+public class AdmissionController {
+
+    private final Semaphore permits;
+    private final int permitCount;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LoyaltyMetrics metrics;
+    private final Timer waitTime;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public AdmissionController(int permitCount, int maxWaiting, Duration maxWait, LoyaltyMetrics metrics) {
+        if (permitCount <= 0 || maxWaiting < 0) {
+            throw new IllegalArgumentException("Admission permits must be positive and the queue limit non-negative");
+        }
+        this.permits = new Semaphore(permitCount, true);
+        this.permitCount = permitCount;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        this.metrics = metrics;
+        this.waitTime = metrics.createTimer("loyalty_points_admission_wait",
+            "Time spent waiting for admission to the database");
+        this.rejectedQueueFull = metrics.createCounter("loyalty_points_admission_rejected_total",
+            "Work turned away by admission control", "reason", "queue_full");
+        this.rejectedTimeout = metrics.createCounter("loyalty_points_admission_rejected_total",
+            "Work turned away by admission control", "reason", "timeout");
+        metrics.createGauge("loyalty_points_admission_waiting",
+            "Callers waiting for admission to the database", waiting::get);
+        metrics.createGauge("loyalty_points_admission_in_use",
+            "Admission permits currently held", () -> permitCount - permits.availablePermits());
+    }
+
+    /**
+     * Run the work once a permit is available
+     *
+     * @throws AdmissionRejectedException if too many callers are waiting or no permit freed up in time
+     */
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Run a partner's work once a permit of the partner's quota and a shared permit are available
+     *
+     * @throws AdmissionRejectedException if too many callers are waiting or no permit freed up in time
+     */
+    public <T> T call(Quota quota, Supplier<T> work) {
+        quota.acquire();
+        try {
+            return call(work);
+        } finally {
+            quota.permits.release();
+        }
+    }
+
+    /**
+     * A partner's share of the permits
+     */
+    public Quota quota(String partnerId, int permitCount) {
+        return new Quota(partnerId, permitCount);
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            waitTime.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw new AdmissionRejectedException("Too many requests waiting for the database");
+        }
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException("Interrupted while waiting for the database");
+        } finally {
+            waiting.decrementAndGet();
+            waitTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejectedTimeout.increment();
+            throw new AdmissionRejectedException("Timed out waiting for the database");
+        }
+    }
+
+    public int getPermitCount() { return permitCount; }
+
+    /**
+     * Permits of one partner, taken before the shared ones. A partner's callers wait at most the
+     * controller's maximum wait for one.
+     */
+    public final class Quota {
+
+        private final String partnerId;
+        private final Semaphore permits;
+        private final Counter rejectedQuota;
+
+        private Quota(String partnerId, int permitCount) {
+            if (permitCount <= 0) {
+                throw new IllegalArgumentException("Partner " + partnerId + " admission permits must be positive");
+            }
+            this.partnerId = partnerId;
+            this.permits = new Semaphore(permitCount, true);
+            this.rejectedQuota = metrics.createCounter("loyalty_points_partner_rejected_total",
+                "Partner earn requests turned away", "partner", partnerId, "reason", "admission");
+            metrics.createGauge("loyalty_points_partner_admission_in_use",
+                "Admission permits of the partner currently held", () -> permitCount - permits.availablePermits(),
+                "partner", partnerId);
+        }
+
+        private void acquire() {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException("Interrupted while waiting for the database");
+            }
+            if (!acquired) {
+                rejectedQuota.increment();
+                throw new AdmissionRejectedException(
+                    "Timed out waiting for partner " + partnerId + "'s share of the database");
+            }
+        }
+
+        public String getPartnerId() { return partnerId; }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.loyalty.points.application.execution;
+
+/**
+ * Thrown when work needing a database connection was not admitted in time
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
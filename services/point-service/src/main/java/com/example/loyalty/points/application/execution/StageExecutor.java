@@ -0,0 +1,65 @@
+package com.example.loyalty.points.application.execution;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent stages of a request concurrently. Stages that use a database connection go
+ * through the {@link AdmissionController}, a partner's stages through the partner's quota as well.
+ * A partner whose quota is used up waits on its own permits, so it holds no more shared permits
+ * than its quota, and no more stage threads than its bulkhead lets requests in.
+ */
+public class StageExecutor implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final AdmissionController admission;
+    private final Map<String, AdmissionController.Quota> partnerQuotas;
+
+    public StageExecutor(ExecutorService executor, AdmissionController admission) {
+        this(executor, admission, Map.of());
+    }
+
+    /**
+     * @param partnerQuotas admission quota per partner id
+     */
+    public StageExecutor(ExecutorService executor, AdmissionController admission,
+                         Map<String, AdmissionController.Quota> partnerQuotas) {
+        this.executor = executor;
+        this.admission = admission;
+        this.partnerQuotas = Map.copyOf(partnerQuotas);
+    }
+
+    /**
+     * Run a stage that needs no database connection
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> stage) {
+        return CompletableFuture.supplyAsync(stage, executor);
+    }
+
+    /**
+     * Run a stage that may use a database connection, once admitted
+     */
+    public <T> CompletableFuture<T> supplyAdmitted(Supplier<T> stage) {
+        return CompletableFuture.supplyAsync(() -> admission.call(stage), executor);
+    }
+
+    /**
+     * Run a stage of a partner's request that may use a database connection, once admitted
+     * within the partner's quota. Stages of requests without a partner, or of a partner without a
+     * quota, are admitted like {@link #supplyAdmitted(Supplier)}.
+     */
+    public <T> CompletableFuture<T> supplyAdmitted(String partnerId, Supplier<T> stage) {
+        AdmissionController.Quota quota = partnerId != null ? partnerQuotas.get(partnerId) : null;
+        if (quota == null) {
+            return supplyAdmitted(stage);
+        }
+        return CompletableFuture.supplyAsync(() -> admission.call(quota, stage), executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
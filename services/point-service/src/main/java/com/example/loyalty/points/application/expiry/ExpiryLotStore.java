@@ -0,0 +1,21 @@
+package com.example.loyalty.points.application.expiry;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.util.List;
+
+/**
+ * Port for the expiry lots behind each balance.
+ *
+ * Every credit opens a lot that expires on the transaction's expiry date, and every spend
+ * consumes the oldest open lots of the user first. The ledger calls the store inside the
+ * transaction that posts the ledger rows, after the balance rows have been locked.
+ */
+public interface ExpiryLotStore {
+
+    /**
+     * Open lots for the credits and consume lots for the spends among transactions just applied
+     * to their balances, in order. A credit without an expiry date gets the default validity,
+     * which is also recorded on the transaction. Expiries are ignored; the sweeper closes their lots.
+     */
+    void record(List<PointTransaction> applied);
+}
@@ -0,0 +1,18 @@
+package com.example.loyalty.points.application.fraud;
+
+import java.util.List;
+
+/**
+ * Thrown when the fraud screen blocks an earn before it reaches the ledger
+ */
+public class FraudBlockedException extends RuntimeException {
+
+    private final List<String> reasons;
+
+    public FraudBlockedException(List<String> reasons) {
+        super("Transaction blocked by fraud screening: " + String.join(", ", reasons));
+        this.reasons = List.copyOf(reasons);
+    }
+
+    public List<String> getReasons() { return reasons; }
+}
@@ -0,0 +1,20 @@
+package com.example.loyalty.points.application.fraud;
+
+import java.util.Optional;
+
+/**
+ * Where fraud rules are edited, read by the point service to apply changes without a restart
+ */
+public interface FraudRuleStore {
+
+    /** Config key of the rules used for live scoring */
+    String LIVE_RULES_KEY = "fraud.rules";
+
+    /** Config key of the candidate rules scored in shadow; blank when none */
+    String CANDIDATE_RULES_KEY = "fraud.rules.candidate";
+
+    /**
+     * Rules text stored under the key, empty when there is none
+     */
+    Optional<String> find(String key);
+}
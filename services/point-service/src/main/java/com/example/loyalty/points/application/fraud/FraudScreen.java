@@ -0,0 +1,226 @@
+package com.example.loyalty.points.application.fraud;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.common.security.FraudDetectionService;
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment;
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment.FraudResult;
+import com.example.loyalty.common.security.FraudRules;
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fraud screening of earns before they are posted.
+ *
+ * Each earn is assessed by the {@link FraudDetectionService} from its in-memory state, so the
+ * screen adds no round trip to the earn path. A blocked earn throws; one that requires
+ * verification is posted and counted. The assessment latency is recorded in
+ * {@code loyalty_points_fraud_assessment_latency}.
+ *
+ * Rules are replaced with {@link #applyRules} without a restart. When a candidate rule set is
+ * applied too, every assessment is scored again with it on a separate thread, from the features
+ * the live rules saw, and both results are counted in {@code loyalty_points_fraud_shadow_total}.
+ * The candidate never affects the earn, and when its queue is full assessments are dropped
+ * rather than wait.
+ */
+public class FraudScreen implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudScreen.class);
+
+    private static final FraudResult[] RESULTS = FraudResult.values();
+
+    private final FraudDetectionService fraudDetection;
+    private final LoyaltyMetrics metrics;
+    private final Timer latency;
+    private final Counter[] assessments;
+    private final Counter[][] shadowAssessments;
+    private final Counter shadowDivergence;
+    private final Counter shadowDropped;
+    private final ThreadPoolExecutor shadowExecutor;
+    private volatile FraudRules candidate;
+
+    public FraudScreen(FraudDetectionService fraudDetection, LoyaltyMetrics metrics) {
+        this(fraudDetection, metrics, 10_000);
+    }
+
+    /**
+     * @param shadowQueueCapacity assessments waiting to be scored with the candidate rules
+     */
+    public FraudScreen(FraudDetectionService fraudDetection, LoyaltyMetrics metrics, int shadowQueueCapacity) {
+        if (shadowQueueCapacity <= 0) {
+            throw new IllegalArgumentException("Fraud shadow queue capacity must be positive");
+        }
+        this.fraudDetection = fraudDetection;
+        this.metrics = metrics;
+        this.latency = metrics.createTimer("loyalty_points_fraud_assessment_latency",
+            "Time to assess one earn for fraud");
+        this.assessments = new Counter[RESULTS.length];
+        this.shadowAssessments = new Counter[RESULTS.length][RESULTS.length];
+        for (FraudResult live : RESULTS) {
+            assessments[live.ordinal()] = metrics.createCounter("loyalty_points_fraud_assessments_total",
+                "Earns assessed for fraud", "result", tag(live));
+            for (FraudResult shadow : RESULTS) {
+                shadowAssessments[live.ordinal()][shadow.ordinal()] = metrics.createCounter(
+                    "loyalty_points_fraud_shadow_total",
+                    "Earns scored with the candidate fraud rules, by live and candidate result",
+                    "live", tag(live), "candidate", tag(shadow));
+            }
+        }
+        this.shadowDivergence = metrics.createCounter("loyalty_points_fraud_shadow_divergence_total",
+            "Earns the candidate fraud rules decided differently");
+        this.shadowDropped = metrics.createCounter("loyalty_points_fraud_shadow_dropped_total",
+            "Earns not scored with the candidate fraud rules because the queue was full");
+        this.shadowExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(shadowQueueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "fraud-shadow");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    private FraudScreen() {
+        this.fraudDetection = null;
+        this.metrics = null;
+        this.latency = null;
+        this.assessments = null;
+        this.shadowAssessments = null;
+        this.shadowDivergence = null;
+        this.shadowDropped = null;
+        this.shadowExecutor = null;
+    }
+
+    /**
+     * A screen that approves every earn
+     */
+    public static FraudScreen disabled() {
+        return new FraudScreen();
+    }
+
+    /**
+     * Assess an earn about to be posted
+     *
+     * @return the assessment result, APPROVED when screening is disabled
+     * @throws FraudBlockedException if the earn is blocked
+     */
+    public FraudResult screen(EarnPointsDTO.Request request, PointTransaction transaction) {
+        if (fraudDetection == null) {
+            return FraudResult.APPROVED;
+        }
+        long points = transaction.getPointsAmount().getValue();
+        FraudDetectionService.TransactionRequest assessed = new FraudDetectionService.TransactionRequest(
+            request.getUserId().toString(),
+            transaction.getTransactionType().name(),
+            (int) Math.min(points, Integer.MAX_VALUE),
+            Instant.now(),
+            request.getDeviceFingerprint(),
+            request.getIpAddress());
+
+        long started = System.nanoTime();
+        FraudAssessment assessment = fraudDetection.assessTransaction(assessed);
+        latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        FraudRules shadowRules = candidate;
+        if (shadowRules != null) {
+            shadow(shadowRules, assessment);
+        }
+        assessments[assessment.getResult().ordinal()].increment();
+        if (assessment.getResult() == FraudResult.BLOCKED) {
+            throw new FraudBlockedException(assessment.getScore().getReasons());
+        }
+        return assessment.getResult();
+    }
+
+    private void shadow(FraudRules rules, FraudAssessment live) {
+        try {
+            shadowExecutor.execute(() -> {
+                FraudResult shadow = rules.assess(live.getFeatures()).getResult();
+                shadowAssessments[live.getResult().ordinal()][shadow.ordinal()].increment();
+                if (shadow != live.getResult()) {
+                    shadowDivergence.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            shadowDropped.increment();
+        }
+    }
+
+    /**
+     * Score with new rules from now on. A rule set that does not compile is not applied and the
+     * previous one stays in use; the same text as in use is not compiled again.
+     *
+     * @param live rules text for live scoring, null to keep the current rules
+     * @param candidate rules text for shadow scoring, null or blank to stop shadow scoring
+     */
+    public void applyRules(String live, String candidate) {
+        if (fraudDetection == null) {
+            return;
+        }
+        if (live != null && !live.equals(fraudDetection.getRules().getSource())) {
+            FraudRules rules = compile("live", live);
+            if (rules != null) {
+                fraudDetection.setRules(rules);
+                logger.info("Applied {} live fraud rules", rules.getRuleCount());
+            }
+        }
+        if (candidate == null || candidate.isBlank()) {
+            if (this.candidate != null) {
+                logger.info("Stopped shadow scoring with candidate fraud rules");
+            }
+            this.candidate = null;
+        } else if (this.candidate == null || !candidate.equals(this.candidate.getSource())) {
+            FraudRules rules = compile("candidate", candidate);
+            if (rules != null) {
+                this.candidate = rules;
+                logger.info("Shadow scoring with {} candidate fraud rules", rules.getRuleCount());
+            }
+        }
+    }
+
+    private FraudRules compile(String name, String source) {
+        try {
+            FraudRules rules = FraudRules.compile(source);
+            metrics.createCounter("loyalty_points_fraud_rule_reloads_total",
+                "Fraud rule sets compiled", "rules", name, "result", "applied").increment();
+            return rules;
+        } catch (IllegalArgumentException e) {
+            metrics.createCounter("loyalty_points_fraud_rule_reloads_total",
+                "Fraud rule sets compiled", "rules", name, "result", "invalid").increment();
+            logger.warn("Kept the previous {} fraud rules: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The candidate rules scored in shadow, if any
+     */
+    public FraudRules getCandidate() {
+        return candidate;
+    }
+
+    /**
+     * Stop shadow scoring once the queued assessments are scored
+     */
+    @Override
+    public void close() {
+        if (shadowExecutor != null) {
+            shadowExecutor.shutdown();
+        }
+    }
+
+    boolean awaitClosed(long timeout, TimeUnit unit) throws InterruptedException {
+        return shadowExecutor == null || shadowExecutor.awaitTermination(timeout, unit);
+    }
+
+    private static String tag(FraudResult result) {
+        return result.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.loyalty.points.application.history;
+
+import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-side port for past balances, rebuilt from the ledger
+ */
+public interface BalanceHistoryReader {
+
+    /**
+     * The user's balance including every transaction created up to and including {@code at}
+     */
+    PointBalanceDTO.AtTime balanceAt(UUID userId, LocalDateTime at);
+}
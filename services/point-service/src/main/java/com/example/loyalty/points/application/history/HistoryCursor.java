@@ -0,0 +1,57 @@
+package com.example.loyalty.points.application.history;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keyset position in a user's history: the (createdAt, id) of the last row returned.
+ * The next page continues strictly after it in (createdAt DESC, id DESC) order.
+ * Encoded as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+public final class HistoryCursor {
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public HistoryCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = Objects.requireNonNull(createdAt);
+        this.id = Objects.requireNonNull(id);
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                     UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public UUID getId() { return id; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HistoryCursor that)) return false;
+        return createdAt.equals(that.createdAt) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.loyalty.points.application.history;
+
+import com.example.loyalty.points.domain.enums.TransactionType;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Filters for a user's transaction history. Empty types mean all types; {@code from} is
+ * inclusive and {@code to} exclusive, either may be null.
+ */
+public final class HistoryQuery {
+    private final UUID userId;
+    private final Set<TransactionType> types;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final HistoryCursor after;
+
+    public HistoryQuery(UUID userId, Set<TransactionType> types, LocalDateTime from, LocalDateTime to,
+                        HistoryCursor after) {
+        this.userId = userId;
+        this.types = types != null ? Set.copyOf(types) : Set.of();
+        this.from = from;
+        this.to = to;
+        this.after = after;
+    }
+
+    public UUID getUserId() { return userId; }
+    public Set<TransactionType> getTypes() { return types; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public HistoryCursor getAfter() { return after; }
+}
@@ -0,0 +1,22 @@
+package com.example.loyalty.points.application.history;
+
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-side port for transaction history. Rows are projected straight into
+ * {@link TransactionHistoryDTO.Item}s, newest first by (createdAt, id).
+ */
+public interface TransactionHistoryReader {
+
+    /**
+     * Up to {@code limit} rows after the query's cursor
+     */
+    List<TransactionHistoryDTO.Item> findPage(HistoryQuery query, int limit);
+
+    /**
+     * Feed every matching row to the consumer without holding the result set in memory
+     */
+    void stream(HistoryQuery query, Consumer<TransactionHistoryDTO.Item> consumer);
+}
@@ -0,0 +1,176 @@
+package com.example.loyalty.points.application.idempotency;
+
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the responses of referenced earn requests so retries return the original
+ * result without writing to the ledger.
+ *
+ * Lookups go through three levels: a bounded cache of recent responses, a bloom filter that
+ * answers "never seen" without touching the database, and finally the ledger itself. The
+ * primary key of points_transaction_keys remains the source of truth; the bloom filter is
+ * warmed from recent keys at startup and only ever gives false positives.
+ *
+ * Bits of a bloom filter cannot be cleared, so keys are added to a current generation and
+ * looked up in it and the previous one. {@link #rotate} drops the previous generation once per
+ * warm-up window: a key stays known for one to two windows, and the false positive rate holds
+ * instead of climbing as the filter fills.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final PointTransactionRepository transactionRepository;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private volatile Generations filters;
+    private final Cache<IdempotencyKey, EarnPointsDTO.Response> recent;
+    private final long warmupWindowHours;
+    private final AtomicLong bloomMisses = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    public IdempotencyStore(PointTransactionRepository transactionRepository,
+                            @Value("${loyalty.points.idempotency.expected-keys:1000000}") long expectedKeys,
+                            @Value("${loyalty.points.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${loyalty.points.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${loyalty.points.idempotency.warmup-window-hours:72}") long warmupWindowHours) {
+        this.transactionRepository = transactionRepository;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filters = new Generations(new BloomFilter(expectedKeys, falsePositiveRate),
+            new BloomFilter(expectedKeys, falsePositiveRate));
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .build();
+        this.warmupWindowHours = warmupWindowHours;
+    }
+
+    /**
+     * Load keys of recently posted transactions into the bloom filter
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now().minusHours(warmupWindowHours);
+        AtomicLong loaded = new AtomicLong();
+        try {
+            transactionRepository.forEachIdempotencyKeySince(since, key -> {
+                markSeen(key);
+                loaded.incrementAndGet();
+            });
+            logger.info("Idempotency filter warmed with {} keys since {}", loaded.get(), since);
+        } catch (RuntimeException e) {
+            // Older keys are still caught by points_transaction_keys, just less cheaply
+            logger.warn("Idempotency filter warm-up failed after {} keys", loaded.get(), e);
+        }
+    }
+
+    /**
+     * Start a new bloom filter generation and drop the oldest one. Keys only in the dropped
+     * generation are looked up in the ledger again if they are retried.
+     */
+    public void rotate() {
+        filters = new Generations(new BloomFilter(expectedKeys, falsePositiveRate), filters.current());
+    }
+
+    /**
+     * Response originally returned for the key, if the reference has already been posted
+     */
+    public Optional<EarnPointsDTO.Response> find(IdempotencyKey key) {
+        EarnPointsDTO.Response cached = recent.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return Optional.of(cached);
+        }
+        if (!mightHaveSeen(key)) {
+            bloomMisses.incrementAndGet();
+            return Optional.empty();
+        }
+        return findPersisted(key);
+    }
+
+    /**
+     * Look the key up in the ledger, bypassing the bloom filter
+     */
+    public Optional<EarnPointsDTO.Response> findPersisted(IdempotencyKey key) {
+        return transactionRepository.findByIdempotencyKey(key).map(this::replay);
+    }
+
+    /**
+     * Response for a transaction that was already posted, cached for further retries
+     */
+    public EarnPointsDTO.Response replay(PointTransaction existing) {
+        EarnPointsDTO.Response response = new EarnPointsDTO.Response(
+            existing.getId().toString(),
+            existing.getUserId(),
+            existing.getPointsAmount().longValue(),
+            existing.getBalanceAfter() != null ? existing.getBalanceAfter().longValue() : 0L,
+            "Points earned successfully"
+        );
+        response.setEarningType(existing.getSource());
+        IdempotencyKey key = IdempotencyKey.of(existing);
+        if (key != null) {
+            remember(key, response);
+        }
+        return response;
+    }
+
+    public void remember(IdempotencyKey key, EarnPointsDTO.Response response) {
+        markSeen(key);
+        recent.put(key, response);
+    }
+
+    public long getCacheHits() { return cacheHits.get(); }
+    public long getBloomMisses() { return bloomMisses.get(); }
+
+    private void markSeen(IdempotencyKey key) {
+        long hash1 = hash1(key);
+        filters.current().put(hash1, hash2(hash1));
+    }
+
+    private boolean mightHaveSeen(IdempotencyKey key) {
+        long hash1 = hash1(key);
+        long hash2 = hash2(hash1);
+        // A key marked while rotating lands in the generation that just became the previous one
+        Generations generations = filters;
+        return generations.current().mightContain(hash1, hash2)
+            || generations.previous().mightContain(hash1, hash2);
+    }
+
+    private static long hash1(IdempotencyKey key) {
+        long h = mix(key.getUserId().getMostSignificantBits());
+        h = mix(h ^ key.getUserId().getLeastSignificantBits());
+        h = mix(h ^ key.getSourceId().getMostSignificantBits());
+        h = mix(h ^ key.getSourceId().getLeastSignificantBits());
+        h = mix(h ^ key.getSource().hashCode());
+        return mix(h ^ key.getTransactionType().ordinal());
+    }
+
+    private static long hash2(long hash1) {
+        // Odd second hash so every probe step visits distinct bits
+        return mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous) {}
+
+    /** SplitMix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.loyalty.points.application.ledger;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks ledger posts in flight per user and flags users with enough concurrent posts to
+ * contend on their balance row.
+ *
+ * Counts live in a count-min sketch: every user increments one counter in each row and the
+ * smallest of them is the estimate. Collisions can only overestimate, and only while the
+ * colliding users are busy themselves, so a quiet user is never flagged for long. Memory stays
+ * fixed however many users post. Only users currently flagged hot are held individually.
+ */
+public class ContentionDetector {
+
+    private final AtomicLongArray counters;
+    private final int depth;
+    private final int mask;
+    private final int hotThreshold;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentHashMap<UUID, Integer> hotUsers = new ConcurrentHashMap<>();
+
+    public ContentionDetector(int width, int depth, int hotThreshold, LoyaltyMetrics metrics) {
+        if (width <= 0 || Integer.bitCount(width) != 1 || depth <= 0 || hotThreshold <= 1) {
+            throw new IllegalArgumentException(
+                "Sketch width must be a power of two, depth positive and the hot threshold above one");
+        }
+        this.counters = new AtomicLongArray(width * depth);
+        this.depth = depth;
+        this.mask = width - 1;
+        this.hotThreshold = hotThreshold;
+
+        metrics.createGauge("loyalty_points_contention_in_flight",
+            "Ledger posts in flight on this instance", inFlight::get);
+        metrics.createGauge("loyalty_points_contention_hot_users",
+            "Users with enough posts in flight to be coalesced", hotUsers::size);
+    }
+
+    /**
+     * Count a post for the user as started
+     *
+     * @return true if the user now has at least the hot threshold of posts in flight
+     */
+    public boolean enter(UUID userId) {
+        inFlight.incrementAndGet();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(slot(userId, row)));
+        }
+        if (estimate < hotThreshold) {
+            return false;
+        }
+        hotUsers.merge(userId, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Count the user's post as finished; {@code hot} is what {@link #enter} returned for it
+     */
+    public void exit(UUID userId, boolean hot) {
+        for (int row = 0; row < depth; row++) {
+            counters.decrementAndGet(slot(userId, row));
+        }
+        if (hot) {
+            hotUsers.computeIfPresent(userId, (user, posts) -> posts > 1 ? posts - 1 : null);
+        }
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Estimated posts in flight for the user, never below the true count
+     */
+    public long estimate(UUID userId) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(slot(userId, row)));
+        }
+        return estimate;
+    }
+
+    public int getHotThreshold() { return hotThreshold; }
+
+    private int slot(UUID userId, int row) {
+        long hash = userId.getMostSignificantBits() + (row + 1) * userId.getLeastSignificantBits();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return row * (mask + 1) + ((int) hash & mask);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.loyalty.points.application.ledger;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+
+/**
+ * Thrown when a transaction's source reference has already been posted
+ */
+public class DuplicateTransactionException extends RuntimeException {
+
+    private final PointTransaction existing;
+
+    public DuplicateTransactionException(PointTransaction existing) {
+        super("Transaction already posted for source " + existing.getSource() + " " + existing.getSourceId());
+        this.existing = existing;
+    }
+
+    /**
+     * The transaction that was originally posted for the reference
+     */
+    public PointTransaction getExisting() {
+        return existing;
+    }
+}
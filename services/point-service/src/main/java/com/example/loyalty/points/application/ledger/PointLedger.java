@@ -0,0 +1,71 @@
+package com.example.loyalty.points.application.ledger;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.util.List;
+
+/**
+ * Port for posting point transactions: applies the transaction to the user's
+ * balance and appends it to the ledger as one durable unit of work
+ */
+public interface PointLedger {
+
+    /**
+     * Post a transaction. Returns only after the ledger row and the balance
+     * update have been committed.
+     *
+     * @throws IllegalArgumentException if the balance cannot absorb the transaction
+     * @throws DuplicateTransactionException if the transaction's source reference was already posted
+     */
+    Entry post(PointTransaction transaction);
+
+    /**
+     * Post many transactions as bulk work. A transaction the balance cannot absorb, or
+     * whose source reference was already posted, is rejected individually without
+     * affecting the others.
+     *
+     * @return one result per input transaction, in input order
+     */
+    List<Result> postAll(List<PointTransaction> transactions);
+
+    /**
+     * Result of a posted transaction
+     */
+    final class Entry {
+        private final PointTransaction transaction;
+        private final PointBalance balance;
+
+        public Entry(PointTransaction transaction, PointBalance balance) {
+            this.transaction = transaction;
+            this.balance = balance;
+        }
+
+        public PointTransaction getTransaction() { return transaction; }
+        public PointBalance getBalance() { return balance; }
+    }
+
+    /**
+     * Outcome of one transaction within a bulk post
+     */
+    final class Result {
+        private final Entry entry;
+        private final RuntimeException error;
+
+        private Result(Entry entry, RuntimeException error) {
+            this.entry = entry;
+            this.error = error;
+        }
+
+        public static Result posted(Entry entry) {
+            return new Result(entry, null);
+        }
+
+        public static Result rejected(RuntimeException error) {
+            return new Result(null, error);
+        }
+
+        public boolean isPosted() { return entry != null; }
+        public Entry getEntry() { return entry; }
+        public RuntimeException getError() { return error; }
+    }
+}
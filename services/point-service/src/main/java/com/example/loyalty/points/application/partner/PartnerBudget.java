@@ -0,0 +1,164 @@
+package com.example.loyalty.points.application.partner;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Rate budget and bulkhead of one partner.
+ *
+ * The rate budget is a token bucket holding up to {@code burst} requests and refilled at
+ * {@code ratePerSecond}. It is kept as the time at which the bucket would be full again, so
+ * taking a token is a single compare-and-set. The bulkhead caps the partner's earns in flight:
+ * an earn holds its slot, and with it the threads and connections it uses, until it completes.
+ * Both reject at once instead of queueing, so a partner over its budget is answered without
+ * holding anything the other partners need.
+ */
+public class PartnerBudget {
+
+    private static final Pattern PARTNER_ID = Pattern.compile("[A-Za-z0-9_-]{1,50}");
+
+    private final String partnerId;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+    private final Semaphore slots;
+    private final int maxConcurrent;
+    private final LongSupplier nanoClock;
+
+    private final Counter earns;
+    private final Timer latency;
+    private final Counter rejectedRate;
+    private final Counter rejectedConcurrency;
+
+    public PartnerBudget(String partnerId, double ratePerSecond, int burst, int maxConcurrent,
+                         LoyaltyMetrics metrics) {
+        this(partnerId, ratePerSecond, burst, maxConcurrent, metrics, System::nanoTime);
+    }
+
+    PartnerBudget(String partnerId, double ratePerSecond, int burst, int maxConcurrent,
+                  LoyaltyMetrics metrics, LongSupplier nanoClock) {
+        if (partnerId == null || !PARTNER_ID.matcher(partnerId).matches()) {
+            throw new IllegalArgumentException("Partner ids are 1 to 50 letters, digits, '-' or '_': " + partnerId);
+        }
+        if (ratePerSecond <= 0 || burst <= 0 || maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Partner " + partnerId + " rate, burst and concurrency must be positive");
+        }
+        this.partnerId = partnerId;
+        this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+        this.slots = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+
+        this.earns = metrics.createCounter("loyalty_points_partner_earns_total",
+            "Earn requests completed per partner", "partner", partnerId);
+        this.latency = metrics.createTimer("loyalty_points_partner_earn_latency",
+            "Earn request latency per partner", "partner", partnerId);
+        this.rejectedRate = metrics.createCounter("loyalty_points_partner_rejected_total",
+            "Partner earn requests turned away", "partner", partnerId, "reason", "rate");
+        this.rejectedConcurrency = metrics.createCounter("loyalty_points_partner_rejected_total",
+            "Partner earn requests turned away", "partner", partnerId, "reason", "concurrency");
+        metrics.createGauge("loyalty_points_partner_in_flight",
+            "Partner earn requests in flight", () -> maxConcurrent - slots.availablePermits(),
+            "partner", partnerId);
+    }
+
+    /**
+     * Run the partner's earn within its rate budget and bulkhead
+     *
+     * @throws PartnerThrottledException if the partner is out of tokens or at its concurrency limit
+     */
+    public <T> T call(Supplier<T> work) {
+        try (Lease lease = acquire(1)) {
+            T result = work.get();
+            lease.complete();
+            return result;
+        }
+    }
+
+    /**
+     * Take {@code requests} tokens and a bulkhead slot for work that completes later, such as an
+     * earn running as stages or a batch chunk carrying several of the partner's items. The slot
+     * is held until the lease is closed.
+     *
+     * @throws PartnerThrottledException if the partner is out of tokens or at its concurrency limit
+     */
+    public Lease acquire(int requests) {
+        take(requests);
+        if (!slots.tryAcquire()) {
+            rejectedConcurrency.increment();
+            throw new PartnerThrottledException(partnerId,
+                "Partner " + partnerId + " has " + maxConcurrent + " earn requests in flight", Duration.ofSeconds(1));
+        }
+        return new Lease(requests);
+    }
+
+    private void take(int requests) {
+        long cost = nanosPerToken * requests;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long overdraft = next - now - burstNanos;
+            if (overdraft > 0) {
+                rejectedRate.increment();
+                if (cost > burstNanos) {
+                    throw new PartnerThrottledException(partnerId, "Partner " + partnerId + " sent " + requests
+                        + " earn requests at once, more than its burst allows", Duration.ofNanos(cost));
+                }
+                throw new PartnerThrottledException(partnerId,
+                    "Partner " + partnerId + " is over its earn rate budget", Duration.ofNanos(overdraft));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A bulkhead slot held by running work. Requests that completed are counted when the lease
+     * is closed.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final int requests;
+        private final long started = System.nanoTime();
+        private volatile boolean completed;
+        private boolean closed;
+
+        private Lease(int requests) {
+            this.requests = requests;
+        }
+
+        /**
+         * Mark the leased requests as completed
+         */
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            slots.release();
+            if (completed) {
+                earns.increment(requests);
+            }
+            latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public String getPartnerId() { return partnerId; }
+}
@@ -0,0 +1,67 @@
+package com.example.loyalty.points.application.partner;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The registered partners and their budgets. Only registered partners may earn with a partner id.
+ */
+public class PartnerBudgets {
+
+    private final Map<String, PartnerBudget> budgets;
+
+    public PartnerBudgets(Collection<PartnerBudget> budgets) {
+        Map<String, PartnerBudget> byPartner = new HashMap<>();
+        for (PartnerBudget budget : budgets) {
+            if (byPartner.put(budget.getPartnerId(), budget) != null) {
+                throw new IllegalArgumentException("Partner registered twice: " + budget.getPartnerId());
+            }
+        }
+        this.budgets = Map.copyOf(byPartner);
+    }
+
+    public static PartnerBudgets none() {
+        return new PartnerBudgets(List.of());
+    }
+
+    public boolean isRegistered(String partnerId) {
+        return partnerId != null && budgets.containsKey(partnerId);
+    }
+
+    public Set<String> getPartnerIds() {
+        return budgets.keySet();
+    }
+
+    /**
+     * Run a partner's earn within the partner's budget
+     *
+     * @throws IllegalArgumentException if the partner is not registered
+     * @throws PartnerThrottledException if the partner is over its budget
+     */
+    public <T> T call(String partnerId, Supplier<T> work) {
+        return budget(partnerId).call(work);
+    }
+
+    /**
+     * Take {@code requests} of a partner's tokens and a slot of its bulkhead, see
+     * {@link PartnerBudget#acquire}
+     *
+     * @throws IllegalArgumentException if the partner is not registered
+     * @throws PartnerThrottledException if the partner is over its budget
+     */
+    public PartnerBudget.Lease acquire(String partnerId, int requests) {
+        return budget(partnerId).acquire(requests);
+    }
+
+    private PartnerBudget budget(String partnerId) {
+        PartnerBudget budget = budgets.get(partnerId);
+        if (budget == null) {
+            throw new IllegalArgumentException("Unknown partner: " + partnerId);
+        }
+        return budget;
+    }
+}
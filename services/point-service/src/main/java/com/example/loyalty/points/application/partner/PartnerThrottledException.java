@@ -0,0 +1,28 @@
+package com.example.loyalty.points.application.partner;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a partner's earn request is over its rate budget or its bulkhead is full
+ */
+public class PartnerThrottledException extends RuntimeException {
+
+    private final String partnerId;
+    private final Duration retryAfter;
+
+    public PartnerThrottledException(String partnerId, String message, Duration retryAfter) {
+        super(message);
+        this.partnerId = partnerId;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getPartnerId() { return partnerId; }
+    public Duration getRetryAfter() { return retryAfter; }
+
+    /**
+     * Wait before retrying in whole seconds, rounded up, for a Retry-After header
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toNanos() + 999_999_999L) / 1_000_000_000L);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.loyalty.points.application.redemption;
+
+/**
+ * Thrown when a balance stayed locked by other writers for longer than a redemption may wait
+ */
+public class BalanceBusyException extends RuntimeException {
+
+    public BalanceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
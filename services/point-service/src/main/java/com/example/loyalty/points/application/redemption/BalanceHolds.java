@@ -0,0 +1,68 @@
+package com.example.loyalty.points.application.redemption;
+
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port for redemption holds and the points they move between a balance's available and pending
+ * (held) amounts.
+ *
+ * A hold is stored together with the balance change it stands for, in one database transaction,
+ * so every instance sees the same holds and a hold exists exactly while its points are pending.
+ * Each balance change is a single conditional update of the balance row: two redemptions can
+ * never both reserve the same available points.
+ *
+ * @throws BalanceBusyException from every method that changes a balance if its row stayed locked too long
+ */
+public interface BalanceHolds {
+
+    /**
+     * Move the hold's points from available to pending and store the hold
+     *
+     * @return the updated balance, or empty if fewer points are available
+     */
+    Optional<PointBalance> reserve(RedemptionHold hold);
+
+    /**
+     * The user's open hold, including one past its expiry that was not released yet
+     */
+    Optional<RedemptionHold> find(UUID userId, UUID holdId);
+
+    /**
+     * Remove the user's hold and move its points back from pending to available
+     *
+     * @return the released hold, or empty if the user has no open hold with that id
+     */
+    Optional<Released> release(UUID userId, UUID holdId);
+
+    /**
+     * Remove the hold, release its points and post the spend for them as one database transaction
+     *
+     * @throws HoldNotFoundException if the hold was confirmed, released or reaped meanwhile
+     * @throws IllegalStateException if the balance no longer holds the points
+     * @throws com.example.loyalty.points.application.ledger.DuplicateTransactionException if the
+     *         spend's source reference was already posted
+     */
+    PointLedger.Entry confirm(RedemptionHold hold, PointTransaction spend);
+
+    /**
+     * Holds that expired at or before {@code now}, soonest expired first
+     */
+    List<RedemptionHold> findExpired(LocalDateTime now, int limit);
+
+    /**
+     * Number of open holds across all instances
+     */
+    long countOpen();
+
+    /**
+     * A removed hold and the balance after its points were given back, empty if the balance no
+     * longer held them
+     */
+    record Released(RedemptionHold hold, Optional<PointBalance> balance) {}
+}
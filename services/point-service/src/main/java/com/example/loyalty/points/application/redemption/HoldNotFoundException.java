@@ -0,0 +1,13 @@
+package com.example.loyalty.points.application.redemption;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a hold does not exist for the user, or was already confirmed, released or expired
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    public HoldNotFoundException(UUID holdId) {
+        super("Hold " + holdId + " not found or no longer open");
+    }
+}
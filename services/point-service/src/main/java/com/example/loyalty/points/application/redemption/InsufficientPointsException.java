@@ -0,0 +1,11 @@
+package com.example.loyalty.points.application.redemption;
+
+/**
+ * Thrown when a balance has fewer available points than a redemption asks for
+ */
+public class InsufficientPointsException extends IllegalArgumentException {
+
+    public InsufficientPointsException() {
+        super("Insufficient available points");
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.loyalty.points.application.redemption;
+
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Points reserved for a redemption until it is confirmed, released or expires
+ */
+public final class RedemptionHold {
+
+    private final UUID holdId;
+    private final UUID userId;
+    private final Points points;
+    private final UUID referenceId;
+    private final String description;
+    private final LocalDateTime expiresAt;
+
+    public RedemptionHold(UUID holdId, UUID userId, Points points, UUID referenceId,
+                          String description, LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.userId = userId;
+        this.points = points;
+        this.referenceId = referenceId;
+        this.description = description;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    public UUID getHoldId() { return holdId; }
+    public UUID getUserId() { return userId; }
+    public Points getPoints() { return points; }
+    public UUID getReferenceId() { return referenceId; }
+    public String getDescription() { return description; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
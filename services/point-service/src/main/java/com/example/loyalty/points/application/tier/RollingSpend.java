@@ -0,0 +1,65 @@
+package com.example.loyalty.points.application.tier;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * A user's spending over the last 12 months, kept as one counter per calendar month.
+ *
+ * Buckets are indexed by month modulo 12, so recording a purchase in a new month recycles the
+ * bucket of the same month a year earlier. Reading the total sums at most 12 counters, whatever
+ * the number of purchases behind them.
+ */
+public final class RollingSpend {
+
+    static final int MONTHS = 12;
+
+    private final long[] months = new long[MONTHS];
+    private final long[] amounts = new long[MONTHS];
+
+    public RollingSpend() {
+        Arrays.fill(months, Long.MIN_VALUE);
+    }
+
+    /**
+     * Add spending to the month's counter. Months that already left the window are ignored.
+     */
+    public synchronized void add(YearMonth month, long amountMinor, YearMonth now) {
+        long key = key(month);
+        long current = key(now);
+        if (key <= current - MONTHS || key > current) {
+            return;
+        }
+        int slot = (int) Math.floorMod(key, (long) MONTHS);
+        if (months[slot] != key) {
+            months[slot] = key;
+            amounts[slot] = 0;
+        }
+        amounts[slot] += amountMinor;
+    }
+
+    /**
+     * Spending of the 12 months ending with {@code now}, in minor units
+     */
+    public synchronized long total(YearMonth now) {
+        long current = key(now);
+        long total = 0;
+        for (int slot = 0; slot < MONTHS; slot++) {
+            if (months[slot] > current - MONTHS && months[slot] <= current) {
+                total += amounts[slot];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * First month of the window ending with {@code now}
+     */
+    public static YearMonth windowStart(YearMonth now) {
+        return now.minusMonths(MONTHS - 1);
+    }
+
+    private static long key(YearMonth month) {
+        return month.getYear() * 12L + month.getMonthValue() - 1;
+    }
+}
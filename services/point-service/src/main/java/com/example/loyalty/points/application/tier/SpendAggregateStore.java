@@ -0,0 +1,55 @@
+package com.example.loyalty.points.application.tier;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Port for the per-user monthly spending counters behind tier evaluation.
+ *
+ * The ledger records the spending of the transactions it posts inside the transaction that
+ * posts the ledger rows, after the balance rows have been locked, so the counters always match
+ * the durable ledger.
+ */
+public interface SpendAggregateStore {
+
+    /**
+     * The user's counters from {@code from} on, by month
+     */
+    Map<YearMonth, Long> load(UUID userId, YearMonth from);
+
+    /**
+     * Add the deltas to the stored counters, creating missing ones
+     */
+    void addAll(Map<MonthlySpendKey, Long> deltas);
+
+    /**
+     * Add the tier spending of transactions just applied to their balances to the counters of
+     * the months they were created in
+     */
+    default void record(List<PointTransaction> transactions) {
+        Map<MonthlySpendKey, Long> deltas = new HashMap<>();
+        for (PointTransaction transaction : transactions) {
+            if (transaction.getTierSpendMinor() > 0) {
+                deltas.merge(new MonthlySpendKey(transaction.getUserId(), YearMonth.from(transaction.getCreatedAt())),
+                    transaction.getTierSpendMinor(), Long::sum);
+            }
+        }
+        addAll(deltas);
+    }
+
+    /**
+     * Delete up to {@code limit} counters of months before {@code month}
+     *
+     * @return number of counters deleted
+     */
+    int purgeBefore(YearMonth month, int limit);
+
+    /**
+     * Counter identity: one user in one calendar month
+     */
+    record MonthlySpendKey(UUID userId, YearMonth month) {}
+}
@@ -0,0 +1,120 @@
+package com.example.loyalty.points.application.tier;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.domain.enums.UserTier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evaluates membership tiers from each user's purchase spending over the last 12 months.
+ *
+ * The monthly counters in the {@link SpendAggregateStore} are written by the ledger together with
+ * each purchase, so they survive any crash. Rolling spend is cached per user and updated in place
+ * after every purchase, so the earn path reads a tier without a remote call; a cache miss loads at
+ * most 12 stored counters. Entries expire after a TTL so spending recorded by other instances is
+ * picked up.
+ */
+@Service
+public class TierEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TierEngine.class);
+
+    private final SpendAggregateStore store;
+    private final Cache<UUID, RollingSpend> spends;
+    private final Map<UserTier, Counter> tierChanges = new EnumMap<>(UserTier.class);
+
+    public TierEngine(SpendAggregateStore store,
+                      LoyaltyMetrics metrics,
+                      @Value("${loyalty.points.tier.cache-size:100000}") long cacheSize,
+                      @Value("${loyalty.points.tier.cache-ttl-ms:600000}") long cacheTtlMs) {
+        this.store = store;
+        this.spends = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+            .build();
+        for (UserTier tier : UserTier.values()) {
+            tierChanges.put(tier, metrics.createCounter("loyalty_points_tier_changes_total",
+                "Tier changes seen when recording spending", "tier", tier.name()));
+        }
+    }
+
+    /**
+     * The user's current tier
+     */
+    public TierStatus current(UUID userId) {
+        YearMonth now = YearMonth.now();
+        return status(userId, spendOf(userId, now).total(now));
+    }
+
+    /**
+     * Add a purchase the ledger has posted to the user's cached rolling spend and re-evaluate the tier
+     *
+     * @return the tier after the purchase, or empty if the user's spending could not be loaded;
+     *         the purchase is stored and counted once it can
+     */
+    public Optional<TierStatus> recordSpend(UUID userId, long amountMinor, LocalDateTime at) {
+        YearMonth now = YearMonth.now();
+        RollingSpend spend = spends.getIfPresent(userId);
+        if (spend == null) {
+            // Spending loaded from now on already includes the posted purchase
+            try {
+                return Optional.of(current(userId));
+            } catch (RuntimeException e) {
+                logger.warn("Could not load spending of user {}, tier is evaluated on the next read", userId, e);
+                return Optional.empty();
+            }
+        }
+
+        UserTier before = UserTier.forAnnualSpending(spend.total(now));
+        spend.add(YearMonth.from(at), amountMinor, now);
+        TierStatus after = status(userId, spend.total(now));
+        if (after.getTier() != before) {
+            tierChanges.get(after.getTier()).increment();
+            logger.info("User {} moved from {} to {}", userId, before, after.getTier());
+        }
+        return Optional.of(after);
+    }
+
+    /**
+     * Delete stored counters that fell out of every user's window
+     *
+     * @return number of counters deleted
+     */
+    public int purgeExpiredCounters(int batchSize) {
+        YearMonth cutoff = RollingSpend.windowStart(YearMonth.now());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = store.purgeBefore(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private RollingSpend spendOf(UUID userId, YearMonth now) {
+        return spends.get(userId, id -> load(id, now));
+    }
+
+    private RollingSpend load(UUID userId, YearMonth now) {
+        RollingSpend spend = new RollingSpend();
+        store.load(userId, RollingSpend.windowStart(now))
+            .forEach((month, amount) -> spend.add(month, amount, now));
+        return spend;
+    }
+
+    private static TierStatus status(UUID userId, long rollingSpendMinor) {
+        return new TierStatus(userId, UserTier.forAnnualSpending(rollingSpendMinor), rollingSpendMinor);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.loyalty.points.application.tier;
+
+import com.example.loyalty.points.domain.enums.UserTier;
+import java.util.UUID;
+
+/**
+ * A user's tier as evaluated from the spending of the last 12 months
+ */
+public final class TierStatus {
+
+    private final UUID userId;
+    private final UserTier tier;
+    private final long rollingSpendMinor;
+
+    public TierStatus(UUID userId, UserTier tier, long rollingSpendMinor) {
+        this.userId = userId;
+        this.tier = tier;
+        this.rollingSpendMinor = rollingSpendMinor;
+    }
+
+    /**
+     * Spending still needed for the next tier, in minor units, or 0 at the highest tier
+     */
+    public long spendToNextTierMinor() {
+        UserTier next = tier.next();
+        return next == null ? 0 : Math.max(0, next.getMinSpendingMinor() - rollingSpendMinor);
+    }
+
+    public UUID getUserId() { return userId; }
+    public UserTier getTier() { return tier; }
+    public long getRollingSpendMinor() { return rollingSpendMinor; }
+}
@@ -0,0 +1,204 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.dto.EarnPointsBatchDTO;
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.application.fraud.FraudBlockedException;
+import com.example.loyalty.points.application.idempotency.IdempotencyStore;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.partner.PartnerBudget;
+import com.example.loyalty.points.application.partner.PartnerBudgets;
+import com.example.loyalty.points.application.partner.PartnerThrottledException;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Use case for earning points in bulk, e.g. replaying a POS end-of-day file.
+ *
+ * Items are validated and calculated in parallel, then posted to the ledger one chunk at a time
+ * so each chunk is a single database transaction. An invalid item is reported in its result
+ * instead of failing the whole batch, and an item whose referenceId was already posted comes
+ * back as a duplicate carrying the original result. Items are screened for fraud like single
+ * earns; a blocked item is rejected. A partner's items in a chunk take that many requests from
+ * the partner's rate budget and one slot of its bulkhead while the chunk is posted; when the
+ * partner is over its budget they are all rejected.
+ */
+@Service
+public class EarnPointsBatchUseCase {
+
+    private final EarnPointsUseCase earnPointsUseCase;
+    private final PointLedger pointLedger;
+    private final IdempotencyStore idempotencyStore;
+    private final PartnerBudgets partnerBudgets;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public EarnPointsBatchUseCase(EarnPointsUseCase earnPointsUseCase,
+                                  PointLedger pointLedger,
+                                  IdempotencyStore idempotencyStore,
+                                  PartnerBudgets partnerBudgets,
+                                  @Value("${loyalty.points.batch.chunk-size:1000}") int chunkSize,
+                                  @Value("${loyalty.points.batch.max-items:10000}") int maxItems) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Batch chunk size must be positive");
+        }
+        this.earnPointsUseCase = earnPointsUseCase;
+        this.pointLedger = pointLedger;
+        this.idempotencyStore = idempotencyStore;
+        this.partnerBudgets = partnerBudgets;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public EarnPointsBatchDTO.Response execute(EarnPointsBatchDTO.Request request) {
+        List<EarnPointsDTO.Request> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException(
+                "Batch contains " + items.size() + " items, the maximum is " + maxItems
+                + "; use the NDJSON endpoint for larger files");
+        }
+
+        List<EarnPointsBatchDTO.ItemResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, items.size());
+            results.addAll(executeChunk(items.subList(from, to), from));
+        }
+        return new EarnPointsBatchDTO.Response(results);
+    }
+
+    /**
+     * Process one chunk as a single ledger write
+     *
+     * @param items chunk items
+     * @param firstIndex position of the first item in the overall batch, used to number results
+     * @return one result per item, in input order
+     */
+    public List<EarnPointsBatchDTO.ItemResult> executeChunk(List<EarnPointsDTO.Request> items, int firstIndex) {
+        int size = items.size();
+        if (size == 0) {
+            return List.of();
+        }
+        EarnPointsBatchDTO.ItemResult[] results = new EarnPointsBatchDTO.ItemResult[size];
+        List<PartnerBudget.Lease> leases = leasePartnerBudgets(items, firstIndex, results);
+        try {
+            List<EarnPointsBatchDTO.ItemResult> posted = post(items, firstIndex, results);
+            leases.forEach(PartnerBudget.Lease::complete);
+            return posted;
+        } finally {
+            leases.forEach(PartnerBudget.Lease::close);
+        }
+    }
+
+    /**
+     * Take each partner's budget for its items in the chunk; the items of a partner over its
+     * budget are rejected. Items of unknown partners are left to validation.
+     */
+    private List<PartnerBudget.Lease> leasePartnerBudgets(List<EarnPointsDTO.Request> items, int firstIndex,
+                                                          EarnPointsBatchDTO.ItemResult[] results) {
+        Map<String, List<Integer>> byPartner = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String partnerId = items.get(i).getPartnerId();
+            if (partnerBudgets.isRegistered(partnerId)) {
+                byPartner.computeIfAbsent(partnerId, id -> new ArrayList<>()).add(i);
+            }
+        }
+        List<PartnerBudget.Lease> leases = new ArrayList<>(byPartner.size());
+        byPartner.forEach((partnerId, positions) -> {
+            try {
+                leases.add(partnerBudgets.acquire(partnerId, positions.size()));
+            } catch (PartnerThrottledException e) {
+                for (int i : positions) {
+                    results[i] = EarnPointsBatchDTO.ItemResult.rejected(firstIndex + i, items.get(i), describe(e));
+                }
+            }
+        });
+        return leases;
+    }
+
+    private List<EarnPointsBatchDTO.ItemResult> post(List<EarnPointsDTO.Request> items, int firstIndex,
+                                                     EarnPointsBatchDTO.ItemResult[] results) {
+        int size = items.size();
+        PointTransaction[] prepared = new PointTransaction[size];
+
+        // Validation and rule evaluation are CPU bound and independent per item
+        IntStream.range(0, size).parallel().forEach(i -> {
+            if (results[i] != null) {
+                return;
+            }
+            EarnPointsDTO.Request item = items.get(i);
+            try {
+                PointTransaction transaction = earnPointsUseCase.prepare(item);
+                IdempotencyKey key = IdempotencyKey.of(transaction);
+                Optional<EarnPointsDTO.Response> original = key != null ? idempotencyStore.find(key) : Optional.empty();
+                if (original.isPresent()) {
+                    results[i] = EarnPointsBatchDTO.ItemResult.duplicate(firstIndex + i, item, original.get());
+                } else {
+                    earnPointsUseCase.screen(item, transaction);
+                    prepared[i] = transaction;
+                }
+            } catch (IllegalArgumentException | NullPointerException | ArithmeticException
+                     | FraudBlockedException e) {
+                results[i] = EarnPointsBatchDTO.ItemResult.rejected(firstIndex + i, item, describe(e));
+            }
+        });
+
+        List<PointTransaction> transactions = new ArrayList<>(size);
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (prepared[i] != null) {
+                positions[transactions.size()] = i;
+                transactions.add(prepared[i]);
+            }
+        }
+
+        List<PointLedger.Result> posted;
+        try {
+            posted = pointLedger.postAll(transactions);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent single-item retry committed one of the references first; the
+            // second attempt sees it under the balance locks and rejects it individually
+            posted = pointLedger.postAll(transactions);
+        }
+        for (int j = 0; j < posted.size(); j++) {
+            int i = positions[j];
+            EarnPointsDTO.Request item = items.get(i);
+            PointLedger.Result result = posted.get(j);
+            if (result.isPosted()) {
+                PointLedger.Entry entry = result.getEntry();
+                earnPointsUseCase.recordSpend(item, entry);
+                EarnPointsDTO.Response response = earnPointsUseCase.toResponse(item, entry);
+                IdempotencyKey key = IdempotencyKey.of(entry.getTransaction());
+                if (key != null) {
+                    idempotencyStore.remember(key, response);
+                }
+                results[i] = EarnPointsBatchDTO.ItemResult.posted(firstIndex + i, item, response);
+            } else if (result.getError() instanceof DuplicateTransactionException duplicate) {
+                results[i] = EarnPointsBatchDTO.ItemResult.duplicate(
+                    firstIndex + i, item, idempotencyStore.replay(duplicate.getExisting()));
+            } else {
+                results[i] = EarnPointsBatchDTO.ItemResult.rejected(firstIndex + i, item, describe(result.getError()));
+            }
+        }
+        return List.of(results);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
@@ -1,18 +1,32 @@
 package com.example.loyalty.points.application.usecases;
 
 import com.example.loyalty.points.application.dto.EarnPointsDTO;
-import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.application.execution.StageExecutor;
+import com.example.loyalty.points.application.fraud.FraudBlockedException;
+import com.example.loyalty.points.application.fraud.FraudScreen;
+import com.example.loyalty.points.application.idempotency.IdempotencyStore;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.partner.PartnerBudget;
+import com.example.loyalty.points.application.partner.PartnerBudgets;
+import com.example.loyalty.points.application.tier.TierEngine;
 import com.example.loyalty.points.domain.entities.PointBalance;
 import com.example.loyalty.points.domain.entities.PointTransaction;
 import com.example.loyalty.points.domain.enums.EarningType;
 import com.example.loyalty.points.domain.enums.TransactionType;
-import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
-import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.enums.UserTier;
 import com.example.loyalty.points.domain.services.PointCalculationService;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
 import com.example.loyalty.points.domain.valueobjects.Money;
 import com.example.loyalty.points.domain.valueobjects.Points;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use case for earning points
@@ -20,83 +34,271 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class EarnPointsUseCase {
     
-    private final PointTransactionRepository transactionRepository;
-    private final PointBalanceRepository balanceRepository;
+    private final PointLedger pointLedger;
     private final PointCalculationService calculationService;
-    private final PointEventPublisher eventPublisher;
+    private final IdempotencyStore idempotencyStore;
+    private final TierEngine tierEngine;
+    private final StageExecutor stageExecutor;
+    private final PartnerBudgets partnerBudgets;
+    private final FraudScreen fraudScreen;
+    private final ObjectMapper objectMapper;
 
-    public EarnPointsUseCase(PointTransactionRepository transactionRepository,
-                           PointBalanceRepository balanceRepository,
+    /**
+     * @param stageExecutor present in the concurrent execution mode, see
+     *        {@code loyalty.points.execution.mode}
+     */
+    public EarnPointsUseCase(PointLedger pointLedger,
                            PointCalculationService calculationService,
-                           PointEventPublisher eventPublisher) {
-        this.transactionRepository = transactionRepository;
-        this.balanceRepository = balanceRepository;
+                           IdempotencyStore idempotencyStore,
+                           TierEngine tierEngine,
+                           Optional<StageExecutor> stageExecutor,
+                           PartnerBudgets partnerBudgets,
+                           FraudScreen fraudScreen,
+                           ObjectMapper objectMapper) {
+        this.pointLedger = pointLedger;
         this.calculationService = calculationService;
-        this.eventPublisher = eventPublisher;
+        this.idempotencyStore = idempotencyStore;
+        this.tierEngine = tierEngine;
+        this.stageExecutor = stageExecutor.orElse(null);
+        this.partnerBudgets = partnerBudgets;
+        this.fraudScreen = fraudScreen;
+        this.objectMapper = objectMapper;
     }
 
-    @Transactional
+    /**
+     * Earn points. A request carrying a referenceId that was already posted returns
+     * the original response without writing to the ledger. The points earned event is
+     * published by the ledger as part of the posting. A partner's request runs within the
+     * partner's rate budget and bulkhead. Earns are screened for fraud before they are posted.
+     *
+     * @throws FraudBlockedException if fraud screening blocks the earn
+     */
     public EarnPointsDTO.Response execute(EarnPointsDTO.Request request) {
+        if (request.getPartnerId() != null) {
+            return partnerBudgets.call(request.getPartnerId(), () -> earn(request));
+        }
+        return earn(request);
+    }
+
+    /**
+     * Earn points without holding the caller's thread in the concurrent execution mode: the
+     * returned future completes on a stage thread once the earn is posted or replayed. A partner's
+     * request takes its budget up front and holds its bulkhead slot until the future completes.
+     * In the blocking mode the earn runs on the calling thread and the future is already complete.
+     * Failures complete the future exceptionally with the exceptions {@link #execute} throws.
+     */
+    public CompletableFuture<EarnPointsDTO.Response> submit(EarnPointsDTO.Request request) {
+        try {
+            if (stageExecutor == null) {
+                return CompletableFuture.completedFuture(execute(request));
+            }
+            if (request.getPartnerId() != null) {
+                return submitForPartner(request, stageExecutor);
+            }
+            return executeAsync(request, stageExecutor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<EarnPointsDTO.Response> submitForPartner(EarnPointsDTO.Request request,
+                                                                       StageExecutor stages) {
+        validateRequest(request);
+        PartnerBudget.Lease lease = partnerBudgets.acquire(request.getPartnerId(), 1);
+        CompletableFuture<EarnPointsDTO.Response> earn;
+        try {
+            earn = executeAsync(request, stages);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        return earn.whenComplete((response, error) -> {
+            if (error == null) {
+                lease.complete();
+            }
+            lease.close();
+        });
+    }
+
+    private EarnPointsDTO.Response earn(EarnPointsDTO.Request request) {
+        if (stageExecutor != null) {
+            return join(executeAsync(request, stageExecutor));
+        }
+
+        PointTransaction transaction = prepare(request);
+
+        IdempotencyKey key = IdempotencyKey.of(transaction);
+        if (key != null) {
+            Optional<EarnPointsDTO.Response> original = idempotencyStore.find(key);
+            if (original.isPresent()) {
+                return original.get();
+            }
+        }
+        return post(request, transaction, key);
+    }
+
+    /**
+     * Earn points as stages off the calling thread: the replay lookup, then for an earn that is
+     * not a replay the tier lookup, the rules once the tier is known, and only then the ledger
+     * write. Without a referenceId there is nothing to replay and the tier lookup starts at once.
+     * Stages that may use a database connection wait for admission, within the partner's quota
+     * for a partner's request.
+     */
+    public CompletableFuture<EarnPointsDTO.Response> executeAsync(EarnPointsDTO.Request request, StageExecutor stages) {
+        validateRequest(request);
+        EarningType earningType = parseEarningType(request.getEarningType());
+        IdempotencyKey key = request.getReferenceId() == null ? null : new IdempotencyKey(
+            request.getUserId(), TransactionType.EARN, request.getEarningType(), request.getReferenceId());
+        String partnerId = request.getPartnerId();
+
+        CompletableFuture<Optional<EarnPointsDTO.Response>> original = key == null
+            ? CompletableFuture.completedFuture(Optional.empty())
+            : stages.supplyAdmitted(partnerId, () -> idempotencyStore.find(key));
+
+        return original.thenCompose(replay -> replay
+            .map(CompletableFuture::completedFuture)
+            .orElseGet(() -> stages
+                .supplyAdmitted(partnerId, () -> tierEngine.current(request.getUserId()).getTier())
+                .thenApply(userTier -> build(request, earningType, userTier))
+                .thenCompose(transaction -> stages.supplyAdmitted(partnerId, () -> post(request, transaction, key)))));
+    }
+
+    private EarnPointsDTO.Response post(EarnPointsDTO.Request request, PointTransaction transaction, IdempotencyKey key) {
+        screen(request, transaction);
+
+        // Apply to the user's balance and append to the ledger
+        PointLedger.Entry entry;
+        try {
+            entry = pointLedger.post(transaction);
+        } catch (DuplicateTransactionException e) {
+            return idempotencyStore.replay(e.getExisting());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry won the race on the idempotency index
+            if (key == null) {
+                throw e;
+            }
+            return idempotencyStore.findPersisted(key).orElseThrow(() -> e);
+        }
+
+        recordSpend(request, entry);
+        EarnPointsDTO.Response response = toResponse(request, entry);
+        if (key != null) {
+            idempotencyStore.remember(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Validate the request and build the earn transaction, without touching the ledger.
+     * The user's tier is evaluated locally; a tier sent by the caller is ignored.
+     */
+    public PointTransaction prepare(EarnPointsDTO.Request request) {
         // Validate request
         validateRequest(request);
 
+        // Convert earning type
+        EarningType earningType = parseEarningType(request.getEarningType());
+
+        return build(request, earningType, tierEngine.current(request.getUserId()).getTier());
+    }
+
+    private PointTransaction build(EarnPointsDTO.Request request, EarningType earningType, UserTier tier) {
+        // Calculate points based on transaction amount and earning rules
+        Money transactionAmount = new Money(request.getTransactionAmount());
+        Points earnedPoints = calculationService.calculateEarnedPoints(
+            transactionAmount, 
+            request.getUserId(),
+            earningType,
+            tier.name(),
+            request.getPartnerId()
+        );
+
+        // Tier multiplier applies to purchases only, fixed awards keep their value
+        if (earningType == EarningType.PURCHASE) {
+            earnedPoints = tier.applyMultiplier(earnedPoints);
+        }
+
+        // Apply bonus multiplier if provided
+        if (request.getBonusMultiplier() != null) {
+            earnedPoints = calculationService.calculateBonusPoints(earnedPoints, request.getBonusMultiplier());
+        }
+
+        // Create point transaction
+        PointTransaction transaction = new PointTransaction(
+            request.getUserId(),
+            TransactionType.EARN,
+            earnedPoints,
+            request.getEarningType(),
+            request.getReferenceId(),
+            request.getDescription()
+        );
+        if (earningType == EarningType.PURCHASE) {
+            // Counted towards the tier by the ledger, in the transaction that posts the earn
+            transaction.setTierSpendMinor(transactionAmount.getMinorUnits());
+        }
+        if (request.getPartnerId() != null) {
+            try {
+                transaction.setMetadata(objectMapper.writeValueAsString(Map.of("partnerId", request.getPartnerId())));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize transaction metadata", e);
+            }
+        }
+        return transaction;
+    }
+
+    /**
+     * Screen an earn that is not a replay for fraud
+     *
+     * @throws FraudBlockedException if the earn is blocked
+     */
+    void screen(EarnPointsDTO.Request request, PointTransaction transaction) {
+        fraudScreen.screen(request, transaction);
+    }
+
+    /**
+     * Re-evaluate the user's tier with a posted purchase, whose spending the ledger has stored
+     */
+    void recordSpend(EarnPointsDTO.Request request, PointLedger.Entry entry) {
+        PointTransaction transaction = entry.getTransaction();
+        if (transaction.getTierSpendMinor() > 0) {
+            tierEngine.recordSpend(request.getUserId(), transaction.getTierSpendMinor(), transaction.getCreatedAt());
+        }
+    }
+
+    EarnPointsDTO.Response toResponse(EarnPointsDTO.Request request, PointLedger.Entry entry) {
+        PointTransaction savedTransaction = entry.getTransaction();
+        PointBalance savedBalance = entry.getBalance();
+
+        EarnPointsDTO.Response response = new EarnPointsDTO.Response(
+            savedTransaction.getId().toString(),
+            request.getUserId(),
+            savedTransaction.getPointsAmount().longValue(),
+            savedBalance.getTotalPoints().longValue(),
+            "Points earned successfully"
+        );
+        response.setEarningType(request.getEarningType());
+        response.setTransactionAmount(request.getTransactionAmount());
+        response.setUserTier(tierEngine.current(request.getUserId()).getTier().name());
+        
+        return response;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
         try {
-            // Convert earning type
-            EarningType earningType = EarningType.valueOf(request.getEarningType().toUpperCase());
-            
-            // Calculate points based on transaction amount and earning rules
-            Money transactionAmount = new Money(request.getTransactionAmount());
-            Points earnedPoints = calculationService.calculateEarnedPoints(
-                transactionAmount, 
-                request.getUserId(),
-                earningType,
-                request.getUserTier()
-            );
-
-            // Apply bonus multiplier if provided
-            if (request.getBonusMultiplier() != null) {
-                earnedPoints = calculationService.calculateBonusPoints(earnedPoints, request.getBonusMultiplier());
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        }
+    }
 
-            // Get or create user balance
-            PointBalance balance = balanceRepository.findByUserIdOrCreate(request.getUserId());
-            
-            // Create point transaction
-            PointTransaction transaction = new PointTransaction(
-                request.getUserId(),
-                TransactionType.EARN,
-                earnedPoints,
-                request.getEarningType(),
-                request.getReferenceId(),
-                request.getDescription()
-            );
-
-            // Process transaction and update balance
-            transaction.process(balance.getAvailablePoints());
-            balance.addPoints(earnedPoints);
-
-            // Save entities
-            PointTransaction savedTransaction = transactionRepository.save(transaction);
-            PointBalance savedBalance = balanceRepository.save(balance);
-
-            // Publish event for real-time notifications
-            eventPublisher.publishPointsEarned(savedTransaction, savedBalance);
-
-            // Return response
-            EarnPointsDTO.Response response = new EarnPointsDTO.Response(
-                savedTransaction.getId().toString(),
-                request.getUserId(),
-                earnedPoints.longValue(),
-                savedBalance.getTotalPoints().longValue(),
-                "Points earned successfully"
-            );
-            response.setEarningType(request.getEarningType());
-            response.setTransactionAmount(request.getTransactionAmount());
-            
-            return response;
-            
+    private EarningType parseEarningType(String earningType) {
+        try {
+            return EarningType.valueOf(earningType.toUpperCase());
         } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid earning type: " + request.getEarningType());
+            throw new IllegalArgumentException("Invalid earning type: " + earningType);
         }
     }
 
@@ -111,5 +313,8 @@ public class EarnPointsUseCase {
         if (request.getEarningType() == null || request.getEarningType().trim().isEmpty()) {
             throw new IllegalArgumentException("Earning type is required");
         }
+        if (request.getPartnerId() != null && !partnerBudgets.isRegistered(request.getPartnerId())) {
+            throw new IllegalArgumentException("Unknown partner: " + request.getPartnerId());
+        }
     }
 }
\ No newline at end of file
@@ -1,21 +1,36 @@
 package com.example.loyalty.points.application.usecases;
 
+import com.example.loyalty.points.application.cache.BalanceCache;
 import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import com.example.loyalty.points.application.history.BalanceHistoryReader;
 import com.example.loyalty.points.domain.entities.PointBalance;
 import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 
 /**
- * Use case for getting point balance
+ * Use case for getting point balance.
+ *
+ * Reads through the balance cache; on a miss the balance is loaded from the database and cached.
+ * A user without a balance row gets an empty balance, which is cached too but never inserted:
+ * the row is created by the first ledger write.
+ *
+ * Past balances are rebuilt from the ledger, starting at the nearest balance snapshot.
  */
 @Service
 public class GetBalanceUseCase {
     
     private final PointBalanceRepository balanceRepository;
+    private final BalanceCache balanceCache;
+    private final BalanceHistoryReader historyReader;
 
-    public GetBalanceUseCase(PointBalanceRepository balanceRepository) {
+    public GetBalanceUseCase(PointBalanceRepository balanceRepository, BalanceCache balanceCache,
+                             BalanceHistoryReader historyReader) {
         this.balanceRepository = balanceRepository;
+        this.balanceCache = balanceCache;
+        this.historyReader = historyReader;
     }
 
     public PointBalanceDTO.Response execute(UUID userId) {
@@ -23,7 +38,7 @@ public class GetBalanceUseCase {
             throw new IllegalArgumentException("User ID is required");
         }
 
-        PointBalance balance = balanceRepository.findByUserIdOrCreate(userId);
+        PointBalance balance = balanceCache.get(userId).orElseGet(() -> load(userId));
 
         return new PointBalanceDTO.Response(
             balance.getUserId(),
@@ -35,4 +50,21 @@ public class GetBalanceUseCase {
             balance.getUpdatedAt()
         );
     }
-}
\ No newline at end of file
+
+    public PointBalanceDTO.AtTime executeAt(UUID userId, LocalDateTime at) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (at == null || at.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Time must not be in the future");
+        }
+        return historyReader.balanceAt(userId, at);
+    }
+
+    private PointBalance load(UUID userId) {
+        Optional<PointBalance> stored = balanceRepository.findByUserId(userId);
+        PointBalance balance = stored.orElseGet(() -> new PointBalance(userId));
+        balanceCache.put(balance);
+        return balance;
+    }
+}
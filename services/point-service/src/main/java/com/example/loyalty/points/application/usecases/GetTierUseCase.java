@@ -0,0 +1,39 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.dto.TierDTO;
+import com.example.loyalty.points.application.tier.TierEngine;
+import com.example.loyalty.points.application.tier.TierStatus;
+import com.example.loyalty.points.domain.enums.UserTier;
+import com.example.loyalty.points.domain.valueobjects.Money;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+/**
+ * Use case for getting a user's tier and progress towards the next one
+ */
+@Service
+public class GetTierUseCase {
+
+    private final TierEngine tierEngine;
+
+    public GetTierUseCase(TierEngine tierEngine) {
+        this.tierEngine = tierEngine;
+    }
+
+    public TierDTO.Response execute(UUID userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+
+        TierStatus status = tierEngine.current(userId);
+        UserTier next = status.getTier().next();
+        return new TierDTO.Response(
+            userId,
+            status.getTier().name(),
+            status.getTier().getMultiplier(),
+            Money.ofMinorUnits(status.getRollingSpendMinor()).getAmount(),
+            next != null ? next.name() : null,
+            Money.ofMinorUnits(status.spendToNextTierMinor()).getAmount()
+        );
+    }
+}
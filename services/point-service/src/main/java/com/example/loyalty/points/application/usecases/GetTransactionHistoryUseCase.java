@@ -0,0 +1,70 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import com.example.loyalty.points.application.history.HistoryCursor;
+import com.example.loyalty.points.application.history.HistoryQuery;
+import com.example.loyalty.points.application.history.TransactionHistoryReader;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Use case for reading a user's transaction history.
+ *
+ * Pages use keyset pagination on (createdAt, id): each page asks for one row more than it
+ * returns to learn whether another page exists, and the cursor carries the position of the
+ * last returned row. Cost per page is therefore constant however deep the client pages.
+ */
+@Service
+public class GetTransactionHistoryUseCase {
+
+    private final TransactionHistoryReader historyReader;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public GetTransactionHistoryUseCase(TransactionHistoryReader historyReader,
+                                        @Value("${loyalty.points.history.default-page-size:50}") int defaultPageSize,
+                                        @Value("${loyalty.points.history.max-page-size:200}") int maxPageSize) {
+        this.historyReader = historyReader;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public TransactionHistoryDTO.Page execute(HistoryQuery query, Integer pageSize) {
+        validate(query);
+        int limit = pageSize != null ? pageSize : defaultPageSize;
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        List<TransactionHistoryDTO.Item> rows = historyReader.findPage(query, limit + 1);
+        if (rows.size() <= limit) {
+            return new TransactionHistoryDTO.Page(rows, null);
+        }
+        List<TransactionHistoryDTO.Item> items = rows.subList(0, limit);
+        TransactionHistoryDTO.Item last = items.get(limit - 1);
+        return new TransactionHistoryDTO.Page(
+            List.copyOf(items), new HistoryCursor(last.getCreatedAt(), last.getTransactionId()).encode());
+    }
+
+    /**
+     * Stream every matching row, for exports
+     */
+    public void export(HistoryQuery query, Consumer<TransactionHistoryDTO.Item> consumer) {
+        validate(query);
+        historyReader.stream(query, consumer);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the query cannot be run
+     */
+    public void validate(HistoryQuery query) {
+        if (query.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (query.getFrom() != null && query.getTo() != null && !query.getFrom().isBefore(query.getTo())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.dto.RedeemPointsDTO;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.redemption.BalanceHolds;
+import com.example.loyalty.points.application.redemption.HoldNotFoundException;
+import com.example.loyalty.points.application.redemption.InsufficientPointsException;
+import com.example.loyalty.points.application.redemption.RedemptionHold;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Use case for redeeming points in two phases.
+ *
+ * Reserving moves points from available to pending so checkout can hold them while the order
+ * is placed; confirming turns the hold into a SPEND and releasing gives the points back. A
+ * hold that is neither confirmed nor released before its TTL is released automatically.
+ * Holds are stored with the balance, so any instance can confirm, release or reap them.
+ */
+@Service
+public class RedeemPointsUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedeemPointsUseCase.class);
+
+    static final String REDEMPTION_SOURCE = "REDEMPTION";
+    static final String HELD = "HELD";
+    static final String RELEASED = "RELEASED";
+
+    private final BalanceHolds balanceHolds;
+    private final BalanceCache balanceCache;
+    private final Duration holdTtl;
+    private final int reapBatchSize;
+
+    public RedeemPointsUseCase(BalanceHolds balanceHolds,
+                               BalanceCache balanceCache,
+                               @Value("${loyalty.points.redemption.hold-ttl-ms:300000}") long holdTtlMs,
+                               @Value("${loyalty.points.redemption.reap-batch-size:500}") int reapBatchSize) {
+        if (holdTtlMs <= 0 || reapBatchSize <= 0) {
+            throw new IllegalArgumentException("Redemption hold TTL and reap batch size must be positive");
+        }
+        this.balanceHolds = balanceHolds;
+        this.balanceCache = balanceCache;
+        this.holdTtl = Duration.ofMillis(holdTtlMs);
+        this.reapBatchSize = reapBatchSize;
+    }
+
+    /**
+     * Hold points for a redemption
+     *
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws InsufficientPointsException if fewer points are available
+     */
+    public RedeemPointsDTO.HoldResponse reserve(RedeemPointsDTO.Request request) {
+        validateRequest(request);
+        UUID userId = request.getUserId();
+        RedemptionHold hold = new RedemptionHold(UUID.randomUUID(), userId, Points.of(request.getPoints()),
+            request.getReferenceId(), request.getDescription(), LocalDateTime.now().plus(holdTtl));
+
+        PointBalance balance = balanceHolds.reserve(hold).orElseThrow(InsufficientPointsException::new);
+        balanceCache.put(balance);
+        return toHoldResponse(hold, HELD, balance);
+    }
+
+    /**
+     * Spend the held points
+     *
+     * @throws HoldNotFoundException if the user has no open hold with that id
+     * @throws DuplicateTransactionException if the hold's reference was already redeemed; the
+     *         hold is released
+     */
+    public RedeemPointsDTO.Response confirm(UUID holdId, UUID userId) {
+        RedemptionHold hold = balanceHolds.find(userId, holdId)
+            .orElseThrow(() -> new HoldNotFoundException(holdId));
+        PointTransaction spend = new PointTransaction(userId, TransactionType.SPEND, hold.getPoints(),
+            REDEMPTION_SOURCE, hold.getReferenceId(),
+            hold.getDescription() != null ? hold.getDescription() : "Points redeemed");
+
+        // Any other failure rolled back, so the points are still held and the caller may retry
+        PointLedger.Entry entry;
+        try {
+            entry = balanceHolds.confirm(hold, spend);
+        } catch (DuplicateTransactionException e) {
+            balanceHolds.release(userId, holdId).ifPresent(this::cacheReleased);
+            throw e;
+        }
+
+        balanceCache.put(entry.getBalance());
+        return new RedeemPointsDTO.Response(
+            entry.getTransaction().getId().toString(),
+            holdId,
+            userId,
+            entry.getTransaction().getPointsAmount().longValue(),
+            entry.getBalance().getTotalPoints().longValue(),
+            "Points redeemed successfully"
+        );
+    }
+
+    /**
+     * Give the held points back
+     *
+     * @throws HoldNotFoundException if the user has no open hold with that id
+     */
+    public RedeemPointsDTO.HoldResponse release(UUID holdId, UUID userId) {
+        BalanceHolds.Released released = balanceHolds.release(userId, holdId)
+            .orElseThrow(() -> new HoldNotFoundException(holdId));
+        cacheReleased(released);
+        return toHoldResponse(released.hold(), RELEASED, released.balance().orElse(null));
+    }
+
+    /**
+     * Release up to a batch of holds past their TTL, whichever instance reserved them. A hold
+     * that cannot be released now is retried on the next call; one released meanwhile by another
+     * instance is skipped.
+     *
+     * @return number of holds released
+     */
+    public int releaseExpired() {
+        int released = 0;
+        for (RedemptionHold hold : balanceHolds.findExpired(LocalDateTime.now(), reapBatchSize)) {
+            try {
+                Optional<BalanceHolds.Released> result = balanceHolds.release(hold.getUserId(), hold.getHoldId());
+                if (result.isPresent()) {
+                    cacheReleased(result.get());
+                    released++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to release hold {} of user {}", hold.getHoldId(), hold.getUserId(), e);
+            }
+        }
+        return released;
+    }
+
+    public long openHolds() {
+        return balanceHolds.countOpen();
+    }
+
+    private void cacheReleased(BalanceHolds.Released released) {
+        RedemptionHold hold = released.hold();
+        if (released.balance().isEmpty()) {
+            // Pending points were changed outside the hold; there is nothing left to give back
+            logger.warn("Balance of user {} no longer holds the {} points of hold {}",
+                hold.getUserId(), hold.getPoints().longValue(), hold.getHoldId());
+            balanceCache.evict(hold.getUserId());
+            return;
+        }
+        balanceCache.put(released.balance().get());
+    }
+
+    private RedeemPointsDTO.HoldResponse toHoldResponse(RedemptionHold hold, String status, PointBalance balance) {
+        return new RedeemPointsDTO.HoldResponse(
+            hold.getHoldId(),
+            hold.getUserId(),
+            hold.getPoints().longValue(),
+            status,
+            balance != null ? balance.getAvailablePoints().longValue() : 0,
+            balance != null ? balance.getPendingPoints().longValue() : 0,
+            hold.getExpiresAt()
+        );
+    }
+
+    private void validateRequest(RedeemPointsDTO.Request request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (request.getPoints() == null || request.getPoints() <= 0) {
+            throw new IllegalArgumentException("Points must be positive");
+        }
+    }
+}
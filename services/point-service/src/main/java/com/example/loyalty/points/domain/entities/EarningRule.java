@@ -4,13 +4,18 @@ import com.example.loyalty.points.domain.enums.EarningType;
 import com.example.loyalty.points.domain.valueobjects.Points;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Domain entity representing earning rules for points
  */
 public class EarningRule {
+    private static final String ALLOWED_TIERS_KEY = "allowedTiers";
+
     private UUID id;
     private String name;
     private EarningType ruleType;
@@ -20,6 +25,7 @@ public class EarningRule {
     private BigDecimal minAmount;
     private Points maxPoints;
     private Map<String, Object> tierRestrictions;
+    private String partnerId;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private boolean active;
@@ -62,16 +68,15 @@ public class EarningRule {
         }
         
         // Check tier restrictions
-        if (tierRestrictions != null && userTier != null) {
-            // Implementation would check if user tier is allowed
-            // For now, assume all tiers are allowed if no restriction
+        if (!isAvailableForTier(userTier)) {
+            return Points.zero();
         }
         
         // Calculate base points
         BigDecimal basePoints;
         if ("DOLLAR".equals(unitType)) {
-            // 1 point per 1000 units (Rp 1,000)
-            basePoints = transactionAmount.divide(BigDecimal.valueOf(1000), java.math.RoundingMode.DOWN)
+            // 1 point per 1000 units (Rp 1,000), whole units only
+            basePoints = transactionAmount.divide(BigDecimal.valueOf(1000), 0, java.math.RoundingMode.DOWN)
                                         .multiply(pointsPerUnit);
         } else {
             basePoints = pointsPerUnit;
@@ -81,13 +86,38 @@ public class EarningRule {
         BigDecimal finalPoints = basePoints.multiply(multiplier);
         
         // Check maximum points limit
-        if (maxPoints != null && finalPoints.compareTo(maxPoints.getValue()) > 0) {
-            finalPoints = maxPoints.getValue();
+        if (maxPoints != null && finalPoints.compareTo(BigDecimal.valueOf(maxPoints.longValue())) > 0) {
+            return maxPoints;
         }
         
         return new Points(finalPoints);
     }
 
+    /**
+     * Tiers allowed to use this rule, read from {@code tierRestrictions.allowedTiers}.
+     * An empty set means the rule applies to every tier.
+     */
+    public Set<String> getAllowedTiers() {
+        if (tierRestrictions == null) {
+            return Set.of();
+        }
+        Object allowed = tierRestrictions.get(ALLOWED_TIERS_KEY);
+        Set<String> tiers = new LinkedHashSet<>();
+        if (allowed instanceof Collection<?> values) {
+            values.forEach(value -> tiers.add(String.valueOf(value).trim().toUpperCase()));
+        } else if (allowed instanceof String value && !value.isBlank()) {
+            for (String tier : value.split(",")) {
+                tiers.add(tier.trim().toUpperCase());
+            }
+        }
+        return tiers;
+    }
+
+    public boolean isAvailableForTier(String userTier) {
+        Set<String> allowedTiers = getAllowedTiers();
+        return allowedTiers.isEmpty() || (userTier != null && allowedTiers.contains(userTier));
+    }
+
     public void activate() {
         this.active = true;
         this.updatedAt = LocalDateTime.now();
@@ -113,6 +143,8 @@ public class EarningRule {
     public BigDecimal getMinAmount() { return minAmount; }
     public Points getMaxPoints() { return maxPoints; }
     public Map<String, Object> getTierRestrictions() { return tierRestrictions; }
+    /** Partner whose earn requests the rule applies to, or null for requests of every partner */
+    public String getPartnerId() { return partnerId; }
     public LocalDateTime getStartDate() { return startDate; }
     public LocalDateTime getEndDate() { return endDate; }
     public boolean isActive() { return active; }
@@ -124,6 +156,7 @@ public class EarningRule {
     public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
     public void setMaxPoints(Points maxPoints) { this.maxPoints = maxPoints; }
     public void setTierRestrictions(Map<String, Object> tierRestrictions) { this.tierRestrictions = tierRestrictions; }
+    public void setPartnerId(String partnerId) { this.partnerId = partnerId; }
     public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
     public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
     public void setActive(boolean active) { this.active = active; }
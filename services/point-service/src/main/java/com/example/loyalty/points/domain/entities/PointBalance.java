@@ -36,6 +36,48 @@ public class PointBalance {
         this.version = 0;
     }
 
+    /**
+     * Recreate a stored balance as-is, without the zeroed defaults and timestamps of a new one
+     */
+    public static PointBalance restore(UUID id, UUID userId, Points totalPoints, Points availablePoints,
+                                       Points pendingPoints, Points lifetimeEarned, Points lifetimeSpent,
+                                       LocalDateTime createdAt, LocalDateTime updatedAt, int version) {
+        PointBalance balance = new PointBalance();
+        balance.id = id;
+        balance.userId = userId;
+        balance.totalPoints = totalPoints;
+        balance.availablePoints = availablePoints;
+        balance.pendingPoints = pendingPoints;
+        balance.lifetimeEarned = lifetimeEarned;
+        balance.lifetimeSpent = lifetimeSpent;
+        balance.createdAt = createdAt;
+        balance.updatedAt = updatedAt;
+        balance.version = version;
+        return balance;
+    }
+
+    /**
+     * Apply a ledger transaction to this balance, recording the resulting
+     * available balance on the transaction
+     */
+    public void apply(PointTransaction transaction) {
+        Points amount = transaction.getPointsAmount();
+        switch (transaction.getTransactionType()) {
+            case EARN, BONUS, REFERRAL, REFUND -> {
+                transaction.process(this.availablePoints);
+                addPoints(amount);
+            }
+            case SPEND -> {
+                spendPoints(amount);
+                transaction.process(this.availablePoints.add(amount));
+            }
+            case EXPIRE -> {
+                expirePoints(amount);
+                transaction.process(this.availablePoints.add(amount));
+            }
+        }
+    }
+
     public void addPoints(Points points) {
         this.totalPoints = this.totalPoints.add(points);
         this.availablePoints = this.availablePoints.add(points);
@@ -23,6 +23,8 @@ public class PointTransaction {
     private LocalDateTime createdAt;
     private LocalDateTime processedAt;
     private String status;
+    // Purchase amount this earn adds to the user's tier spending; not stored with the ledger row
+    private long tierSpendMinor;
 
     // Private constructor for entity recreation
     private PointTransaction() {
@@ -41,6 +43,31 @@ public class PointTransaction {
         this.status = "PENDING";
     }
 
+    /**
+     * Recreate a stored transaction as-is, keeping its original id, creation time and status
+     */
+    public static PointTransaction restore(UUID id, UUID userId, TransactionType transactionType,
+                                           Points pointsAmount, Points balanceAfter, String source,
+                                           UUID sourceId, String description, String metadata,
+                                           LocalDateTime expiryDate, LocalDateTime createdAt,
+                                           LocalDateTime processedAt, String status) {
+        PointTransaction transaction = new PointTransaction();
+        transaction.id = id;
+        transaction.userId = userId;
+        transaction.transactionType = transactionType;
+        transaction.pointsAmount = pointsAmount;
+        transaction.balanceAfter = balanceAfter;
+        transaction.source = source;
+        transaction.sourceId = sourceId;
+        transaction.description = description;
+        transaction.metadata = metadata;
+        transaction.expiryDate = expiryDate;
+        transaction.createdAt = createdAt;
+        transaction.processedAt = processedAt;
+        transaction.status = status;
+        return transaction;
+    }
+
     public void process(Points currentBalance) {
         if ("PROCESSED".equals(this.status)) {
             throw new IllegalStateException("Transaction is already processed");
@@ -92,6 +119,7 @@ public class PointTransaction {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getProcessedAt() { return processedAt; }
     public String getStatus() { return status; }
+    public long getTierSpendMinor() { return tierSpendMinor; }
 
     // Setters for entity recreation (needed by infrastructure layer)
     public void setId(UUID id) { this.id = id; }
@@ -100,4 +128,5 @@ public class PointTransaction {
     public void setExpiryDate(LocalDateTime expiryDate) { this.expiryDate = expiryDate; }
     public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
     public void setStatus(String status) { this.status = status; }
+    public void setTierSpendMinor(long tierSpendMinor) { this.tierSpendMinor = tierSpendMinor; }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.loyalty.points.domain.enums;
+
+import com.example.loyalty.points.domain.valueobjects.Money;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Membership tiers by spending over the last 12 months, with their earning multipliers
+ */
+public enum UserTier {
+    BRONZE(0L, 10_000L),
+    SILVER(5_000_001L, 12_500L),
+    GOLD(15_000_001L, 15_000L),
+    PLATINUM(50_000_001L, 20_000L);
+
+    private static final UserTier[] HIGHEST_FIRST = {PLATINUM, GOLD, SILVER, BRONZE};
+
+    private final long minSpendingMinor;
+    private final long multiplierScaled;
+
+    /**
+     * @param minSpending lowest annual spending of the tier, in Rupiah
+     * @param multiplierScaled earning multiplier in units of 1/{@link Points#MULTIPLIER_SCALE}
+     */
+    UserTier(long minSpending, long multiplierScaled) {
+        this.minSpendingMinor = minSpending * Money.MINOR_UNITS_PER_UNIT;
+        this.multiplierScaled = multiplierScaled;
+    }
+
+    /**
+     * Tier for the given spending over the last 12 months, in minor units
+     */
+    public static UserTier forAnnualSpending(long spendingMinor) {
+        for (UserTier tier : HIGHEST_FIRST) {
+            if (spendingMinor >= tier.minSpendingMinor) {
+                return tier;
+            }
+        }
+        return BRONZE;
+    }
+
+    /**
+     * Next tier up, or null for the highest tier
+     */
+    public UserTier next() {
+        return this == PLATINUM ? null : values()[ordinal() + 1];
+    }
+
+    public Points applyMultiplier(Points points) {
+        return points.multiplyScaled(multiplierScaled);
+    }
+
+    public BigDecimal getMultiplier() {
+        return BigDecimal.valueOf(multiplierScaled)
+            .divide(BigDecimal.valueOf(Points.MULTIPLIER_SCALE), 2, RoundingMode.DOWN);
+    }
+
+    public long getMinSpendingMinor() { return minSpendingMinor; }
+    public long getMultiplierScaled() { return multiplierScaled; }
+}
@@ -1,6 +1,7 @@
 package com.example.loyalty.points.domain.repositories;
 
 import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +15,21 @@ public interface PointBalanceRepository {
     Optional<PointBalance> findByUserId(UUID userId);
     
     PointBalance findByUserIdOrCreate(UUID userId);
+
+    /**
+     * Like {@link #findByUserIdOrCreate} but locks the balance row until the surrounding
+     * transaction ends, so concurrent writers cannot overwrite each other's changes
+     */
+    PointBalance lockByUserIdOrCreate(UUID userId);
+
+    /**
+     * Add the delta to the user's balance in a single statement, opening the balance if the
+     * delta is a credit. The row stays locked until the surrounding transaction ends.
+     *
+     * @return the balance after the change, or empty if it would take available or pending
+     *         points below zero, or a debit targets a user without a balance
+     */
+    Optional<PointBalance> applyDelta(UUID userId, BalanceDelta delta);
     
     void deleteByUserId(UUID userId);
 }
\ No newline at end of file
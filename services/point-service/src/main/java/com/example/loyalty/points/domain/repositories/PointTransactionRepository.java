@@ -1,10 +1,12 @@
 package com.example.loyalty.points.domain.repositories;
 
 import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for PointTransaction domain entity
@@ -12,14 +14,37 @@ import java.util.UUID;
 public interface PointTransactionRepository {
     
     PointTransaction save(PointTransaction transaction);
+
+    /**
+     * Save several transactions; implementations may send them as one batch
+     */
+    default List<PointTransaction> saveAll(List<PointTransaction> transactions) {
+        return transactions.stream().map(this::save).toList();
+    }
     
     Optional<PointTransaction> findById(UUID id);
     
+    /**
+     * @deprecated unbounded; read user-facing history through
+     * {@code TransactionHistoryReader}, which pages with a keyset cursor
+     */
+    @Deprecated
     List<PointTransaction> findByUserId(UUID userId);
     
+    /**
+     * @deprecated unbounded; use {@code TransactionHistoryReader} with a date filter
+     */
+    @Deprecated
     List<PointTransaction> findByUserIdAndDateRange(UUID userId, LocalDateTime from, LocalDateTime to);
     
     List<PointTransaction> findPendingTransactions();
     
+    Optional<PointTransaction> findByIdempotencyKey(IdempotencyKey key);
+    
+    /**
+     * Stream the keys of referenced transactions created since the given time
+     */
+    void forEachIdempotencyKeySince(LocalDateTime since, Consumer<IdempotencyKey> consumer);
+    
     void deleteById(UUID id);
 }
\ No newline at end of file
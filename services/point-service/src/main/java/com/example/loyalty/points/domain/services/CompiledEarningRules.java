@@ -0,0 +1,277 @@
+package com.example.loyalty.points.domain.services;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, pre-compiled snapshot of the active earning rules.
+ *
+ * Rules are indexed by earning type and user tier so that evaluation is a plain array walk.
+ * Validity windows are stored as epoch millis and all amounts use fixed-point longs, so
+ * {@link #evaluate} performs no allocation.
+ *
+ * Rules without a partner form the common rule set. Each partner with rules of its own gets a
+ * separate rule set compiled from them plus the common rules of every earning type it has no
+ * rules for, so a partner can replace the purchase rule without repeating the others.
+ */
+public final class CompiledEarningRules {
+
+    /** Fixed-point scale used for points-per-unit and multipliers (4 decimal places) */
+    static final long RATE_SCALE = 10_000L;
+
+    /** Combined scale of pointsPerUnit * multiplier */
+    static final long COMBINED_SCALE = RATE_SCALE * RATE_SCALE;
+
+    /** Money minor units per earning unit: 1 point unit = Rp 1,000 = 100,000 sen */
+    static final long MINOR_UNITS_PER_EARNING_UNIT = 100_000L;
+
+    private static final CompiledRule[] NO_RULES = new CompiledRule[0];
+    private static final int TYPE_COUNT = EarningType.values().length;
+
+    private final CompiledRule[][] unrestricted;
+    private final Map<String, CompiledRule[][]> byTier;
+    private final Map<String, CompiledEarningRules> partners;
+    private final int ruleCount;
+    private final LocalDateTime compiledAt;
+
+    private CompiledEarningRules(CompiledRule[][] unrestricted, Map<String, CompiledRule[][]> byTier,
+                                 Map<String, CompiledEarningRules> partners, int ruleCount) {
+        this.unrestricted = unrestricted;
+        this.byTier = byTier;
+        this.partners = partners;
+        this.ruleCount = ruleCount;
+        this.compiledAt = LocalDateTime.now();
+    }
+
+    public static CompiledEarningRules empty() {
+        return compile(List.of());
+    }
+
+    /**
+     * Compile the given rules into an indexed snapshot. Inactive rules are dropped; rules that
+     * are active but outside their validity window are kept and filtered at evaluation time.
+     */
+    public static CompiledEarningRules compile(Collection<EarningRule> rules) {
+        List<EarningRule> common = new ArrayList<>();
+        Map<String, List<EarningRule>> partnerRules = new HashMap<>();
+        for (EarningRule rule : rules) {
+            if (!rule.isActive() || rule.getRuleType() == null) {
+                continue;
+            }
+            if (rule.getPartnerId() == null) {
+                common.add(rule);
+            } else {
+                partnerRules.computeIfAbsent(rule.getPartnerId(), partner -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        Map<String, CompiledEarningRules> partners = new HashMap<>();
+        int count = common.size();
+        for (Map.Entry<String, List<EarningRule>> entry : partnerRules.entrySet()) {
+            List<EarningRule> own = entry.getValue();
+            Set<EarningType> replaced = EnumSet.noneOf(EarningType.class);
+            own.forEach(rule -> replaced.add(rule.getRuleType()));
+            List<EarningRule> merged = new ArrayList<>(own);
+            for (EarningRule rule : common) {
+                if (!replaced.contains(rule.getRuleType())) {
+                    merged.add(rule);
+                }
+            }
+            partners.put(entry.getKey(), index(merged, Map.of(), merged.size()));
+            count += own.size();
+        }
+        return index(common, Map.copyOf(partners), count);
+    }
+
+    private static CompiledEarningRules index(List<EarningRule> rules, Map<String, CompiledEarningRules> partners,
+                                              int ruleCount) {
+        List<List<CompiledRule>> common = newTypeBuckets();
+        Map<String, List<List<CompiledRule>>> tiered = new HashMap<>();
+        Set<String> tiers = new HashSet<>();
+
+        for (EarningRule rule : rules) {
+            CompiledRule compiled = CompiledRule.from(rule);
+            Set<String> allowedTiers = rule.getAllowedTiers();
+            if (allowedTiers.isEmpty()) {
+                common.get(rule.getRuleType().ordinal()).add(compiled);
+            } else {
+                for (String tier : allowedTiers) {
+                    tiered.computeIfAbsent(tier, t -> newTypeBuckets())
+                          .get(rule.getRuleType().ordinal())
+                          .add(compiled);
+                    tiers.add(tier);
+                }
+            }
+        }
+
+        Map<String, CompiledRule[][]> byTier = new HashMap<>();
+        for (String tier : tiers) {
+            List<List<CompiledRule>> tierBuckets = tiered.get(tier);
+            CompiledRule[][] merged = new CompiledRule[TYPE_COUNT][];
+            for (int type = 0; type < TYPE_COUNT; type++) {
+                List<CompiledRule> all = new ArrayList<>(common.get(type));
+                all.addAll(tierBuckets.get(type));
+                merged[type] = toArray(all);
+            }
+            byTier.put(tier, merged);
+        }
+
+        CompiledRule[][] unrestricted = new CompiledRule[TYPE_COUNT][];
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            unrestricted[type] = toArray(common.get(type));
+        }
+
+        return new CompiledEarningRules(unrestricted, Map.copyOf(byTier), partners, ruleCount);
+    }
+
+    /**
+     * Evaluate the rules of the partner's rule set for one transaction, see
+     * {@link #evaluate(EarningType, String, long, long)}
+     *
+     * @param partnerId partner of the transaction, or null for the common rules
+     */
+    public long evaluate(String partnerId, EarningType earningType, String userTier, long amountMinor,
+                         long nowEpochMillis) {
+        return forPartner(partnerId).evaluate(earningType, userTier, amountMinor, nowEpochMillis);
+    }
+
+    /**
+     * Rule set of the partner, or the common rules if the partner has no rules of its own
+     */
+    public CompiledEarningRules forPartner(String partnerId) {
+        if (partnerId == null) {
+            return this;
+        }
+        CompiledEarningRules partner = partners.get(partnerId);
+        return partner != null ? partner : this;
+    }
+
+    /**
+     * Evaluate the rules for one transaction.
+     *
+     * @param earningType earning type of the transaction
+     * @param userTier user tier in any case, or null for unrestricted rules only
+     * @param amountMinor transaction amount in money minor units (sen)
+     * @param nowEpochMillis evaluation instant
+     * @return total points earned across all applicable rules
+     */
+    public long evaluate(EarningType earningType, String userTier, long amountMinor, long nowEpochMillis) {
+        CompiledRule[][] index = unrestricted;
+        if (userTier != null) {
+            // Allowed tiers are indexed upper case, see EarningRule#getAllowedTiers
+            CompiledRule[][] tierIndex = byTier.get(userTier.toUpperCase(Locale.ROOT));
+            if (tierIndex != null) {
+                index = tierIndex;
+            }
+        }
+
+        CompiledRule[] candidates = index[earningType.ordinal()];
+        long total = 0;
+        for (CompiledRule rule : candidates) {
+            total = Math.addExact(total, rule.points(amountMinor, nowEpochMillis));
+        }
+        return total;
+    }
+
+    public int getRuleCount() { return ruleCount; }
+    public Set<String> getPartners() { return partners.keySet(); }
+    public LocalDateTime getCompiledAt() { return compiledAt; }
+
+    private static List<List<CompiledRule>> newTypeBuckets() {
+        List<List<CompiledRule>> buckets = new ArrayList<>(TYPE_COUNT);
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        return buckets;
+    }
+
+    private static CompiledRule[] toArray(List<CompiledRule> rules) {
+        return rules.isEmpty() ? NO_RULES : rules.toArray(NO_RULES);
+    }
+
+    /**
+     * Single rule reduced to primitive fields
+     */
+    static final class CompiledRule {
+        private final long startEpochMillis;
+        private final long endEpochMillis;
+        private final long minAmountMinor;
+        private final boolean perAmountUnit;
+        private final long rateWhole;
+        private final long rateFraction;
+        private final long fixedPoints;
+        private final long maxPoints;
+
+        private CompiledRule(long startEpochMillis, long endEpochMillis, long minAmountMinor,
+                             boolean perAmountUnit, long combinedRate, long maxPoints) {
+            this.startEpochMillis = startEpochMillis;
+            this.endEpochMillis = endEpochMillis;
+            this.minAmountMinor = minAmountMinor;
+            this.perAmountUnit = perAmountUnit;
+            // Split the rate so units * rate / scale can be computed without overflowing early
+            this.rateWhole = combinedRate / COMBINED_SCALE;
+            this.rateFraction = combinedRate % COMBINED_SCALE;
+            this.fixedPoints = Math.min(combinedRate / COMBINED_SCALE, maxPoints);
+            this.maxPoints = maxPoints;
+        }
+
+        static CompiledRule from(EarningRule rule) {
+            long pointsPerUnit = toScaled(rule.getPointsPerUnit(), RATE_SCALE);
+            long multiplier = toScaled(rule.getMultiplier() != null ? rule.getMultiplier() : BigDecimal.ONE,
+                                       RATE_SCALE);
+            return new CompiledRule(
+                toEpochMillis(rule.getStartDate(), Long.MIN_VALUE),
+                toEpochMillis(rule.getEndDate(), Long.MAX_VALUE),
+                rule.getMinAmount() != null ? toScaled(rule.getMinAmount(), 100) : Long.MIN_VALUE,
+                "DOLLAR".equals(rule.getUnitType()),
+                Math.multiplyExact(pointsPerUnit, multiplier),
+                rule.getMaxPoints() != null ? rule.getMaxPoints().longValue() : Long.MAX_VALUE
+            );
+        }
+
+        long points(long amountMinor, long nowEpochMillis) {
+            if (nowEpochMillis < startEpochMillis || nowEpochMillis > endEpochMillis) {
+                return 0;
+            }
+            if (amountMinor < minAmountMinor) {
+                return 0;
+            }
+            if (!perAmountUnit) {
+                return fixedPoints;
+            }
+
+            long units = amountMinor / MINOR_UNITS_PER_EARNING_UNIT;
+            long points = Math.addExact(
+                Math.multiplyExact(units, rateWhole),
+                Math.multiplyExact(units, rateFraction) / COMBINED_SCALE
+            );
+            return Math.min(points, maxPoints);
+        }
+
+        private static long toScaled(BigDecimal value, long scale) {
+            return value.multiply(BigDecimal.valueOf(scale))
+                        .setScale(0, RoundingMode.DOWN)
+                        .longValueExact();
+        }
+
+        private static long toEpochMillis(LocalDateTime dateTime, long defaultValue) {
+            if (dateTime == null) {
+                return defaultValue;
+            }
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.loyalty.points.domain.services;
+
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.repositories.EarningRuleRepository;
+
+/**
+ * Evaluates earning rules against the current compiled snapshot.
+ *
+ * The snapshot is replaced atomically on {@link #reload()}, so in-flight evaluations always see
+ * a consistent rule set and never block on a reload.
+ */
+public class EarningRuleEngine {
+
+    private final EarningRuleRepository earningRuleRepository;
+    private volatile CompiledEarningRules snapshot = CompiledEarningRules.empty();
+
+    public EarningRuleEngine(EarningRuleRepository earningRuleRepository) {
+        this.earningRuleRepository = earningRuleRepository;
+        reload();
+    }
+
+    /**
+     * Recompile the rule set from the repository and swap it in
+     */
+    public CompiledEarningRules reload() {
+        CompiledEarningRules compiled = CompiledEarningRules.compile(earningRuleRepository.findAll());
+        this.snapshot = compiled;
+        return compiled;
+    }
+
+    /**
+     * Calculate points for a transaction amount given in money minor units
+     */
+    public long evaluate(EarningType earningType, String userTier, long amountMinor) {
+        return snapshot.evaluate(earningType, userTier, amountMinor, System.currentTimeMillis());
+    }
+
+    /**
+     * Calculate points for a transaction of a partner, using the partner's rule set
+     */
+    public long evaluate(String partnerId, EarningType earningType, String userTier, long amountMinor) {
+        return snapshot.evaluate(partnerId, earningType, userTier, amountMinor, System.currentTimeMillis());
+    }
+
+    public CompiledEarningRules getSnapshot() {
+        return snapshot;
+    }
+}
@@ -15,9 +15,11 @@ import java.util.UUID;
 public class PointCalculationService {
     
     private final EarningRuleRepository earningRuleRepository;
+    private final EarningRuleEngine earningRuleEngine;
 
     public PointCalculationService(EarningRuleRepository earningRuleRepository) {
         this.earningRuleRepository = earningRuleRepository;
+        this.earningRuleEngine = new EarningRuleEngine(earningRuleRepository);
     }
 
     /**
@@ -31,18 +33,23 @@ public class PointCalculationService {
      * Calculate earned points with user tier consideration
      */
     public Points calculateEarnedPoints(Money transactionAmount, UUID userId, EarningType earningType, String userTier) {
-        List<EarningRule> applicableRules = earningRuleRepository.findByRuleType(earningType);
-        
-        Points totalPoints = Points.zero();
-        
-        for (EarningRule rule : applicableRules) {
-            if (rule.isApplicable()) {
-                Points earnedPoints = rule.calculatePoints(transactionAmount.getAmount(), userTier);
-                totalPoints = totalPoints.add(earnedPoints);
-            }
-        }
-        
-        return totalPoints;
+        return calculateEarnedPoints(transactionAmount, userId, earningType, userTier, null);
+    }
+
+    /**
+     * Calculate earned points with the rule set of the partner the transaction came from
+     */
+    public Points calculateEarnedPoints(Money transactionAmount, UUID userId, EarningType earningType,
+                                        String userTier, String partnerId) {
+        return Points.of(earningRuleEngine.evaluate(partnerId, earningType, userTier,
+            transactionAmount.getMinorUnits()));
+    }
+
+    /**
+     * Recompile earning rules from the repository (hot reload)
+     */
+    public void reloadEarningRules() {
+        earningRuleEngine.reload();
     }
 
     /**
@@ -50,7 +57,7 @@ public class PointCalculationService {
      */
     public Points calculateReferralPoints() {
         // Business rule: 500 points per successful referral
-        return new Points(500);
+        return Points.of(500);
     }
 
     /**
@@ -75,8 +82,7 @@ public class PointCalculationService {
      * Validate transaction amount for point earning
      */
     public boolean isValidForPointEarning(Money transactionAmount) {
-        return transactionAmount != null && 
-               transactionAmount.getAmount().compareTo(BigDecimal.ZERO) > 0;
+        return transactionAmount != null && transactionAmount.isPositive();
     }
 
     /**
@@ -88,9 +94,6 @@ public class PointCalculationService {
         }
         
         // Business rule: 1 point = Rp 1,000 transaction
-        BigDecimal pointsEarned = transactionAmount.getAmount()
-            .divide(BigDecimal.valueOf(1000), java.math.RoundingMode.DOWN);
-        
-        return new Points(pointsEarned);
+        return Points.of(transactionAmount.getMinorUnits() / (1000 * Money.MINOR_UNITS_PER_UNIT));
     }
 }
\ No newline at end of file
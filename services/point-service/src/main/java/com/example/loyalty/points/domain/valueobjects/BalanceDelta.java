@@ -0,0 +1,51 @@
+package com.example.loyalty.points.domain.valueobjects;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+
+/**
+ * Signed change to the columns of a point balance, applied by the database as
+ * {@code column = column + delta} instead of writing back a balance read earlier
+ */
+public final class BalanceDelta {
+    private final long total;
+    private final long available;
+    private final long pending;
+    private final long lifetimeEarned;
+    private final long lifetimeSpent;
+
+    public BalanceDelta(long total, long available, long pending, long lifetimeEarned, long lifetimeSpent) {
+        if (lifetimeEarned < 0 || lifetimeSpent < 0) {
+            throw new IllegalArgumentException("Lifetime totals only grow");
+        }
+        this.total = total;
+        this.available = available;
+        this.pending = pending;
+        this.lifetimeEarned = lifetimeEarned;
+        this.lifetimeSpent = lifetimeSpent;
+    }
+
+    /**
+     * Change a ledger transaction makes, matching {@code PointBalance.apply}
+     */
+    public static BalanceDelta of(PointTransaction transaction) {
+        long amount = transaction.getPointsAmount().longValue();
+        return switch (transaction.getTransactionType()) {
+            case EARN, BONUS, REFERRAL, REFUND -> new BalanceDelta(amount, amount, 0, amount, 0);
+            case SPEND -> new BalanceDelta(-amount, -amount, 0, 0, amount);
+            case EXPIRE -> new BalanceDelta(-amount, -amount, 0, 0, 0);
+        };
+    }
+
+    /**
+     * True if no column decreases, so the delta can also open a new balance
+     */
+    public boolean isCredit() {
+        return total >= 0 && available >= 0 && pending >= 0;
+    }
+
+    public long getTotal() { return total; }
+    public long getAvailable() { return available; }
+    public long getPending() { return pending; }
+    public long getLifetimeEarned() { return lifetimeEarned; }
+    public long getLifetimeSpent() { return lifetimeSpent; }
+}
@@ -0,0 +1,61 @@
+package com.example.loyalty.points.domain.valueobjects;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Value object identifying an externally referenced transaction: a source reference can be
+ * posted at most once per user and transaction type
+ */
+public final class IdempotencyKey {
+    private final UUID userId;
+    private final TransactionType transactionType;
+    private final String source;
+    private final UUID sourceId;
+
+    public IdempotencyKey(UUID userId, TransactionType transactionType, String source, UUID sourceId) {
+        this.userId = Objects.requireNonNull(userId, "userId");
+        this.transactionType = Objects.requireNonNull(transactionType, "transactionType");
+        this.source = Objects.requireNonNull(source, "source");
+        this.sourceId = Objects.requireNonNull(sourceId, "sourceId");
+    }
+
+    /**
+     * Key of the given transaction, or null if it carries no source reference
+     */
+    public static IdempotencyKey of(PointTransaction transaction) {
+        if (transaction.getSourceId() == null || transaction.getSource() == null) {
+            return null;
+        }
+        return new IdempotencyKey(transaction.getUserId(), transaction.getTransactionType(),
+                                  transaction.getSource(), transaction.getSourceId());
+    }
+
+    public UUID getUserId() { return userId; }
+    public TransactionType getTransactionType() { return transactionType; }
+    public String getSource() { return source; }
+    public UUID getSourceId() { return sourceId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyKey that = (IdempotencyKey) o;
+        return userId.equals(that.userId)
+            && transactionType == that.transactionType
+            && source.equals(that.source)
+            && sourceId.equals(that.sourceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, transactionType, source, sourceId);
+    }
+
+    @Override
+    public String toString() {
+        return userId + "/" + transactionType + "/" + source + "/" + sourceId;
+    }
+}
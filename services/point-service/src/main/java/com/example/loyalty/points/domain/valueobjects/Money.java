@@ -1,51 +1,86 @@
 package com.example.loyalty.points.domain.valueobjects;
 
 import java.math.BigDecimal;
-import java.util.Objects;
+import java.math.RoundingMode;
 
 /**
- * Value object representing monetary amounts in the loyalty system
+ * Value object representing monetary amounts (rupiah) in the loyalty system.
+ *
+ * Amounts are held as a {@code long} count of minor units (sen, 1/100 rupiah) so arithmetic is
+ * exact and overflow-checked without BigDecimal. Decimal amounts are converted once at the
+ * boundary, rounding half-up to the nearest sen.
  */
-public class Money {
-    private final BigDecimal amount;
+public final class Money {
+
+    /** Minor units (sen) per rupiah */
+    public static final long MINOR_UNITS_PER_UNIT = 100L;
+
+    private static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
 
     public Money(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Money amount cannot be null or negative");
-        }
-        this.amount = amount;
+        this(toMinorUnits(amount));
     }
 
     public Money(double amount) {
         this(BigDecimal.valueOf(amount));
     }
 
+    private Money(long minorUnits) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Money amount cannot be negative");
+        }
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Money from an amount in minor units (sen)
+     */
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Decimal amount in rupiah, for presentation
+     */
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(minorUnits, 2);
     }
 
     public Money add(Money other) {
-        return new Money(this.amount.add(other.amount));
+        return ofMinorUnits(Math.addExact(this.minorUnits, other.minorUnits));
     }
 
     public Money subtract(Money other) {
-        BigDecimal result = this.amount.subtract(other.amount);
-        if (result.compareTo(BigDecimal.ZERO) < 0) {
+        long result = Math.subtractExact(this.minorUnits, other.minorUnits);
+        if (result < 0) {
             throw new IllegalArgumentException("Money cannot be negative");
         }
-        return new Money(result);
+        return ofMinorUnits(result);
     }
 
     public Money multiply(BigDecimal multiplier) {
-        return new Money(this.amount.multiply(multiplier));
+        return ofMinorUnits(BigDecimal.valueOf(minorUnits)
+                                      .multiply(multiplier)
+                                      .setScale(0, RoundingMode.HALF_UP)
+                                      .longValueExact());
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
     }
 
     public boolean isGreaterThan(Money other) {
-        return this.amount.compareTo(other.amount) > 0;
+        return this.minorUnits > other.minorUnits;
     }
 
     public boolean isGreaterThanOrEqual(Money other) {
-        return this.amount.compareTo(other.amount) >= 0;
+        return this.minorUnits >= other.minorUnits;
     }
 
     @Override
@@ -53,20 +88,27 @@ public class Money {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount);
+        return minorUnits == money.minorUnits;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount);
+        return Long.hashCode(minorUnits);
     }
 
     @Override
     public String toString() {
-        return "Money{" + "amount=" + amount + '}';
+        return "Money{" + "amount=" + getAmount() + '}';
     }
 
     public static Money zero() {
-        return new Money(BigDecimal.ZERO);
+        return ZERO;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException("Money amount cannot be null or negative");
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
     }
-}
\ No newline at end of file
+}
@@ -1,58 +1,98 @@
 package com.example.loyalty.points.domain.valueobjects;
 
 import java.math.BigDecimal;
-import java.util.Objects;
+import java.math.RoundingMode;
 
 /**
- * Value object representing points in the loyalty system
+ * Value object representing points in the loyalty system.
+ *
+ * Points are whole, non-negative amounts held in a primitive {@code long}, matching the BIGINT
+ * columns they are stored in. Arithmetic is overflow-checked and allocates at most the result.
  */
-public class Points {
-    private final BigDecimal value;
+public final class Points {
 
-    public Points(BigDecimal value) {
-        if (value == null || value.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Points value cannot be null or negative");
+    /** Fixed-point scale used for multipliers (4 decimal places) */
+    public static final long MULTIPLIER_SCALE = 10_000L;
+
+    private static final Points[] SMALL = new Points[1024];
+    static {
+        for (int i = 0; i < SMALL.length; i++) {
+            SMALL[i] = new Points((long) i);
         }
-        this.value = value;
     }
 
+    private final long value;
+
     public Points(long value) {
-        this(BigDecimal.valueOf(value));
+        if (value < 0) {
+            throw new IllegalArgumentException("Points value cannot be negative");
+        }
+        this.value = value;
+    }
+
+    /**
+     * Points from a decimal amount; any fraction is truncated
+     */
+    public Points(BigDecimal value) {
+        this(toLong(value));
+    }
+
+    /**
+     * Points for the given value, shared for small values
+     */
+    public static Points of(long value) {
+        if (value >= 0 && value < SMALL.length) {
+            return SMALL[(int) value];
+        }
+        return new Points(value);
     }
 
-    public BigDecimal getValue() {
+    public long getValue() {
         return value;
     }
 
     public Points add(Points other) {
-        return new Points(this.value.add(other.value));
+        return of(Math.addExact(this.value, other.value));
     }
 
     public Points subtract(Points other) {
-        BigDecimal result = this.value.subtract(other.value);
-        if (result.compareTo(BigDecimal.ZERO) < 0) {
+        long result = Math.subtractExact(this.value, other.value);
+        if (result < 0) {
             throw new IllegalArgumentException("Points cannot be negative");
         }
-        return new Points(result);
+        return of(result);
     }
 
     public Points multiply(BigDecimal multiplier) {
         if (multiplier.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Multiplier cannot be negative");
         }
-        return new Points(this.value.multiply(multiplier));
+        return multiplyScaled(multiplier.multiply(BigDecimal.valueOf(MULTIPLIER_SCALE))
+                                        .setScale(0, RoundingMode.DOWN)
+                                        .longValueExact());
+    }
+
+    /**
+     * Multiply by a fixed-point multiplier expressed in units of 1/{@link #MULTIPLIER_SCALE},
+     * truncating the fraction
+     */
+    public Points multiplyScaled(long scaledMultiplier) {
+        if (scaledMultiplier < 0) {
+            throw new IllegalArgumentException("Multiplier cannot be negative");
+        }
+        return of(Math.multiplyExact(value, scaledMultiplier) / MULTIPLIER_SCALE);
     }
 
     public boolean isGreaterThan(Points other) {
-        return this.value.compareTo(other.value) > 0;
+        return this.value > other.value;
     }
 
     public boolean isGreaterThanOrEqual(Points other) {
-        return this.value.compareTo(other.value) >= 0;
+        return this.value >= other.value;
     }
 
     public long longValue() {
-        return value.longValue();
+        return value;
     }
 
     @Override
@@ -60,12 +100,12 @@ public class Points {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Points points = (Points) o;
-        return Objects.equals(value, points.value);
+        return value == points.value;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Long.hashCode(value);
     }
 
     @Override
@@ -74,6 +114,13 @@ public class Points {
     }
 
     public static Points zero() {
-        return new Points(BigDecimal.ZERO);
+        return SMALL[0];
+    }
+
+    private static long toLong(BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            throw new IllegalArgumentException("Points value cannot be null or negative");
+        }
+        return value.setScale(0, RoundingMode.DOWN).longValueExact();
     }
-}
\ No newline at end of file
+}
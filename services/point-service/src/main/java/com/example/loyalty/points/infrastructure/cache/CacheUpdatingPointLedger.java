@@ -0,0 +1,48 @@
+package com.example.loyalty.points.infrastructure.cache;
+
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ledger decorator that writes committed balances through to the balance cache,
+ * so reads after a write are served from the cache instead of the database
+ */
+public class CacheUpdatingPointLedger implements PointLedger {
+
+    private final PointLedger delegate;
+    private final BalanceCache balanceCache;
+
+    public CacheUpdatingPointLedger(PointLedger delegate, BalanceCache balanceCache) {
+        this.delegate = delegate;
+        this.balanceCache = balanceCache;
+    }
+
+    @Override
+    public Entry post(PointTransaction transaction) {
+        Entry entry = delegate.post(transaction);
+        balanceCache.put(entry.getBalance());
+        return entry;
+    }
+
+    @Override
+    public List<Result> postAll(List<PointTransaction> transactions) {
+        List<Result> results = delegate.postAll(transactions);
+
+        // Only the last balance per user matters; earlier ones are superseded within the batch
+        Map<UUID, PointBalance> latest = new LinkedHashMap<>();
+        for (Result result : results) {
+            if (result.isPosted()) {
+                PointBalance balance = result.getEntry().getBalance();
+                latest.put(balance.getUserId(), balance);
+            }
+        }
+        latest.values().forEach(balanceCache::put);
+        return results;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.loyalty.points.infrastructure.cache;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Serialized form of a balance held in the near cache and in Redis
+ */
+public class CachedBalance {
+    private UUID id;
+    private UUID userId;
+    private long totalPoints;
+    private long availablePoints;
+    private long pendingPoints;
+    private long lifetimeEarned;
+    private long lifetimeSpent;
+    private long createdAt;
+    private long updatedAt;
+    private int version;
+    private long cachedAt;
+
+    public CachedBalance() {}
+
+    public static CachedBalance of(PointBalance balance, long nowEpochMillis) {
+        CachedBalance cached = new CachedBalance();
+        cached.id = balance.getId();
+        cached.userId = balance.getUserId();
+        cached.totalPoints = balance.getTotalPoints().longValue();
+        cached.availablePoints = balance.getAvailablePoints().longValue();
+        cached.pendingPoints = balance.getPendingPoints().longValue();
+        cached.lifetimeEarned = balance.getLifetimeEarned().longValue();
+        cached.lifetimeSpent = balance.getLifetimeSpent().longValue();
+        cached.createdAt = toEpochMillis(balance.getCreatedAt());
+        cached.updatedAt = toEpochMillis(balance.getUpdatedAt());
+        cached.version = balance.getVersion();
+        cached.cachedAt = nowEpochMillis;
+        return cached;
+    }
+
+    public PointBalance toBalance() {
+        PointBalance balance = new PointBalance(userId);
+        balance.setId(id);
+        balance.setTotalPoints(Points.of(totalPoints));
+        balance.setAvailablePoints(Points.of(availablePoints));
+        balance.setPendingPoints(Points.of(pendingPoints));
+        balance.setLifetimeEarned(Points.of(lifetimeEarned));
+        balance.setLifetimeSpent(Points.of(lifetimeSpent));
+        balance.setCreatedAt(toLocalDateTime(createdAt));
+        balance.setUpdatedAt(toLocalDateTime(updatedAt));
+        balance.setVersion(version);
+        return balance;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public long getTotalPoints() { return totalPoints; }
+    public void setTotalPoints(long totalPoints) { this.totalPoints = totalPoints; }
+
+    public long getAvailablePoints() { return availablePoints; }
+    public void setAvailablePoints(long availablePoints) { this.availablePoints = availablePoints; }
+
+    public long getPendingPoints() { return pendingPoints; }
+    public void setPendingPoints(long pendingPoints) { this.pendingPoints = pendingPoints; }
+
+    public long getLifetimeEarned() { return lifetimeEarned; }
+    public void setLifetimeEarned(long lifetimeEarned) { this.lifetimeEarned = lifetimeEarned; }
+
+    public long getLifetimeSpent() { return lifetimeSpent; }
+    public void setLifetimeSpent(long lifetimeSpent) { this.lifetimeSpent = lifetimeSpent; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public long getCachedAt() { return cachedAt; }
+    public void setCachedAt(long cachedAt) { this.cachedAt = cachedAt; }
+}
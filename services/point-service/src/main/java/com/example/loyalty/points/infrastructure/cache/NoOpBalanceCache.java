@@ -0,0 +1,25 @@
+package com.example.loyalty.points.infrastructure.cache;
+
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Balance cache used when caching is disabled: every read goes to the database
+ */
+public class NoOpBalanceCache implements BalanceCache {
+
+    @Override
+    public Optional<PointBalance> get(UUID userId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(PointBalance balance) {
+    }
+
+    @Override
+    public void evict(UUID userId) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.loyalty.points.infrastructure.cache;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Two-level balance cache: an in-process near cache in front of Redis ({@code user:balance:{userId}}).
+ *
+ * Every put carries the balance version. Redis only accepts a put whose version is not older than
+ * the stored one, and the put is then broadcast on a pub/sub channel so other pods drop their
+ * older near-cache entries. Redis failures are logged and treated as misses, so the database
+ * stays the fallback.
+ */
+public class TwoLevelBalanceCache implements BalanceCache, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelBalanceCache.class);
+
+    public static final String KEY_PREFIX = "user:balance:";
+    public static final String INVALIDATION_CHANNEL = "points:balance:invalidate";
+
+    private static final int EVICT_ALL_VERSIONS = Integer.MAX_VALUE;
+
+    private static final DefaultRedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>(
+        "local current = redis.call('GET', KEYS[1]) " +
+        "if current then " +
+        "  local ok, decoded = pcall(cjson.decode, current) " +
+        "  if ok and tonumber(decoded['version']) > tonumber(ARGV[2]) then return 0 end " +
+        "end " +
+        "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) " +
+        "return 1",
+        Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, CachedBalance> near;
+    private final Duration redisTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter redisErrors;
+    private final Counter remoteInvalidations;
+    private final Timer staleness;
+
+    public TwoLevelBalanceCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, LoyaltyMetrics metrics,
+                                long nearMaximumSize, Duration nearTtl, Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.near = Caffeine.newBuilder()
+            .maximumSize(nearMaximumSize)
+            .expireAfterWrite(nearTtl)
+            .build();
+
+        this.nearHits = metrics.createCounter("loyalty_balance_cache_requests_total",
+            "Balance cache lookups", "level", "near", "result", "hit");
+        this.redisHits = metrics.createCounter("loyalty_balance_cache_requests_total",
+            "Balance cache lookups", "level", "redis", "result", "hit");
+        this.misses = metrics.createCounter("loyalty_balance_cache_requests_total",
+            "Balance cache lookups", "level", "redis", "result", "miss");
+        this.redisErrors = metrics.createCounter("loyalty_balance_cache_errors_total",
+            "Balance cache Redis failures");
+        this.remoteInvalidations = metrics.createCounter("loyalty_balance_cache_invalidations_total",
+            "Near cache entries dropped by invalidations from other pods");
+        this.staleness = metrics.createTimer("loyalty_balance_cache_staleness",
+            "Age of cached balances when served");
+    }
+
+    @Override
+    public Optional<PointBalance> get(UUID userId) {
+        long now = System.currentTimeMillis();
+        CachedBalance cached = near.getIfPresent(userId);
+        if (cached != null) {
+            nearHits.increment();
+            staleness.record(now - cached.getCachedAt(), TimeUnit.MILLISECONDS);
+            return Optional.of(cached.toBalance());
+        }
+
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            if (json != null) {
+                cached = objectMapper.readValue(json, CachedBalance.class);
+                redisHits.increment();
+                staleness.record(now - cached.getCachedAt(), TimeUnit.MILLISECONDS);
+                putNear(cached);
+                return Optional.of(cached.toBalance());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            logger.debug("Balance cache read failed for user {}", userId, e);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(PointBalance balance) {
+        CachedBalance cached = CachedBalance.of(balance, System.currentTimeMillis());
+        putNear(cached);
+        try {
+            Long stored = redisTemplate.execute(PUT_IF_NEWER,
+                List.of(KEY_PREFIX + balance.getUserId()),
+                objectMapper.writeValueAsString(cached),
+                String.valueOf(cached.getVersion()),
+                String.valueOf(redisTtl.toMillis()));
+            if (stored != null && stored == 1L) {
+                publishInvalidation(balance.getUserId(), cached.getVersion());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Another pod may still hold the previous balance in Redis; drop it so it cannot be served
+            redisErrors.increment();
+            logger.warn("Balance cache write failed for user {}", balance.getUserId(), e);
+            evictRemote(balance.getUserId());
+        }
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        near.invalidate(userId);
+        evictRemote(userId);
+    }
+
+    /**
+     * Invalidation from the pub/sub channel: drop the near entry if it is older than the
+     * version another pod just committed
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        try {
+            UUID userId = UUID.fromString(parts[1]);
+            int version = Integer.parseInt(parts[2]);
+            near.asMap().computeIfPresent(userId, (id, current) -> {
+                if (current.getVersion() >= version) {
+                    return current;
+                }
+                remoteInvalidations.increment();
+                return null;
+            });
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed balance invalidation {}", parts, e);
+        }
+    }
+
+    private void putNear(CachedBalance cached) {
+        near.asMap().merge(cached.getUserId(), cached,
+            (current, candidate) -> candidate.getVersion() >= current.getVersion() ? candidate : current);
+    }
+
+    private void evictRemote(UUID userId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+            publishInvalidation(userId, EVICT_ALL_VERSIONS);
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            logger.warn("Balance cache eviction failed for user {}", userId, e);
+        }
+    }
+
+    private void publishInvalidation(UUID userId, int version) {
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + ":" + userId + ":" + version);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.infrastructure.cache.NoOpBalanceCache;
+import com.example.loyalty.points.infrastructure.cache.TwoLevelBalanceCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Balance cache wiring. {@code loyalty.points.balance-cache.enabled} switches between the
+ * two-level near/Redis cache (default) and a pass-through cache.
+ */
+@Configuration
+public class BalanceCacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoyaltyMetrics loyaltyMetrics(MeterRegistry meterRegistry) {
+        return new LoyaltyMetrics(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "loyalty.points.balance-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public TwoLevelBalanceCache balanceCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            LoyaltyMetrics loyaltyMetrics,
+            @Value("${loyalty.points.balance-cache.near.maximum-size:100000}") long nearMaximumSize,
+            @Value("${loyalty.points.balance-cache.near.ttl-ms:5000}") long nearTtlMs,
+            @Value("${loyalty.points.balance-cache.redis.ttl-ms:600000}") long redisTtlMs) {
+        return new TwoLevelBalanceCache(redisTemplate, objectMapper, loyaltyMetrics, nearMaximumSize,
+                                        Duration.ofMillis(nearTtlMs), Duration.ofMillis(redisTtlMs));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "loyalty.points.balance-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer balanceInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                              TwoLevelBalanceCache balanceCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(balanceCache, new ChannelTopic(TwoLevelBalanceCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "loyalty.points.balance-cache.enabled", havingValue = "false")
+    public BalanceCache noOpBalanceCache() {
+        return new NoOpBalanceCache();
+    }
+}
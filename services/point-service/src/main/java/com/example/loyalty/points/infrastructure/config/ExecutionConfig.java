@@ -0,0 +1,86 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.execution.AdmissionController;
+import com.example.loyalty.points.application.execution.StageExecutor;
+import com.example.loyalty.points.application.partner.PartnerBudgets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Selects how earn requests execute via {@code loyalty.points.execution.mode}:
+ * {@code blocking} (default) runs every step on the request thread, {@code concurrent} overlaps
+ * independent steps on a stage executor and bounds database work with an admission controller.
+ *
+ * Stages run on virtual threads when the runtime provides them (Java 21+), otherwise on a bounded
+ * pool of platform threads. Each registered partner gets {@code admission-permits} of the
+ * admission permits, configured like the rest of its budget under
+ * {@code loyalty.points.partners.<id>}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "loyalty.points.execution.mode", havingValue = "concurrent")
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    @Bean
+    public AdmissionController admissionController(
+            LoyaltyMetrics metrics,
+            @Value("${loyalty.points.execution.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${loyalty.points.execution.admission.max-waiting:200}") int maxWaiting,
+            @Value("${loyalty.points.execution.admission.max-wait-ms:2000}") long maxWaitMs) {
+        return new AdmissionController(permits, maxWaiting, Duration.ofMillis(maxWaitMs), metrics);
+    }
+
+    @Bean
+    public StageExecutor stageExecutor(
+            AdmissionController admissionController,
+            PartnerBudgets partnerBudgets,
+            Environment environment,
+            @Value("${loyalty.points.execution.virtual-threads:true}") boolean virtualThreads,
+            @Value("${loyalty.points.execution.platform-threads:64}") int platformThreads,
+            @Value("${loyalty.points.partners.defaults.admission-permits:2}") int partnerAdmissionPermits) {
+        ExecutorService executor = virtualThreads ? newVirtualThreadExecutor() : null;
+        if (executor == null) {
+            if (virtualThreads) {
+                logger.warn("Virtual threads need Java 21+, earn stages run on {} platform threads", platformThreads);
+            }
+            AtomicInteger threadIndex = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(platformThreads, runnable -> {
+                Thread thread = new Thread(runnable, "points-stage-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Map<String, AdmissionController.Quota> partnerQuotas = new HashMap<>();
+        for (String partnerId : partnerBudgets.getPartnerIds()) {
+            int permits = environment.getProperty("loyalty.points.partners." + partnerId + ".admission-permits",
+                Integer.class, partnerAdmissionPermits);
+            partnerQuotas.put(partnerId, admissionController.quota(partnerId, permits));
+        }
+        return new StageExecutor(executor, admissionController, partnerQuotas);
+    }
+
+    /**
+     * Virtual-thread-per-task executor, or null on a runtime without virtual threads. Looked up
+     * reflectively so the service still builds and runs on Java 17.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
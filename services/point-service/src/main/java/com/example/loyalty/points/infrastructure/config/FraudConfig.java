@@ -0,0 +1,49 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.logging.StructuredLogger;
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.common.security.FraudDetectionService;
+import com.example.loyalty.common.security.SecurityAuditService;
+import com.example.loyalty.points.application.fraud.FraudScreen;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Fraud screening of earns. {@code loyalty.points.fraud.enabled} switches between screening with
+ * the in-memory {@link FraudDetectionService} (default) and approving every earn. The rules are
+ * reloaded from system_config by the {@code FraudRuleReloadJob}.
+ */
+@Configuration
+public class FraudConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "loyalty.points.fraud.enabled", havingValue = "true", matchIfMissing = true)
+    public FraudDetectionService fraudDetectionService(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${loyalty.points.fraud.sync-interval-ms:1000}") long syncIntervalMs,
+            @Value("${loyalty.points.fraud.max-users:100000}") int maxUsers) {
+        SecurityAuditService auditService =
+            new SecurityAuditService(new StructuredLogger(SecurityAuditService.class), objectMapper);
+        return new FraudDetectionService(redisTemplate, auditService, syncIntervalMs, maxUsers);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "loyalty.points.fraud.enabled", havingValue = "true", matchIfMissing = true)
+    public FraudScreen fraudScreen(
+            FraudDetectionService fraudDetectionService,
+            LoyaltyMetrics loyaltyMetrics,
+            @Value("${loyalty.points.fraud.shadow.queue-capacity:10000}") int shadowQueueCapacity) {
+        return new FraudScreen(fraudDetectionService, loyaltyMetrics, shadowQueueCapacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "loyalty.points.fraud.enabled", havingValue = "false")
+    public FraudScreen disabledFraudScreen() {
+        return FraudScreen.disabled();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.application.expiry.ExpiryLotStore;
+import com.example.loyalty.points.application.ledger.ContentionDetector;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.infrastructure.cache.CacheUpdatingPointLedger;
+import com.example.loyalty.points.infrastructure.persistence.ledger.CoalescingPointLedger;
+import com.example.loyalty.points.infrastructure.persistence.ledger.GroupCommitPointLedger;
+import com.example.loyalty.points.infrastructure.persistence.ledger.JdbcLedgerBatchWriter;
+import com.example.loyalty.points.infrastructure.persistence.ledger.TransactionalPointLedger;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Selects the point ledger implementation via {@code loyalty.points.ledger.mode}:
+ * {@code transactional} (default) posts each request in its own transaction,
+ * {@code group-commit} serializes users onto single-writer lanes and batches commits.
+ * In transactional mode {@code loyalty.points.ledger.coalescing.enabled} moves users under
+ * contention onto group-commit lanes while everyone else keeps a transaction per request.
+ * The selected ledger is exposed as the primary {@link PointLedger} behind the cache-updating decorator.
+ */
+@Configuration
+public class LedgerConfig {
+
+    static final String LEDGER_DELEGATE = "ledgerDelegate";
+
+    @Bean
+    @Primary
+    public PointLedger pointLedger(@Qualifier(LEDGER_DELEGATE) PointLedger delegate, BalanceCache balanceCache) {
+        return new CacheUpdatingPointLedger(delegate, balanceCache);
+    }
+
+    @Bean
+    @Qualifier(LEDGER_DELEGATE)
+    @ConditionalOnProperty(name = "loyalty.points.ledger.mode", havingValue = "transactional", matchIfMissing = true)
+    public PointLedger transactionalPointLedger(PointTransactionRepository transactionRepository,
+                                                PointBalanceRepository balanceRepository,
+                                                JdbcLedgerBatchWriter batchWriter,
+                                                ExpiryLotStore expiryLotStore,
+                                                SpendAggregateStore spendStore,
+                                                PointEventPublisher eventPublisher,
+                                                LoyaltyMetrics metrics,
+                                                PlatformTransactionManager transactionManager,
+            @Value("${loyalty.points.ledger.coalescing.enabled:false}") boolean coalescing,
+            @Value("${loyalty.points.ledger.coalescing.hot-threshold:4}") int hotThreshold,
+            @Value("${loyalty.points.ledger.coalescing.sketch-width:4096}") int sketchWidth,
+            @Value("${loyalty.points.ledger.coalescing.sketch-depth:4}") int sketchDepth,
+            @Value("${loyalty.points.ledger.coalescing.lanes:4}") int lanes,
+            @Value("${loyalty.points.ledger.coalescing.max-batch-size:256}") int maxBatchSize,
+            @Value("${loyalty.points.ledger.coalescing.queue-capacity:10000}") int queueCapacity,
+            @Value("${loyalty.points.ledger.coalescing.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        PointLedger ledger = new TransactionalPointLedger(transactionRepository, balanceRepository, batchWriter,
+                                                          expiryLotStore, spendStore, eventPublisher,
+                                                          transactionManager);
+        if (!coalescing) {
+            return ledger;
+        }
+        GroupCommitPointLedger coalescer = new GroupCommitPointLedger(batchWriter, lanes, maxBatchSize,
+            queueCapacity, Duration.ofMillis(ackTimeoutMs), "ledger-coalesce");
+        ContentionDetector detector = new ContentionDetector(sketchWidth, sketchDepth, hotThreshold, metrics);
+        return new CoalescingPointLedger(ledger, coalescer, detector, metrics);
+    }
+
+    @Bean
+    @Qualifier(LEDGER_DELEGATE)
+    @ConditionalOnProperty(name = "loyalty.points.ledger.mode", havingValue = "group-commit")
+    public PointLedger groupCommitPointLedger(
+            JdbcLedgerBatchWriter batchWriter,
+            @Value("${loyalty.points.ledger.group-commit.lanes:8}") int lanes,
+            @Value("${loyalty.points.ledger.group-commit.max-batch-size:256}") int maxBatchSize,
+            @Value("${loyalty.points.ledger.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${loyalty.points.ledger.group-commit.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        return new GroupCommitPointLedger(batchWriter, lanes, maxBatchSize, queueCapacity,
+                                          Duration.ofMillis(ackTimeoutMs));
+    }
+}
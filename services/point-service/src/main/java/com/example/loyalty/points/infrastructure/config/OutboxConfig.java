@@ -0,0 +1,94 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.events.PointEvent;
+import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.infrastructure.messaging.OutboxPointEventPublisher;
+import com.example.loyalty.points.infrastructure.messaging.OutboxRelay;
+import com.example.loyalty.points.infrastructure.messaging.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactional outbox wiring, enabled by {@code loyalty.points.outbox.enabled} (default).
+ * Point events are written to points_outbox by the ledger and relayed to Kafka with a dedicated
+ * idempotent, batching, compressed String producer. When disabled, events are only logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "loyalty.points.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    static final String OUTBOX_KAFKA_TEMPLATE = "outboxKafkaTemplate";
+
+    @Bean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate, namedJdbcTemplate);
+    }
+
+    @Bean
+    public PointEventPublisher outboxPointEventPublisher(
+            OutboxRepository outboxRepository,
+            ObjectMapper objectMapper,
+            @Value("${loyalty.points.outbox.topics.earned:points.earned}") String earnedTopic,
+            @Value("${loyalty.points.outbox.topics.spent:points.spent}") String spentTopic,
+            @Value("${loyalty.points.outbox.topics.expired:points.expired}") String expiredTopic) {
+        Map<PointEvent.Type, String> topics = new EnumMap<>(PointEvent.Type.class);
+        topics.put(PointEvent.Type.POINTS_EARNED, earnedTopic);
+        topics.put(PointEvent.Type.REFERRAL_POINTS_EARNED, earnedTopic);
+        topics.put(PointEvent.Type.POINTS_SPENT, spentTopic);
+        topics.put(PointEvent.Type.POINTS_EXPIRED, expiredTopic);
+        return new OutboxPointEventPublisher(outboxRepository, objectMapper, topics);
+    }
+
+    @Bean(OUTBOX_KAFKA_TEMPLATE)
+    public KafkaTemplate<String, String> outboxKafkaTemplate(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles,
+            @Value("${loyalty.points.outbox.producer.compression-type:lz4}") String compressionType,
+            @Value("${loyalty.points.outbox.producer.linger-ms:10}") int lingerMs,
+            @Value("${loyalty.points.outbox.producer.batch-size:65536}") int batchSize) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        // The outbox already holds serialized JSON, send it as-is
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // Idempotence keeps retried sends from duplicating and preserves per-partition order
+        // with up to five requests in flight
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(
+            OutboxRepository outboxRepository,
+            @Qualifier(OUTBOX_KAFKA_TEMPLATE) KafkaTemplate<String, String> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            LoyaltyMetrics loyaltyMetrics,
+            @Value("${loyalty.points.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${loyalty.points.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${loyalty.points.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs) {
+        return new OutboxRelay(outboxRepository, kafkaTemplate, transactionTemplate, loyaltyMetrics,
+                               batchSize, maxBatchesPerRun, Duration.ofMillis(sendTimeoutMs));
+    }
+}
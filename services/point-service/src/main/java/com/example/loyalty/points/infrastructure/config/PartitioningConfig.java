@@ -0,0 +1,33 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.infrastructure.persistence.partitioning.PointTransactionPartitionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Partition maintenance for points_transactions, enabled by {@code loyalty.points.partitions.enabled}
+ * (default). Disable it where the ledger is not a partitioned PostgreSQL table.
+ */
+@Configuration
+@ConditionalOnProperty(name = "loyalty.points.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitioningConfig {
+
+    @Bean
+    public PointTransactionPartitionManager pointTransactionPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            LoyaltyMetrics metrics,
+            @Value("${loyalty.points.partitions.premake-months:3}") int premakeMonths,
+            @Value("${loyalty.points.partitions.retention-months:24}") int retentionMonths,
+            @Value("${loyalty.points.partitions.retention-action:ARCHIVE}")
+            PointTransactionPartitionManager.RetentionAction retentionAction,
+            @Value("${loyalty.points.partitions.archive-schema:points_archive}") String archiveSchema,
+            @Value("${loyalty.points.partitions.detach-lock-timeout-ms:5000}") long detachLockTimeoutMs,
+            @Value("${loyalty.points.partitions.key-delete-batch-size:10000}") int keyDeleteBatchSize) {
+        return new PointTransactionPartitionManager(jdbcTemplate, metrics, premakeMonths, retentionMonths,
+            retentionAction, archiveSchema, detachLockTimeoutMs, keyDeleteBatchSize);
+    }
+}
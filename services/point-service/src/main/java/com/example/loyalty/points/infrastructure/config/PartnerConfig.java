@@ -0,0 +1,44 @@
+package com.example.loyalty.points.infrastructure.config;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.partner.PartnerBudget;
+import com.example.loyalty.points.application.partner.PartnerBudgets;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the partners listed in {@code loyalty.points.partners.ids}. Each partner gets the
+ * default budget unless overridden under {@code loyalty.points.partners.<id>}.
+ */
+@Configuration
+public class PartnerConfig {
+
+    private static final String PREFIX = "loyalty.points.partners.";
+
+    @Bean
+    public PartnerBudgets partnerBudgets(
+            Environment environment,
+            LoyaltyMetrics metrics,
+            @Value("${loyalty.points.partners.ids:}") String[] partnerIds,
+            @Value("${loyalty.points.partners.defaults.rate-per-second:50}") double ratePerSecond,
+            @Value("${loyalty.points.partners.defaults.burst:100}") int burst,
+            @Value("${loyalty.points.partners.defaults.max-concurrent:4}") int maxConcurrent) {
+        List<PartnerBudget> budgets = new ArrayList<>(partnerIds.length);
+        for (String partnerId : partnerIds) {
+            String id = partnerId.trim();
+            if (id.isEmpty()) {
+                continue;
+            }
+            budgets.add(new PartnerBudget(id,
+                environment.getProperty(PREFIX + id + ".rate-per-second", Double.class, ratePerSecond),
+                environment.getProperty(PREFIX + id + ".burst", Integer.class, burst),
+                environment.getProperty(PREFIX + id + ".max-concurrent", Integer.class, maxConcurrent),
+                metrics));
+        }
+        return new PartnerBudgets(budgets);
+    }
+}
@@ -5,13 +5,15 @@ import com.example.loyalty.points.domain.entities.PointBalance;
 import com.example.loyalty.points.domain.entities.PointTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
- * Simple logging implementation of PointEventPublisher
- * TODO: Replace with actual Kafka implementation for production
+ * Simple logging implementation of PointEventPublisher, used when the outbox is disabled
+ * ({@code loyalty.points.outbox.enabled=false}), e.g. for local runs without Kafka
  */
 @Component
+@ConditionalOnProperty(name = "loyalty.points.outbox.enabled", havingValue = "false")
 public class LoggingPointEventPublisher implements PointEventPublisher {
     
     private static final Logger logger = LoggerFactory.getLogger(LoggingPointEventPublisher.class);
@@ -23,18 +25,6 @@ public class LoggingPointEventPublisher implements PointEventPublisher {
                    transaction.getPointsAmount().longValue(),
                    balance.getTotalPoints().longValue(),
                    transaction.getId());
-        
-        // In a real implementation, this would publish to Kafka
-        // Example event payload:
-        // {
-        //   "eventType": "POINTS_EARNED",
-        //   "userId": "...",
-        //   "transactionId": "...",
-        //   "pointsEarned": 100,
-        //   "newBalance": 1500,
-        //   "earningSource": "PURCHASE",
-        //   "timestamp": "..."
-        // }
     }
 
     @Override
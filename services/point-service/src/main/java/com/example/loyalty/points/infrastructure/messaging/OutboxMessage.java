@@ -0,0 +1,43 @@
+package com.example.loyalty.points.infrastructure.messaging;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the points_outbox table: one serialized event waiting to be relayed
+ */
+public class OutboxMessage {
+    private final Long id;
+    private final UUID eventId;
+    private final String eventType;
+    private final String topic;
+    private final String key;
+    private final String payload;
+    private final OffsetDateTime createdAt;
+
+    public OutboxMessage(Long id, UUID eventId, String eventType, String topic, String key, String payload,
+                         OffsetDateTime createdAt) {
+        this.id = id;
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.topic = topic;
+        this.key = key;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * New message, not yet stored
+     */
+    public static OutboxMessage pending(UUID eventId, String eventType, String topic, String key, String payload) {
+        return new OutboxMessage(null, eventId, eventType, topic, key, payload, null);
+    }
+
+    public Long getId() { return id; }
+    public UUID getEventId() { return eventId; }
+    public String getEventType() { return eventType; }
+    public String getTopic() { return topic; }
+    public String getKey() { return key; }
+    public String getPayload() { return payload; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,87 @@
+package com.example.loyalty.points.infrastructure.messaging;
+
+import com.example.loyalty.points.application.events.PointEvent;
+import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes point events by appending them to the points_outbox table in the ledger's
+ * transaction. {@link OutboxRelay} forwards them to Kafka after commit, so an event exists
+ * exactly when its ledger row does and request latency does not include the broker.
+ */
+public class OutboxPointEventPublisher implements PointEventPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<PointEvent.Type, String> topics;
+
+    public OutboxPointEventPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper,
+                                     Map<PointEvent.Type, String> topics) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.topics = topics;
+    }
+
+    @Override
+    public void publishPointsEarned(PointTransaction transaction, PointBalance balance) {
+        append(List.of(toMessage(PointEvent.Type.POINTS_EARNED, transaction, balance)));
+    }
+
+    @Override
+    public void publishPointsSpent(PointTransaction transaction, PointBalance balance) {
+        append(List.of(toMessage(PointEvent.Type.POINTS_SPENT, transaction, balance)));
+    }
+
+    @Override
+    public void publishPointsExpired(PointTransaction transaction, PointBalance balance) {
+        append(List.of(toMessage(PointEvent.Type.POINTS_EXPIRED, transaction, balance)));
+    }
+
+    @Override
+    public void publishReferralPointsEarned(PointTransaction transaction, PointBalance balance) {
+        append(List.of(toMessage(PointEvent.Type.REFERRAL_POINTS_EARNED, transaction, balance)));
+    }
+
+    /**
+     * One batch insert for the whole set of entries
+     */
+    @Override
+    public void publishPosted(List<PointLedger.Entry> entries) {
+        List<OutboxMessage> messages = new ArrayList<>(entries.size());
+        for (PointLedger.Entry entry : entries) {
+            PointTransaction transaction = entry.getTransaction();
+            messages.add(toMessage(PointEvent.Type.of(transaction), transaction, entry.getBalance()));
+        }
+        append(messages);
+    }
+
+    private void append(List<OutboxMessage> messages) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Outside the ledger transaction the event could outlive a rolled back posting
+            throw new IllegalStateException("Outbox events must be written inside the ledger transaction");
+        }
+        outboxRepository.append(messages);
+    }
+
+    private OutboxMessage toMessage(PointEvent.Type type, PointTransaction transaction, PointBalance balance) {
+        PointEvent event = PointEvent.of(type, transaction, balance);
+        try {
+            return OutboxMessage.pending(
+                event.getEventId(),
+                type.name(),
+                topics.get(type),
+                transaction.getUserId().toString(),
+                objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + type + " event", e);
+        }
+    }
+}
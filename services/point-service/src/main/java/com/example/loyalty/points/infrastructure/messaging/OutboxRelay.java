@@ -0,0 +1,149 @@
+package com.example.loyalty.points.infrastructure.messaging;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.Counter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains points_outbox into Kafka.
+ *
+ * Each batch is read, sent and deleted in one database transaction: the rows are deleted only
+ * after every send in the batch has been acknowledged, otherwise the transaction rolls back and
+ * the batch is sent again on the next run. Delivery is therefore at-least-once; the idempotent
+ * producer removes broker-side duplicates from retries and consumers can dedupe on the
+ * {@code eventId} header. Records are keyed by user id so each user's events stay ordered.
+ */
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String EVENT_ID_HEADER = "eventId";
+    static final String EVENT_TYPE_HEADER = "eventType";
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration sendTimeout;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       LoyaltyMetrics metrics,
+                       int batchSize,
+                       int maxBatchesPerRun,
+                       Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeout = sendTimeout;
+
+        this.published = metrics.createCounter("loyalty_points_outbox_published_total",
+            "Point events relayed from the outbox to Kafka");
+        this.failures = metrics.createCounter("loyalty_points_outbox_failures_total",
+            "Outbox relay batches that failed and will be retried");
+        metrics.createGauge("loyalty_points_outbox_lag_seconds",
+            "Age of the oldest point event not yet relayed to Kafka", () -> lagMillis.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${loyalty.points.outbox.relay.interval-ms:200}")
+    public void run() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Outbox relay failed, pending events will be retried", e);
+        } finally {
+            updateLag();
+        }
+    }
+
+    /**
+     * Send and delete one batch
+     *
+     * @return number of events relayed; 0 if the outbox is empty or another relay holds the lock
+     */
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockRelay()) {
+                return 0;
+            }
+            List<OutboxMessage> batch = outboxRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            send(batch);
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OutboxMessage message : batch) {
+                ids.add(message.getId());
+            }
+            outboxRepository.delete(ids);
+            return batch.size();
+        });
+        int count = relayed != null ? relayed : 0;
+        published.increment(count);
+        return count;
+    }
+
+    private void send(List<OutboxMessage> batch) {
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            ProducerRecord<String, String> record =
+                new ProducerRecord<>(message.getTopic(), message.getKey(), message.getPayload());
+            record.headers()
+                .add(EVENT_ID_HEADER, message.getEventId().toString().getBytes(StandardCharsets.UTF_8))
+                .add(EVENT_TYPE_HEADER, message.getEventType().getBytes(StandardCharsets.UTF_8));
+            sends.add(kafkaTemplate.send(record));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox batch", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Outbox batch of " + batch.size() + " events was not acknowledged", e);
+        }
+    }
+
+    private void updateLag() {
+        try {
+            lagMillis.set(outboxRepository.findOldestCreatedAt()
+                .map(oldest -> Math.max(0L, Duration.between(oldest, OffsetDateTime.now()).toMillis()))
+                .orElse(0L));
+        } catch (RuntimeException e) {
+            logger.debug("Could not read outbox lag", e);
+        }
+    }
+
+    long getLagMillis() {
+        return lagMillis.get();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.loyalty.points.infrastructure.messaging;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * JDBC access to the points_outbox table
+ */
+public class OutboxRepository {
+
+    /** Arbitrary application-wide key for the relay's advisory lock */
+    private static final long RELAY_LOCK_KEY = 0x706f696e74730001L;
+
+    private static final String INSERT =
+        "INSERT INTO points_outbox (event_id, event_type, topic, message_key, payload) " +
+        "VALUES (?, ?, ?, ?, CAST(? AS JSONB))";
+
+    private static final String SELECT_BATCH =
+        "SELECT id, event_id, event_type, topic, message_key, payload::text AS payload, created_at " +
+        "FROM points_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE = "DELETE FROM points_outbox WHERE id IN (:ids)";
+
+    private static final String SELECT_OLDEST = "SELECT created_at FROM points_outbox ORDER BY id LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Append messages within the caller's transaction
+     */
+    public void append(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, messages, messages.size(), (ps, message) -> {
+            ps.setObject(1, message.getEventId());
+            ps.setString(2, message.getEventType());
+            ps.setString(3, message.getTopic());
+            ps.setString(4, message.getKey());
+            ps.setString(5, message.getPayload());
+        });
+    }
+
+    /**
+     * Take the transaction-scoped relay lock. Only one relay drains at a time so a user's
+     * events reach Kafka in the order they were committed.
+     *
+     * @return false if another relay holds the lock
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(
+            jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * Lock the oldest pending messages until the current transaction ends
+     */
+    public List<OutboxMessage> lockNextBatch(int limit) {
+        return jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getObject("event_id", UUID.class),
+            rs.getString("event_type"),
+            rs.getString("topic"),
+            rs.getString("message_key"),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class)
+        ), limit);
+    }
+
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update(DELETE, new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * Creation time of the oldest message still waiting, empty when the outbox is drained
+     */
+    public Optional<OffsetDateTime> findOldestCreatedAt() {
+        return jdbcTemplate.query(SELECT_OLDEST, (rs, rowNum) -> rs.getObject("created_at", OffsetDateTime.class))
+            .stream()
+            .findFirst();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.loyalty.points.infrastructure.persistence.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnTransformer;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -38,7 +39,9 @@ public class PointTransactionEntity {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
     
+    // Bound as text; PostgreSQL will not assign varchar to jsonb without the cast
     @Column(name = "metadata", columnDefinition = "JSONB")
+    @ColumnTransformer(write = "CAST(? AS JSONB)")
     private String metadata;
     
     @Column(name = "expiry_date")
@@ -0,0 +1,270 @@
+package com.example.loyalty.points.infrastructure.persistence.expiry;
+
+import com.example.loyalty.points.application.expiry.ExpiryLotStore;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expiry lots in points_expiry.
+ *
+ * Opened and consumed lots of a ledger write are applied in memory and written with two JDBC
+ * batches. A spend locks the user's open lots with SKIP LOCKED: a lot held by the sweeper is
+ * being expired and is left to it, so a spend never waits on the sweeper while holding the
+ * balance lock the sweeper needs next.
+ */
+@Component
+public class JdbcExpiryLotStore implements ExpiryLotStore {
+
+    static final String ACTIVE = "ACTIVE";
+    static final String CONSUMED = "CONSUMED";
+
+    private static final String SELECT_OPEN_LOTS_FOR_UPDATE =
+        "SELECT id, user_id, remaining_points FROM points_expiry " +
+        "WHERE user_id IN (:userIds) AND status = 'ACTIVE' ORDER BY user_id, earned_date, id " +
+        "FOR UPDATE SKIP LOCKED";
+
+    private static final String INSERT_LOT =
+        "INSERT INTO points_expiry (id, user_id, transaction_id, points_amount, remaining_points, earned_date, " +
+        "expiry_date, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_LOT =
+        "UPDATE points_expiry SET remaining_points = ?, status = ? WHERE id = ?";
+
+    private static final String EXPIRE_DUE_LOTS =
+        "WITH due AS (" +
+        "SELECT id, user_id, remaining_points FROM points_expiry " +
+        "WHERE status = 'ACTIVE' AND expiry_date <= ? ORDER BY expiry_date LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "UPDATE points_expiry e SET status = 'EXPIRED', remaining_points = 0 FROM due WHERE e.id = due.id " +
+        "RETURNING due.user_id, due.remaining_points";
+
+    private static final String SELECT_AVAILABLE_FOR_UPDATE =
+        "SELECT user_id, available_points FROM points_balance WHERE user_id IN (:userIds) " +
+        "ORDER BY user_id FOR UPDATE";
+
+    private static final String PURGE_CLOSED_LOTS =
+        "DELETE FROM points_expiry WHERE id IN (" +
+        "SELECT id FROM points_expiry WHERE status <> 'ACTIVE' AND earned_date < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int validityMonths;
+
+    public JdbcExpiryLotStore(JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedJdbcTemplate,
+                              @Value("${loyalty.points.expiry.validity-months:12}") int validityMonths) {
+        if (validityMonths <= 0) {
+            throw new IllegalArgumentException("Points validity must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.validityMonths = validityMonths;
+    }
+
+    @Override
+    public void record(List<PointTransaction> applied) {
+        Set<UUID> spenders = new HashSet<>();
+        for (PointTransaction transaction : applied) {
+            if (transaction.getTransactionType() == TransactionType.SPEND) {
+                spenders.add(transaction.getUserId());
+            }
+        }
+        Map<UUID, Deque<Lot>> openLots = spenders.isEmpty() ? Map.of() : lockOpenLots(spenders);
+
+        List<Lot> opened = new ArrayList<>();
+        List<Lot> consumed = new ArrayList<>();
+        for (PointTransaction transaction : applied) {
+            switch (transaction.getTransactionType()) {
+                case EARN, BONUS, REFERRAL, REFUND -> {
+                    Lot lot = open(transaction);
+                    opened.add(lot);
+                    if (spenders.contains(lot.userId)) {
+                        openLots.get(lot.userId).addLast(lot);
+                    }
+                }
+                case SPEND -> consume(openLots.get(transaction.getUserId()),
+                    transaction.getPointsAmount().longValue(), consumed);
+                case EXPIRE -> { }
+            }
+        }
+
+        insertLots(opened);
+        updateLots(consumed);
+    }
+
+    /**
+     * Close up to {@code limit} lots due at {@code now}, skipping lots locked by another sweeper.
+     * Must run inside a transaction, which keeps the lots locked until it ends.
+     *
+     * @return the closed lots with the points that were still left on them
+     */
+    public List<ExpiredLot> expireDue(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(EXPIRE_DUE_LOTS,
+            (rs, rowNum) -> new ExpiredLot(rs.getObject("user_id", UUID.class), rs.getLong("remaining_points")),
+            Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * Lock the users' balance rows in user id order, the order the ledger locks them in
+     *
+     * @return available points per user that has a balance
+     */
+    public Map<UUID, Long> lockAvailablePoints(Collection<UUID> userIds) {
+        Map<UUID, Long> available = new HashMap<>(userIds.size() * 2);
+        namedJdbcTemplate.query(SELECT_AVAILABLE_FOR_UPDATE, new MapSqlParameterSource("userIds", userIds),
+            rs -> {
+                available.put(rs.getObject("user_id", UUID.class), rs.getLong("available_points"));
+            });
+        return available;
+    }
+
+    /**
+     * Delete up to {@code limit} expired or consumed lots earned before the given time
+     *
+     * @return number of lots deleted
+     */
+    public int purgeClosed(LocalDateTime earnedBefore, int limit) {
+        return jdbcTemplate.update(PURGE_CLOSED_LOTS, Timestamp.valueOf(earnedBefore), limit);
+    }
+
+    private Map<UUID, Deque<Lot>> lockOpenLots(Set<UUID> userIds) {
+        Map<UUID, Deque<Lot>> lots = new HashMap<>(userIds.size() * 2);
+        for (UUID userId : userIds) {
+            lots.put(userId, new ArrayDeque<>());
+        }
+        namedJdbcTemplate.query(SELECT_OPEN_LOTS_FOR_UPDATE, new MapSqlParameterSource("userIds", userIds),
+            rs -> {
+                UUID userId = rs.getObject("user_id", UUID.class);
+                lots.get(userId).addLast(Lot.existing(rs.getObject("id", UUID.class), userId,
+                    rs.getLong("remaining_points")));
+            });
+        return lots;
+    }
+
+    private Lot open(PointTransaction transaction) {
+        if (transaction.getExpiryDate() == null) {
+            transaction.setExpiryDate(transaction.getCreatedAt().plusMonths(validityMonths));
+        }
+        return Lot.open(transaction);
+    }
+
+    /**
+     * Take {@code amount} from the oldest lots first. A shortfall means the missing lots are
+     * being expired by the sweeper right now, which caps their expiry at the balance left.
+     */
+    static void consume(Deque<Lot> lots, long amount, List<Lot> consumed) {
+        while (amount > 0 && !lots.isEmpty()) {
+            Lot lot = lots.peekFirst();
+            long taken = Math.min(lot.remaining, amount);
+            lot.remaining -= taken;
+            amount -= taken;
+            if (lot.persisted && !lot.changed) {
+                lot.changed = true;
+                consumed.add(lot);
+            }
+            if (lot.remaining == 0) {
+                lots.pollFirst();
+            }
+        }
+    }
+
+    private void insertLots(List<Lot> lots) {
+        if (lots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_LOT, lots, lots.size(), (ps, lot) -> {
+            Timestamp earnedAt = Timestamp.valueOf(lot.earnedDate);
+            ps.setObject(1, lot.id);
+            ps.setObject(2, lot.userId);
+            ps.setObject(3, lot.transactionId);
+            ps.setLong(4, lot.points);
+            ps.setLong(5, lot.remaining);
+            ps.setTimestamp(6, earnedAt);
+            ps.setTimestamp(7, Timestamp.valueOf(lot.expiryDate));
+            ps.setString(8, lot.status());
+            ps.setTimestamp(9, earnedAt);
+            ps.setTimestamp(10, earnedAt);
+        });
+    }
+
+    private void updateLots(List<Lot> lots) {
+        if (lots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LOT, lots, lots.size(), (ps, lot) -> {
+            ps.setLong(1, lot.remaining);
+            ps.setString(2, lot.status());
+            ps.setObject(3, lot.id);
+        });
+    }
+
+    /**
+     * Lot closed by the sweeper
+     */
+    public static final class ExpiredLot {
+        private final UUID userId;
+        private final long points;
+
+        public ExpiredLot(UUID userId, long points) {
+            this.userId = userId;
+            this.points = points;
+        }
+
+        public UUID getUserId() { return userId; }
+        public long getPoints() { return points; }
+    }
+
+    static final class Lot {
+        final UUID id;
+        final UUID userId;
+        final boolean persisted;
+        UUID transactionId;
+        long points;
+        long remaining;
+        LocalDateTime earnedDate;
+        LocalDateTime expiryDate;
+        boolean changed;
+
+        private Lot(UUID id, UUID userId, boolean persisted) {
+            this.id = id;
+            this.userId = userId;
+            this.persisted = persisted;
+        }
+
+        static Lot existing(UUID id, UUID userId, long remaining) {
+            Lot lot = new Lot(id, userId, true);
+            lot.remaining = remaining;
+            return lot;
+        }
+
+        static Lot open(PointTransaction transaction) {
+            Lot lot = new Lot(UUID.randomUUID(), transaction.getUserId(), false);
+            lot.transactionId = transaction.getId();
+            lot.points = transaction.getPointsAmount().longValue();
+            lot.remaining = lot.points;
+            lot.earnedDate = transaction.getCreatedAt();
+            lot.expiryDate = transaction.getExpiryDate();
+            return lot;
+        }
+
+        String status() {
+            return remaining == 0 ? CONSUMED : ACTIVE;
+        }
+    }
+}
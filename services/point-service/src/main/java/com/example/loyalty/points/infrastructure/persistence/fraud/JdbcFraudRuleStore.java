@@ -0,0 +1,29 @@
+package com.example.loyalty.points.infrastructure.persistence.fraud;
+
+import com.example.loyalty.points.application.fraud.FraudRuleStore;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fraud rules in the admin service's system_config table, in the shared database
+ */
+@Component
+public class JdbcFraudRuleStore implements FraudRuleStore {
+
+    private static final String SELECT_VALUE =
+        "SELECT config_value FROM system_config WHERE config_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcFraudRuleStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        List<String> values = jdbcTemplate.queryForList(SELECT_VALUE, String.class, key);
+        return values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.get(0));
+    }
+}
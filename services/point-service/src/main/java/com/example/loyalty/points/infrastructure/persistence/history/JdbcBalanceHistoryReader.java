@@ -0,0 +1,39 @@
+package com.example.loyalty.points.infrastructure.persistence.history;
+
+import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import com.example.loyalty.points.application.history.BalanceHistoryReader;
+import com.example.loyalty.points.infrastructure.persistence.ledger.LedgerSums;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Past balances from the nearest completed balance snapshot before the requested time plus the
+ * ledger rows between the two, so a query reads at most about a month of a user's transactions.
+ * Times before the first snapshot are summed from the whole ledger.
+ */
+@Component
+public class JdbcBalanceHistoryReader implements BalanceHistoryReader {
+
+    private static final String SELECT_BALANCE_AT = LedgerSums.since("user_id = :userId",
+        "(SELECT MAX(as_of) FROM points_balance_snapshot_runs WHERE as_of <= :at)", "created_at <= :at");
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcBalanceHistoryReader(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    @Override
+    public PointBalanceDTO.AtTime balanceAt(UUID userId, LocalDateTime at) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+            .addValue("at", Timestamp.valueOf(at));
+        return namedJdbcTemplate.query(SELECT_BALANCE_AT, params, (rs, rowNum) -> new PointBalanceDTO.AtTime(
+                userId, at, rs.getLong("total"), rs.getLong("earned"), rs.getLong("spent")))
+            .stream().findFirst()
+            .orElseGet(() -> new PointBalanceDTO.AtTime(userId, at, 0, 0, 0));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.loyalty.points.infrastructure.persistence.history;
+
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import com.example.loyalty.points.application.history.HistoryQuery;
+import com.example.loyalty.points.application.history.TransactionHistoryReader;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JDBC projection queries for transaction history, served by the
+ * (user_id, created_at DESC, id DESC) index.
+ *
+ * Exports run in a read-only transaction with a fetch size, which makes the PostgreSQL driver
+ * use a server-side cursor instead of loading the whole result set.
+ */
+@Component
+public class JdbcTransactionHistoryReader implements TransactionHistoryReader {
+
+    private static final String SELECT =
+        "SELECT id, transaction_type, points_amount, balance_after, source, source_id, description, status, " +
+        "created_at FROM points_transactions WHERE user_id = :userId";
+
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JdbcTransactionHistoryReader(NamedParameterJdbcTemplate namedJdbcTemplate,
+                                        DataSource dataSource,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${loyalty.points.history.export-fetch-size:1000}") int exportFetchSize) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(exportFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<TransactionHistoryDTO.Item> findPage(HistoryQuery query, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = buildSql(query, params) + " LIMIT :limit";
+        params.addValue("limit", limit);
+        return namedJdbcTemplate.query(sql, params, (rs, rowNum) -> mapItem(rs));
+    }
+
+    @Override
+    public void stream(HistoryQuery query, Consumer<TransactionHistoryDTO.Item> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = buildSql(query, params);
+        readOnlyTransaction.executeWithoutResult(status ->
+            streamingJdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> consumer.accept(mapItem(rs))));
+    }
+
+    private String buildSql(HistoryQuery query, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        params.addValue("userId", query.getUserId());
+        if (!query.getTypes().isEmpty()) {
+            sql.append(" AND transaction_type IN (:types)");
+            params.addValue("types", query.getTypes().stream().map(TransactionType::name).toList());
+        }
+        if (query.getFrom() != null) {
+            sql.append(" AND created_at >= :from");
+            params.addValue("from", Timestamp.valueOf(query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            sql.append(" AND created_at < :to");
+            params.addValue("to", Timestamp.valueOf(query.getTo()));
+        }
+        if (query.getAfter() != null) {
+            // Row comparison keeps the predicate a single index range condition
+            sql.append(" AND (created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", Timestamp.valueOf(query.getAfter().getCreatedAt()));
+            params.addValue("afterId", query.getAfter().getId());
+        }
+        return sql.append(ORDER).toString();
+    }
+
+    private static TransactionHistoryDTO.Item mapItem(ResultSet rs) throws SQLException {
+        return new TransactionHistoryDTO.Item(
+            rs.getObject("id", UUID.class),
+            rs.getString("transaction_type"),
+            rs.getLong("points_amount"),
+            rs.getLong("balance_after"),
+            rs.getString("source"),
+            rs.getObject("source_id", UUID.class),
+            rs.getString("description"),
+            rs.getString("status"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+}
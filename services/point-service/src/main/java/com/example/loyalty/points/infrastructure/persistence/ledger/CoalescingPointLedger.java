@@ -0,0 +1,62 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.ledger.ContentionDetector;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import io.micrometer.core.instrument.Counter;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Ledger decorator that coalesces posts for users under contention.
+ *
+ * Every post is counted by the {@link ContentionDetector}. While a user has fewer posts in flight
+ * than the hot threshold they go straight to the delegate; beyond it they are queued on a
+ * group-commit ledger, which merges whatever has queued up for the user into one balance update
+ * and one multi-row ledger insert instead of each request waiting on the balance row lock.
+ * Both paths lock the balance row before applying a transaction, so a user switching between
+ * them mid-burst stays consistent.
+ */
+public class CoalescingPointLedger implements PointLedger, DisposableBean {
+
+    private final PointLedger delegate;
+    private final GroupCommitPointLedger coalescer;
+    private final ContentionDetector detector;
+    private final Counter coalescedCounter;
+
+    public CoalescingPointLedger(PointLedger delegate, GroupCommitPointLedger coalescer,
+                                 ContentionDetector detector, LoyaltyMetrics metrics) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+        this.detector = detector;
+        this.coalescedCounter = metrics.createCounter("loyalty_points_contention_coalesced_total",
+            "Ledger posts routed to the coalescing queue");
+    }
+
+    @Override
+    public Entry post(PointTransaction transaction) {
+        UUID userId = transaction.getUserId();
+        boolean hot = detector.enter(userId);
+        try {
+            if (hot) {
+                coalescedCounter.increment();
+                return coalescer.post(transaction);
+            }
+            return delegate.post(transaction);
+        } finally {
+            detector.exit(userId, hot);
+        }
+    }
+
+    @Override
+    public List<Result> postAll(List<PointTransaction> transactions) {
+        return delegate.postAll(transactions);
+    }
+
+    @Override
+    public void destroy() {
+        coalescer.destroy();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Write-behind ledger that serializes each user onto a single-writer lane.
+ *
+ * Users are sharded across a fixed number of lanes by user id, so all transactions for a user
+ * are applied by one thread in arrival order. Each lane drains whatever has queued up while the
+ * previous batch was committing and writes it as one group commit through
+ * {@link JdbcLedgerBatchWriter}. Callers are released only after their batch has committed.
+ *
+ * A caller that times out while its transaction is still queued withdraws it, so a caller is
+ * never told the post failed while it is committed later. Once a lane has taken a transaction
+ * into a batch, its caller waits for the batch's outcome.
+ */
+public class GroupCommitPointLedger implements PointLedger, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitPointLedger.class);
+
+    private final JdbcLedgerBatchWriter batchWriter;
+    private final Lane[] lanes;
+    private final int maxBatchSize;
+    private final Duration ackTimeout;
+
+    public GroupCommitPointLedger(JdbcLedgerBatchWriter batchWriter, int laneCount, int maxBatchSize,
+                                  int queueCapacity, Duration ackTimeout) {
+        this(batchWriter, laneCount, maxBatchSize, queueCapacity, ackTimeout, "ledger-lane");
+    }
+
+    /**
+     * @param threadName prefix of the lane thread names
+     */
+    public GroupCommitPointLedger(JdbcLedgerBatchWriter batchWriter, int laneCount, int maxBatchSize,
+                                  int queueCapacity, Duration ackTimeout, String threadName) {
+        if (laneCount <= 0 || maxBatchSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Lane count, batch size and queue capacity must be positive");
+        }
+        this.batchWriter = batchWriter;
+        this.maxBatchSize = maxBatchSize;
+        this.ackTimeout = ackTimeout;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, queueCapacity, threadName + "-" + i);
+            lanes[i].start();
+        }
+    }
+
+    @Override
+    public Entry post(PointTransaction transaction) {
+        PendingPost pending = new PendingPost(transaction);
+        Lane lane = lanes[Math.floorMod(transaction.getUserId().hashCode(), lanes.length)];
+
+        try {
+            if (!lane.queue.offer(pending, ackTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Ledger lane " + lane.index + " is saturated");
+            }
+            try {
+                return pending.future.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claim()) {
+                    throw new IllegalStateException("Timed out waiting for ledger commit", e);
+                }
+                // The lane is committing it, so its outcome is only moments away
+                return pending.future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.claim()) {
+                throw new IllegalStateException("Interrupted while waiting for ledger commit", e);
+            }
+            throw new IllegalStateException("Interrupted while the ledger commit was in progress", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger commit failed", e.getCause());
+        }
+    }
+
+    /**
+     * Bulk posts bypass the lanes: the batch writer locks every affected balance row,
+     * so the work stays serialized per user at the database
+     */
+    @Override
+    public List<Result> postAll(List<PointTransaction> transactions) {
+        return batchWriter.write(transactions);
+    }
+
+    @Override
+    public void destroy() {
+        for (Lane lane : lanes) {
+            lane.running = false;
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(ackTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commit(List<PendingPost> batch) {
+        List<PointTransaction> transactions = new ArrayList<>(batch.size());
+        for (PendingPost pending : batch) {
+            transactions.add(pending.transaction);
+        }
+
+        List<Result> results;
+        try {
+            results = batchWriter.write(transactions);
+        } catch (RuntimeException e) {
+            logger.error("Group commit of {} ledger transactions failed", batch.size(), e);
+            for (PendingPost pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Result result = results.get(i);
+            if (result.isPosted()) {
+                batch.get(i).future.complete(result.getEntry());
+            } else {
+                batch.get(i).future.completeExceptionally(result.getError());
+            }
+        }
+    }
+
+    private static final class PendingPost {
+        private final PointTransaction transaction;
+        private final CompletableFuture<Entry> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private PendingPost(PointTransaction transaction) {
+            this.transaction = transaction;
+        }
+
+        /**
+         * Claim the post for the lane to commit, or for its caller to withdraw
+         *
+         * @return false if the other side claimed it first
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final int index;
+        private final BlockingQueue<PendingPost> queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Lane(int index, int capacity, String threadName) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, threadName);
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            List<PendingPost> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingPost first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    // Skip posts withdrawn by callers that stopped waiting
+                    batch.removeIf(pending -> !pending.claim());
+                    if (!batch.isEmpty()) {
+                        commit(batch);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    logger.error("Ledger lane {} failed to process batch", index, e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
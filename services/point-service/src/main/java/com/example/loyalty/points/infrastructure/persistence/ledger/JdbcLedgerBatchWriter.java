@@ -0,0 +1,293 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.application.expiry.ExpiryLotStore;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes a batch of ledger transactions in a single database transaction.
+ *
+ * All balance rows touched by the batch are locked once (in user id order to avoid deadlocks),
+ * the transactions are applied in memory in submission order, and the ledger rows and final
+ * balances are written with JDBC batch statements. Each user's balance is updated once per batch
+ * no matter how many of their transactions it contains.
+ *
+ * A transaction whose source reference is already in the ledger, or earlier in the same batch,
+ * is rejected with {@link DuplicateTransactionException}. The check runs while the users' balance
+ * rows are locked, so it cannot race with another batch for the same user.
+ *
+ * Expiry lots, tier spending and events for the posted transactions are written before the
+ * batch commits.
+ */
+@Component
+public class JdbcLedgerBatchWriter {
+
+    private static final String SELECT_BALANCES_FOR_UPDATE =
+        "SELECT id, user_id, total_points, available_points, pending_points, lifetime_earned, " +
+        "lifetime_spent, created_at, updated_at, version FROM points_balance " +
+        "WHERE user_id IN (:userIds) ORDER BY user_id FOR UPDATE";
+
+    private static final String INSERT_MISSING_BALANCE =
+        "INSERT INTO points_balance (id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (user_id) DO NOTHING";
+
+    private static final String SELECT_REFERENCED_TRANSACTIONS =
+        "SELECT t.id, t.user_id, t.transaction_type, t.points_amount, t.balance_after, t.source, t.source_id, " +
+        "t.description, t.processed_at, t.status FROM points_transaction_keys k " +
+        "JOIN points_transactions t ON t.id = k.transaction_id AND t.created_at = k.created_at " +
+        "WHERE k.user_id IN (:userIds) AND k.source_id IN (:sourceIds)";
+
+    private static final String INSERT_TRANSACTION =
+        "INSERT INTO points_transactions (id, user_id, transaction_type, points_amount, balance_after, " +
+        "source, source_id, description, metadata, expiry_date, created_at, processed_at, status) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS JSONB), ?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE =
+        "UPDATE points_balance SET total_points = ?, available_points = ?, pending_points = ?, " +
+        "lifetime_earned = ?, lifetime_spent = ?, updated_at = ?, version = ? WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiryLotStore expiryLotStore;
+    private final SpendAggregateStore spendStore;
+    private final PointEventPublisher eventPublisher;
+
+    public JdbcLedgerBatchWriter(JdbcTemplate jdbcTemplate,
+                                 NamedParameterJdbcTemplate namedJdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ExpiryLotStore expiryLotStore,
+                                 SpendAggregateStore spendStore,
+                                 PointEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.expiryLotStore = expiryLotStore;
+        this.spendStore = spendStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Post the transactions as one unit of work. A transaction the balance cannot absorb is
+     * rejected individually; any database failure rolls back the whole batch.
+     *
+     * @return one result per input transaction, in input order
+     */
+    public List<PointLedger.Result> write(List<PointTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> writeInTransaction(transactions));
+    }
+
+    private List<PointLedger.Result> writeInTransaction(List<PointTransaction> transactions) {
+        Set<UUID> userIds = new LinkedHashSet<>();
+        for (PointTransaction transaction : transactions) {
+            userIds.add(transaction.getUserId());
+        }
+
+        Map<UUID, PointBalance> balances = lockBalances(userIds);
+        if (balances.size() < userIds.size()) {
+            createMissingBalances(userIds, balances);
+            balances = lockBalances(userIds);
+        }
+
+        Map<IdempotencyKey, PointTransaction> posted = findReferencedTransactions(transactions, userIds);
+
+        List<PointLedger.Result> results = new ArrayList<>(transactions.size());
+        List<PointTransaction> applied = new ArrayList<>(transactions.size());
+        List<PointLedger.Entry> entries = new ArrayList<>(transactions.size());
+        Map<UUID, PointBalance> touched = new LinkedHashMap<>();
+
+        for (PointTransaction transaction : transactions) {
+            IdempotencyKey key = IdempotencyKey.of(transaction);
+            PointTransaction original = key != null ? posted.get(key) : null;
+            if (original != null) {
+                results.add(PointLedger.Result.rejected(new DuplicateTransactionException(original)));
+                continue;
+            }
+
+            PointBalance balance = balances.get(transaction.getUserId());
+            try {
+                balance.apply(transaction);
+                applied.add(transaction);
+                touched.put(balance.getUserId(), balance);
+                if (key != null) {
+                    posted.put(key, transaction);
+                }
+                PointLedger.Entry entry = new PointLedger.Entry(transaction, snapshotOf(balance));
+                entries.add(entry);
+                results.add(PointLedger.Result.posted(entry));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results.add(PointLedger.Result.rejected(e));
+            }
+        }
+
+        // Lots first: opening one fills in the transaction's expiry date
+        expiryLotStore.record(applied);
+        insertTransactions(applied);
+        updateBalances(touched.values());
+        spendStore.record(applied);
+        eventPublisher.publishPosted(entries);
+        return results;
+    }
+
+    private Map<UUID, PointBalance> lockBalances(Set<UUID> userIds) {
+        Map<UUID, PointBalance> balances = new HashMap<>(userIds.size() * 2);
+        namedJdbcTemplate.query(
+            SELECT_BALANCES_FOR_UPDATE,
+            new MapSqlParameterSource("userIds", userIds),
+            rs -> {
+                PointBalance balance = mapBalance(rs);
+                balances.put(balance.getUserId(), balance);
+            });
+        return balances;
+    }
+
+    private Map<IdempotencyKey, PointTransaction> findReferencedTransactions(List<PointTransaction> transactions,
+                                                                           Set<UUID> userIds) {
+        Set<UUID> sourceIds = new LinkedHashSet<>();
+        for (PointTransaction transaction : transactions) {
+            if (transaction.getSourceId() != null) {
+                sourceIds.add(transaction.getSourceId());
+            }
+        }
+        Map<IdempotencyKey, PointTransaction> referenced = new HashMap<>();
+        if (sourceIds.isEmpty()) {
+            return referenced;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("userIds", userIds)
+            .addValue("sourceIds", sourceIds);
+        namedJdbcTemplate.query(SELECT_REFERENCED_TRANSACTIONS, params, rs -> {
+            PointTransaction transaction = mapTransaction(rs);
+            referenced.put(IdempotencyKey.of(transaction), transaction);
+        });
+        return referenced;
+    }
+
+    private void createMissingBalances(Set<UUID> userIds, Map<UUID, PointBalance> existing) {
+        List<UUID> missing = new ArrayList<>();
+        for (UUID userId : userIds) {
+            if (!existing.containsKey(userId)) {
+                missing.add(userId);
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MISSING_BALANCE, missing, missing.size(), (ps, userId) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, userId);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    private void insertTransactions(List<PointTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions, transactions.size(), (ps, tx) -> {
+            ps.setObject(1, tx.getId());
+            ps.setObject(2, tx.getUserId());
+            ps.setString(3, tx.getTransactionType().name());
+            ps.setLong(4, tx.getPointsAmount().longValue());
+            ps.setLong(5, tx.getBalanceAfter().longValue());
+            ps.setString(6, tx.getSource());
+            ps.setObject(7, tx.getSourceId());
+            ps.setString(8, tx.getDescription());
+            ps.setString(9, tx.getMetadata());
+            ps.setTimestamp(10, toTimestamp(tx.getExpiryDate()));
+            ps.setTimestamp(11, toTimestamp(tx.getCreatedAt()));
+            ps.setTimestamp(12, toTimestamp(tx.getProcessedAt()));
+            ps.setString(13, tx.getStatus());
+        });
+    }
+
+    private void updateBalances(Iterable<PointBalance> balances) {
+        List<PointBalance> rows = new ArrayList<>();
+        balances.forEach(rows::add);
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, rows, rows.size(), (ps, balance) -> {
+            ps.setLong(1, balance.getTotalPoints().longValue());
+            ps.setLong(2, balance.getAvailablePoints().longValue());
+            ps.setLong(3, balance.getPendingPoints().longValue());
+            ps.setLong(4, balance.getLifetimeEarned().longValue());
+            ps.setLong(5, balance.getLifetimeSpent().longValue());
+            ps.setTimestamp(6, toTimestamp(balance.getUpdatedAt()));
+            // The domain bumps the version once per applied transaction; persist it as-is so
+            // versions seen by callers stay monotonic across batches
+            ps.setInt(7, balance.getVersion());
+            ps.setObject(8, balance.getUserId());
+        });
+    }
+
+    private PointBalance mapBalance(ResultSet rs) throws SQLException {
+        return PointBalance.restore(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            Points.of(rs.getLong("total_points")),
+            Points.of(rs.getLong("available_points")),
+            Points.of(rs.getLong("pending_points")),
+            Points.of(rs.getLong("lifetime_earned")),
+            Points.of(rs.getLong("lifetime_spent")),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getInt("version"));
+    }
+
+    private PointTransaction mapTransaction(ResultSet rs) throws SQLException {
+        PointTransaction transaction = new PointTransaction(
+            rs.getObject("user_id", UUID.class),
+            TransactionType.valueOf(rs.getString("transaction_type")),
+            Points.of(rs.getLong("points_amount")),
+            rs.getString("source"),
+            rs.getObject("source_id", UUID.class),
+            rs.getString("description")
+        );
+        transaction.setId(rs.getObject("id", UUID.class));
+        transaction.setBalanceAfter(Points.of(rs.getLong("balance_after")));
+        Timestamp processedAt = rs.getTimestamp("processed_at");
+        transaction.setProcessedAt(processedAt != null ? processedAt.toLocalDateTime() : null);
+        transaction.setStatus(rs.getString("status"));
+        return transaction;
+    }
+
+    /**
+     * Copy of the balance as it stood after a given transaction, since the live
+     * object keeps changing as later transactions in the batch are applied
+     */
+    private PointBalance snapshotOf(PointBalance balance) {
+        return PointBalance.restore(balance.getId(), balance.getUserId(), balance.getTotalPoints(),
+            balance.getAvailablePoints(), balance.getPendingPoints(), balance.getLifetimeEarned(),
+            balance.getLifetimeSpent(), balance.getCreatedAt(), balance.getUpdatedAt(), balance.getVersion());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
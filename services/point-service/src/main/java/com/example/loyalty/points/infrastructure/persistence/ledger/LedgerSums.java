@@ -0,0 +1,51 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+/**
+ * SQL for per-user sums of processed ledger rows, as columns user_id, total, earned and spent.
+ * Conditions are SQL fragments with named parameters, applied to user_id and created_at.
+ */
+public final class LedgerSums {
+
+    // Ledger effect of each transaction type, matching BalanceDelta.of
+    private static final String SUMS =
+        "SELECT user_id, " +
+        "SUM(CASE WHEN transaction_type IN ('SPEND', 'EXPIRE') THEN -points_amount ELSE points_amount END) AS total, " +
+        "SUM(CASE WHEN transaction_type IN ('SPEND', 'EXPIRE') THEN 0 ELSE points_amount END) AS earned, " +
+        "SUM(CASE WHEN transaction_type = 'SPEND' THEN points_amount ELSE 0 END) AS spent " +
+        "FROM points_transactions WHERE status = 'PROCESSED' AND %s GROUP BY user_id";
+
+    /**
+     * Latest completed snapshot boundary
+     */
+    public static final String LAST_BOUNDARY = "(SELECT MAX(as_of) FROM points_balance_snapshot_runs)";
+
+    private LedgerSums() {
+    }
+
+    /**
+     * Sums over the ledger rows matching the condition
+     */
+    public static String of(String condition) {
+        return String.format(SUMS, condition);
+    }
+
+    /**
+     * Sums from each user's latest snapshot at or before the boundary plus the ledger rows
+     * created from the boundary on. Without a completed boundary this is the whole ledger.
+     *
+     * @param userCondition condition on user_id
+     * @param boundary expression for a completed snapshot boundary, may evaluate to null
+     * @param rowCondition extra condition on the ledger rows read after the boundary
+     */
+    public static String since(String userCondition, String boundary, String rowCondition) {
+        return "SELECT COALESCE(s.user_id, r.user_id) AS user_id, " +
+            "COALESCE(s.total, 0) + COALESCE(r.total, 0) AS total, " +
+            "COALESCE(s.earned, 0) + COALESCE(r.earned, 0) AS earned, " +
+            "COALESCE(s.spent, 0) + COALESCE(r.spent, 0) AS spent " +
+            "FROM (SELECT DISTINCT ON (user_id) user_id, total_points AS total, lifetime_earned AS earned, " +
+            "lifetime_spent AS spent FROM points_balance_snapshots WHERE " + userCondition +
+            " AND as_of <= " + boundary + " ORDER BY user_id, as_of DESC) s " +
+            "FULL JOIN (" + of(userCondition + " AND created_at >= COALESCE(" + boundary +
+            ", '-infinity') AND " + rowCondition) + ") r ON r.user_id = s.user_id";
+    }
+}
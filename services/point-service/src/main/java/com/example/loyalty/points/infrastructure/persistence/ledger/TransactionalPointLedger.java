@@ -0,0 +1,94 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.application.expiry.ExpiryLotStore;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.util.List;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Posts each transaction in its own database transaction through the domain repositories.
+ * Bulk posts go through {@link JdbcLedgerBatchWriter}.
+ *
+ * The balance changes by a single {@code column = column + delta} statement that returns the new
+ * row, so there is no read-modify-write to lose an update, and the row lock it takes lasts for
+ * the rest of this short transaction. A debit that would overdraw matches no row and is rejected.
+ *
+ * Referenced transactions are checked against the ledger before posting; a concurrent
+ * duplicate that slips past the check is stopped by the primary key of points_transaction_keys.
+ * The transaction's expiry lots, tier spending and event are written inside the same database
+ * transaction.
+ *
+ * The transaction is opened with a {@link TransactionTemplate} rather than {@code @Transactional},
+ * so a post stays atomic when this ledger is wrapped by a decorator instead of being a Spring bean.
+ */
+public class TransactionalPointLedger implements PointLedger {
+
+    private final PointTransactionRepository transactionRepository;
+    private final PointBalanceRepository balanceRepository;
+    private final JdbcLedgerBatchWriter batchWriter;
+    private final ExpiryLotStore expiryLotStore;
+    private final SpendAggregateStore spendStore;
+    private final PointEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionalPointLedger(PointTransactionRepository transactionRepository,
+                                    PointBalanceRepository balanceRepository,
+                                    JdbcLedgerBatchWriter batchWriter,
+                                    ExpiryLotStore expiryLotStore,
+                                    SpendAggregateStore spendStore,
+                                    PointEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.balanceRepository = balanceRepository;
+        this.batchWriter = batchWriter;
+        this.expiryLotStore = expiryLotStore;
+        this.spendStore = spendStore;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Entry post(PointTransaction transaction) {
+        return transactionTemplate.execute(status -> postInTransaction(transaction));
+    }
+
+    private Entry postInTransaction(PointTransaction transaction) {
+        IdempotencyKey key = IdempotencyKey.of(transaction);
+        if (key != null) {
+            transactionRepository.findByIdempotencyKey(key).ifPresent(existing -> {
+                throw new DuplicateTransactionException(existing);
+            });
+        }
+
+        if (transaction.isProcessed()) {
+            throw new IllegalStateException("Transaction is already processed");
+        }
+        BalanceDelta delta = BalanceDelta.of(transaction);
+        PointBalance balance = balanceRepository.applyDelta(transaction.getUserId(), delta)
+            .orElseThrow(() -> new IllegalArgumentException("Insufficient available points"));
+        transaction.process(Points.of(balance.getAvailablePoints().longValue() - delta.getAvailable()));
+        expiryLotStore.record(List.of(transaction));
+        spendStore.record(List.of(transaction));
+
+        PointTransaction savedTransaction = transactionRepository.save(transaction);
+        Entry entry = new Entry(savedTransaction, balance);
+        eventPublisher.publishPosted(List.of(entry));
+        return entry;
+    }
+
+    @Override
+    public List<Result> postAll(List<PointTransaction> transactions) {
+        return batchWriter.write(transactions);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * User ids from {@code lower} inclusive to {@code upper} exclusive; a null upper bound is open.
+ * Used to split scans over all users into independent statements.
+ */
+public record UserIdRange(UUID lower, UUID upper) {
+
+    /**
+     * Split the user id space into contiguous ranges of equal width
+     */
+    public static List<UserIdRange> split(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Range count must be positive");
+        }
+        // PostgreSQL orders uuids byte by byte, i.e. as unsigned 128-bit numbers
+        BigInteger width = BigInteger.ONE.shiftLeft(128).divide(BigInteger.valueOf(count));
+        List<UserIdRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID lower = toUuid(width.multiply(BigInteger.valueOf(i)));
+            UUID upper = i + 1 < count ? toUuid(width.multiply(BigInteger.valueOf(i + 1))) : null;
+            ranges.add(new UserIdRange(lower, upper));
+        }
+        return ranges;
+    }
+
+    private static UUID toUuid(BigInteger value) {
+        return new UUID(value.shiftRight(64).longValue(), value.longValue());
+    }
+}
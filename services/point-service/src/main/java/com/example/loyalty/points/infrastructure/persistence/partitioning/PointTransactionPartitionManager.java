@@ -0,0 +1,287 @@
+package com.example.loyalty.points.infrastructure.persistence.partitioning;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.Counter;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Maintains the monthly partitions of points_transactions.
+ *
+ * Each run pre-creates the partitions for the current month and the next {@code premakeMonths},
+ * so inserts never fall into the default partition, and retires partitions that ended more than
+ * {@code retentionMonths} ago. A retired partition is detached and then kept, moved to the
+ * archive schema or dropped, and its rows in points_transaction_keys are removed.
+ *
+ * Only months that ended by the last completed balance snapshot boundary are retired: snapshots
+ * and reconciliation sum the ledger from that boundary on, and the first snapshot sums all of it,
+ * so a month they have not yet folded into a snapshot must stay attached. Nothing is retired
+ * before the first snapshot completes.
+ *
+ * All statements of a run share one connection holding a session advisory lock, so only one pod
+ * does the work. Detaching needs a short exclusive lock on the ledger; it is bounded by
+ * {@code lock_timeout} and a partition that could not be detached is retried on the next run.
+ */
+public class PointTransactionPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointTransactionPartitionManager.class);
+
+    static final String PARENT_TABLE = "points_transactions";
+    static final String DEFAULT_PARTITION = "points_transactions_default";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("points_transactions_p(\\d{4})_(\\d{2})");
+
+    /** Advisory lock key shared by every point-service pod */
+    private static final long MAINTENANCE_LOCK_KEY = 0x706f696e7473L;
+
+    private static final String SELECT_PARTITIONS =
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+        "WHERE i.inhparent = 'points_transactions'::regclass";
+
+    private static final String SELECT_LAST_SNAPSHOT_BOUNDARY =
+        "SELECT MAX(as_of) FROM points_balance_snapshot_runs";
+
+    private static final String DELETE_EXPIRED_KEYS =
+        "DELETE FROM points_transaction_keys WHERE ctid IN (" +
+        "SELECT ctid FROM points_transaction_keys WHERE created_at < ? LIMIT ?)";
+
+    private static final String COUNT_DEFAULT_ROWS =
+        "SELECT count(*) FROM (SELECT 1 FROM points_transactions_default LIMIT 10000) d";
+
+    public enum RetentionAction {
+        /** Detach and leave the table in place */
+        DETACH,
+        /** Detach and move the table to the archive schema */
+        ARCHIVE,
+        /** Detach and drop the table */
+        DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+    private final String archiveSchema;
+    private final long detachLockTimeoutMs;
+    private final int keyDeleteBatchSize;
+
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+    private final Counter created;
+    private final Counter retired;
+    private final Counter failures;
+
+    public PointTransactionPartitionManager(JdbcTemplate jdbcTemplate,
+                                            LoyaltyMetrics metrics,
+                                            int premakeMonths,
+                                            int retentionMonths,
+                                            RetentionAction retentionAction,
+                                            String archiveSchema,
+                                            long detachLockTimeoutMs,
+                                            int keyDeleteBatchSize) {
+        if (premakeMonths < 0) {
+            throw new IllegalArgumentException("Partition premake months must not be negative");
+        }
+        if (!archiveSchema.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.archiveSchema = archiveSchema;
+        this.detachLockTimeoutMs = detachLockTimeoutMs;
+        this.keyDeleteBatchSize = keyDeleteBatchSize;
+
+        this.created = metrics.createCounter("loyalty_points_partitions_created_total",
+            "Monthly points_transactions partitions created ahead of time");
+        this.retired = metrics.createCounter("loyalty_points_partitions_retired_total",
+            "points_transactions partitions detached after the retention window");
+        this.failures = metrics.createCounter("loyalty_points_partitions_failures_total",
+            "Partition maintenance steps that failed and will be retried");
+        metrics.createGauge("loyalty_points_partitions_default_rows",
+            "Rows in the default partition of points_transactions, capped at 10000",
+            defaultPartitionRows::get);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${loyalty.points.partitions.cron:0 15 3 * * *}")
+    public void run() {
+        try {
+            maintain(YearMonth.now());
+        } catch (DataAccessException e) {
+            failures.increment();
+            logger.warn("Partition maintenance failed, it will be retried on the next run", e);
+        }
+    }
+
+    /**
+     * Create missing partitions and retire expired ones relative to {@code current}
+     */
+    void maintain(YearMonth current) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Boolean locked = session.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class,
+                MAINTENANCE_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                logger.debug("Partition maintenance is running on another instance");
+                return null;
+            }
+            try {
+                maintain(session, current);
+            } finally {
+                session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, MAINTENANCE_LOCK_KEY);
+            }
+            return null;
+        });
+    }
+
+    private void maintain(JdbcTemplate session, YearMonth current) {
+        List<String> partitions = session.queryForList(SELECT_PARTITIONS, String.class);
+
+        for (YearMonth month : monthsToCreate(current, premakeMonths, partitions)) {
+            try {
+                session.execute(createPartitionSql(month));
+                created.increment();
+                logger.info("Created partition {}", partitionName(month));
+            } catch (DataAccessException e) {
+                // Typically rows for that month already sit in the default partition
+                failures.increment();
+                logger.error("Could not create partition {}", partitionName(month), e);
+            }
+        }
+
+        if (retentionMonths > 0) {
+            Timestamp boundary = session.queryForObject(SELECT_LAST_SNAPSHOT_BOUNDARY, Timestamp.class);
+            Optional<YearMonth> retireBefore = retireBefore(current, retentionMonths,
+                Optional.ofNullable(boundary).map(Timestamp::toLocalDateTime));
+            if (retireBefore.isPresent()) {
+                for (String partition : partitionsToRetire(retireBefore.get(), partitions)) {
+                    retire(session, partition);
+                }
+                deleteExpiredKeys(session, retireBefore.get().atDay(1));
+            } else {
+                logger.info("No balance snapshot boundary is complete yet; ledger partitions are kept");
+            }
+        }
+
+        Long rows = session.queryForObject(COUNT_DEFAULT_ROWS, Long.class);
+        defaultPartitionRows.set(rows != null ? rows : 0L);
+        if (defaultPartitionRows.get() > 0) {
+            logger.warn("{} holds {} rows; check that future partitions are being created",
+                DEFAULT_PARTITION, defaultPartitionRows.get());
+        }
+    }
+
+    private void retire(JdbcTemplate session, String partition) {
+        try {
+            session.execute("SET lock_timeout = " + detachLockTimeoutMs);
+            try {
+                session.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+            } finally {
+                session.execute("RESET lock_timeout");
+            }
+            switch (retentionAction) {
+                case ARCHIVE -> {
+                    session.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+                    session.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+                }
+                case DROP -> session.execute("DROP TABLE " + partition);
+                case DETACH -> { }
+            }
+            retired.increment();
+            logger.info("Retired partition {} ({})", partition, retentionAction);
+        } catch (DataAccessException e) {
+            failures.increment();
+            logger.warn("Could not retire partition {}", partition, e);
+        }
+    }
+
+    private void deleteExpiredKeys(JdbcTemplate session, LocalDate before) {
+        int deleted;
+        do {
+            deleted = session.update(DELETE_EXPIRED_KEYS, Date.valueOf(before), keyDeleteBatchSize);
+        } while (deleted == keyDeleteBatchSize);
+    }
+
+    /**
+     * Months from {@code current} through {@code premakeMonths} ahead that have no partition yet
+     */
+    static List<YearMonth> monthsToCreate(YearMonth current, int premakeMonths, Collection<String> partitions) {
+        TreeSet<YearMonth> existing = new TreeSet<>();
+        partitions.forEach(name -> parseMonth(name).ifPresent(existing::add));
+        List<YearMonth> missing = new ArrayList<>();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                missing.add(month);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * First month kept attached: the start of the retention window, or the month of the last
+     * completed snapshot boundary if that is earlier. Empty if no boundary is complete.
+     */
+    static Optional<YearMonth> retireBefore(YearMonth current, int retentionMonths,
+                                            Optional<LocalDateTime> lastSnapshotBoundary) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        return lastSnapshotBoundary
+            .map(YearMonth::from)
+            .map(snapshotted -> snapshotted.isBefore(oldestKept) ? snapshotted : oldestKept);
+    }
+
+    /**
+     * Monthly partitions entirely before {@code retireBefore}, oldest first
+     */
+    static List<String> partitionsToRetire(YearMonth retireBefore, Collection<String> partitions) {
+        TreeSet<YearMonth> expired = new TreeSet<>();
+        partitions.forEach(name -> parseMonth(name)
+            .filter(month -> month.isBefore(retireBefore))
+            .ifPresent(expired::add));
+        List<String> names = new ArrayList<>(expired.size());
+        expired.forEach(month -> names.add(partitionName(month)));
+        return names;
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("points_transactions_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    public static Optional<YearMonth> parseMonth(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    static String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + PARENT_TABLE +
+            " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.loyalty.points.infrastructure.persistence.reconciliation;
+
+import com.example.loyalty.points.infrastructure.persistence.ledger.LedgerSums;
+import com.example.loyalty.points.infrastructure.persistence.ledger.UserIdRange;
+import com.example.loyalty.points.infrastructure.persistence.partitioning.PointTransactionPartitionManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares points_balance with the sums of processed points_transactions.
+ *
+ * A range of user ids is read with one statement that aggregates the ledger and joins it to the
+ * balances, so both sides come from the same snapshot: a post writes its balance change and its
+ * ledger row in one transaction and is either seen on both sides or on neither. Rows are streamed
+ * from a server-side cursor. Users with ledger rows but no balance are included.
+ *
+ * The ledger is read from the latest completed balance snapshot on, see {@link LedgerSums#since}.
+ * Months before the oldest attached partition may have been retired; unless that boundary is at or
+ * after the start of the oldest attached month the ledger sums can fall short, see {@link #ledgerCovered}.
+ */
+@Component
+public class JdbcReconciliationStore {
+
+    private static final String SCAN =
+        "SELECT COALESCE(b.user_id, l.user_id) AS user_id, b.total_points, b.available_points, " +
+        "b.pending_points, b.lifetime_earned, b.lifetime_spent, " +
+        "COALESCE(l.total, 0) AS ledger_total, COALESCE(l.earned, 0) AS ledger_earned, " +
+        "COALESCE(l.spent, 0) AS ledger_spent " +
+        "FROM (SELECT * FROM points_balance WHERE %1$s) b " +
+        "FULL JOIN (%2$s) l ON l.user_id = b.user_id";
+
+    private static final String SCAN_BETWEEN = scan("user_id >= :lower AND user_id < :upper");
+    private static final String SCAN_FROM = scan("user_id >= :lower");
+    private static final String SCAN_USER = scan("user_id = :userId");
+
+    private static final String SELECT_PARTITIONS =
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+        "WHERE i.inhparent = 'points_transactions'::regclass";
+
+    private static final String SELECT_LAST_BOUNDARY = "SELECT " + LedgerSums.LAST_BOUNDARY;
+
+    private static final String INSERT_MISSING_BALANCE =
+        "INSERT INTO points_balance (id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (user_id) DO NOTHING";
+
+    private static final String LOCK_BALANCE =
+        "SELECT id FROM points_balance WHERE user_id = ? FOR UPDATE";
+
+    private static final String CORRECT_BALANCE =
+        "UPDATE points_balance SET total_points = ?, available_points = ? - pending_points, " +
+        "lifetime_earned = ?, lifetime_spent = ?, updated_at = ?, version = version + 1 " +
+        "WHERE user_id = ? AND pending_points <= ?";
+
+    private static final String INSERT_DISCREPANCY =
+        "INSERT INTO points_reconciliation_discrepancies (id, run_id, user_id, balance_total, " +
+        "balance_available, balance_pending, balance_earned, balance_spent, ledger_total, ledger_earned, " +
+        "ledger_spent, corrected, detected_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JdbcReconciliationStore(JdbcTemplate jdbcTemplate,
+                                   NamedParameterJdbcTemplate namedJdbcTemplate,
+                                   DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${loyalty.points.reconciliation.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Stream every user of the range with their balance and ledger sums
+     *
+     * @return number of users read
+     */
+    public int scan(UserIdRange range, Consumer<Comparison> consumer) {
+        Integer users = readOnlyTransaction.execute(status -> {
+            int[] count = {0};
+            MapSqlParameterSource params = new MapSqlParameterSource("lower", range.lower())
+                .addValue("upper", range.upper());
+            streamingJdbcTemplate.query(range.upper() != null ? SCAN_BETWEEN : SCAN_FROM, params,
+                (RowCallbackHandler) rs -> {
+                    consumer.accept(mapComparison(rs));
+                    count[0]++;
+                });
+            return count[0];
+        });
+        return users != null ? users : 0;
+    }
+
+    /**
+     * True if the ledger read by {@link #scan} holds every row since the latest completed snapshot
+     * boundary, so its sums can be trusted to correct balances
+     */
+    public boolean ledgerCovered() {
+        List<String> partitions = jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class);
+        Timestamp boundary = jdbcTemplate.queryForObject(SELECT_LAST_BOUNDARY, Timestamp.class);
+        return covers(Optional.ofNullable(boundary).map(Timestamp::toLocalDateTime), partitions);
+    }
+
+    /**
+     * True if the ledger is not partitioned by month, or the boundary is no earlier than the start
+     * of the oldest attached month. Without a boundary the whole ledger is summed, and months that
+     * were retired would be missing from it.
+     */
+    static boolean covers(Optional<LocalDateTime> boundary, Collection<String> partitions) {
+        Optional<YearMonth> oldest = partitions.stream()
+            .map(PointTransactionPartitionManager::parseMonth)
+            .flatMap(Optional::stream)
+            .min(YearMonth::compareTo);
+        if (oldest.isEmpty()) {
+            return true;
+        }
+        return boundary.map(asOf -> !asOf.isBefore(oldest.get().atDay(1).atStartOfDay())).orElse(false);
+    }
+
+    /**
+     * Rewrite the user's balance to the ledger sums, keeping their held points pending.
+     *
+     * The balance row is locked before the ledger is summed again, so posts committed since the
+     * scan are counted and none can commit until the correction does.
+     *
+     * @return the comparison the correction was based on, or null if nothing had to be changed
+     *     or the ledger cannot cover the points held
+     */
+    public Comparison correct(UUID userId) {
+        return transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update(INSERT_MISSING_BALANCE, UUID.randomUUID(), userId, now, now);
+            jdbcTemplate.query(LOCK_BALANCE, rs -> {}, userId);
+
+            Comparison comparison = namedJdbcTemplate.queryForObject(SCAN_USER,
+                new MapSqlParameterSource("userId", userId), (rs, rowNum) -> mapComparison(rs));
+            if (comparison.matches()) {
+                return null;
+            }
+            int updated = jdbcTemplate.update(CORRECT_BALANCE, comparison.ledgerTotal(), comparison.ledgerTotal(),
+                comparison.ledgerEarned(), comparison.ledgerSpent(), now, userId, comparison.ledgerTotal());
+            return updated == 1 ? comparison : null;
+        });
+    }
+
+    /**
+     * Write the discrepancies of a run to points_reconciliation_discrepancies
+     */
+    public void record(UUID runId, List<Discrepancy> discrepancies) {
+        if (discrepancies.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_DISCREPANCY, discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+            Comparison found = discrepancy.comparison();
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, runId);
+            ps.setObject(3, found.userId());
+            ps.setObject(4, found.balanceTotal());
+            ps.setObject(5, found.balanceAvailable());
+            ps.setObject(6, found.balancePending());
+            ps.setObject(7, found.balanceEarned());
+            ps.setObject(8, found.balanceSpent());
+            ps.setLong(9, found.ledgerTotal());
+            ps.setLong(10, found.ledgerEarned());
+            ps.setLong(11, found.ledgerSpent());
+            ps.setBoolean(12, discrepancy.corrected());
+            ps.setTimestamp(13, now);
+        });
+    }
+
+    private static Comparison mapComparison(ResultSet rs) throws SQLException {
+        return new Comparison(
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("total_points", Long.class),
+            rs.getObject("available_points", Long.class),
+            rs.getObject("pending_points", Long.class),
+            rs.getObject("lifetime_earned", Long.class),
+            rs.getObject("lifetime_spent", Long.class),
+            rs.getLong("ledger_total"),
+            rs.getLong("ledger_earned"),
+            rs.getLong("ledger_spent"));
+    }
+
+    private static String scan(String userCondition) {
+        return String.format(SCAN, userCondition, LedgerSums.since(userCondition, LedgerSums.LAST_BOUNDARY, "TRUE"));
+    }
+
+    /**
+     * A user's balance columns next to their ledger sums. Balance columns are null if the user
+     * has ledger rows but no balance.
+     */
+    public record Comparison(UUID userId, Long balanceTotal, Long balanceAvailable, Long balancePending,
+                             Long balanceEarned, Long balanceSpent,
+                             long ledgerTotal, long ledgerEarned, long ledgerSpent) {
+
+        /**
+         * True if the balance equals the ledger and its available and pending points add up to its total
+         */
+        public boolean matches() {
+            if (balanceTotal == null) {
+                return ledgerTotal == 0 && ledgerEarned == 0 && ledgerSpent == 0;
+            }
+            return balanceTotal == ledgerTotal
+                && balanceEarned == ledgerEarned
+                && balanceSpent == ledgerSpent
+                && balanceAvailable + balancePending == balanceTotal;
+        }
+    }
+
+    /**
+     * A comparison that did not match, and whether the balance was corrected
+     */
+    public record Discrepancy(Comparison comparison, boolean corrected) {}
+}
@@ -0,0 +1,196 @@
+package com.example.loyalty.points.infrastructure.persistence.redemption;
+
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.redemption.BalanceBusyException;
+import com.example.loyalty.points.application.redemption.BalanceHolds;
+import com.example.loyalty.points.application.redemption.HoldNotFoundException;
+import com.example.loyalty.points.application.redemption.RedemptionHold;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.example.loyalty.points.infrastructure.persistence.ledger.JdbcLedgerBatchWriter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Holds in points_redemption_holds, backed by points_balance.pending_points.
+ *
+ * Reserving and releasing are one conditional UPDATE each, so the check and the move happen
+ * atomically on the row and need no prior read. The hold row is inserted or deleted in the same
+ * transaction, and deleting it is what claims a hold: of two instances confirming, releasing or
+ * reaping the same hold, only the one whose DELETE returns the row moves its points. Every statement runs under a short
+ * lock_timeout: a redemption that finds the row locked by an unrelated earn gives up quickly
+ * and retries a few times instead of queueing behind it, then reports the balance as busy.
+ */
+@Component
+public class JdbcBalanceHolds implements BalanceHolds {
+
+    private static final String BALANCE_COLUMNS =
+        "id, user_id, total_points, available_points, pending_points, lifetime_earned, " +
+        "lifetime_spent, created_at, updated_at, version";
+
+    private static final String RESERVE =
+        "UPDATE points_balance SET available_points = available_points - ?, " +
+        "pending_points = pending_points + ?, updated_at = ?, version = version + 1 " +
+        "WHERE user_id = ? AND available_points >= ? RETURNING " + BALANCE_COLUMNS;
+
+    private static final String RELEASE =
+        "UPDATE points_balance SET available_points = available_points + ?, " +
+        "pending_points = pending_points - ?, updated_at = ?, version = version + 1 " +
+        "WHERE user_id = ? AND pending_points >= ? RETURNING " + BALANCE_COLUMNS;
+
+    private static final String HOLD_COLUMNS =
+        "hold_id, user_id, points, reference_id, description, expires_at";
+
+    private static final String INSERT_HOLD =
+        "INSERT INTO points_redemption_holds (" + HOLD_COLUMNS + ", created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_HOLD =
+        "SELECT " + HOLD_COLUMNS + " FROM points_redemption_holds WHERE hold_id = ? AND user_id = ?";
+
+    private static final String DELETE_HOLD =
+        "DELETE FROM points_redemption_holds WHERE hold_id = ? AND user_id = ? RETURNING " + HOLD_COLUMNS;
+
+    private static final String SELECT_EXPIRED =
+        "SELECT " + HOLD_COLUMNS + " FROM points_redemption_holds WHERE expires_at <= ? " +
+        "ORDER BY expires_at LIMIT ?";
+
+    private static final String COUNT_HOLDS = "SELECT count(*) FROM points_redemption_holds";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcLedgerBatchWriter batchWriter;
+    private final long lockTimeoutMs;
+    private final int lockAttempts;
+
+    public JdbcBalanceHolds(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            JdbcLedgerBatchWriter batchWriter,
+                            @Value("${loyalty.points.redemption.lock-timeout-ms:100}") long lockTimeoutMs,
+                            @Value("${loyalty.points.redemption.lock-attempts:3}") int lockAttempts) {
+        if (lockTimeoutMs <= 0 || lockAttempts <= 0) {
+            throw new IllegalArgumentException("Redemption lock timeout and attempts must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchWriter = batchWriter;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.lockAttempts = lockAttempts;
+    }
+
+    @Override
+    public Optional<PointBalance> reserve(RedemptionHold hold) {
+        return withLockTimeout(() -> {
+            Optional<PointBalance> balance = move(RESERVE, hold.getUserId(), hold.getPoints());
+            balance.ifPresent(reserved -> jdbcTemplate.update(INSERT_HOLD, hold.getHoldId(), hold.getUserId(),
+                hold.getPoints().longValue(), hold.getReferenceId(), hold.getDescription(),
+                Timestamp.valueOf(hold.getExpiresAt()), Timestamp.valueOf(LocalDateTime.now())));
+            return balance;
+        });
+    }
+
+    @Override
+    public Optional<RedemptionHold> find(UUID userId, UUID holdId) {
+        return jdbcTemplate.query(SELECT_HOLD, (rs, rowNum) -> mapHold(rs), holdId, userId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Released> release(UUID userId, UUID holdId) {
+        return withLockTimeout(() -> claim(userId, holdId)
+            .map(hold -> new Released(hold, move(RELEASE, userId, hold.getPoints()))));
+    }
+
+    @Override
+    public PointLedger.Entry confirm(RedemptionHold hold, PointTransaction spend) {
+        return withLockTimeout(() -> {
+            if (claim(hold.getUserId(), hold.getHoldId()).isEmpty()) {
+                throw new HoldNotFoundException(hold.getHoldId());
+            }
+            if (move(RELEASE, spend.getUserId(), spend.getPointsAmount()).isEmpty()) {
+                throw new IllegalStateException("Balance of user " + spend.getUserId() +
+                    " no longer holds " + spend.getPointsAmount().longValue() + " points");
+            }
+            PointLedger.Result result = batchWriter.write(List.of(spend)).get(0);
+            if (!result.isPosted()) {
+                // Throwing rolls the release back, so the hold stays open and its points held
+                throw result.getError();
+            }
+            return result.getEntry();
+        });
+    }
+
+    @Override
+    public List<RedemptionHold> findExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(SELECT_EXPIRED, (rs, rowNum) -> mapHold(rs), Timestamp.valueOf(now), limit);
+    }
+
+    @Override
+    public long countOpen() {
+        Long count = jdbcTemplate.queryForObject(COUNT_HOLDS, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Delete the hold, which a concurrent confirm, release or reap of it then waits on and finds gone
+     */
+    private Optional<RedemptionHold> claim(UUID userId, UUID holdId) {
+        return jdbcTemplate.query(DELETE_HOLD, (rs, rowNum) -> mapHold(rs), holdId, userId).stream().findFirst();
+    }
+
+    private Optional<PointBalance> move(String sql, UUID userId, Points points) {
+        long amount = points.longValue();
+        List<PointBalance> balances = jdbcTemplate.query(sql, (rs, rowNum) -> mapBalance(rs),
+            amount, amount, Timestamp.valueOf(LocalDateTime.now()), userId, amount);
+        return balances.stream().findFirst();
+    }
+
+    private <T> T withLockTimeout(Supplier<T> action) {
+        PessimisticLockingFailureException lastFailure = null;
+        for (int attempt = 0; attempt < lockAttempts; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+                    return action.get();
+                });
+            } catch (PessimisticLockingFailureException e) {
+                lastFailure = e;
+            }
+        }
+        throw new BalanceBusyException("Balance stayed locked for " + lockAttempts + " attempts", lastFailure);
+    }
+
+    private RedemptionHold mapHold(ResultSet rs) throws SQLException {
+        return new RedemptionHold(
+            rs.getObject("hold_id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            Points.of(rs.getLong("points")),
+            rs.getObject("reference_id", UUID.class),
+            rs.getString("description"),
+            rs.getTimestamp("expires_at").toLocalDateTime());
+    }
+
+    private PointBalance mapBalance(ResultSet rs) throws SQLException {
+        return PointBalance.restore(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            Points.of(rs.getLong("total_points")),
+            Points.of(rs.getLong("available_points")),
+            Points.of(rs.getLong("pending_points")),
+            Points.of(rs.getLong("lifetime_earned")),
+            Points.of(rs.getLong("lifetime_spent")),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getInt("version"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.repositories.EarningRuleRepository;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Earning rules in the earning_rules table, including the partner a rule is limited to.
+ *
+ * The rule engine reads every rule on each reload, so rules edited in the table, a partner's
+ * included, take effect within one reload interval.
+ */
+@Repository
+public class JdbcEarningRuleRepository implements EarningRuleRepository {
+
+    private static final String COLUMNS =
+        "id, name, rule_type, points_per_unit, unit_type, multiplier, min_amount, max_points, " +
+        "tier_restrictions, partner_id, start_date, end_date, is_active, created_at, updated_at";
+
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM earning_rules";
+
+    private static final String SELECT_BY_ID = SELECT_ALL + " WHERE id = ?";
+
+    private static final String SELECT_ACTIVE = SELECT_ALL +
+        " WHERE is_active AND start_date <= now() AND (end_date IS NULL OR end_date >= now())";
+
+    private static final String SELECT_ACTIVE_BY_TYPE = SELECT_ACTIVE + " AND rule_type = ?";
+
+    private static final String UPSERT =
+        "INSERT INTO earning_rules (" + COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, rule_type = EXCLUDED.rule_type, " +
+        "points_per_unit = EXCLUDED.points_per_unit, unit_type = EXCLUDED.unit_type, " +
+        "multiplier = EXCLUDED.multiplier, min_amount = EXCLUDED.min_amount, max_points = EXCLUDED.max_points, " +
+        "tier_restrictions = EXCLUDED.tier_restrictions, partner_id = EXCLUDED.partner_id, " +
+        "start_date = EXCLUDED.start_date, end_date = EXCLUDED.end_date, is_active = EXCLUDED.is_active, " +
+        "updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_BY_ID = "DELETE FROM earning_rules WHERE id = ?";
+
+    private static final TypeReference<Map<String, Object>> RESTRICTIONS = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<EarningRule> ruleMapper = (rs, rowNum) -> mapRule(rs);
+
+    public JdbcEarningRuleRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public EarningRule save(EarningRule rule) {
+        jdbcTemplate.update(UPSERT,
+            rule.getId(),
+            rule.getName(),
+            rule.getRuleType().name(),
+            rule.getPointsPerUnit(),
+            rule.getUnitType(),
+            rule.getMultiplier(),
+            rule.getMinAmount(),
+            rule.getMaxPoints() != null ? rule.getMaxPoints().longValue() : null,
+            writeRestrictions(rule.getTierRestrictions()),
+            rule.getPartnerId(),
+            toTimestamp(rule.getStartDate()),
+            toTimestamp(rule.getEndDate()),
+            rule.isActive(),
+            toTimestamp(rule.getCreatedAt()),
+            toTimestamp(rule.getUpdatedAt()));
+        return rule;
+    }
+
+    @Override
+    public Optional<EarningRule> findById(UUID id) {
+        List<EarningRule> rules = jdbcTemplate.query(SELECT_BY_ID, ruleMapper, id);
+        return rules.isEmpty() ? Optional.empty() : Optional.of(rules.get(0));
+    }
+
+    @Override
+    public List<EarningRule> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, ruleMapper);
+    }
+
+    @Override
+    public List<EarningRule> findActiveRules() {
+        return jdbcTemplate.query(SELECT_ACTIVE, ruleMapper);
+    }
+
+    @Override
+    public List<EarningRule> findByRuleType(EarningType ruleType) {
+        return jdbcTemplate.query(SELECT_ACTIVE_BY_TYPE, ruleMapper, ruleType.name());
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        jdbcTemplate.update(DELETE_BY_ID, id);
+    }
+
+    EarningRule mapRule(ResultSet rs) throws SQLException {
+        EarningRule rule = new EarningRule(
+            rs.getString("name"),
+            EarningType.valueOf(rs.getString("rule_type")),
+            rs.getBigDecimal("points_per_unit"),
+            rs.getString("unit_type"),
+            rs.getBigDecimal("multiplier"));
+        rule.setId(rs.getObject("id", UUID.class));
+        rule.setMinAmount(rs.getBigDecimal("min_amount"));
+        long maxPoints = rs.getLong("max_points");
+        rule.setMaxPoints(rs.wasNull() ? null : Points.of(maxPoints));
+        rule.setTierRestrictions(readRestrictions(rs.getString("tier_restrictions")));
+        rule.setPartnerId(rs.getString("partner_id"));
+        rule.setStartDate(toLocalDateTime(rs.getTimestamp("start_date")));
+        rule.setEndDate(toLocalDateTime(rs.getTimestamp("end_date")));
+        rule.setActive(rs.getBoolean("is_active"));
+        rule.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        rule.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return rule;
+    }
+
+    private Map<String, Object> readRestrictions(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, RESTRICTIONS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid tier_restrictions in earning_rules: " + json, e);
+        }
+    }
+
+    private String writeRestrictions(Map<String, Object> restrictions) {
+        if (restrictions == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(restrictions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Tier restrictions are not serializable", e);
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
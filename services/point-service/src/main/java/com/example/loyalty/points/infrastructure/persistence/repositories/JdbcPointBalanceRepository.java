@@ -0,0 +1,165 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC implementation of PointBalanceRepository, active with the {@code jdbc} profile.
+ *
+ * Rows map straight to the domain object, without an entity copy or a persistence context, and
+ * saves are single {@code INSERT ... ON CONFLICT} upserts instead of a merge that reads the row
+ * first. Deltas are added by the database and the new balance comes back with {@code RETURNING}.
+ * Statements are constant strings, so the driver reuses their server-side prepared form on each
+ * pooled connection.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcPointBalanceRepository implements PointBalanceRepository {
+
+    private static final String COLUMNS =
+        "id, user_id, total_points, available_points, pending_points, lifetime_earned, lifetime_spent, " +
+        "created_at, updated_at, version";
+
+    private static final String SELECT_BY_USER =
+        "SELECT " + COLUMNS + " FROM points_balance WHERE user_id = ?";
+
+    private static final String SELECT_BY_USER_FOR_UPDATE = SELECT_BY_USER + " FOR UPDATE";
+
+    private static final String INSERT_IF_MISSING =
+        "INSERT INTO points_balance (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (user_id) DO NOTHING RETURNING " + COLUMNS;
+
+    private static final String UPSERT =
+        "INSERT INTO points_balance (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (user_id) DO UPDATE SET total_points = EXCLUDED.total_points, " +
+        "available_points = EXCLUDED.available_points, pending_points = EXCLUDED.pending_points, " +
+        "lifetime_earned = EXCLUDED.lifetime_earned, lifetime_spent = EXCLUDED.lifetime_spent, " +
+        "updated_at = EXCLUDED.updated_at, version = EXCLUDED.version";
+
+    /** Opens the balance or adds to it; a credit cannot take a column below zero */
+    static final String APPLY_CREDIT =
+        "INSERT INTO points_balance AS b (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, now(), now(), 1) " +
+        "ON CONFLICT (user_id) DO UPDATE SET total_points = b.total_points + EXCLUDED.total_points, " +
+        "available_points = b.available_points + EXCLUDED.available_points, " +
+        "pending_points = b.pending_points + EXCLUDED.pending_points, " +
+        "lifetime_earned = b.lifetime_earned + EXCLUDED.lifetime_earned, " +
+        "lifetime_spent = b.lifetime_spent + EXCLUDED.lifetime_spent, " +
+        "updated_at = now(), version = b.version + 1 RETURNING " + COLUMNS;
+
+    /** Matches no row if the balance is missing or the debit would overdraw it */
+    static final String APPLY_DEBIT =
+        "UPDATE points_balance SET total_points = total_points + ?, available_points = available_points + ?, " +
+        "pending_points = pending_points + ?, lifetime_earned = lifetime_earned + ?, " +
+        "lifetime_spent = lifetime_spent + ?, updated_at = now(), version = version + 1 " +
+        "WHERE user_id = ? AND available_points + ? >= 0 AND pending_points + ? >= 0 RETURNING " + COLUMNS;
+
+    private static final String DELETE_BY_USER = "DELETE FROM points_balance WHERE user_id = ?";
+
+    static final RowMapper<PointBalance> BALANCE_MAPPER = (rs, rowNum) -> mapBalance(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPointBalanceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public PointBalance save(PointBalance balance) {
+        jdbcTemplate.update(UPSERT, ps -> bind(ps, balance));
+        return balance;
+    }
+
+    @Override
+    public Optional<PointBalance> findByUserId(UUID userId) {
+        return first(jdbcTemplate.query(SELECT_BY_USER, BALANCE_MAPPER, userId));
+    }
+
+    @Override
+    public PointBalance findByUserIdOrCreate(UUID userId) {
+        return findByUserId(userId).orElseGet(() -> create(userId, SELECT_BY_USER));
+    }
+
+    @Override
+    public PointBalance lockByUserIdOrCreate(UUID userId) {
+        // The inserted row stays locked by this transaction until it commits
+        return first(jdbcTemplate.query(SELECT_BY_USER_FOR_UPDATE, BALANCE_MAPPER, userId))
+            .orElseGet(() -> create(userId, SELECT_BY_USER_FOR_UPDATE));
+    }
+
+    @Override
+    public Optional<PointBalance> applyDelta(UUID userId, BalanceDelta delta) {
+        if (delta.isCredit()) {
+            return first(jdbcTemplate.query(APPLY_CREDIT, BALANCE_MAPPER, UUID.randomUUID(), userId,
+                delta.getTotal(), delta.getAvailable(), delta.getPending(),
+                delta.getLifetimeEarned(), delta.getLifetimeSpent()));
+        }
+        return first(jdbcTemplate.query(APPLY_DEBIT, BALANCE_MAPPER,
+            delta.getTotal(), delta.getAvailable(), delta.getPending(),
+            delta.getLifetimeEarned(), delta.getLifetimeSpent(),
+            userId, delta.getAvailable(), delta.getPending()));
+    }
+
+    @Override
+    public void deleteByUserId(UUID userId) {
+        jdbcTemplate.update(DELETE_BY_USER, userId);
+    }
+
+    /**
+     * Insert a new balance, or read the one a concurrent request inserted first
+     */
+    private PointBalance create(UUID userId, String reread) {
+        PointBalance balance = new PointBalance(userId);
+        return first(jdbcTemplate.query(INSERT_IF_MISSING, ps -> bind(ps, balance), BALANCE_MAPPER))
+            .or(() -> first(jdbcTemplate.query(reread, BALANCE_MAPPER, userId)))
+            .orElseThrow(() -> new IllegalStateException("Balance of user " + userId + " vanished during creation"));
+    }
+
+    private static void bind(PreparedStatement ps, PointBalance balance) throws SQLException {
+        ps.setObject(1, balance.getId());
+        ps.setObject(2, balance.getUserId());
+        ps.setLong(3, balance.getTotalPoints().longValue());
+        ps.setLong(4, balance.getAvailablePoints().longValue());
+        ps.setLong(5, balance.getPendingPoints().longValue());
+        ps.setLong(6, balance.getLifetimeEarned().longValue());
+        ps.setLong(7, balance.getLifetimeSpent().longValue());
+        ps.setTimestamp(8, Timestamp.valueOf(balance.getCreatedAt()));
+        ps.setTimestamp(9, Timestamp.valueOf(balance.getUpdatedAt()));
+        ps.setInt(10, balance.getVersion());
+    }
+
+    static PointBalance mapBalance(ResultSet rs) throws SQLException {
+        return PointBalance.restore(
+            rs.getObject(1, UUID.class),
+            rs.getObject(2, UUID.class),
+            Points.of(rs.getLong(3)),
+            Points.of(rs.getLong(4)),
+            Points.of(rs.getLong(5)),
+            Points.of(rs.getLong(6)),
+            Points.of(rs.getLong(7)),
+            toLocalDateTime(rs.getTimestamp(8)),
+            toLocalDateTime(rs.getTimestamp(9)),
+            rs.getInt(10));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
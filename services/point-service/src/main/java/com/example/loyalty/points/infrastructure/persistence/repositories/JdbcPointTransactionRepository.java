@@ -0,0 +1,202 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JDBC implementation of PointTransactionRepository, active with the {@code jdbc} profile.
+ *
+ * Saves are {@code INSERT ... ON CONFLICT (id, created_at)} upserts, so a new transaction costs
+ * one statement instead of the merge's lookup plus insert, and {@link #saveAll} sends them as a
+ * single JDBC batch. Rows map straight to the domain object, keeping the stored creation time.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcPointTransactionRepository implements PointTransactionRepository {
+
+    private static final String COLUMNS =
+        "id, user_id, transaction_type, points_amount, balance_after, source, source_id, description, " +
+        "metadata, expiry_date, created_at, processed_at, status";
+
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM points_transactions";
+
+    private static final String UPSERT =
+        "INSERT INTO points_transactions (" + COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS JSONB), ?, ?, ?, ?) " +
+        "ON CONFLICT (id, created_at) DO UPDATE SET balance_after = EXCLUDED.balance_after, " +
+        "metadata = EXCLUDED.metadata, expiry_date = EXCLUDED.expiry_date, " +
+        "processed_at = EXCLUDED.processed_at, status = EXCLUDED.status";
+
+    private static final String SELECT_BY_ID = SELECT + " WHERE id = ?";
+
+    private static final String SELECT_BY_USER = SELECT + " WHERE user_id = ? ORDER BY created_at DESC";
+
+    private static final String SELECT_BY_USER_AND_DATE_RANGE =
+        SELECT + " WHERE user_id = ? AND created_at BETWEEN ? AND ? ORDER BY created_at DESC";
+
+    private static final String SELECT_PENDING = SELECT + " WHERE status = 'PENDING' ORDER BY created_at ASC";
+
+    /** The key row carries created_at, so only one partition of points_transactions is probed */
+    private static final String SELECT_BY_SOURCE_KEY =
+        "SELECT t.id, t.user_id, t.transaction_type, t.points_amount, t.balance_after, t.source, t.source_id, " +
+        "t.description, t.metadata, t.expiry_date, t.created_at, t.processed_at, t.status " +
+        "FROM points_transaction_keys k " +
+        "JOIN points_transactions t ON t.id = k.transaction_id AND t.created_at = k.created_at " +
+        "WHERE k.user_id = ? AND k.transaction_type = ? AND k.source = ? AND k.source_id = ?";
+
+    private static final String SELECT_SOURCE_KEYS_SINCE =
+        "SELECT user_id, transaction_type, source, source_id FROM points_transaction_keys WHERE created_at >= ?";
+
+    private static final String DELETE_BY_ID = "DELETE FROM points_transactions WHERE id = ?";
+
+    static final RowMapper<PointTransaction> TRANSACTION_MAPPER = (rs, rowNum) -> mapTransaction(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JdbcPointTransactionRepository(JdbcTemplate jdbcTemplate,
+                                          DataSource dataSource,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${loyalty.points.idempotency.warmup-fetch-size:1000}") int warmupFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(warmupFetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public PointTransaction save(PointTransaction transaction) {
+        jdbcTemplate.update(UPSERT, ps -> bind(ps, transaction));
+        return transaction;
+    }
+
+    @Override
+    public List<PointTransaction> saveAll(List<PointTransaction> transactions) {
+        if (!transactions.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, transactions, transactions.size(),
+                JdbcPointTransactionRepository::bind);
+        }
+        return transactions;
+    }
+
+    @Override
+    public Optional<PointTransaction> findById(UUID id) {
+        return first(jdbcTemplate.query(SELECT_BY_ID, TRANSACTION_MAPPER, id));
+    }
+
+    @Override
+    public List<PointTransaction> findByUserId(UUID userId) {
+        return jdbcTemplate.query(SELECT_BY_USER, TRANSACTION_MAPPER, userId);
+    }
+
+    @Override
+    public List<PointTransaction> findByUserIdAndDateRange(UUID userId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_BY_USER_AND_DATE_RANGE, TRANSACTION_MAPPER,
+            userId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    @Override
+    public List<PointTransaction> findPendingTransactions() {
+        return jdbcTemplate.query(SELECT_PENDING, TRANSACTION_MAPPER);
+    }
+
+    @Override
+    public Optional<PointTransaction> findByIdempotencyKey(IdempotencyKey key) {
+        return first(jdbcTemplate.query(SELECT_BY_SOURCE_KEY, TRANSACTION_MAPPER,
+            key.getUserId(), key.getTransactionType().name(), key.getSource(), key.getSourceId()));
+    }
+
+    /**
+     * Runs in a read-only transaction so the fetch size makes the driver stream with a cursor
+     */
+    @Override
+    public void forEachIdempotencyKeySince(LocalDateTime since, Consumer<IdempotencyKey> consumer) {
+        readOnlyTransaction.executeWithoutResult(status ->
+            streamingJdbcTemplate.query(SELECT_SOURCE_KEYS_SINCE, rs -> {
+                consumer.accept(new IdempotencyKey(
+                    rs.getObject(1, UUID.class),
+                    TransactionType.valueOf(rs.getString(2)),
+                    rs.getString(3),
+                    rs.getObject(4, UUID.class)));
+            }, Timestamp.valueOf(since)));
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        jdbcTemplate.update(DELETE_BY_ID, id);
+    }
+
+    private static void bind(PreparedStatement ps, PointTransaction transaction) throws SQLException {
+        ps.setObject(1, transaction.getId());
+        ps.setObject(2, transaction.getUserId());
+        ps.setString(3, transaction.getTransactionType().name());
+        ps.setLong(4, transaction.getPointsAmount().longValue());
+        if (transaction.getBalanceAfter() != null) {
+            ps.setLong(5, transaction.getBalanceAfter().longValue());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        ps.setString(6, transaction.getSource());
+        ps.setObject(7, transaction.getSourceId());
+        ps.setString(8, transaction.getDescription());
+        ps.setString(9, transaction.getMetadata());
+        ps.setTimestamp(10, toTimestamp(transaction.getExpiryDate()));
+        ps.setTimestamp(11, toTimestamp(transaction.getCreatedAt()));
+        ps.setTimestamp(12, toTimestamp(transaction.getProcessedAt()));
+        ps.setString(13, transaction.getStatus());
+    }
+
+    static PointTransaction mapTransaction(ResultSet rs) throws SQLException {
+        long balanceAfter = rs.getLong(5);
+        Points balance = rs.wasNull() ? null : Points.of(balanceAfter);
+        return PointTransaction.restore(
+            rs.getObject(1, UUID.class),
+            rs.getObject(2, UUID.class),
+            TransactionType.valueOf(rs.getString(3)),
+            Points.of(rs.getLong(4)),
+            balance,
+            rs.getString(6),
+            rs.getObject(7, UUID.class),
+            rs.getString(8),
+            rs.getString(9),
+            toLocalDateTime(rs.getTimestamp(10)),
+            toLocalDateTime(rs.getTimestamp(11)),
+            toLocalDateTime(rs.getTimestamp(12)),
+            rs.getString(13));
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
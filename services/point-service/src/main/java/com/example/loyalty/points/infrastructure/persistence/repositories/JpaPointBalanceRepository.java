@@ -2,16 +2,20 @@ package com.example.loyalty.points.infrastructure.persistence.repositories;
 
 import com.example.loyalty.points.domain.entities.PointBalance;
 import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
 import com.example.loyalty.points.domain.valueobjects.Points;
 import com.example.loyalty.points.infrastructure.persistence.entities.PointBalanceEntity;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
- * JPA implementation of PointBalanceRepository
+ * JPA implementation of PointBalanceRepository, replaced by {@link JdbcPointBalanceRepository}
+ * under the {@code jdbc} profile
  */
 @Repository
+@Profile("!jdbc")
 public class JpaPointBalanceRepository implements PointBalanceRepository {
     
     private final SpringDataPointBalanceRepository springRepository;
@@ -44,6 +48,27 @@ public class JpaPointBalanceRepository implements PointBalanceRepository {
         return save(newBalance);
     }
 
+    @Override
+    public PointBalance lockByUserIdOrCreate(UUID userId) {
+        Optional<PointBalanceEntity> existing = springRepository.findForUpdateByUserId(userId);
+        if (existing.isPresent()) {
+            return mapToDomain(existing.get());
+        }
+
+        // The inserted row stays locked by this transaction until it commits
+        return save(new PointBalance(userId));
+    }
+
+    @Override
+    public Optional<PointBalance> applyDelta(UUID userId, BalanceDelta delta) {
+        Optional<PointBalanceEntity> updated = delta.isCredit()
+            ? springRepository.applyCredit(userId, delta.getTotal(), delta.getAvailable(), delta.getPending(),
+                                           delta.getLifetimeEarned(), delta.getLifetimeSpent())
+            : springRepository.applyDebit(userId, delta.getTotal(), delta.getAvailable(), delta.getPending(),
+                                          delta.getLifetimeEarned(), delta.getLifetimeSpent());
+        return updated.map(this::mapToDomain);
+    }
+
     @Override
     public void deleteByUserId(UUID userId) {
         springRepository.deleteByUserId(userId);
@@ -70,11 +95,11 @@ public class JpaPointBalanceRepository implements PointBalanceRepository {
         
         // Use package-private setters to set additional fields
         balance.setId(entity.getId());
-        balance.setTotalPoints(new Points(entity.getTotalPoints()));
-        balance.setAvailablePoints(new Points(entity.getAvailablePoints()));
-        balance.setPendingPoints(new Points(entity.getPendingPoints()));
-        balance.setLifetimeEarned(new Points(entity.getLifetimeEarned()));
-        balance.setLifetimeSpent(new Points(entity.getLifetimeSpent()));
+        balance.setTotalPoints(Points.of(entity.getTotalPoints()));
+        balance.setAvailablePoints(Points.of(entity.getAvailablePoints()));
+        balance.setPendingPoints(Points.of(entity.getPendingPoints()));
+        balance.setLifetimeEarned(Points.of(entity.getLifetimeEarned()));
+        balance.setLifetimeSpent(Points.of(entity.getLifetimeSpent()));
         balance.setCreatedAt(entity.getCreatedAt());
         balance.setUpdatedAt(entity.getUpdatedAt());
         balance.setVersion(entity.getVersion());
@@ -3,19 +3,26 @@ package com.example.loyalty.points.infrastructure.persistence.repositories;
 import com.example.loyalty.points.domain.entities.PointTransaction;
 import com.example.loyalty.points.domain.enums.TransactionType;
 import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
 import com.example.loyalty.points.domain.valueobjects.Points;
 import com.example.loyalty.points.infrastructure.persistence.entities.PointTransactionEntity;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * JPA implementation of PointTransactionRepository
+ * JPA implementation of PointTransactionRepository, replaced by
+ * {@link JdbcPointTransactionRepository} under the {@code jdbc} profile
  */
 @Repository
+@Profile("!jdbc")
 public class JpaPointTransactionRepository implements PointTransactionRepository {
     
     private final SpringDataPointTransactionRepository springRepository;
@@ -60,12 +67,32 @@ public class JpaPointTransactionRepository implements PointTransactionRepository
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<PointTransaction> findByIdempotencyKey(IdempotencyKey key) {
+        return springRepository.findBySourceKey(
+                key.getUserId(), key.getTransactionType().name(), key.getSource(), key.getSourceId())
+                .map(this::mapToDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachIdempotencyKeySince(LocalDateTime since, Consumer<IdempotencyKey> consumer) {
+        try (Stream<Object[]> rows = springRepository.streamSourceKeysCreatedSince(since)) {
+            rows.forEach(row -> consumer.accept(new IdempotencyKey(
+                (UUID) row[0],
+                TransactionType.valueOf((String) row[1]),
+                (String) row[2],
+                (UUID) row[3]
+            )));
+        }
+    }
+
     @Override
     public void deleteById(UUID id) {
         springRepository.deleteById(id);
     }
 
-    private PointTransactionEntity mapToEntity(PointTransaction transaction) {
+    PointTransactionEntity mapToEntity(PointTransaction transaction) {
         PointTransactionEntity entity = new PointTransactionEntity();
         entity.setId(transaction.getId());
         entity.setUserId(transaction.getUserId());
@@ -84,12 +111,12 @@ public class JpaPointTransactionRepository implements PointTransactionRepository
         return entity;
     }
 
-    private PointTransaction mapToDomain(PointTransactionEntity entity) {
+    PointTransaction mapToDomain(PointTransactionEntity entity) {
         // Create new domain entity using reflection-like approach
         PointTransaction transaction = new PointTransaction(
             entity.getUserId(),
             TransactionType.valueOf(entity.getTransactionType()),
-            new Points(entity.getPointsAmount()),
+            Points.of(entity.getPointsAmount()),
             entity.getSource(),
             entity.getSourceId(),
             entity.getDescription()
@@ -98,7 +125,7 @@ public class JpaPointTransactionRepository implements PointTransactionRepository
         // Use package-private setters to set additional fields
         transaction.setId(entity.getId());
         transaction.setBalanceAfter(entity.getBalanceAfter() != null ? 
-                                  new Points(entity.getBalanceAfter()) : null);
+                                  Points.of(entity.getBalanceAfter()) : null);
         transaction.setMetadata(entity.getMetadata());
         transaction.setExpiryDate(entity.getExpiryDate());
         transaction.setProcessedAt(entity.getProcessedAt());
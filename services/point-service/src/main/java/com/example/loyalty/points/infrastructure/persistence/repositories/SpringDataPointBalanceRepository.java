@@ -1,7 +1,11 @@
 package com.example.loyalty.points.infrastructure.persistence.repositories;
 
 import com.example.loyalty.points.infrastructure.persistence.entities.PointBalanceEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +18,41 @@ public interface SpringDataPointBalanceRepository extends JpaRepository<PointBal
     
     Optional<PointBalanceEntity> findByUserId(UUID userId);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM PointBalanceEntity b WHERE b.userId = :userId")
+    Optional<PointBalanceEntity> findForUpdateByUserId(@Param("userId") UUID userId);
+    
+    /**
+     * Open the balance or add a non-negative delta to it. Run as a query so RETURNING yields the row;
+     * callers must not hold a stale managed copy of the balance in the same persistence context.
+     */
+    @Query(value = "INSERT INTO points_balance AS b (id, user_id, total_points, available_points, pending_points, " +
+                   "lifetime_earned, lifetime_spent, created_at, updated_at, version) " +
+                   "VALUES (gen_random_uuid(), :userId, :total, :available, :pending, :earned, :spent, now(), now(), 1) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET total_points = b.total_points + EXCLUDED.total_points, " +
+                   "available_points = b.available_points + EXCLUDED.available_points, " +
+                   "pending_points = b.pending_points + EXCLUDED.pending_points, " +
+                   "lifetime_earned = b.lifetime_earned + EXCLUDED.lifetime_earned, " +
+                   "lifetime_spent = b.lifetime_spent + EXCLUDED.lifetime_spent, " +
+                   "updated_at = now(), version = b.version + 1 RETURNING *",
+           nativeQuery = true)
+    Optional<PointBalanceEntity> applyCredit(@Param("userId") UUID userId, @Param("total") long total,
+                                             @Param("available") long available, @Param("pending") long pending,
+                                             @Param("earned") long earned, @Param("spent") long spent);
+
+    /**
+     * Add a delta that may decrease the balance; matches no row if it would overdraw
+     */
+    @Query(value = "UPDATE points_balance SET total_points = total_points + :total, " +
+                   "available_points = available_points + :available, pending_points = pending_points + :pending, " +
+                   "lifetime_earned = lifetime_earned + :earned, lifetime_spent = lifetime_spent + :spent, " +
+                   "updated_at = now(), version = version + 1 " +
+                   "WHERE user_id = :userId AND available_points + :available >= 0 " +
+                   "AND pending_points + :pending >= 0 RETURNING *",
+           nativeQuery = true)
+    Optional<PointBalanceEntity> applyDebit(@Param("userId") UUID userId, @Param("total") long total,
+                                            @Param("available") long available, @Param("pending") long pending,
+                                            @Param("earned") long earned, @Param("spent") long spent);
+
     void deleteByUserId(UUID userId);
 }
\ No newline at end of file
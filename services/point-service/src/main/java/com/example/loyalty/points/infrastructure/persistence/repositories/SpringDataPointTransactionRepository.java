@@ -1,13 +1,17 @@
 package com.example.loyalty.points.infrastructure.persistence.repositories;
 
 import com.example.loyalty.points.infrastructure.persistence.entities.PointTransactionEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for PointTransactionEntity
@@ -25,4 +29,24 @@ public interface SpringDataPointTransactionRepository extends JpaRepository<Poin
     
     @Query("SELECT t FROM PointTransactionEntity t WHERE t.userId = :userId AND t.transactionType = 'EARN' ORDER BY t.createdAt DESC")
     List<PointTransactionEntity> findEarnTransactionsByUserId(@Param("userId") UUID userId);
+    
+    /**
+     * Transaction posted under a source reference. The key row carries created_at, so only one
+     * partition of points_transactions is probed.
+     */
+    @Query(value = "SELECT t.* FROM points_transaction_keys k " +
+                   "JOIN points_transactions t ON t.id = k.transaction_id AND t.created_at = k.created_at " +
+                   "WHERE k.user_id = :userId AND k.transaction_type = :transactionType " +
+                   "AND k.source = :source AND k.source_id = :sourceId",
+           nativeQuery = true)
+    Optional<PointTransactionEntity> findBySourceKey(@Param("userId") UUID userId,
+                                                     @Param("transactionType") String transactionType,
+                                                     @Param("source") String source,
+                                                     @Param("sourceId") UUID sourceId);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(value = "SELECT user_id, transaction_type, source, source_id FROM points_transaction_keys " +
+                   "WHERE created_at >= :since",
+           nativeQuery = true)
+    Stream<Object[]> streamSourceKeysCreatedSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example.loyalty.points.infrastructure.persistence.snapshot;
+
+import com.example.loyalty.points.infrastructure.persistence.ledger.LedgerSums;
+import com.example.loyalty.points.infrastructure.persistence.ledger.UserIdRange;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Balance snapshots in points_balance_snapshots.
+ *
+ * A snapshot at a boundary is the user's previous snapshot plus the sums of their ledger rows
+ * created since the previous boundary, written only for users with rows in that window. Writing
+ * is idempotent per user and boundary, so a boundary that failed part way is simply written again.
+ */
+@Component
+public class JdbcBalanceSnapshotStore {
+
+    private static final String WRITE =
+        "INSERT INTO points_balance_snapshots (user_id, as_of, total_points, lifetime_earned, lifetime_spent) " +
+        "SELECT d.user_id, :asOf, COALESCE(s.total_points, 0) + d.total, " +
+        "COALESCE(s.lifetime_earned, 0) + d.earned, COALESCE(s.lifetime_spent, 0) + d.spent " +
+        "FROM (%s) d " +
+        "LEFT JOIN LATERAL (SELECT total_points, lifetime_earned, lifetime_spent FROM points_balance_snapshots p " +
+        "WHERE p.user_id = d.user_id AND p.as_of <= :from ORDER BY p.as_of DESC LIMIT 1) s ON true " +
+        "ON CONFLICT (user_id, as_of) DO NOTHING";
+
+    private static final String WINDOW = "created_at >= :from AND created_at < :asOf";
+
+    private static final String WRITE_BETWEEN =
+        String.format(WRITE, LedgerSums.of("user_id >= :lower AND user_id < :upper AND " + WINDOW));
+    private static final String WRITE_FROM =
+        String.format(WRITE, LedgerSums.of("user_id >= :lower AND " + WINDOW));
+
+    private static final String SELECT_LAST_BOUNDARY =
+        "SELECT MAX(as_of) FROM points_balance_snapshot_runs";
+
+    private static final String INSERT_BOUNDARY =
+        "INSERT INTO points_balance_snapshot_runs (as_of, completed_at) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcBalanceSnapshotStore(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Latest boundary written for every user
+     */
+    public Optional<LocalDateTime> lastBoundary() {
+        Timestamp boundary = jdbcTemplate.queryForObject(SELECT_LAST_BOUNDARY, Timestamp.class);
+        return Optional.ofNullable(boundary).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Write the snapshots at {@code asOf} of the range's users with ledger rows since {@code from}
+     *
+     * @param from the previous completed boundary, or a time before the first ledger row
+     * @return number of snapshots written
+     */
+    public int write(UserIdRange range, LocalDateTime from, LocalDateTime asOf) {
+        MapSqlParameterSource params = new MapSqlParameterSource("lower", range.lower())
+            .addValue("upper", range.upper())
+            .addValue("from", Timestamp.valueOf(from))
+            .addValue("asOf", Timestamp.valueOf(asOf));
+        return namedJdbcTemplate.update(range.upper() != null ? WRITE_BETWEEN : WRITE_FROM, params);
+    }
+
+    /**
+     * Record that every user's snapshot at the boundary has been written
+     */
+    public void complete(LocalDateTime asOf) {
+        jdbcTemplate.update(INSERT_BOUNDARY, Timestamp.valueOf(asOf), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.loyalty.points.infrastructure.persistence.tier;
+
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monthly spending counters in points_monthly_spend
+ */
+@Component
+public class JdbcSpendAggregateStore implements SpendAggregateStore {
+
+    private static final String SELECT_SINCE =
+        "SELECT month, spend_minor FROM points_monthly_spend WHERE user_id = ? AND month >= ?";
+
+    private static final String UPSERT =
+        "INSERT INTO points_monthly_spend (user_id, month, spend_minor, updated_at) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (user_id, month) DO UPDATE SET " +
+        "spend_minor = points_monthly_spend.spend_minor + EXCLUDED.spend_minor, updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_BEFORE =
+        "DELETE FROM points_monthly_spend WHERE ctid = ANY(ARRAY(" +
+        "SELECT ctid FROM points_monthly_spend WHERE month < ? LIMIT ?))";
+
+    // Upserts lock rows in this order on every pod, so concurrent flushes cannot deadlock
+    private static final Comparator<MonthlySpendKey> LOCK_ORDER =
+        Comparator.comparing(MonthlySpendKey::userId).thenComparing(MonthlySpendKey::month);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSpendAggregateStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<YearMonth, Long> load(UUID userId, YearMonth from) {
+        Map<YearMonth, Long> months = new HashMap<>();
+        jdbcTemplate.query(SELECT_SINCE, rs -> {
+            months.put(YearMonth.from(rs.getDate("month").toLocalDate()), rs.getLong("spend_minor"));
+        }, userId, Date.valueOf(from.atDay(1)));
+        return months;
+    }
+
+    @Override
+    public void addAll(Map<MonthlySpendKey, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<MonthlySpendKey> keys = new ArrayList<>(deltas.keySet());
+        keys.sort(LOCK_ORDER);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT, keys, keys.size(), (ps, key) -> {
+            ps.setObject(1, key.userId());
+            ps.setDate(2, Date.valueOf(key.month().atDay(1)));
+            ps.setLong(3, deltas.get(key));
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    @Override
+    public int purgeBefore(YearMonth month, int limit) {
+        return jdbcTemplate.update(DELETE_BEFORE, Date.valueOf(month.atDay(1)), limit);
+    }
+}
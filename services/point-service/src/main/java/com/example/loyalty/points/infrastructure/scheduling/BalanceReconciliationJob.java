@@ -0,0 +1,188 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.infrastructure.persistence.ledger.UserIdRange;
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore;
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore.Comparison;
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore.Discrepancy;
+import io.micrometer.core.instrument.Counter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks every balance against the ledger and reports the ones that drifted.
+ *
+ * The user id space is split into ranges that a few workers take from a shared queue, each range
+ * read in one snapshot through {@link JdbcReconciliationStore}. Workers pace themselves to a
+ * users-per-second budget, sleeping after a range for the time its users were allowed, so the
+ * job can run alongside live traffic without competing with it for connections and I/O.
+ * Discrepancies are written per run and, with auto-correct on, the balance is rewritten to the
+ * ledger under its row lock. Balances are only corrected while the ledger holds every row since
+ * the latest completed snapshot boundary; once old partitions are retired without a boundary
+ * covering them, long-tenured users' ledger sums fall short and the run only records them.
+ */
+@Component
+@ConditionalOnProperty(name = "loyalty.points.reconciliation.enabled", havingValue = "true")
+public class BalanceReconciliationJob implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceReconciliationJob.class);
+
+    private final JdbcReconciliationStore store;
+    private final BalanceCache balanceCache;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int rangeCount;
+    private final long usersPerSecond;
+    private final boolean autoCorrect;
+
+    private final Counter scannedUsers;
+    private final Counter discrepancies;
+    private final Counter corrections;
+    private final Counter failures;
+
+    public BalanceReconciliationJob(JdbcReconciliationStore store,
+                                    BalanceCache balanceCache,
+                                    LoyaltyMetrics metrics,
+                                    @Value("${loyalty.points.reconciliation.workers:2}") int workerCount,
+                                    @Value("${loyalty.points.reconciliation.ranges:1024}") int rangeCount,
+                                    @Value("${loyalty.points.reconciliation.users-per-second:5000}") long usersPerSecond,
+                                    @Value("${loyalty.points.reconciliation.auto-correct:false}") boolean autoCorrect) {
+        if (workerCount <= 0 || rangeCount <= 0 || usersPerSecond <= 0) {
+            throw new IllegalArgumentException("Reconciliation workers, ranges and rate must be positive");
+        }
+        this.store = store;
+        this.balanceCache = balanceCache;
+        this.workerCount = workerCount;
+        this.rangeCount = rangeCount;
+        this.usersPerSecond = usersPerSecond;
+        this.autoCorrect = autoCorrect;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "points-reconcile-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.scannedUsers = metrics.createCounter("loyalty_points_reconciliation_users_total",
+            "Balances compared with the ledger");
+        this.discrepancies = metrics.createCounter("loyalty_points_reconciliation_discrepancies_total",
+            "Balances found out of line with the ledger");
+        this.corrections = metrics.createCounter("loyalty_points_reconciliation_corrections_total",
+            "Balances rewritten to match the ledger");
+        this.failures = metrics.createCounter("loyalty_points_reconciliation_failures_total",
+            "Reconciliation ranges that failed and were skipped");
+    }
+
+    @Scheduled(cron = "${loyalty.points.reconciliation.cron:0 0 4 * * *}")
+    public void run() {
+        UUID runId = UUID.randomUUID();
+        long started = System.nanoTime();
+        boolean correct = autoCorrect && store.ledgerCovered();
+        if (autoCorrect && !correct) {
+            logger.warn("Ledger partitions before the last snapshot boundary are retired or no boundary is " +
+                "complete yet; run {} records discrepancies without correcting them", runId);
+        }
+        ConcurrentLinkedQueue<UserIdRange> ranges = new ConcurrentLinkedQueue<>(UserIdRange.split(rangeCount));
+        List<Future<Integer>> scans = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            scans.add(workers.submit(() -> reconcile(runId, ranges, correct)));
+        }
+        int found = 0;
+        for (Future<Integer> scan : scans) {
+            try {
+                found += scan.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                failures.increment();
+                logger.warn("Reconciliation worker failed", e.getCause());
+            }
+        }
+        logger.info("Reconciliation run {} found {} discrepancies in {} ms",
+            runId, found, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Take ranges off the queue until it is empty
+     *
+     * @param correct whether mismatched balances are rewritten to the ledger
+     * @return number of discrepancies found
+     */
+    int reconcile(UUID runId, ConcurrentLinkedQueue<UserIdRange> ranges, boolean correct) throws InterruptedException {
+        // Each worker gets an equal share of the rate
+        long nanosPerUser = TimeUnit.SECONDS.toNanos(1) * workerCount / usersPerSecond;
+        int found = 0;
+        UserIdRange range;
+        while ((range = ranges.poll()) != null) {
+            long started = System.nanoTime();
+            int users = 0;
+            try {
+                List<Comparison> mismatched = new ArrayList<>();
+                users = store.scan(range, comparison -> {
+                    if (!comparison.matches()) {
+                        mismatched.add(comparison);
+                    }
+                });
+                scannedUsers.increment(users);
+                found += settle(runId, mismatched, correct);
+            } catch (RuntimeException e) {
+                failures.increment();
+                logger.warn("Reconciliation of users from {} failed", range.lower(), e);
+            }
+            long pause = users * nanosPerUser - (System.nanoTime() - started);
+            if (pause > 0) {
+                TimeUnit.NANOSECONDS.sleep(pause);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Correct the mismatched balances if asked to and record them
+     *
+     * @return number of discrepancies recorded
+     */
+    int settle(UUID runId, List<Comparison> mismatched, boolean correct) {
+        List<Discrepancy> found = new ArrayList<>(mismatched.size());
+        for (Comparison comparison : mismatched) {
+            if (!correct) {
+                found.add(new Discrepancy(comparison, false));
+                continue;
+            }
+            // The balance may have moved since the scan; what was corrected is what gets recorded
+            Comparison corrected = store.correct(comparison.userId());
+            if (corrected != null) {
+                corrections.increment();
+                balanceCache.evict(comparison.userId());
+                found.add(new Discrepancy(corrected, true));
+            } else {
+                found.add(new Discrepancy(comparison, false));
+            }
+        }
+        store.record(runId, found);
+        discrepancies.increment(found.size());
+        return found.size();
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.infrastructure.persistence.ledger.UserIdRange;
+import com.example.loyalty.points.infrastructure.persistence.snapshot.JdbcBalanceSnapshotStore;
+import io.micrometer.core.instrument.Counter;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes balance snapshots at the start of every month.
+ *
+ * Boundaries are written strictly in order from the last completed one, so a missed month is
+ * caught up on the next run before the current one. The first run sums the whole ledger up to the
+ * current boundary. Each boundary is written one user id range at a time to keep statements short,
+ * and is only marked complete once every range succeeded. A boundary is not written until
+ * {@code settle-minutes} after it, so posts that started before it have committed.
+ */
+@Component
+@ConditionalOnProperty(name = "loyalty.points.snapshots.enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceSnapshotJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    // Before the first ledger row
+    static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcBalanceSnapshotStore store;
+    private final int rangeCount;
+    private final long settleMinutes;
+
+    private final Counter written;
+    private final Counter failures;
+
+    public BalanceSnapshotJob(JdbcBalanceSnapshotStore store,
+                              LoyaltyMetrics metrics,
+                              @Value("${loyalty.points.snapshots.ranges:256}") int rangeCount,
+                              @Value("${loyalty.points.snapshots.settle-minutes:60}") long settleMinutes) {
+        if (rangeCount <= 0 || settleMinutes < 0) {
+            throw new IllegalArgumentException("Snapshot ranges must be positive and the settle time not negative");
+        }
+        this.store = store;
+        this.rangeCount = rangeCount;
+        this.settleMinutes = settleMinutes;
+
+        this.written = metrics.createCounter("loyalty_points_snapshots_written_total",
+            "Balance snapshots written");
+        this.failures = metrics.createCounter("loyalty_points_snapshots_failures_total",
+            "Snapshot boundaries that failed and will be retried");
+    }
+
+    @Scheduled(cron = "${loyalty.points.snapshots.cron:0 0 2 1 * *}")
+    public void run() {
+        run(LocalDateTime.now());
+    }
+
+    /**
+     * Write every boundary from the last completed one up to the latest settled one
+     *
+     * @return number of boundaries completed
+     */
+    int run(LocalDateTime now) {
+        LocalDateTime target = now.minusMinutes(settleMinutes).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+        Optional<LocalDateTime> last = store.lastBoundary();
+        LocalDateTime from = last.orElse(LEDGER_START);
+        LocalDateTime asOf = last.map(boundary -> boundary.plusMonths(1)).orElse(target);
+
+        int completed = 0;
+        while (!asOf.isAfter(target)) {
+            if (!write(from, asOf)) {
+                break;
+            }
+            completed++;
+            from = asOf;
+            asOf = asOf.plusMonths(1);
+        }
+        return completed;
+    }
+
+    private boolean write(LocalDateTime from, LocalDateTime asOf) {
+        long started = System.nanoTime();
+        int snapshots = 0;
+        try {
+            for (UserIdRange range : UserIdRange.split(rangeCount)) {
+                snapshots += store.write(range, from, asOf);
+            }
+            store.complete(asOf);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Balance snapshots at {} failed after {} users, retried on the next run", asOf, snapshots, e);
+            return false;
+        } finally {
+            written.increment(snapshots);
+        }
+        logger.info("Wrote {} balance snapshots at {} in {} ms",
+            snapshots, asOf, (System.nanoTime() - started) / 1_000_000);
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.points.domain.services.PointCalculationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recompiles earning rules so rule changes take effect without a restart
+ */
+@Component
+public class EarningRuleReloadJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EarningRuleReloadJob.class);
+
+    private final PointCalculationService calculationService;
+
+    public EarningRuleReloadJob(PointCalculationService calculationService) {
+        this.calculationService = calculationService;
+    }
+
+    @Scheduled(fixedDelayString = "${loyalty.points.earning-rules.reload-interval-ms:30000}",
+               initialDelayString = "${loyalty.points.earning-rules.reload-interval-ms:30000}")
+    public void reload() {
+        try {
+            calculationService.reloadEarningRules();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            logger.warn("Failed to reload earning rules: {}", e.getMessage());
+        }
+    }
+}
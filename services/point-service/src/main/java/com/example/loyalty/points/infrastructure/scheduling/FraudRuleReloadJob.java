@@ -0,0 +1,38 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.points.application.fraud.FraudRuleStore;
+import com.example.loyalty.points.application.fraud.FraudScreen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reads the live and candidate fraud rules so rule changes take effect without a restart
+ */
+@Component
+@ConditionalOnProperty(name = "loyalty.points.fraud.enabled", havingValue = "true", matchIfMissing = true)
+public class FraudRuleReloadJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudRuleReloadJob.class);
+
+    private final FraudRuleStore ruleStore;
+    private final FraudScreen fraudScreen;
+
+    public FraudRuleReloadJob(FraudRuleStore ruleStore, FraudScreen fraudScreen) {
+        this.ruleStore = ruleStore;
+        this.fraudScreen = fraudScreen;
+    }
+
+    @Scheduled(fixedDelayString = "${loyalty.points.fraud.rules.reload-interval-ms:30000}")
+    public void reload() {
+        try {
+            fraudScreen.applyRules(ruleStore.find(FraudRuleStore.LIVE_RULES_KEY).orElse(null),
+                                   ruleStore.find(FraudRuleStore.CANDIDATE_RULES_KEY).orElse(null));
+        } catch (Exception e) {
+            // Keep scoring with the rules in use
+            logger.warn("Failed to reload fraud rules: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.points.application.idempotency.IdempotencyStore;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts a new idempotency bloom filter generation once per warm-up window, so keys are known
+ * for at least the window the filter was warmed with
+ */
+@Component
+public class IdempotencyFilterRotationJob {
+
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotencyFilterRotationJob(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @Scheduled(fixedDelayString = "PT${loyalty.points.idempotency.warmup-window-hours:72}H",
+               initialDelayString = "PT${loyalty.points.idempotency.warmup-window-hours:72}H")
+    public void rotate() {
+        idempotencyStore.rotate();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.example.loyalty.points.infrastructure.persistence.expiry.JdbcExpiryLotStore;
+import com.example.loyalty.points.infrastructure.persistence.ledger.JdbcLedgerBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Expires lots whose expiry date has passed.
+ *
+ * Workers run in parallel, each repeatedly claiming a chunk of due lots with SKIP LOCKED and
+ * posting one EXPIRE transaction per user of the chunk in the same short database transaction,
+ * so no lock is held for longer than one chunk and several pods can sweep at once. The points
+ * expired are capped at the user's available balance. Closed lots older than the purge window
+ * are deleted afterwards in chunks.
+ */
+@Component
+@ConditionalOnProperty(name = "loyalty.points.expiry.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class PointExpirySweeper implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointExpirySweeper.class);
+
+    static final String EXPIRY_SOURCE = "EXPIRY";
+
+    private final JdbcExpiryLotStore lotStore;
+    private final JdbcLedgerBatchWriter batchWriter;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int chunkSize;
+    private final int maxChunksPerWorker;
+    private final int purgeAfterDays;
+
+    private final Counter expiredLots;
+    private final Counter expiredPoints;
+    private final Counter purgedLots;
+    private final Counter failures;
+
+    public PointExpirySweeper(JdbcExpiryLotStore lotStore,
+                              JdbcLedgerBatchWriter batchWriter,
+                              BalanceCache balanceCache,
+                              TransactionTemplate transactionTemplate,
+                              LoyaltyMetrics metrics,
+                              @Value("${loyalty.points.expiry.sweeper.workers:4}") int workerCount,
+                              @Value("${loyalty.points.expiry.sweeper.chunk-size:500}") int chunkSize,
+                              @Value("${loyalty.points.expiry.sweeper.max-chunks-per-worker:10000}") int maxChunksPerWorker,
+                              @Value("${loyalty.points.expiry.sweeper.purge-after-days:400}") int purgeAfterDays) {
+        if (workerCount <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Expiry sweeper workers and chunk size must be positive");
+        }
+        this.lotStore = lotStore;
+        this.batchWriter = batchWriter;
+        this.balanceCache = balanceCache;
+        this.transactionTemplate = transactionTemplate;
+        this.workerCount = workerCount;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerWorker = maxChunksPerWorker;
+        this.purgeAfterDays = purgeAfterDays;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "points-expiry-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.expiredLots = metrics.createCounter("loyalty_points_expiry_lots_total",
+            "Expiry lots closed by the sweeper");
+        this.expiredPoints = metrics.createCounter("loyalty_points_expired_total",
+            "Points removed from balances by expiry");
+        this.purgedLots = metrics.createCounter("loyalty_points_expiry_purged_total",
+            "Closed expiry lots deleted after the purge window");
+        this.failures = metrics.createCounter("loyalty_points_expiry_failures_total",
+            "Expiry sweeper chunks that failed and will be retried");
+    }
+
+    @Scheduled(cron = "${loyalty.points.expiry.sweeper.cron:0 0 2 * * *}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        List<Future<Integer>> sweeps = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            sweeps.add(workers.submit(() -> sweep(now)));
+        }
+        int lots = 0;
+        for (Future<Integer> sweep : sweeps) {
+            try {
+                lots += sweep.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                failures.increment();
+                logger.warn("Expiry sweep worker failed, remaining lots are retried on the next run", e.getCause());
+            }
+        }
+        int purged = purge(now.minusDays(purgeAfterDays));
+        logger.info("Expiry sweep closed {} lots and purged {} in {} ms",
+            lots, purged, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Claim and expire chunks until no due lot is left for this worker
+     *
+     * @return number of lots closed
+     */
+    int sweep(LocalDateTime now) {
+        int total = 0;
+        for (int i = 0; i < maxChunksPerWorker; i++) {
+            int closed = sweepChunk(now);
+            total += closed;
+            if (closed < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Close one chunk of due lots and post the matching expiries in one database transaction
+     *
+     * @return number of lots closed
+     */
+    int sweepChunk(LocalDateTime now) {
+        List<PointLedger.Result> posted = new ArrayList<>();
+        Integer closed = transactionTemplate.execute(status -> {
+            List<JdbcExpiryLotStore.ExpiredLot> lots = lotStore.expireDue(now, chunkSize);
+            if (lots.isEmpty()) {
+                return 0;
+            }
+            Map<UUID, Long> dueByUser = new LinkedHashMap<>();
+            for (JdbcExpiryLotStore.ExpiredLot lot : lots) {
+                dueByUser.merge(lot.getUserId(), lot.getPoints(), Long::sum);
+            }
+            posted.addAll(batchWriter.write(expiries(dueByUser, lotStore.lockAvailablePoints(dueByUser.keySet()))));
+            return lots.size();
+        });
+
+        for (PointLedger.Result result : posted) {
+            if (result.isPosted()) {
+                PointLedger.Entry entry = result.getEntry();
+                expiredPoints.increment(entry.getTransaction().getPointsAmount().longValue());
+                balanceCache.put(entry.getBalance());
+            } else {
+                logger.warn("Expiry was rejected", result.getError());
+            }
+        }
+        int count = closed != null ? closed : 0;
+        expiredLots.increment(count);
+        return count;
+    }
+
+    /**
+     * One EXPIRE transaction per user, capped at the available balance. A balance that was
+     * already spent below its due lots has nothing left to expire.
+     */
+    static List<PointTransaction> expiries(Map<UUID, Long> dueByUser, Map<UUID, Long> available) {
+        List<PointTransaction> expiries = new ArrayList<>(dueByUser.size());
+        dueByUser.forEach((userId, due) -> {
+            long points = Math.min(due, available.getOrDefault(userId, 0L));
+            if (points > 0) {
+                expiries.add(new PointTransaction(userId, TransactionType.EXPIRE, Points.of(points),
+                    EXPIRY_SOURCE, null, "Points expired"));
+            }
+        });
+        return expiries;
+    }
+
+    private int purge(LocalDateTime earnedBefore) {
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = lotStore.purgeClosed(earnedBefore, chunkSize);
+                total += deleted;
+            } while (deleted == chunkSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Expiry lot purge failed after {} lots", total, e);
+        }
+        purgedLots.increment(total);
+        return total;
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
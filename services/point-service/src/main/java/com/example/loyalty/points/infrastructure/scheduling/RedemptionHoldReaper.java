@@ -0,0 +1,37 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.usecases.RedeemPointsUseCase;
+import io.micrometer.core.instrument.Counter;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Releases redemption holds past their TTL.
+ *
+ * Holds are stored in the database, so every instance reaps every expired hold, including those
+ * of an instance that crashed; a hold reaped by two instances at once is released only once.
+ * The open holds gauge reports the count taken by the last run, so scrapes do not query the table.
+ */
+@Component
+public class RedemptionHoldReaper {
+
+    private final RedeemPointsUseCase redeemPointsUseCase;
+    private final Counter expiredHolds;
+    private final AtomicLong openHolds = new AtomicLong();
+
+    public RedemptionHoldReaper(RedeemPointsUseCase redeemPointsUseCase, LoyaltyMetrics metrics) {
+        this.redeemPointsUseCase = redeemPointsUseCase;
+        this.expiredHolds = metrics.createCounter("loyalty_points_redemption_holds_expired_total",
+            "Redemption holds released after their TTL");
+        metrics.createGauge("loyalty_points_redemption_holds_open",
+            "Redemption holds open across all instances", openHolds::get);
+    }
+
+    @Scheduled(fixedDelayString = "${loyalty.points.redemption.reaper-interval-ms:1000}")
+    public void reap() {
+        expiredHolds.increment(redeemPointsUseCase.releaseExpired());
+        openHolds.set(redeemPointsUseCase.openHolds());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.points.application.tier.TierEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes monthly spending counters that left the 12-month window
+ */
+@Component
+public class TierSpendPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TierSpendPurgeJob.class);
+
+    private final TierEngine tierEngine;
+    private final int purgeBatchSize;
+
+    public TierSpendPurgeJob(TierEngine tierEngine,
+                             @Value("${loyalty.points.tier.purge-batch-size:5000}") int purgeBatchSize) {
+        this.tierEngine = tierEngine;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Scheduled(cron = "${loyalty.points.tier.purge-cron:0 30 3 1 * *}")
+    public void purge() {
+        try {
+            int deleted = tierEngine.purgeExpiredCounters(purgeBatchSize);
+            logger.info("Purged {} monthly spending counters outside the tier window", deleted);
+        } catch (Exception e) {
+            logger.warn("Failed to purge monthly spending counters: {}", e.getMessage());
+        }
+    }
+}
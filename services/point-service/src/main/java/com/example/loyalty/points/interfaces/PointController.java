@@ -1,19 +1,57 @@
 package com.example.loyalty.points.interfaces;
 
+import com.example.loyalty.points.application.dto.EarnPointsBatchDTO;
 import com.example.loyalty.points.application.dto.EarnPointsDTO;
 import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import com.example.loyalty.points.application.dto.RedeemPointsDTO;
+import com.example.loyalty.points.application.dto.TierDTO;
 import com.example.loyalty.points.application.dto.ReferralRequest;
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import com.example.loyalty.points.application.execution.AdmissionRejectedException;
+import com.example.loyalty.points.application.fraud.FraudBlockedException;
+import com.example.loyalty.points.application.history.HistoryCursor;
+import com.example.loyalty.points.application.history.HistoryQuery;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.partner.PartnerThrottledException;
+import com.example.loyalty.points.application.redemption.BalanceBusyException;
+import com.example.loyalty.points.application.redemption.HoldNotFoundException;
+import com.example.loyalty.points.application.redemption.InsufficientPointsException;
+import com.example.loyalty.points.application.usecases.EarnPointsBatchUseCase;
 import com.example.loyalty.points.application.usecases.EarnPointsUseCase;
 import com.example.loyalty.points.application.usecases.GetBalanceUseCase;
+import com.example.loyalty.points.application.usecases.GetTierUseCase;
+import com.example.loyalty.points.application.usecases.GetTransactionHistoryUseCase;
+import com.example.loyalty.points.application.usecases.RedeemPointsUseCase;
 import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.TransactionType;
 import com.example.loyalty.points.domain.repositories.EarningRuleRepository;
 import com.example.loyalty.common.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST Controller for point operations
@@ -22,30 +60,61 @@ import java.util.UUID;
 @RequestMapping("/api/v1/points")
 public class PointController {
     
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final EarnPointsUseCase earnPointsUseCase;
+    private final EarnPointsBatchUseCase earnPointsBatchUseCase;
     private final GetBalanceUseCase getBalanceUseCase;
+    private final GetTierUseCase getTierUseCase;
+    private final GetTransactionHistoryUseCase getTransactionHistoryUseCase;
+    private final RedeemPointsUseCase redeemPointsUseCase;
     private final EarningRuleRepository earningRuleRepository;
+    private final ObjectMapper objectMapper;
 
     public PointController(EarnPointsUseCase earnPointsUseCase,
+                          EarnPointsBatchUseCase earnPointsBatchUseCase,
                           GetBalanceUseCase getBalanceUseCase,
-                          EarningRuleRepository earningRuleRepository) {
+                          GetTierUseCase getTierUseCase,
+                          GetTransactionHistoryUseCase getTransactionHistoryUseCase,
+                          RedeemPointsUseCase redeemPointsUseCase,
+                          EarningRuleRepository earningRuleRepository,
+                          ObjectMapper objectMapper) {
         this.earnPointsUseCase = earnPointsUseCase;
+        this.earnPointsBatchUseCase = earnPointsBatchUseCase;
         this.getBalanceUseCase = getBalanceUseCase;
+        this.getTierUseCase = getTierUseCase;
+        this.getTransactionHistoryUseCase = getTransactionHistoryUseCase;
+        this.redeemPointsUseCase = redeemPointsUseCase;
         this.earningRuleRepository = earningRuleRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * POST /api/v1/points/earn
-     * Earn points based on transaction
+     * Earn points based on transaction. In the concurrent execution mode the request thread is
+     * released while the earn runs.
      */
     @PostMapping("/earn")
-    public ResponseEntity<ApiResponse<EarnPointsDTO.Response>> earnPoints(
+    public CompletableFuture<ResponseEntity<ApiResponse<EarnPointsDTO.Response>>> earnPoints(
             @Valid @RequestBody EarnPointsDTO.Request request) {
-        
+
+        return earnPointsUseCase.submit(request).handle((response, error) -> error == null
+            ? ResponseEntity.ok(ApiResponse.success(response, "Points earned successfully"))
+            : earnFailed(error, "Failed to earn points: "));
+    }
+
+    /**
+     * POST /api/v1/points/earn/batch
+     * Earn points for many transactions, with one result per item
+     */
+    @PostMapping(value = "/earn/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<EarnPointsBatchDTO.Response>> earnPointsBatch(
+            @Valid @RequestBody EarnPointsBatchDTO.Request request) {
+
         try {
-            EarnPointsDTO.Response response = earnPointsUseCase.execute(request);
+            EarnPointsBatchDTO.Response response = earnPointsBatchUseCase.execute(request);
             return ResponseEntity.ok(
-                ApiResponse.success(response, "Points earned successfully")
+                ApiResponse.success(response, "Batch processed successfully")
             );
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
@@ -53,7 +122,140 @@ public class PointController {
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                ApiResponse.error("INTERNAL_ERROR", "Failed to earn points: " + e.getMessage())
+                ApiResponse.error("INTERNAL_ERROR", "Failed to process batch: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * POST /api/v1/points/earn/batch (application/x-ndjson)
+     * Stream earn requests one JSON object per line and receive one result line per item.
+     * Lines are posted in chunks as they arrive, so file size is not bounded by memory.
+     */
+    @PostMapping(value = "/earn/batch", consumes = APPLICATION_NDJSON, produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> earnPointsStream(HttpServletRequest servletRequest) {
+        StreamingResponseBody body = outputStream -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(servletRequest.getInputStream(), StandardCharsets.UTF_8))) {
+                int chunkSize = earnPointsBatchUseCase.getChunkSize();
+                List<EarnPointsDTO.Request> chunk = new ArrayList<>(chunkSize);
+                int chunkStart = 0;
+                int index = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (chunk.isEmpty()) {
+                        chunkStart = index;
+                    }
+                    try {
+                        chunk.add(objectMapper.readValue(line, EarnPointsDTO.Request.class));
+                    } catch (JsonProcessingException e) {
+                        // Flush what precedes the bad line so results stay in input order
+                        writeResults(writer, earnPointsBatchUseCase.executeChunk(chunk, chunkStart));
+                        chunk.clear();
+                        writeResult(writer, EarnPointsBatchDTO.ItemResult.rejected(
+                            index, null, "Malformed JSON: " + e.getOriginalMessage()));
+                    }
+                    index++;
+                    if (chunk.size() == chunkSize) {
+                        writeResults(writer, earnPointsBatchUseCase.executeChunk(chunk, chunkStart));
+                        chunk.clear();
+                    }
+                }
+                writeResults(writer, earnPointsBatchUseCase.executeChunk(chunk, chunkStart));
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+            .body(body);
+    }
+
+    /**
+     * POST /api/v1/points/redemptions
+     * Hold points for a redemption until it is confirmed, released or expires
+     */
+    @PostMapping("/redemptions")
+    public ResponseEntity<ApiResponse<RedeemPointsDTO.HoldResponse>> reservePoints(
+            @Valid @RequestBody RedeemPointsDTO.Request request) {
+
+        try {
+            RedeemPointsDTO.HoldResponse response = redeemPointsUseCase.reserve(request);
+            return ResponseEntity.ok(
+                ApiResponse.success(response, "Points held successfully")
+            );
+        } catch (InsufficientPointsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                ApiResponse.error("INSUFFICIENT_POINTS", e.getMessage())
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error("INVALID_REQUEST", "Invalid request: " + e.getMessage())
+            );
+        } catch (BalanceBusyException e) {
+            return balanceBusy();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("INTERNAL_ERROR", "Failed to hold points: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * POST /api/v1/points/redemptions/{holdId}/confirm
+     * Spend the held points
+     */
+    @PostMapping("/redemptions/{holdId}/confirm")
+    public ResponseEntity<ApiResponse<RedeemPointsDTO.Response>> confirmRedemption(
+            @PathVariable UUID holdId, @RequestParam UUID userId) {
+
+        try {
+            RedeemPointsDTO.Response response = redeemPointsUseCase.confirm(holdId, userId);
+            return ResponseEntity.ok(
+                ApiResponse.success(response, "Points redeemed successfully")
+            );
+        } catch (HoldNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                ApiResponse.error("HOLD_NOT_FOUND", e.getMessage())
+            );
+        } catch (DuplicateTransactionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                ApiResponse.error("DUPLICATE_REDEMPTION", "Reference was already redeemed, hold released")
+            );
+        } catch (BalanceBusyException e) {
+            return balanceBusy();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("INTERNAL_ERROR", "Failed to redeem points: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * POST /api/v1/points/redemptions/{holdId}/release
+     * Give the held points back
+     */
+    @PostMapping("/redemptions/{holdId}/release")
+    public ResponseEntity<ApiResponse<RedeemPointsDTO.HoldResponse>> releaseRedemption(
+            @PathVariable UUID holdId, @RequestParam UUID userId) {
+
+        try {
+            RedeemPointsDTO.HoldResponse response = redeemPointsUseCase.release(holdId, userId);
+            return ResponseEntity.ok(
+                ApiResponse.success(response, "Points released successfully")
+            );
+        } catch (HoldNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                ApiResponse.error("HOLD_NOT_FOUND", e.getMessage())
+            );
+        } catch (BalanceBusyException e) {
+            return balanceBusy();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("INTERNAL_ERROR", "Failed to release points: " + e.getMessage())
             );
         }
     }
@@ -82,6 +284,133 @@ public class PointController {
         }
     }
 
+    /**
+     * GET /api/v1/points/balance/{userId}/as-of?at=...
+     * Get the user's balance as it was at a past time
+     */
+    @GetMapping("/balance/{userId}/as-of")
+    public ResponseEntity<ApiResponse<PointBalanceDTO.AtTime>> getBalanceAt(
+            @PathVariable UUID userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+
+        try {
+            PointBalanceDTO.AtTime response = getBalanceUseCase.executeAt(userId, at);
+            return ResponseEntity.ok(
+                ApiResponse.success(response, "Balance retrieved successfully")
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error("INVALID_REQUEST", "Invalid request: " + e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("INTERNAL_ERROR", "Failed to get balance: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * GET /api/v1/points/tier/{userId}
+     * Get user tier, earning multiplier and progress towards the next tier
+     */
+    @GetMapping("/tier/{userId}")
+    public ResponseEntity<ApiResponse<TierDTO.Response>> getTier(
+            @PathVariable UUID userId) {
+
+        try {
+            TierDTO.Response response = getTierUseCase.execute(userId);
+            return ResponseEntity.ok(
+                ApiResponse.success(response, "Tier retrieved successfully")
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error("INVALID_REQUEST", "Invalid request: " + e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("INTERNAL_ERROR", "Failed to get tier: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * GET /api/v1/points/transactions
+     * Get a page of the user's transactions, newest first. Pass the returned nextCursor
+     * to get the following page.
+     */
+    @GetMapping("/transactions")
+    public ResponseEntity<ApiResponse<TransactionHistoryDTO.Page>> getTransactions(
+            @RequestParam UUID userId,
+            @RequestParam(name = "type", required = false) List<String> types,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            HistoryQuery query = new HistoryQuery(userId, parseTypes(types), from, to,
+                cursor != null && !cursor.isBlank() ? HistoryCursor.decode(cursor) : null);
+            TransactionHistoryDTO.Page page = getTransactionHistoryUseCase.execute(query, limit);
+            return ResponseEntity.ok(
+                ApiResponse.success(page, "Transactions retrieved successfully")
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                ApiResponse.error("INVALID_REQUEST", "Invalid request: " + e.getMessage())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                ApiResponse.error("INTERNAL_ERROR", "Failed to get transactions: " + e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * GET /api/v1/points/transactions/export
+     * Stream all of the user's matching transactions as CSV or NDJSON straight from a
+     * database cursor, so memory use does not grow with the size of the history.
+     */
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam UUID userId,
+            @RequestParam(name = "type", required = false) List<String> types,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        HistoryQuery query;
+        String contentType;
+        try {
+            query = new HistoryQuery(userId, parseTypes(types), from, to, null);
+            getTransactionHistoryUseCase.validate(query);
+            contentType = TransactionExportWriter.contentType(format);
+        } catch (IllegalArgumentException e) {
+            // Rejected before streaming starts, so the usual JSON error envelope can still be sent
+            ApiResponse<Object> error = ApiResponse.error("INVALID_REQUEST", "Invalid request: " + e.getMessage());
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> objectMapper.writeValue(outputStream, error));
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            TransactionExportWriter export = TransactionExportWriter.create(format, writer, objectMapper);
+            export.writeHeader();
+            try {
+                getTransactionHistoryUseCase.export(query, export::write);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+        String extension = TransactionExportWriter.TEXT_CSV.equals(contentType) ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(contentType))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions-" + userId + "." + extension + "\"")
+            .body(body);
+    }
+
     /**
      * GET /api/v1/points/earning-rules
      * Get current earning rules
@@ -106,33 +435,84 @@ public class PointController {
      * Award referral points
      */
     @PostMapping("/referral")
-    public ResponseEntity<ApiResponse<EarnPointsDTO.Response>> awardReferralPoints(
+    public CompletableFuture<ResponseEntity<ApiResponse<EarnPointsDTO.Response>>> awardReferralPoints(
             @RequestBody ReferralRequest referralRequest) {
-        
-        try {
-            // Map ReferralRequest to EarnPointsDTO.Request
-            EarnPointsDTO.Request earnRequest = new EarnPointsDTO.Request();
-            earnRequest.setUserId(referralRequest.getUserId());
-            earnRequest.setEarningType("REFERRAL");
-            earnRequest.setDescription("Referral bonus points");
-            // For referrals, set a nominal transaction amount since the business rule gives fixed points
-            earnRequest.setTransactionAmount(referralRequest.getPoints());
-            if (referralRequest.getReferrerId() != null) {
-                earnRequest.setReferenceId(referralRequest.getReferrerId());
-            }
 
-            EarnPointsDTO.Response response = earnPointsUseCase.execute(earnRequest);
-            return ResponseEntity.ok(
-                ApiResponse.success(response, "Referral points awarded successfully")
-            );
-        } catch (IllegalArgumentException e) {
+        // Map ReferralRequest to EarnPointsDTO.Request
+        EarnPointsDTO.Request earnRequest = new EarnPointsDTO.Request();
+        earnRequest.setUserId(referralRequest.getUserId());
+        earnRequest.setEarningType("REFERRAL");
+        earnRequest.setDescription("Referral bonus points");
+        // For referrals, set a nominal transaction amount since the business rule gives fixed points
+        earnRequest.setTransactionAmount(referralRequest.getPoints());
+        if (referralRequest.getReferrerId() != null) {
+            earnRequest.setReferenceId(referralRequest.getReferrerId());
+        }
+
+        return earnPointsUseCase.submit(earnRequest).handle((response, error) -> error == null
+            ? ResponseEntity.ok(ApiResponse.success(response, "Referral points awarded successfully"))
+            : earnFailed(error, "Failed to award referral points: "));
+    }
+
+    private static ResponseEntity<ApiResponse<EarnPointsDTO.Response>> earnFailed(Throwable error, String failure) {
+        Throwable e = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (e instanceof IllegalArgumentException) {
             return ResponseEntity.badRequest().body(
                 ApiResponse.error("INVALID_REQUEST", "Invalid request: " + e.getMessage())
             );
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                ApiResponse.error("INTERNAL_ERROR", "Failed to award referral points: " + e.getMessage())
+        }
+        if (e instanceof AdmissionRejectedException) {
+            return unavailable("OVERLOADED", e.getMessage());
+        }
+        if (e instanceof PartnerThrottledException throttled) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                .body(ApiResponse.error("PARTNER_THROTTLED", e.getMessage()));
+        }
+        if (e instanceof FraudBlockedException) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
+                ApiResponse.error("FRAUD_BLOCKED", e.getMessage())
             );
         }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+            ApiResponse.error("INTERNAL_ERROR", failure + e.getMessage())
+        );
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> balanceBusy() {
+        return unavailable("BALANCE_BUSY", "Balance is being updated, please retry");
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> unavailable(String code, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error(code, message));
+    }
+
+    private static Set<TransactionType> parseTypes(List<String> types) {
+        Set<TransactionType> parsed = EnumSet.noneOf(TransactionType.class);
+        if (types == null) {
+            return parsed;
+        }
+        for (String type : types) {
+            try {
+                parsed.add(TransactionType.valueOf(type.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid transaction type: " + type);
+            }
+        }
+        return parsed;
+    }
+
+    private void writeResults(BufferedWriter writer, List<EarnPointsBatchDTO.ItemResult> results) throws IOException {
+        for (EarnPointsBatchDTO.ItemResult result : results) {
+            writeResult(writer, result);
+        }
+        writer.flush();
+    }
+
+    private void writeResult(BufferedWriter writer, EarnPointsBatchDTO.ItemResult result) throws IOException {
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.newLine();
     }
 }
\ No newline at end of file
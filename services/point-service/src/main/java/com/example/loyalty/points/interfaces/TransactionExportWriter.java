@@ -0,0 +1,113 @@
+package com.example.loyalty.points.interfaces;
+
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes history rows for the export endpoint, one line per transaction
+ */
+abstract class TransactionExportWriter {
+
+    static final String TEXT_CSV = "text/csv";
+
+    protected final Writer writer;
+
+    private TransactionExportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unsupported format
+     */
+    static String contentType(String format) {
+        return switch (format.toLowerCase()) {
+            case "csv" -> TEXT_CSV;
+            case "ndjson" -> PointController.APPLICATION_NDJSON;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+    }
+
+    static TransactionExportWriter create(String format, Writer writer, ObjectMapper objectMapper) {
+        return TEXT_CSV.equals(contentType(format)) ? new Csv(writer) : new Ndjson(writer, objectMapper);
+    }
+
+    void writeHeader() throws IOException {
+    }
+
+    /**
+     * Unchecked so it can be used as the row consumer; the cause is unwrapped by the caller
+     */
+    final void write(TransactionHistoryDTO.Item item) {
+        try {
+            writeItem(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void writeItem(TransactionHistoryDTO.Item item) throws IOException;
+
+    private static final class Csv extends TransactionExportWriter {
+        Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writer.write("transaction_id,created_at,transaction_type,points,balance_after,source,source_id,status,description\n");
+        }
+
+        @Override
+        void writeItem(TransactionHistoryDTO.Item item) throws IOException {
+            writer.write(String.valueOf(item.getTransactionId()));
+            writer.write(',');
+            writer.write(String.valueOf(item.getCreatedAt()));
+            writer.write(',');
+            writer.write(item.getTransactionType());
+            writer.write(',');
+            writer.write(Long.toString(item.getPoints()));
+            writer.write(',');
+            writer.write(Long.toString(item.getBalanceAfter()));
+            writer.write(',');
+            writer.write(escape(item.getSource()));
+            writer.write(',');
+            writer.write(item.getSourceId() != null ? item.getSourceId().toString() : "");
+            writer.write(',');
+            writer.write(escape(item.getStatus()));
+            writer.write(',');
+            writer.write(escape(item.getDescription()));
+            writer.write('\n');
+        }
+
+        /** RFC 4180 quoting for fields with separators, quotes or line breaks */
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+        }
+    }
+
+    private static final class Ndjson extends TransactionExportWriter {
+        private final ObjectMapper objectMapper;
+
+        Ndjson(Writer writer, ObjectMapper objectMapper) {
+            super(writer);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        void writeItem(TransactionHistoryDTO.Item item) throws IOException {
+            writer.write(objectMapper.writeValueAsString(item));
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- Monthly balance checkpoints derived from the ledger
+-- Version: V10__Create_points_balance_snapshots.sql
+--
+-- A snapshot holds the sums of a user's processed ledger rows created before as_of. The first run
+-- sums the whole ledger; every later run adds one month of rows to the previous snapshot, so it
+-- reads a single points_transactions partition. A user gets a row only for months with activity.
+--
+-- A boundary is recorded in points_balance_snapshot_runs once every user has been written for it.
+-- For a completed boundary B, a user's latest snapshot at or before B therefore covers all of their
+-- ledger rows before B, and only rows from B on have to be read to rebuild or query a balance.
+
+CREATE TABLE points_balance_snapshots (
+    user_id UUID NOT NULL,
+    as_of TIMESTAMP WITH TIME ZONE NOT NULL,
+    total_points BIGINT NOT NULL,
+    lifetime_earned BIGINT NOT NULL,
+    lifetime_spent BIGINT NOT NULL,
+    PRIMARY KEY (user_id, as_of)
+);
+
+CREATE TABLE points_balance_snapshot_runs (
+    as_of TIMESTAMP WITH TIME ZONE PRIMARY KEY,
+    completed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE points_balance_snapshots IS 'Per-user ledger sums at monthly boundaries';
+COMMENT ON TABLE points_balance_snapshot_runs IS 'Snapshot boundaries written for every user';
@@ -0,0 +1,8 @@
+-- Partner earning rules
+-- Version: V11__Add_earning_rule_partner.sql
+--
+-- A rule with a partner_id applies only to earn requests of that partner; NULL applies to all.
+
+ALTER TABLE earning_rules ADD COLUMN partner_id VARCHAR(50);
+
+CREATE INDEX idx_earning_rules_partner ON earning_rules(partner_id) WHERE partner_id IS NOT NULL;
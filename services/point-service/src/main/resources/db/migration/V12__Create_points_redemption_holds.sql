@@ -0,0 +1,21 @@
+-- Redemption holds
+-- Version: V12__Create_points_redemption_holds.sql
+--
+-- One row per open hold, inserted and deleted in the same transaction that moves its points into
+-- and out of points_balance.pending_points, so any instance can confirm, release or reap a hold
+-- and a crashed instance leaves nothing pending that is not listed here.
+
+CREATE TABLE points_redemption_holds (
+    hold_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    points BIGINT NOT NULL CHECK (points > 0),
+    reference_id UUID,
+    description TEXT,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Expired holds are reaped soonest first
+CREATE INDEX idx_points_redemption_holds_expires_at ON points_redemption_holds(expires_at);
+
+COMMENT ON TABLE points_redemption_holds IS 'Open redemption holds whose points are in points_balance.pending_points';
@@ -0,0 +1,8 @@
+-- Idempotency for externally referenced transactions
+-- Version: V3__Add_transaction_idempotency_index.sql
+
+-- A source reference (purchase id, referrer id, ...) can be posted at most once per user and
+-- transaction type, so retried requests cannot award points twice
+CREATE UNIQUE INDEX idx_points_transactions_idempotency
+    ON points_transactions(user_id, transaction_type, source, source_id)
+    WHERE source_id IS NOT NULL;
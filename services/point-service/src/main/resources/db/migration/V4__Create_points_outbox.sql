@@ -0,0 +1,16 @@
+-- Transactional outbox for point events
+-- Version: V4__Create_points_outbox.sql
+
+-- Rows are written in the same transaction as the ledger rows and deleted by the
+-- relay once Kafka has acknowledged them, so the table only holds the backlog.
+CREATE TABLE points_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL,
+    event_type VARCHAR(40) NOT NULL, -- POINTS_EARNED, POINTS_SPENT, POINTS_EXPIRED, REFERRAL_POINTS_EARNED
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100) NOT NULL, -- user id, keeps a user's events on one partition
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE points_outbox IS 'Point events waiting to be relayed to Kafka';
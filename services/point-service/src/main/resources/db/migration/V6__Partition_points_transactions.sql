@@ -0,0 +1,105 @@
+-- Monthly range partitioning of points_transactions by created_at
+-- Version: V6__Partition_points_transactions.sql
+--
+-- The ledger is append-only and almost every read is for recent rows, so monthly partitions keep
+-- the hot indexes small, let autovacuum work on one month at a time, and allow old months to be
+-- detached instead of deleted row by row. Future partitions are created and old ones detached by
+-- PointTransactionPartitionManager; this migration only covers existing data plus a few months.
+--
+-- The table is rewritten, so on a large ledger run this migration in a maintenance window.
+
+-- A unique index on a partitioned table must include the partition key, which would make the
+-- idempotency reference unique per (reference, created_at) only. Referenced transactions are
+-- therefore registered in a small non-partitioned table that carries the unique constraint.
+CREATE TABLE points_transaction_keys (
+    user_id UUID NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    source_id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id, transaction_type, source, source_id)
+);
+
+CREATE INDEX idx_points_transaction_keys_created_at ON points_transaction_keys(created_at);
+
+CREATE TABLE points_transactions_partitioned (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL, -- EARN, SPEND, EXPIRE, REFUND, BONUS
+    points_amount BIGINT NOT NULL,
+    balance_after BIGINT NOT NULL,
+    source VARCHAR(50) NOT NULL, -- PURCHASE, REFERRAL, BONUS, REDEMPTION, etc.
+    source_id UUID, -- Reference to purchase, referral, etc.
+    description TEXT,
+    metadata JSONB,
+    expiry_date TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP WITH TIME ZONE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, PROCESSED, FAILED, CANCELLED
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- One partition per month from the oldest existing row through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::DATE, date_trunc('month', CURRENT_DATE)::DATE)
+      INTO month_start
+      FROM points_transactions;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF points_transactions_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'points_transactions_p' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Safety net for rows outside the pre-created range; the partition manager alerts when it is not empty
+CREATE TABLE points_transactions_default PARTITION OF points_transactions_partitioned DEFAULT;
+
+INSERT INTO points_transactions_partitioned
+SELECT id, user_id, transaction_type, points_amount, balance_after, source, source_id, description,
+       metadata, expiry_date, created_at, processed_at, status
+  FROM points_transactions;
+
+INSERT INTO points_transaction_keys (user_id, transaction_type, source, source_id, transaction_id, created_at)
+SELECT user_id, transaction_type, source, source_id, id, created_at
+  FROM points_transactions
+ WHERE source_id IS NOT NULL;
+
+DROP TABLE points_transactions;
+ALTER TABLE points_transactions_partitioned RENAME TO points_transactions;
+ALTER TABLE points_transactions RENAME CONSTRAINT points_transactions_partitioned_pkey TO points_transactions_pkey;
+
+-- Partitioned indexes, created on every current and future partition. Time filtering comes from
+-- partition pruning, so the standalone created_at and transaction_type indexes are not recreated.
+-- History pages are read newest first with a (created_at, id) cursor, so each page is one range
+-- scan of the history index; it leads with user_id, so no separate user index is needed.
+CREATE INDEX idx_points_transactions_user_history
+    ON points_transactions(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_points_transactions_pending
+    ON points_transactions(created_at) WHERE status = 'PENDING';
+
+-- Register referenced transactions; a second posting of the same reference fails with a unique
+-- violation exactly as it did with the former idempotency index
+CREATE OR REPLACE FUNCTION register_points_transaction_key()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.source_id IS NOT NULL THEN
+        INSERT INTO points_transaction_keys (user_id, transaction_type, source, source_id, transaction_id, created_at)
+        VALUES (NEW.user_id, NEW.transaction_type, NEW.source, NEW.source_id, NEW.id, NEW.created_at);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER register_points_transaction_key AFTER INSERT ON points_transactions
+    FOR EACH ROW EXECUTE FUNCTION register_points_transaction_key();
+
+COMMENT ON TABLE points_transactions IS 'Point ledger, range partitioned by month on created_at';
+COMMENT ON TABLE points_transaction_keys IS 'Source references of posted transactions, unique per user, type and source';
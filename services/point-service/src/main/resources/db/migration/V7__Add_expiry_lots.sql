@@ -0,0 +1,33 @@
+-- Points expiry lots
+-- Version: V7__Add_expiry_lots.sql
+--
+-- Every credit to a balance becomes a lot in points_expiry; spends consume the oldest lots first
+-- and the expiry sweeper expires whatever is left of a lot once its expiry_date has passed.
+
+ALTER TABLE points_expiry
+    ADD COLUMN transaction_id UUID,
+    ADD COLUMN remaining_points BIGINT NOT NULL DEFAULT 0;
+
+UPDATE points_expiry SET remaining_points = points_amount WHERE status = 'ACTIVE';
+
+-- Balances predating lots get one lot for their available points with a full validity period
+INSERT INTO points_expiry (user_id, points_amount, remaining_points, earned_date, expiry_date, status)
+SELECT user_id, available_points, available_points, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + INTERVAL '12 months', 'ACTIVE'
+  FROM points_balance
+ WHERE available_points > 0;
+
+-- FIFO consumption and the sweeper only search active lots, so their indexes cover just them:
+-- expired and consumed lots drop out and the sweeper's cost follows the number of live lots, not
+-- the table size. The closed-lot index serves the purge. Partial consumption only changes
+-- remaining_points and updated_at, which no index covers, so it stays a HOT update.
+DROP INDEX IF EXISTS idx_points_expiry_user_id;
+DROP INDEX IF EXISTS idx_points_expiry_expiry_date;
+DROP INDEX IF EXISTS idx_points_expiry_status;
+
+CREATE INDEX idx_points_expiry_active_user ON points_expiry(user_id, earned_date, id) WHERE status = 'ACTIVE';
+CREATE INDEX idx_points_expiry_active_due ON points_expiry(expiry_date) WHERE status = 'ACTIVE';
+CREATE INDEX idx_points_expiry_closed ON points_expiry(earned_date) WHERE status <> 'ACTIVE';
+
+ALTER TABLE points_expiry SET (fillfactor = 90);
+
+COMMENT ON COLUMN points_expiry.remaining_points IS 'Points of the lot not yet spent or expired';
@@ -0,0 +1,25 @@
+-- Monthly spending counters for tier evaluation
+-- Version: V8__Create_points_monthly_spend.sql
+--
+-- One row per user and calendar month, incremented as purchases are earned on. A user's tier is
+-- evaluated from at most 12 of these rows instead of summing a year of ledger entries.
+
+CREATE TABLE points_monthly_spend (
+    user_id UUID NOT NULL,
+    month DATE NOT NULL, -- first day of the month
+    spend_minor BIGINT NOT NULL DEFAULT 0, -- Rupiah in minor units (sen)
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, month)
+);
+
+-- The ledger does not keep purchase amounts, so existing users are seeded from purchase points
+-- at the base rate of 1 point per Rp 1,000. Spending is exact from here on.
+INSERT INTO points_monthly_spend (user_id, month, spend_minor)
+SELECT user_id, date_trunc('month', created_at)::date, SUM(points_amount) * 1000 * 100
+  FROM points_transactions
+ WHERE transaction_type = 'EARN'
+   AND source = 'PURCHASE'
+   AND created_at >= date_trunc('month', CURRENT_TIMESTAMP) - INTERVAL '11 months'
+ GROUP BY user_id, date_trunc('month', created_at)::date;
+
+COMMENT ON TABLE points_monthly_spend IS 'Per-user monthly purchase spending behind rolling 12-month tier evaluation';
@@ -0,0 +1,27 @@
+-- Balance reconciliation report
+-- Version: V9__Create_points_reconciliation.sql
+--
+-- One row per balance that did not match its ledger when BalanceReconciliationJob ran. Ledger
+-- columns are the sums of processed points_transactions; a corrected row records that the balance
+-- was rewritten to them.
+
+CREATE TABLE points_reconciliation_discrepancies (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    run_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    balance_total BIGINT, -- NULL if the user has ledger rows but no balance
+    balance_available BIGINT,
+    balance_pending BIGINT,
+    balance_earned BIGINT,
+    balance_spent BIGINT,
+    ledger_total BIGINT NOT NULL,
+    ledger_earned BIGINT NOT NULL,
+    ledger_spent BIGINT NOT NULL,
+    corrected BOOLEAN NOT NULL DEFAULT false,
+    detected_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_points_reconciliation_run ON points_reconciliation_discrepancies(run_id);
+CREATE INDEX idx_points_reconciliation_user ON points_reconciliation_discrepancies(user_id, detected_at);
+
+COMMENT ON TABLE points_reconciliation_discrepancies IS 'Balances found out of line with the ledger by reconciliation runs';
@@ -0,0 +1,131 @@
+package com.example.loyalty.points.application.execution;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testCall_RunsWorkAndReturnsPermit() {
+        // Given
+        AdmissionController admission = new AdmissionController(1, 0, Duration.ofMillis(10),
+            new LoyaltyMetrics(registry));
+
+        // When
+        String first = admission.call(() -> "first");
+        String second = admission.call(() -> "second");
+
+        // Then - the single permit was returned after each call
+        assertEquals("first", first);
+        assertEquals("second", second);
+        assertEquals(0.0, registry.get("loyalty_points_admission_in_use").gauge().value());
+    }
+
+    @Test
+    void testCall_RejectsWhenQueueIsFull() throws Exception {
+        // Given - the only permit is held and nobody may wait
+        AdmissionController admission = new AdmissionController(1, 0, Duration.ofSeconds(5),
+            new LoyaltyMetrics(registry));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        try {
+            Future<Boolean> holder = executor.submit(() -> admission.call(() -> {
+                admitted.countDown();
+                try {
+                    return finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+            // When / Then
+            assertThrows(AdmissionRejectedException.class, () -> admission.call(() -> "late"));
+            assertEquals(1.0, registry.get("loyalty_points_admission_rejected_total")
+                .tag("reason", "queue_full").counter().count());
+
+            finish.countDown();
+            assertTrue(holder.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCall_RejectsWhenNoPermitFreesUpInTime() throws Exception {
+        // Given - the only permit is held for longer than the wait limit
+        AdmissionController admission = new AdmissionController(1, 10, Duration.ofMillis(20),
+            new LoyaltyMetrics(registry));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        try {
+            executor.submit(() -> admission.call(() -> {
+                admitted.countDown();
+                try {
+                    return finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+            // When / Then
+            assertThrows(AdmissionRejectedException.class, () -> admission.call(() -> "late"));
+            assertEquals(1.0, registry.get("loyalty_points_admission_rejected_total")
+                .tag("reason", "timeout").counter().count());
+            assertEquals(0.0, registry.get("loyalty_points_admission_waiting").gauge().value());
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallWithQuota_PartnerWaitsOnItsOwnPermitsOnly() throws Exception {
+        // Given - two shared permits, acme may hold one and already does
+        AdmissionController admission = new AdmissionController(2, 10, Duration.ofMillis(20),
+            new LoyaltyMetrics(registry));
+        AdmissionController.Quota acme = admission.quota("acme", 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        try {
+            executor.submit(() -> admission.call(acme, () -> {
+                admitted.countDown();
+                try {
+                    return finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+            // When / Then - acme's next stage is turned away, other work still gets the free permit
+            assertThrows(AdmissionRejectedException.class, () -> admission.call(acme, () -> "late"));
+            assertEquals("other", admission.call(() -> "other"));
+            assertEquals(1.0, registry.get("loyalty_points_partner_rejected_total")
+                .tag("partner", "acme").tag("reason", "admission").counter().count());
+            assertEquals(1.0, registry.get("loyalty_points_partner_admission_in_use").gauge().value());
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.loyalty.points.application.fraud;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.common.security.FraudDetectionService;
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment.FraudResult;
+import com.example.loyalty.common.security.FraudRules;
+import com.example.loyalty.common.security.SecurityAuditService;
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FraudScreenTest {
+
+    private static final String STRICT_RULES = String.join("\n",
+        "rule \"Any earn\" when points > 0 score 0.6",
+        "block when score > 0.8",
+        "verify when score > 0.5");
+
+    private SimpleMeterRegistry registry;
+    private FraudDetectionService fraudDetection;
+    private FraudScreen screen;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        fraudDetection = new FraudDetectionService(
+            mock(StringRedisTemplate.class), mock(SecurityAuditService.class), 0, 100);
+        screen = new FraudScreen(fraudDetection, new LoyaltyMetrics(registry), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        screen.close();
+        fraudDetection.destroy();
+    }
+
+    @Test
+    void testApplyRules_ReplacesLiveRulesAndKeepsThemWhenInvalid() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        assertEquals(FraudResult.APPROVED, screen.screen(request(userId), transaction(userId)));
+
+        // When
+        screen.applyRules(STRICT_RULES, null);
+        screen.applyRules("rule \"Broken\" when points > score 1", "");
+
+        // Then
+        assertEquals(STRICT_RULES, fraudDetection.getRules().getSource());
+        assertEquals(FraudResult.REQUIRES_VERIFICATION, screen.screen(request(userId), transaction(userId)));
+        assertEquals(1.0, registry.get("loyalty_points_fraud_rule_reloads_total")
+            .tags("rules", "live", "result", "applied").counter().count());
+        assertEquals(1.0, registry.get("loyalty_points_fraud_rule_reloads_total")
+            .tags("rules", "live", "result", "invalid").counter().count());
+    }
+
+    @Test
+    void testScreen_ScoresCandidateRulesInShadow() throws InterruptedException {
+        // Given
+        screen.applyRules(FraudRules.DEFAULT_RULES, STRICT_RULES);
+        UUID userId = UUID.randomUUID();
+
+        // When
+        FraudResult live = screen.screen(request(userId), transaction(userId));
+        screen.screen(request(userId), transaction(userId));
+        screen.close();
+        assertTrue(screen.awaitClosed(5, TimeUnit.SECONDS));
+
+        // Then - the earns pass while the candidate would have asked for verification
+        assertEquals(FraudResult.APPROVED, live);
+        assertEquals(2.0, registry.get("loyalty_points_fraud_shadow_total")
+            .tags("live", "approved", "candidate", "requires_verification").counter().count());
+        assertEquals(2.0, registry.get("loyalty_points_fraud_shadow_divergence_total").counter().count());
+        assertEquals(2.0, registry.get("loyalty_points_fraud_assessments_total")
+            .tag("result", "approved").counter().count());
+    }
+
+    @Test
+    void testApplyRules_BlankCandidateStopsShadowScoring() {
+        // Given
+        screen.applyRules(null, STRICT_RULES);
+        assertNotNull(screen.getCandidate());
+
+        // When
+        screen.applyRules(null, " ");
+
+        // Then
+        assertNull(screen.getCandidate());
+        assertEquals(FraudRules.DEFAULT_RULES, fraudDetection.getRules().getSource());
+    }
+
+    private static EarnPointsDTO.Request request(UUID userId) {
+        EarnPointsDTO.Request request = new EarnPointsDTO.Request(userId, BigDecimal.valueOf(1000), "PURCHASE");
+        request.setDeviceFingerprint("phone-1");
+        return request;
+    }
+
+    private static PointTransaction transaction(UUID userId) {
+        return new PointTransaction(userId, TransactionType.EARN, new Points(100), "PURCHASE", null, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.loyalty.points.application.idempotency;
+
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.IdempotencyKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private PointTransactionRepository transactionRepository;
+
+    @Test
+    void testRotate_KeyIsKnownForTwoGenerations() {
+        // Given - a key posted within the warm-up window
+        IdempotencyKey key = new IdempotencyKey(UUID.randomUUID(), TransactionType.EARN, "PURCHASE", UUID.randomUUID());
+        doAnswer(invocation -> {
+            Consumer<IdempotencyKey> consumer = invocation.getArgument(1);
+            consumer.accept(key);
+            return null;
+        }).when(transactionRepository).forEachIdempotencyKeySince(any(), any());
+        when(transactionRepository.findByIdempotencyKey(key)).thenReturn(Optional.empty());
+        IdempotencyStore store = new IdempotencyStore(transactionRepository, 1000, 0.01, 100, 72);
+        store.warmUp();
+
+        // When - the key's generation becomes the previous one
+        store.find(key);
+        store.rotate();
+        store.find(key);
+
+        // Then - the ledger is asked both times
+        verify(transactionRepository, times(2)).findByIdempotencyKey(key);
+        assertEquals(0, store.getBloomMisses());
+
+        // When - the key's generation is dropped
+        store.rotate();
+
+        // Then - the filter answers without the ledger
+        assertTrue(store.find(key).isEmpty());
+        verify(transactionRepository, times(2)).findByIdempotencyKey(key);
+        assertEquals(1, store.getBloomMisses());
+    }
+}
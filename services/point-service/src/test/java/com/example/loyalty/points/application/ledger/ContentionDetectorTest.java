@@ -0,0 +1,60 @@
+package com.example.loyalty.points.application.ledger;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentionDetectorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContentionDetector detector = new ContentionDetector(1024, 4, 3, new LoyaltyMetrics(registry));
+
+    @Test
+    void testEnter_UserBecomesHotAtThreshold() {
+        // Given
+        UUID userId = UUID.randomUUID();
+
+        // When
+        boolean first = detector.enter(userId);
+        boolean second = detector.enter(userId);
+        boolean third = detector.enter(userId);
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        assertTrue(third);
+        assertFalse(detector.enter(UUID.randomUUID()));
+        assertEquals(1.0, registry.get("loyalty_points_contention_hot_users").gauge().value());
+        assertEquals(4.0, registry.get("loyalty_points_contention_in_flight").gauge().value());
+    }
+
+    @Test
+    void testExit_UserCoolsDownOncePostsFinish() {
+        // Given - a hot user
+        UUID userId = UUID.randomUUID();
+        boolean[] hot = new boolean[3];
+        for (int i = 0; i < hot.length; i++) {
+            hot[i] = detector.enter(userId);
+        }
+
+        // When
+        for (int i = 0; i < hot.length; i++) {
+            detector.exit(userId, hot[i]);
+        }
+
+        // Then
+        assertEquals(0L, detector.estimate(userId));
+        assertFalse(detector.enter(userId));
+        assertEquals(0.0, registry.get("loyalty_points_contention_hot_users").gauge().value());
+    }
+
+    @Test
+    void testConstructor_RejectsWidthThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ContentionDetector(1000, 4, 3, new LoyaltyMetrics(new SimpleMeterRegistry())));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.loyalty.points.application.partner;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartnerBudgetTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testCall_AllowsBurstThenRefillsAtRate() {
+        // Given - 10 per second, 3 at once
+        PartnerBudget budget = new PartnerBudget("acme", 10, 3, 4, new LoyaltyMetrics(registry), clock::get);
+
+        // When - the burst is spent
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ok", budget.call(() -> "ok"));
+        }
+        PartnerThrottledException throttled = assertThrows(PartnerThrottledException.class,
+            () -> budget.call(() -> "over"));
+
+        // Then - the next token is 100 ms away
+        assertEquals(Duration.ofMillis(100), throttled.getRetryAfter());
+        assertEquals(1, throttled.getRetryAfterSeconds());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals("refilled", budget.call(() -> "refilled"));
+        assertThrows(PartnerThrottledException.class, () -> budget.call(() -> "over"));
+        assertEquals(4.0, registry.get("loyalty_points_partner_earns_total").counter().count());
+        assertEquals(2.0, registry.get("loyalty_points_partner_rejected_total").tag("reason", "rate")
+            .counter().count());
+        assertEquals(4, registry.get("loyalty_points_partner_earn_latency").timer().count());
+    }
+
+    @Test
+    void testCall_RejectsWhenBulkheadIsFull() throws Exception {
+        // Given - one request in flight at a time
+        PartnerBudget budget = new PartnerBudget("acme", 1000, 100, 1, new LoyaltyMetrics(registry));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        try {
+            Future<Boolean> holder = executor.submit(() -> budget.call(() -> {
+                started.countDown();
+                try {
+                    return finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When / Then
+            assertThrows(PartnerThrottledException.class, () -> budget.call(() -> "second"));
+            assertEquals(1.0, registry.get("loyalty_points_partner_in_flight").gauge().value());
+            assertEquals(1.0, registry.get("loyalty_points_partner_rejected_total").tag("reason", "concurrency")
+                .counter().count());
+
+            finish.countDown();
+            assertTrue(holder.get(5, TimeUnit.SECONDS));
+            assertEquals("third", budget.call(() -> "third"));
+            assertEquals(0.0, registry.get("loyalty_points_partner_in_flight").gauge().value());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAcquire_TakesOneTokenPerRequestAndHoldsSlotUntilClosed() {
+        // Given - 10 per second, 5 at once, one chunk in flight at a time
+        PartnerBudget budget = new PartnerBudget("acme", 10, 5, 1, new LoyaltyMetrics(registry), clock::get);
+
+        // When - a chunk of four items is leased
+        PartnerBudget.Lease lease = budget.acquire(4);
+
+        // Then - the bulkhead is full, and the request turned away spent the last token
+        assertThrows(PartnerThrottledException.class, () -> budget.acquire(1));
+        assertEquals(1.0, registry.get("loyalty_points_partner_rejected_total").tag("reason", "concurrency")
+            .counter().count());
+        lease.complete();
+        lease.close();
+        lease.close();
+        assertEquals(4.0, registry.get("loyalty_points_partner_earns_total").counter().count());
+        assertEquals(0.0, registry.get("loyalty_points_partner_in_flight").gauge().value());
+        assertThrows(PartnerThrottledException.class, () -> budget.acquire(1));
+        assertEquals(1.0, registry.get("loyalty_points_partner_rejected_total").tag("reason", "rate")
+            .counter().count());
+
+        // Then - a chunk larger than the burst never fits
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        PartnerThrottledException oversized = assertThrows(PartnerThrottledException.class, () -> budget.acquire(6));
+        assertTrue(oversized.getMessage().contains("more than its burst allows"));
+        assertEquals(4.0, registry.get("loyalty_points_partner_earns_total").counter().count());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidPartnerId() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PartnerBudget("acme\"}", 10, 10, 1, new LoyaltyMetrics(registry)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PartnerBudget("acme", 0, 10, 1, new LoyaltyMetrics(registry)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.loyalty.points.application.tier;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingSpendTest {
+
+    @Test
+    void testTotal_CoversTwelveMonthsEndingNow() {
+        // Given
+        YearMonth now = YearMonth.of(2025, 3);
+        RollingSpend spend = new RollingSpend();
+        spend.add(now, 100, now);
+        spend.add(YearMonth.of(2024, 4), 50, now);
+        spend.add(YearMonth.of(2024, 3), 1_000, now);
+
+        // When & Then - March 2024 is outside the window and was never counted
+        assertEquals(150, spend.total(now));
+        // A month later April 2024 drops out as well
+        assertEquals(100, spend.total(now.plusMonths(1)));
+    }
+
+    @Test
+    void testAdd_ReusesBucketOfSameMonthLastYear() {
+        // Given
+        RollingSpend spend = new RollingSpend();
+        spend.add(YearMonth.of(2024, 5), 70, YearMonth.of(2024, 5));
+
+        // When
+        spend.add(YearMonth.of(2025, 5), 30, YearMonth.of(2025, 5));
+
+        // Then
+        assertEquals(30, spend.total(YearMonth.of(2025, 5)));
+    }
+}
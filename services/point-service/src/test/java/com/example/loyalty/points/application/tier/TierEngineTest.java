@@ -0,0 +1,88 @@
+package com.example.loyalty.points.application.tier;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.domain.enums.UserTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TierEngineTest {
+
+    private final SpendAggregateStore store = mock(SpendAggregateStore.class);
+    private final TierEngine tierEngine = new TierEngine(store, new LoyaltyMetrics(new SimpleMeterRegistry()), 100, 60_000);
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void testCurrent_LoadsCountersOnceAndCaches() {
+        // Given - Rp 16,000,000 over two months
+        YearMonth now = YearMonth.now();
+        when(store.load(userId, now.minusMonths(11))).thenReturn(Map.of(
+            now, 600_000_000L,
+            now.minusMonths(3), 1_000_000_000L));
+
+        // When
+        TierStatus first = tierEngine.current(userId);
+        TierStatus second = tierEngine.current(userId);
+
+        // Then
+        assertEquals(UserTier.GOLD, first.getTier());
+        assertEquals(1_600_000_000L, second.getRollingSpendMinor());
+        verify(store, times(1)).load(eq(userId), any());
+    }
+
+    @Test
+    void testRecordSpend_UpdatesCachedSpend() {
+        // Given
+        when(store.load(eq(userId), any())).thenReturn(Map.of());
+        tierEngine.current(userId);
+
+        // When - Rp 6,000,000 in two purchases
+        tierEngine.recordSpend(userId, 300_000_000L, LocalDateTime.now());
+        TierStatus status = tierEngine.recordSpend(userId, 300_000_000L, LocalDateTime.now()).orElseThrow();
+
+        // Then - evaluated without another load; the counters are the ledger's to write
+        assertEquals(UserTier.SILVER, status.getTier());
+        assertEquals(UserTier.SILVER, tierEngine.current(userId).getTier());
+        verify(store, times(1)).load(eq(userId), any());
+        verify(store, never()).addAll(anyMap());
+    }
+
+    @Test
+    void testRecordSpend_UncachedSpendIsLoadedWithThePurchase() {
+        // Given - the stored counter already includes the Rp 10,000,000 purchase
+        when(store.load(eq(userId), any())).thenReturn(Map.of(YearMonth.now(), 1_000_000_000L));
+
+        // When
+        TierStatus status = tierEngine.recordSpend(userId, 1_000_000_000L, LocalDateTime.now()).orElseThrow();
+
+        // Then - counted once
+        assertEquals(UserTier.SILVER, status.getTier());
+        assertEquals(1_000_000_000L, tierEngine.current(userId).getRollingSpendMinor());
+    }
+
+    @Test
+    void testRecordSpend_UnloadableSpendIsCountedOnNextLoad() {
+        // Given - the first load fails
+        when(store.load(eq(userId), any()))
+            .thenThrow(new RuntimeException("database down"))
+            .thenReturn(Map.of(YearMonth.now(), 600_000_000L));
+
+        // When
+        boolean evaluated = tierEngine.recordSpend(userId, 600_000_000L, LocalDateTime.now()).isPresent();
+
+        // Then - the stored purchase is part of the reloaded spend
+        assertFalse(evaluated);
+        assertEquals(UserTier.SILVER, tierEngine.current(userId).getTier());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.dto.EarnPointsBatchDTO;
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.application.fraud.FraudScreen;
+import com.example.loyalty.points.application.idempotency.IdempotencyStore;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.partner.PartnerBudget;
+import com.example.loyalty.points.application.partner.PartnerBudgets;
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import com.example.loyalty.points.application.tier.TierEngine;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.services.PointCalculationService;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EarnPointsBatchUseCaseTest {
+
+    @Mock
+    private PointLedger pointLedger;
+
+    @Mock
+    private PointCalculationService calculationService;
+
+    @Mock
+    private PointTransactionRepository transactionRepository;
+
+    @Mock
+    private SpendAggregateStore spendStore;
+
+    private final SimpleMeterRegistry partnerRegistry = new SimpleMeterRegistry();
+    private EarnPointsBatchUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyStore idempotencyStore = new IdempotencyStore(transactionRepository, 1000, 0.01, 100, 72);
+        TierEngine tierEngine = new TierEngine(spendStore, new LoyaltyMetrics(new SimpleMeterRegistry()), 100, 60_000);
+        PartnerBudgets partnerBudgets = new PartnerBudgets(List.of(
+            new PartnerBudget("acme", 1, 3, 4, new LoyaltyMetrics(partnerRegistry)),
+            new PartnerBudget("globex", 1, 10, 4, new LoyaltyMetrics(partnerRegistry))));
+        EarnPointsUseCase earnPointsUseCase = new EarnPointsUseCase(pointLedger, calculationService, idempotencyStore,
+            tierEngine, Optional.empty(), partnerBudgets, FraudScreen.disabled(), new ObjectMapper());
+        useCase = new EarnPointsBatchUseCase(earnPointsUseCase, pointLedger, idempotencyStore, partnerBudgets, 100, 1000);
+        lenient().when(calculationService.calculateEarnedPoints(any(), any(), any(), any(), any()))
+            .thenReturn(new Points(50));
+        lenient().when(pointLedger.postAll(anyList())).thenAnswer(invocation -> {
+            List<PointTransaction> transactions = invocation.getArgument(0);
+            List<PointLedger.Result> results = new ArrayList<>();
+            for (PointTransaction transaction : transactions) {
+                PointBalance balance = new PointBalance(transaction.getUserId());
+                balance.apply(transaction);
+                results.add(PointLedger.Result.posted(new PointLedger.Entry(transaction, balance)));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    void testExecuteChunk_PartnerItemsOverBudgetAreRejected() {
+        // Given - acme sends more items than its burst, globex fewer
+        List<EarnPointsDTO.Request> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            items.add(request("acme"));
+        }
+        items.add(request("globex"));
+        items.add(request(null));
+
+        // When
+        List<EarnPointsBatchDTO.ItemResult> results = useCase.executeChunk(items, 0);
+
+        // Then - acme's items never reach the ledger, the others are posted
+        for (int i = 0; i < 4; i++) {
+            assertEquals(EarnPointsBatchDTO.ItemResult.REJECTED, results.get(i).getStatus());
+        }
+        assertEquals(EarnPointsBatchDTO.ItemResult.POSTED, results.get(4).getStatus());
+        assertEquals(EarnPointsBatchDTO.ItemResult.POSTED, results.get(5).getStatus());
+        verify(pointLedger).postAll(argThat(transactions -> transactions.size() == 2));
+        verify(calculationService, never()).calculateEarnedPoints(any(), any(), any(), any(), eq("acme"));
+        assertEquals(1.0, partnerRegistry.get("loyalty_points_partner_rejected_total").tag("partner", "acme")
+            .tag("reason", "rate").counter().count());
+        assertEquals(1.0, partnerRegistry.get("loyalty_points_partner_earns_total").tag("partner", "globex")
+            .counter().count());
+        assertEquals(0.0, partnerRegistry.get("loyalty_points_partner_in_flight").tag("partner", "globex")
+            .gauge().value());
+    }
+
+    private EarnPointsDTO.Request request(String partnerId) {
+        EarnPointsDTO.Request request = new EarnPointsDTO.Request(UUID.randomUUID(), BigDecimal.valueOf(50000), "PURCHASE");
+        request.setPartnerId(partnerId);
+        return request;
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.common.security.FraudDetectionService;
+import com.example.loyalty.common.security.SecurityAuditService;
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.application.execution.AdmissionController;
+import com.example.loyalty.points.application.execution.StageExecutor;
+import com.example.loyalty.points.application.fraud.FraudBlockedException;
+import com.example.loyalty.points.application.fraud.FraudScreen;
+import com.example.loyalty.points.application.idempotency.IdempotencyStore;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.partner.PartnerBudget;
+import com.example.loyalty.points.application.partner.PartnerBudgets;
+import com.example.loyalty.points.application.partner.PartnerThrottledException;
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import com.example.loyalty.points.application.tier.TierEngine;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.services.PointCalculationService;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EarnPointsUseCaseTest {
+
+    @Mock
+    private PointLedger pointLedger;
+
+    @Mock
+    private PointCalculationService calculationService;
+
+    @Mock
+    private PointTransactionRepository transactionRepository;
+
+    @Mock
+    private SpendAggregateStore spendStore;
+
+    private EarnPointsUseCase useCase;
+    private SimpleMeterRegistry partnerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyStore idempotencyStore = new IdempotencyStore(transactionRepository, 1000, 0.01, 100, 72);
+        TierEngine tierEngine = new TierEngine(spendStore, new LoyaltyMetrics(new SimpleMeterRegistry()), 100, 60_000);
+        partnerRegistry = new SimpleMeterRegistry();
+        PartnerBudgets partnerBudgets = new PartnerBudgets(List.of(
+            new PartnerBudget("acme", 1, 1, 4, new LoyaltyMetrics(partnerRegistry))));
+        useCase = new EarnPointsUseCase(pointLedger, calculationService, idempotencyStore, tierEngine, Optional.empty(),
+            partnerBudgets, FraudScreen.disabled(), new ObjectMapper());
+        lenient().when(calculationService.calculateEarnedPoints(any(), any(), any(), any(), any()))
+            .thenReturn(new Points(50));
+        lenient().when(pointLedger.post(any(PointTransaction.class))).thenAnswer(invocation -> {
+            PointTransaction transaction = invocation.getArgument(0);
+            PointBalance balance = new PointBalance(transaction.getUserId());
+            balance.apply(transaction);
+            return new PointLedger.Entry(transaction, balance);
+        });
+    }
+
+    @Test
+    void testExecute_RetryReturnsOriginalResponseWithoutPosting() {
+        // Given
+        EarnPointsDTO.Request request = request(UUID.randomUUID(), UUID.randomUUID());
+
+        // When
+        EarnPointsDTO.Response first = useCase.execute(request);
+        EarnPointsDTO.Response retry = useCase.execute(request);
+
+        // Then
+        assertEquals(first.getTransactionId(), retry.getTransactionId());
+        assertEquals(50L, retry.getPointsEarned());
+        verify(pointLedger, times(1)).post(any(PointTransaction.class));
+        verify(transactionRepository, never()).findByIdempotencyKey(any());
+    }
+
+    @Test
+    void testExecute_DuplicateFromLedgerReturnsOriginalTransaction() {
+        // Given - reference was posted before this instance started
+        UUID userId = UUID.randomUUID();
+        EarnPointsDTO.Request request = request(userId, UUID.randomUUID());
+        PointTransaction original = new PointTransaction(
+            userId, TransactionType.EARN, new Points(30), "PURCHASE", request.getReferenceId(), "Original");
+        original.setBalanceAfter(new Points(130));
+        when(pointLedger.post(any(PointTransaction.class))).thenThrow(new DuplicateTransactionException(original));
+
+        // When
+        EarnPointsDTO.Response response = useCase.execute(request);
+
+        // Then
+        assertEquals(original.getId().toString(), response.getTransactionId());
+        assertEquals(30L, response.getPointsEarned());
+        assertEquals(130L, response.getNewBalance());
+    }
+
+    @Test
+    void testExecute_WithoutReferenceIsNotDeduplicated() {
+        // Given
+        EarnPointsDTO.Request request = request(UUID.randomUUID(), null);
+
+        // When
+        useCase.execute(request);
+        useCase.execute(request);
+
+        // Then
+        verify(pointLedger, times(2)).post(any(PointTransaction.class));
+    }
+
+    @Test
+    void testExecute_AppliesEvaluatedTierMultiplierToPurchases() {
+        // Given - Rp 20,000,000 spent this month makes the user GOLD, whatever the request says
+        UUID userId = UUID.randomUUID();
+        when(spendStore.load(eq(userId), any())).thenReturn(Map.of(YearMonth.now(), 2_000_000_000L));
+        EarnPointsDTO.Request request = request(userId, null);
+        request.setUserTier("PLATINUM");
+
+        // When
+        EarnPointsDTO.Response response = useCase.execute(request);
+
+        // Then - 50 points from the rules, times 1.5
+        verify(calculationService).calculateEarnedPoints(any(), eq(userId), any(), eq("GOLD"), isNull());
+        assertEquals(75L, response.getPointsEarned());
+        assertEquals("GOLD", response.getUserTier());
+    }
+
+    @Test
+    void testExecute_PurchaseCountsTowardsNextTier() {
+        // Given - Rp 4,990,000 spent, a Rp 50,000 purchase crosses into SILVER
+        UUID userId = UUID.randomUUID();
+        when(spendStore.load(eq(userId), any())).thenReturn(Map.of(YearMonth.now(), 499_000_000L));
+        EarnPointsDTO.Request request = request(userId, null);
+
+        // When
+        EarnPointsDTO.Response response = useCase.execute(request);
+
+        // Then - earned at BRONZE, the spend stored with the post, reported as the new tier
+        assertEquals(50L, response.getPointsEarned());
+        verify(pointLedger).post(argThat(transaction -> transaction.getTierSpendMinor() == 5_000_000L));
+        assertEquals("SILVER", response.getUserTier());
+    }
+
+    @Test
+    void testExecuteAsync_ConcurrentStagesPostOnceAndReplay() {
+        // Given
+        EarnPointsDTO.Request request = request(UUID.randomUUID(), UUID.randomUUID());
+        SimpleMeterRegistry admissionRegistry = new SimpleMeterRegistry();
+        AdmissionController admission = new AdmissionController(2, 10, Duration.ofSeconds(1),
+            new LoyaltyMetrics(admissionRegistry));
+
+        try (StageExecutor stages = new StageExecutor(Executors.newFixedThreadPool(4), admission)) {
+            // When
+            EarnPointsDTO.Response first = useCase.executeAsync(request, stages).join();
+            long firstStages = admissionRegistry.get("loyalty_points_admission_wait").timer().count();
+            EarnPointsDTO.Response retry = useCase.executeAsync(request, stages).join();
+
+            // Then - the replay only ran its lookup, no tier stage
+            assertEquals(50L, first.getPointsEarned());
+            assertEquals("BRONZE", first.getUserTier());
+            assertEquals(first.getTransactionId(), retry.getTransactionId());
+            verify(pointLedger, times(1)).post(any(PointTransaction.class));
+            assertEquals(3, firstStages);
+            assertEquals(4, admissionRegistry.get("loyalty_points_admission_wait").timer().count());
+        }
+    }
+
+    @Test
+    void testSubmit_PartnerEarnRunsAsStagesWithinItsQuota() {
+        // Given - concurrent mode, acme admitted through a quota of one permit
+        SimpleMeterRegistry admissionRegistry = new SimpleMeterRegistry();
+        AdmissionController admission = new AdmissionController(2, 10, Duration.ofSeconds(1),
+            new LoyaltyMetrics(admissionRegistry));
+        SimpleMeterRegistry budgetRegistry = new SimpleMeterRegistry();
+        PartnerBudgets partnerBudgets = new PartnerBudgets(List.of(
+            new PartnerBudget("acme", 1, 1, 1, new LoyaltyMetrics(budgetRegistry))));
+        EarnPointsDTO.Request request = request(UUID.randomUUID(), UUID.randomUUID());
+        request.setPartnerId("acme");
+
+        try (StageExecutor stages = new StageExecutor(Executors.newFixedThreadPool(4), admission,
+                Map.of("acme", admission.quota("acme", 1)))) {
+            useCase = new EarnPointsUseCase(pointLedger, calculationService,
+                new IdempotencyStore(transactionRepository, 1000, 0.01, 100, 72),
+                new TierEngine(spendStore, new LoyaltyMetrics(new SimpleMeterRegistry()), 100, 60_000),
+                Optional.of(stages), partnerBudgets, FraudScreen.disabled(), new ObjectMapper());
+
+            // When
+            EarnPointsDTO.Response response = useCase.submit(request).join();
+
+            // Then - every stage was admitted within the quota, and the bulkhead slot is back
+            assertEquals(50L, response.getPointsEarned());
+            assertEquals(3, admissionRegistry.get("loyalty_points_admission_wait").timer().count());
+            assertEquals(0.0, admissionRegistry.get("loyalty_points_partner_admission_in_use").gauge().value());
+            assertEquals(0.0, budgetRegistry.get("loyalty_points_partner_in_flight").gauge().value());
+            assertEquals(1.0, budgetRegistry.get("loyalty_points_partner_earns_total").counter().count());
+        }
+    }
+
+    @Test
+    void testExecute_PartnerEarnsWithItsRuleSetWithinItsBudget() {
+        // Given - acme may send one request per second
+        UUID userId = UUID.randomUUID();
+        EarnPointsDTO.Request request = request(userId, UUID.randomUUID());
+        request.setPartnerId("acme");
+        EarnPointsDTO.Request next = request(userId, UUID.randomUUID());
+        next.setPartnerId("acme");
+
+        // When
+        EarnPointsDTO.Response response = useCase.execute(request);
+
+        // Then - the second request is over the budget and never reaches the ledger
+        assertEquals(50L, response.getPointsEarned());
+        verify(calculationService).calculateEarnedPoints(any(), eq(userId), any(), any(), eq("acme"));
+        verify(pointLedger).post(argThat(transaction ->
+            "{\"partnerId\":\"acme\"}".equals(transaction.getMetadata())));
+        assertThrows(PartnerThrottledException.class, () -> useCase.execute(next));
+        verify(pointLedger, times(1)).post(any(PointTransaction.class));
+        assertEquals(1.0, partnerRegistry.get("loyalty_points_partner_earns_total").tag("partner", "acme")
+            .counter().count());
+        assertEquals(1.0, partnerRegistry.get("loyalty_points_partner_rejected_total").tag("reason", "rate")
+            .counter().count());
+    }
+
+    @Test
+    void testExecute_FraudBlockedEarnIsNotPosted() {
+        // Given - large earns, the sixth within ten minutes from a new device
+        SimpleMeterRegistry fraudRegistry = new SimpleMeterRegistry();
+        FraudDetectionService fraudDetection = new FraudDetectionService(
+            mock(StringRedisTemplate.class), mock(SecurityAuditService.class), 0, 100);
+        useCase = new EarnPointsUseCase(pointLedger, calculationService,
+            new IdempotencyStore(transactionRepository, 1000, 0.01, 100, 72),
+            new TierEngine(spendStore, new LoyaltyMetrics(new SimpleMeterRegistry()), 100, 60_000),
+            Optional.empty(), PartnerBudgets.none(),
+            new FraudScreen(fraudDetection, new LoyaltyMetrics(fraudRegistry)), new ObjectMapper());
+        when(calculationService.calculateEarnedPoints(any(), any(), any(), any(), any()))
+            .thenReturn(new Points(20000));
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            EarnPointsDTO.Request request = request(userId, null);
+            request.setDeviceFingerprint("phone-1");
+            useCase.execute(request);
+        }
+        EarnPointsDTO.Request suspicious = request(userId, null);
+        suspicious.setDeviceFingerprint("laptop-1");
+
+        // When & Then
+        FraudBlockedException blocked = assertThrows(FraudBlockedException.class, () -> useCase.execute(suspicious));
+        assertTrue(blocked.getReasons().containsAll(
+            List.of("High transaction velocity", "Large point amount", "New device")));
+        verify(pointLedger, times(5)).post(any(PointTransaction.class));
+        assertEquals(1.0, fraudRegistry.get("loyalty_points_fraud_assessments_total").tag("result", "blocked")
+            .counter().count());
+        assertEquals(6, fraudRegistry.get("loyalty_points_fraud_assessment_latency").timer().count());
+        fraudDetection.destroy();
+    }
+
+    @Test
+    void testPrepare_RejectsUnknownPartner() {
+        // Given
+        EarnPointsDTO.Request request = request(UUID.randomUUID(), null);
+        request.setPartnerId("unknown");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> useCase.prepare(request));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(request));
+    }
+
+    private EarnPointsDTO.Request request(UUID userId, UUID referenceId) {
+        EarnPointsDTO.Request request = new EarnPointsDTO.Request(userId, BigDecimal.valueOf(50000), "PURCHASE");
+        request.setReferenceId(referenceId);
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import com.example.loyalty.points.application.history.BalanceHistoryReader;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetBalanceUseCaseTest {
+
+    @Mock
+    private PointBalanceRepository balanceRepository;
+
+    @Mock
+    private BalanceCache balanceCache;
+
+    @Mock
+    private BalanceHistoryReader historyReader;
+
+    private GetBalanceUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetBalanceUseCase(balanceRepository, balanceCache, historyReader);
+    }
+
+    @Test
+    void testExecute_CacheHitDoesNotTouchDatabase() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        PointBalance cached = new PointBalance(userId);
+        cached.addPoints(new Points(250));
+        when(balanceCache.get(userId)).thenReturn(Optional.of(cached));
+
+        // When
+        PointBalanceDTO.Response response = useCase.execute(userId);
+
+        // Then
+        assertEquals(250L, response.getAvailablePoints());
+        verifyNoInteractions(balanceRepository);
+    }
+
+    @Test
+    void testExecute_MissLoadsAndCachesBalance() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        PointBalance stored = new PointBalance(userId);
+        stored.addPoints(new Points(100));
+        when(balanceCache.get(userId)).thenReturn(Optional.empty());
+        when(balanceRepository.findByUserId(userId)).thenReturn(Optional.of(stored));
+
+        // When
+        PointBalanceDTO.Response response = useCase.execute(userId);
+
+        // Then
+        assertEquals(100L, response.getTotalPoints());
+        verify(balanceCache).put(stored);
+    }
+
+    @Test
+    void testExecute_UnknownUserGetsEmptyBalanceWithoutInsert() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(balanceCache.get(userId)).thenReturn(Optional.empty());
+        when(balanceRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        // When
+        PointBalanceDTO.Response response = useCase.execute(userId);
+
+        // Then
+        assertEquals(0L, response.getTotalPoints());
+        verify(balanceRepository, never()).save(any());
+        verify(balanceRepository, never()).findByUserIdOrCreate(any());
+        verify(balanceCache).put(any(PointBalance.class));
+    }
+
+    @Test
+    void testExecuteAt_ReadsFromLedgerHistory() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.now().minusMonths(3);
+        PointBalanceDTO.AtTime past = new PointBalanceDTO.AtTime(userId, at, 400, 500, 100);
+        when(historyReader.balanceAt(userId, at)).thenReturn(past);
+
+        // When
+        PointBalanceDTO.AtTime response = useCase.executeAt(userId, at);
+
+        // Then
+        assertSame(past, response);
+        verifyNoInteractions(balanceCache, balanceRepository);
+    }
+
+    @Test
+    void testExecuteAt_FutureTimeIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> useCase.executeAt(UUID.randomUUID(), LocalDateTime.now().plusDays(1)));
+        verifyNoInteractions(historyReader);
+    }
+}
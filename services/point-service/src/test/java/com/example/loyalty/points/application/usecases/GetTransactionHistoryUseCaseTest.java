@@ -0,0 +1,102 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import com.example.loyalty.points.application.history.HistoryCursor;
+import com.example.loyalty.points.application.history.HistoryQuery;
+import com.example.loyalty.points.application.history.TransactionHistoryReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetTransactionHistoryUseCaseTest {
+
+    @Mock
+    private TransactionHistoryReader historyReader;
+
+    private GetTransactionHistoryUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new GetTransactionHistoryUseCase(historyReader, 50, 200);
+    }
+
+    @Test
+    void testExecute_FullPageReturnsCursorOfLastItem() {
+        // Given - reader returns one row more than requested
+        UUID userId = UUID.randomUUID();
+        List<TransactionHistoryDTO.Item> rows = items(4);
+        when(historyReader.findPage(any(), eq(4))).thenReturn(rows);
+
+        // When
+        TransactionHistoryDTO.Page page = useCase.execute(query(userId, null), 3);
+
+        // Then
+        assertEquals(3, page.getItems().size());
+        assertTrue(page.isHasMore());
+        HistoryCursor cursor = HistoryCursor.decode(page.getNextCursor());
+        assertEquals(rows.get(2).getTransactionId(), cursor.getId());
+        assertEquals(rows.get(2).getCreatedAt(), cursor.getCreatedAt());
+    }
+
+    @Test
+    void testExecute_LastPageHasNoCursor() {
+        // Given
+        when(historyReader.findPage(any(), eq(51))).thenReturn(items(2));
+
+        // When
+        TransactionHistoryDTO.Page page = useCase.execute(query(UUID.randomUUID(), null), null);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testExecute_RejectsOversizedPageAndInvertedRange() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(query(userId, null), 201));
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(
+            new HistoryQuery(userId, Set.of(), now, now.minusDays(1), null), 10));
+        verify(historyReader, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void testCursor_RoundTripsAndRejectsGarbage() {
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 12, 1, 10, 30, 0, 123456000), UUID.randomUUID());
+
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("not-a-cursor"));
+    }
+
+    private static HistoryQuery query(UUID userId, HistoryCursor after) {
+        return new HistoryQuery(userId, Set.of(), null, null, after);
+    }
+
+    private static List<TransactionHistoryDTO.Item> items(int count) {
+        List<TransactionHistoryDTO.Item> items = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            items.add(new TransactionHistoryDTO.Item(UUID.randomUUID(), "EARN", 10, 100 - i * 10L, "PURCHASE",
+                                                     null, null, "PROCESSED", createdAt.minusMinutes(i)));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.loyalty.points.application.usecases;
+
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.dto.RedeemPointsDTO;
+import com.example.loyalty.points.application.ledger.DuplicateTransactionException;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.redemption.BalanceBusyException;
+import com.example.loyalty.points.application.redemption.BalanceHolds;
+import com.example.loyalty.points.application.redemption.HoldNotFoundException;
+import com.example.loyalty.points.application.redemption.InsufficientPointsException;
+import com.example.loyalty.points.application.redemption.RedemptionHold;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RedeemPointsUseCaseTest {
+
+    private final BalanceHolds balanceHolds = mock(BalanceHolds.class);
+    private final BalanceCache balanceCache = mock(BalanceCache.class);
+    private final RedeemPointsUseCase useCase = new RedeemPointsUseCase(balanceHolds, balanceCache, 60_000, 100);
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void testReserve_StoresHoldAndCachesBalance() {
+        // Given
+        PointBalance balance = balance(1000, 500);
+        when(balanceHolds.reserve(any())).thenReturn(Optional.of(balance));
+        UUID referenceId = UUID.randomUUID();
+
+        // When
+        RedeemPointsDTO.HoldResponse response = useCase.reserve(new RedeemPointsDTO.Request(userId, 500L, referenceId));
+
+        // Then
+        ArgumentCaptor<RedemptionHold> hold = ArgumentCaptor.forClass(RedemptionHold.class);
+        verify(balanceHolds).reserve(hold.capture());
+        assertEquals(response.getHoldId(), hold.getValue().getHoldId());
+        assertEquals(userId, hold.getValue().getUserId());
+        assertEquals(500L, hold.getValue().getPoints().longValue());
+        assertEquals(referenceId, hold.getValue().getReferenceId());
+        assertEquals("HELD", response.getStatus());
+        assertEquals(1000, response.getAvailablePoints());
+        assertEquals(500, response.getPendingPoints());
+        verify(balanceCache).put(balance);
+    }
+
+    @Test
+    void testReserve_InsufficientPoints() {
+        // Given
+        when(balanceHolds.reserve(any())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(InsufficientPointsException.class,
+            () -> useCase.reserve(new RedeemPointsDTO.Request(userId, 500L, null)));
+        verifyNoInteractions(balanceCache);
+    }
+
+    @Test
+    void testConfirm_PostsSpendForHoldReservedOnAnotherInstance() {
+        // Given - the hold was stored by another instance's use case
+        UUID referenceId = UUID.randomUUID();
+        RedemptionHold hold = hold(500, referenceId);
+        PointBalance after = balance(1000, 0);
+        when(balanceHolds.find(userId, hold.getHoldId())).thenReturn(Optional.of(hold));
+        when(balanceHolds.confirm(eq(hold), any())).thenAnswer(invocation -> {
+            PointTransaction spend = invocation.getArgument(1);
+            return new PointLedger.Entry(spend, after);
+        });
+
+        // When
+        RedeemPointsDTO.Response response = useCase.confirm(hold.getHoldId(), userId);
+
+        // Then
+        ArgumentCaptor<PointTransaction> spend = ArgumentCaptor.forClass(PointTransaction.class);
+        verify(balanceHolds).confirm(eq(hold), spend.capture());
+        assertEquals(TransactionType.SPEND, spend.getValue().getTransactionType());
+        assertEquals(500L, spend.getValue().getPointsAmount().longValue());
+        assertEquals(RedeemPointsUseCase.REDEMPTION_SOURCE, spend.getValue().getSource());
+        assertEquals(referenceId, spend.getValue().getSourceId());
+        assertEquals(500, response.getPointsRedeemed());
+        verify(balanceCache).put(after);
+    }
+
+    @Test
+    void testConfirm_UnknownHoldIsNotFound() {
+        // Given - another user's hold, or one already confirmed, released or reaped
+        UUID holdId = UUID.randomUUID();
+        when(balanceHolds.find(userId, holdId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(HoldNotFoundException.class, () -> useCase.confirm(holdId, userId));
+        verify(balanceHolds, never()).confirm(any(), any());
+    }
+
+    @Test
+    void testConfirm_BusyBalanceKeepsHold() {
+        // Given
+        RedemptionHold hold = hold(500, null);
+        when(balanceHolds.find(userId, hold.getHoldId())).thenReturn(Optional.of(hold));
+        when(balanceHolds.confirm(eq(hold), any())).thenThrow(new BalanceBusyException("busy", null));
+
+        // When & Then - the rolled back hold can be confirmed again later
+        assertThrows(BalanceBusyException.class, () -> useCase.confirm(hold.getHoldId(), userId));
+        verify(balanceHolds, never()).release(any(), any());
+    }
+
+    @Test
+    void testConfirm_DuplicateReferenceReleasesHold() {
+        // Given
+        UUID referenceId = UUID.randomUUID();
+        RedemptionHold hold = hold(500, referenceId);
+        PointTransaction original = new PointTransaction(userId, TransactionType.SPEND, Points.of(500),
+            RedeemPointsUseCase.REDEMPTION_SOURCE, referenceId, "Points redeemed");
+        when(balanceHolds.find(userId, hold.getHoldId())).thenReturn(Optional.of(hold));
+        when(balanceHolds.confirm(eq(hold), any())).thenThrow(new DuplicateTransactionException(original));
+        PointBalance released = balance(1500, 0);
+        when(balanceHolds.release(userId, hold.getHoldId()))
+            .thenReturn(Optional.of(new BalanceHolds.Released(hold, Optional.of(released))));
+
+        // When & Then
+        assertThrows(DuplicateTransactionException.class, () -> useCase.confirm(hold.getHoldId(), userId));
+        verify(balanceHolds).release(userId, hold.getHoldId());
+        verify(balanceCache).put(released);
+    }
+
+    @Test
+    void testRelease_UnknownHoldIsNotFound() {
+        // Given
+        UUID holdId = UUID.randomUUID();
+        when(balanceHolds.release(userId, holdId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(HoldNotFoundException.class, () -> useCase.release(holdId, userId));
+    }
+
+    @Test
+    void testReleaseExpired_ReleasesStoredHoldsPastTtl() {
+        // Given - expired holds of a crashed instance, one of them reaped meanwhile by another instance
+        RedemptionHold expired = hold(100, null);
+        RedemptionHold reapedElsewhere = hold(200, null);
+        when(balanceHolds.findExpired(any(), eq(100))).thenReturn(List.of(expired, reapedElsewhere));
+        when(balanceHolds.release(userId, expired.getHoldId()))
+            .thenReturn(Optional.of(new BalanceHolds.Released(expired, Optional.of(balance(1000, 0)))));
+        when(balanceHolds.release(userId, reapedElsewhere.getHoldId())).thenReturn(Optional.empty());
+
+        // When
+        int released = useCase.releaseExpired();
+
+        // Then
+        assertEquals(1, released);
+        verify(balanceHolds).release(userId, expired.getHoldId());
+        verify(balanceHolds).release(userId, reapedElsewhere.getHoldId());
+    }
+
+    private RedemptionHold hold(long points, UUID referenceId) {
+        return new RedemptionHold(UUID.randomUUID(), userId, Points.of(points), referenceId, null,
+            LocalDateTime.now().plusMinutes(5));
+    }
+
+    private PointBalance balance(long available, long pending) {
+        PointBalance balance = new PointBalance(userId);
+        balance.setTotalPoints(Points.of(available + pending));
+        balance.setAvailablePoints(Points.of(available));
+        balance.setPendingPoints(Points.of(pending));
+        return balance;
+    }
+}
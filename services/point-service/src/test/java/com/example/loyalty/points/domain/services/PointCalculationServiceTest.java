@@ -12,7 +12,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -101,4 +104,126 @@ class PointCalculationServiceTest {
         // Test null amount
         assertFalse(pointCalculationService.isValidForPointEarning(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculateEarnedPoints_CompiledPurchaseRule() {
+        // Given
+        EarningRule purchaseRule = new EarningRule("Purchase", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", BigDecimal.ONE);
+        when(earningRuleRepository.findAll()).thenReturn(List.of(purchaseRule));
+        pointCalculationService.reloadEarningRules();
+
+        // When
+        Points result = pointCalculationService.calculateEarnedPoints(
+            new Money(BigDecimal.valueOf(5999)), UUID.randomUUID(), EarningType.PURCHASE);
+
+        // Then
+        assertEquals(5L, result.longValue()); // whole Rp 1,000 units only
+        assertEquals(0L, pointCalculationService.calculateEarnedPoints(
+            new Money(BigDecimal.valueOf(5999)), UUID.randomUUID(), EarningType.REVIEW).longValue());
+    }
+
+    @Test
+    void testCalculateEarnedPoints_SkipsExpiredAndInactiveRules() {
+        // Given
+        EarningRule expired = new EarningRule("Expired", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", BigDecimal.valueOf(2));
+        expired.setStartDate(LocalDateTime.now().minusDays(10));
+        expired.setEndDate(LocalDateTime.now().minusDays(1));
+        EarningRule inactive = new EarningRule("Inactive", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", BigDecimal.ONE);
+        inactive.deactivate();
+        when(earningRuleRepository.findAll()).thenReturn(List.of(expired, inactive));
+        pointCalculationService.reloadEarningRules();
+
+        // When
+        Points result = pointCalculationService.calculateEarnedPoints(
+            new Money(BigDecimal.valueOf(10000)), UUID.randomUUID(), EarningType.PURCHASE);
+
+        // Then
+        assertEquals(0L, result.longValue());
+    }
+
+    @Test
+    void testCalculateEarnedPoints_TierRestrictedRuleWithMultiplierAndCap() {
+        // Given
+        EarningRule base = new EarningRule("Base", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", BigDecimal.ONE);
+        EarningRule goldBonus = new EarningRule("Gold Bonus", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", new BigDecimal("1.25"));
+        goldBonus.setTierRestrictions(Map.of("allowedTiers", List.of("GOLD", "PLATINUM")));
+        goldBonus.setMaxPoints(new Points(100));
+        when(earningRuleRepository.findAll()).thenReturn(List.of(base, goldBonus));
+        pointCalculationService.reloadEarningRules();
+        Money amount = new Money(BigDecimal.valueOf(40000)); // 40 units
+
+        // When & Then
+        assertEquals(40L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, null).longValue());
+        assertEquals(40L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, "SILVER").longValue());
+        assertEquals(90L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, "GOLD").longValue()); // 40 + 50
+        assertEquals(200L, pointCalculationService.calculateEarnedPoints(
+            new Money(BigDecimal.valueOf(100000)), UUID.randomUUID(), EarningType.PURCHASE, "GOLD")
+            .longValue()); // 100 + min(125, 100)
+    }
+
+    @Test
+    void testCalculateEarnedPoints_TierMatchesRegardlessOfCase() {
+        // Given
+        EarningRule goldBonus = new EarningRule("Gold Bonus", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", BigDecimal.ONE);
+        goldBonus.setTierRestrictions(Map.of("allowedTiers", List.of("gold")));
+        when(earningRuleRepository.findAll()).thenReturn(List.of(goldBonus));
+        pointCalculationService.reloadEarningRules();
+        Money amount = new Money(BigDecimal.valueOf(40000)); // 40 units
+
+        // When & Then
+        assertEquals(40L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, "Gold").longValue());
+        assertEquals(40L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, "gold").longValue());
+    }
+
+    @Test
+    void testCalculateEarnedPoints_FixedActionRule() {
+        // Given
+        EarningRule referral = new EarningRule("Referral", EarningType.REFERRAL,
+            BigDecimal.valueOf(500), "ACTION", BigDecimal.ONE);
+        when(earningRuleRepository.findAll()).thenReturn(List.of(referral));
+        pointCalculationService.reloadEarningRules();
+
+        // When
+        Points result = pointCalculationService.calculateEarnedPoints(
+            new Money(BigDecimal.ONE), UUID.randomUUID(), EarningType.REFERRAL);
+
+        // Then
+        assertEquals(500L, result.longValue());
+    }
+
+    @Test
+    void testCalculateEarnedPoints_PartnerRuleSetReplacesCommonRulesOfItsTypes() {
+        // Given - the partner replaces the purchase rule and keeps the common referral rule
+        EarningRule purchase = new EarningRule("Purchase", EarningType.PURCHASE,
+            BigDecimal.ONE, "DOLLAR", BigDecimal.ONE);
+        EarningRule referral = new EarningRule("Referral", EarningType.REFERRAL,
+            BigDecimal.valueOf(500), "ACTION", BigDecimal.ONE);
+        EarningRule partnerPurchase = new EarningRule("Acme Purchase", EarningType.PURCHASE,
+            BigDecimal.valueOf(3), "DOLLAR", BigDecimal.ONE);
+        partnerPurchase.setPartnerId("acme");
+        when(earningRuleRepository.findAll()).thenReturn(List.of(purchase, referral, partnerPurchase));
+        pointCalculationService.reloadEarningRules();
+        Money amount = new Money(BigDecimal.valueOf(10000)); // 10 units
+
+        // When & Then
+        assertEquals(30L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, null, "acme").longValue());
+        assertEquals(500L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.REFERRAL, null, "acme").longValue());
+        assertEquals(10L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, null, "other").longValue());
+        assertEquals(10L, pointCalculationService.calculateEarnedPoints(
+            amount, UUID.randomUUID(), EarningType.PURCHASE, null).longValue());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.loyalty.points.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointsTest {
+
+    @Test
+    void testArithmetic_StaysInLongs() {
+        Points points = Points.of(100).add(Points.of(50)).subtract(Points.of(30));
+
+        assertEquals(120L, points.longValue());
+        assertEquals(180L, points.multiply(new BigDecimal("1.5")).longValue());
+        assertEquals(Points.of(120), points);
+    }
+
+    @Test
+    void testMultiply_TruncatesFraction() {
+        assertEquals(12L, Points.of(10).multiply(new BigDecimal("1.25")).longValue());
+        assertEquals(12L, Points.of(10).multiplyScaled(12_500).longValue());
+    }
+
+    @Test
+    void testArithmetic_RejectsNegativeAndOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> Points.of(10).subtract(Points.of(11)));
+        assertThrows(IllegalArgumentException.class, () -> Points.of(-1));
+        assertThrows(ArithmeticException.class, () -> Points.of(Long.MAX_VALUE).add(Points.of(1)));
+        assertThrows(ArithmeticException.class, () -> Points.of(Long.MAX_VALUE).multiplyScaled(20_000));
+    }
+
+    @Test
+    void testMoney_UsesMinorUnits() {
+        Money amount = new Money(new BigDecimal("5000.505"));
+
+        assertEquals(500_051L, amount.getMinorUnits());
+        assertEquals(new BigDecimal("5000.51"), amount.getAmount());
+        assertEquals(Money.ofMinorUnits(600_051L), amount.add(new Money(BigDecimal.valueOf(1000))));
+        assertThrows(IllegalArgumentException.class, () -> Money.zero().subtract(Money.ofMinorUnits(1)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.loyalty.points.infrastructure.messaging;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<MockProducer<String, String>> producers = new CopyOnWriteArrayList<>();
+    private RuntimeException sendException;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        // In-process broker stand-in: KafkaTemplate closes its producer after each send,
+        // so every send gets a fresh MockProducer and the test reads all of them
+        MockProducerFactory<String, String> producerFactory = new MockProducerFactory<>(() -> {
+            MockProducer<String, String> producer =
+                new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producer.sendException = sendException;
+            producers.add(producer);
+            return producer;
+        });
+        relay = new OutboxRelay(outboxRepository, new KafkaTemplate<>(producerFactory),
+                                new TransactionTemplate(transactionManager),
+                                new LoyaltyMetrics(new SimpleMeterRegistry()),
+                                2, 10, Duration.ofSeconds(1));
+        when(outboxRepository.tryLockRelay()).thenReturn(true);
+        when(outboxRepository.findOldestCreatedAt()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testRun_SendsKeyedRecordsInOrderAndDeletesThem() {
+        // Given - two full batches, then a partial one
+        UUID user = UUID.randomUUID();
+        when(outboxRepository.lockNextBatch(2))
+            .thenReturn(List.of(message(1, user), message(2, user)))
+            .thenReturn(List.of(message(3, user), message(4, user)))
+            .thenReturn(List.of(message(5, user)));
+
+        // When
+        relay.run();
+
+        // Then
+        List<ProducerRecord<String, String>> sent = sentRecords();
+        assertEquals(5, sent.size());
+        for (int i = 0; i < sent.size(); i++) {
+            ProducerRecord<String, String> record = sent.get(i);
+            assertEquals("points.earned", record.topic());
+            assertEquals(user.toString(), record.key());
+            assertEquals("{\"seq\":" + (i + 1) + "}", record.value());
+            assertNotNull(record.headers().lastHeader(OutboxRelay.EVENT_ID_HEADER));
+            assertEquals("POINTS_EARNED", new String(
+                record.headers().lastHeader(OutboxRelay.EVENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+        }
+        verify(outboxRepository).delete(List.of(1L, 2L));
+        verify(outboxRepository).delete(List.of(3L, 4L));
+        verify(outboxRepository).delete(List.of(5L));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void testRun_FailedSendKeepsBatchForRetry() {
+        // Given
+        sendException = new IllegalStateException("broker unavailable");
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of(message(1, UUID.randomUUID())));
+
+        // When
+        relay.run();
+
+        // Then - nothing deleted and the transaction rolled back
+        verify(outboxRepository, never()).delete(anyList());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void testRun_SkipsWhenAnotherRelayHoldsTheLock() {
+        // Given
+        when(outboxRepository.tryLockRelay()).thenReturn(false);
+
+        // When
+        relay.run();
+
+        // Then
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+        assertTrue(sentRecords().isEmpty());
+    }
+
+    @Test
+    void testRun_ExportsAgeOfOldestPendingEvent() {
+        // Given
+        when(outboxRepository.lockNextBatch(2)).thenReturn(List.of());
+        when(outboxRepository.findOldestCreatedAt()).thenReturn(Optional.of(OffsetDateTime.now().minusSeconds(30)));
+
+        // When
+        relay.run();
+
+        // Then
+        assertTrue(relay.getLagMillis() >= 30_000);
+    }
+
+    private List<ProducerRecord<String, String>> sentRecords() {
+        List<ProducerRecord<String, String>> sent = new ArrayList<>();
+        producers.forEach(producer -> sent.addAll(producer.history()));
+        return sent;
+    }
+
+    private static OutboxMessage message(long id, UUID userId) {
+        return new OutboxMessage(id, UUID.randomUUID(), "POINTS_EARNED", "points.earned", userId.toString(),
+                                 "{\"seq\":" + id + "}", OffsetDateTime.now());
+    }
+}
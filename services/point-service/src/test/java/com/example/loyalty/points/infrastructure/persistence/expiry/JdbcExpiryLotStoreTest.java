@@ -0,0 +1,86 @@
+package com.example.loyalty.points.infrastructure.persistence.expiry;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JdbcExpiryLotStoreTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NamedParameterJdbcTemplate namedJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final JdbcExpiryLotStore lotStore = new JdbcExpiryLotStore(jdbcTemplate, namedJdbcTemplate, 12);
+
+    @Test
+    void testConsume_TakesOldestLotsFirst() {
+        // Given - three open lots, oldest first
+        UUID userId = UUID.randomUUID();
+        JdbcExpiryLotStore.Lot oldest = JdbcExpiryLotStore.Lot.existing(UUID.randomUUID(), userId, 100);
+        JdbcExpiryLotStore.Lot middle = JdbcExpiryLotStore.Lot.existing(UUID.randomUUID(), userId, 50);
+        JdbcExpiryLotStore.Lot newest = JdbcExpiryLotStore.Lot.existing(UUID.randomUUID(), userId, 200);
+        Deque<JdbcExpiryLotStore.Lot> lots = new ArrayDeque<>(List.of(oldest, middle, newest));
+        List<JdbcExpiryLotStore.Lot> consumed = new ArrayList<>();
+
+        // When
+        JdbcExpiryLotStore.consume(lots, 120, consumed);
+
+        // Then - the oldest lot is used up, the next one partially, the newest untouched
+        assertEquals(0, oldest.remaining);
+        assertEquals(JdbcExpiryLotStore.CONSUMED, oldest.status());
+        assertEquals(30, middle.remaining);
+        assertEquals(JdbcExpiryLotStore.ACTIVE, middle.status());
+        assertEquals(200, newest.remaining);
+        assertEquals(List.of(oldest, middle), consumed);
+        assertEquals(List.of(middle, newest), List.copyOf(lots));
+    }
+
+    @Test
+    void testConsume_ShortfallStopsAtLastLot() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        JdbcExpiryLotStore.Lot lot = JdbcExpiryLotStore.Lot.existing(UUID.randomUUID(), userId, 40);
+        Deque<JdbcExpiryLotStore.Lot> lots = new ArrayDeque<>(List.of(lot));
+        List<JdbcExpiryLotStore.Lot> consumed = new ArrayList<>();
+
+        // When
+        JdbcExpiryLotStore.consume(lots, 100, consumed);
+
+        // Then
+        assertEquals(0, lot.remaining);
+        assertTrue(lots.isEmpty());
+        assertEquals(List.of(lot), consumed);
+    }
+
+    @Test
+    void testRecord_CreditOpensLotWithDefaultValidity() {
+        // Given
+        PointTransaction earn = new PointTransaction(UUID.randomUUID(), TransactionType.EARN, Points.of(10),
+            "PURCHASE", UUID.randomUUID(), "Purchase");
+
+        // When
+        lotStore.record(List.of(earn));
+
+        // Then - expiry recorded on the transaction, only earns written, no lots locked
+        LocalDateTime created = earn.getCreatedAt();
+        assertEquals(created.plusMonths(12), earn.getExpiryDate());
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO points_expiry"), anyList(), eq(1), any());
+        verify(jdbcTemplate, never()).batchUpdate(contains("UPDATE points_expiry"), anyList(), anyInt(), any());
+        verifyNoInteractions(namedJdbcTemplate);
+    }
+}
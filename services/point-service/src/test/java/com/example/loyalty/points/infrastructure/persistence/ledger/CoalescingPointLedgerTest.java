@@ -0,0 +1,75 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.ledger.ContentionDetector;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoalescingPointLedgerTest {
+
+    private final PointLedger delegate = mock(PointLedger.class);
+    private final GroupCommitPointLedger coalescer = mock(GroupCommitPointLedger.class);
+    private final ContentionDetector detector = mock(ContentionDetector.class);
+    private final CoalescingPointLedger ledger = new CoalescingPointLedger(delegate, coalescer, detector,
+        new LoyaltyMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void testPost_QuietUserPostsDirectly() {
+        // Given
+        PointTransaction earn = earn();
+        PointLedger.Entry entry = new PointLedger.Entry(earn, new PointBalance(earn.getUserId()));
+        when(detector.enter(earn.getUserId())).thenReturn(false);
+        when(delegate.post(earn)).thenReturn(entry);
+
+        // When
+        PointLedger.Entry result = ledger.post(earn);
+
+        // Then
+        assertSame(entry, result);
+        verifyNoInteractions(coalescer);
+        verify(detector).exit(earn.getUserId(), false);
+    }
+
+    @Test
+    void testPost_HotUserIsCoalesced() {
+        // Given
+        PointTransaction earn = earn();
+        PointLedger.Entry entry = new PointLedger.Entry(earn, new PointBalance(earn.getUserId()));
+        when(detector.enter(earn.getUserId())).thenReturn(true);
+        when(coalescer.post(earn)).thenReturn(entry);
+
+        // When
+        PointLedger.Entry result = ledger.post(earn);
+
+        // Then
+        assertSame(entry, result);
+        verifyNoInteractions(delegate);
+        verify(detector).exit(earn.getUserId(), true);
+    }
+
+    @Test
+    void testPost_FailedPostStillLeavesTheDetector() {
+        // Given
+        PointTransaction earn = earn();
+        when(detector.enter(earn.getUserId())).thenReturn(false);
+        when(delegate.post(earn)).thenThrow(new IllegalArgumentException("Insufficient available points"));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ledger.post(earn));
+        verify(detector).exit(earn.getUserId(), false);
+    }
+
+    private PointTransaction earn() {
+        return new PointTransaction(UUID.randomUUID(), TransactionType.EARN, Points.of(10), "PURCHASE", null, "Earn");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class GroupCommitPointLedgerTest {
+
+    private final JdbcLedgerBatchWriter batchWriter = mock(JdbcLedgerBatchWriter.class);
+    private GroupCommitPointLedger ledger;
+
+    @AfterEach
+    void tearDown() {
+        if (ledger != null) {
+            ledger.destroy();
+        }
+    }
+
+    @Test
+    void testPost_ConcurrentEarnsForSameUserAreAllApplied() throws Exception {
+        // Given - writer applies each batch to a single in-memory balance
+        UUID userId = UUID.randomUUID();
+        PointBalance balance = new PointBalance(userId);
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+            List<PointTransaction> batch = invocation.getArgument(0);
+            List<PointLedger.Result> results = new ArrayList<>();
+            for (PointTransaction tx : batch) {
+                balance.apply(tx);
+                results.add(PointLedger.Result.posted(new PointLedger.Entry(tx, balance)));
+            }
+            return results;
+        });
+        ledger = new GroupCommitPointLedger(batchWriter, 4, 64, 1000, Duration.ofSeconds(5));
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<PointLedger.Entry>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executor.submit(() -> ledger.post(earn(userId, 10))));
+        }
+        for (Future<PointLedger.Entry> future : futures) {
+            assertNotNull(future.get().getTransaction().getBalanceAfter());
+        }
+        executor.shutdown();
+
+        // Then - no lost updates
+        assertEquals(2000L, balance.getTotalPoints().longValue());
+        verify(batchWriter, atMost(200)).write(anyList());
+    }
+
+    @Test
+    void testPost_RejectedTransactionPropagatesToCaller() {
+        // Given
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+            List<PointTransaction> batch = invocation.getArgument(0);
+            List<PointLedger.Result> results = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(PointLedger.Result.rejected(
+                    new IllegalArgumentException("Insufficient available points")));
+            }
+            return results;
+        });
+        ledger = new GroupCommitPointLedger(batchWriter, 1, 16, 100, Duration.ofSeconds(5));
+
+        // When & Then
+        PointTransaction spend = new PointTransaction(UUID.randomUUID(), TransactionType.SPEND,
+            new Points(50), "REDEMPTION", null, "Redeem");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> ledger.post(spend));
+        assertEquals("Insufficient available points", ex.getMessage());
+    }
+
+    @Test
+    void testPost_BatchFailureFailsCaller() {
+        // Given
+        when(batchWriter.write(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        ledger = new GroupCommitPointLedger(batchWriter, 1, 16, 100, Duration.ofSeconds(5));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> ledger.post(earn(UUID.randomUUID(), 10)));
+    }
+
+    @Test
+    void testPost_TimedOutPostIsWithdrawnAndNeverCommitted() throws Exception {
+        // Given - the lane is stuck committing the first post
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<PointTransaction> written = new CopyOnWriteArrayList<>();
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            List<PointTransaction> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            List<PointLedger.Result> results = new ArrayList<>();
+            for (PointTransaction tx : batch) {
+                results.add(PointLedger.Result.posted(new PointLedger.Entry(tx, new PointBalance(tx.getUserId()))));
+            }
+            return results;
+        });
+        ledger = new GroupCommitPointLedger(batchWriter, 1, 16, 100, Duration.ofMillis(200));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        PointTransaction first = earn(UUID.randomUUID(), 10);
+        Future<PointLedger.Entry> firstPost = executor.submit(() -> ledger.post(first));
+        committing.await();
+
+        // When - the second post times out while still queued
+        PointTransaction second = earn(UUID.randomUUID(), 20);
+        assertThrows(IllegalStateException.class, () -> ledger.post(second));
+        release.countDown();
+
+        // Then - the first post outlives the timeout since its commit had started, the second is dropped
+        assertSame(first, firstPost.get().getTransaction());
+        executor.shutdown();
+        ledger.destroy();
+        assertEquals(List.of(first), written);
+    }
+
+    private PointTransaction earn(UUID userId, long points) {
+        return new PointTransaction(userId, TransactionType.EARN, new Points(points), "PURCHASE", null, "Purchase");
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import com.example.loyalty.points.application.events.PointEventPublisher;
+import com.example.loyalty.points.application.expiry.ExpiryLotStore;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.application.tier.SpendAggregateStore;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionalPointLedgerTest {
+
+    private final PointTransactionRepository transactionRepository = mock(PointTransactionRepository.class);
+    private final PointBalanceRepository balanceRepository = mock(PointBalanceRepository.class);
+    private final ExpiryLotStore expiryLotStore = mock(ExpiryLotStore.class);
+    private final SpendAggregateStore spendStore = mock(SpendAggregateStore.class);
+    private final PointEventPublisher eventPublisher = mock(PointEventPublisher.class);
+    private final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:ledger-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final TransactionalPointLedger ledger = new TransactionalPointLedger(transactionRepository,
+        balanceRepository, mock(JdbcLedgerBatchWriter.class), expiryLotStore, spendStore, eventPublisher,
+        new DataSourceTransactionManager(dataSource));
+
+    @BeforeEach
+    void createBalances() {
+        jdbcTemplate.execute("CREATE TABLE point_balances (user_id UUID PRIMARY KEY, available_points BIGINT NOT NULL, "
+            + "tier_spend_minor BIGINT NOT NULL DEFAULT 0)");
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void testPost_RecordsBalanceAfterFromReturnedRow() {
+        // Given - the database already holds 100 points, the earn adds 30
+        UUID userId = UUID.randomUUID();
+        PointTransaction earn = new PointTransaction(userId, TransactionType.EARN, Points.of(30), "PURCHASE", null, "Earn");
+        PointBalance after = new PointBalance(userId);
+        after.addPoints(Points.of(130));
+        when(balanceRepository.applyDelta(eq(userId), any())).thenReturn(Optional.of(after));
+        when(transactionRepository.save(earn)).thenReturn(earn);
+
+        // When
+        PointLedger.Entry entry = ledger.post(earn);
+
+        // Then
+        ArgumentCaptor<BalanceDelta> delta = ArgumentCaptor.forClass(BalanceDelta.class);
+        verify(balanceRepository).applyDelta(eq(userId), delta.capture());
+        assertEquals(30L, delta.getValue().getAvailable());
+        assertEquals(30L, delta.getValue().getLifetimeEarned());
+        assertEquals(130L, entry.getTransaction().getBalanceAfter().longValue());
+        assertSame(after, entry.getBalance());
+        verify(balanceRepository, never()).save(any());
+        verify(spendStore).record(List.of(earn));
+    }
+
+    @Test
+    void testPost_OverdrawingDebitIsRejected() {
+        // Given - the guarded update matches no row
+        UUID userId = UUID.randomUUID();
+        PointTransaction spend = new PointTransaction(userId, TransactionType.SPEND, Points.of(500), "REDEMPTION", null, "Spend");
+        when(balanceRepository.applyDelta(eq(userId), any())).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ledger.post(spend));
+        verifyNoInteractions(expiryLotStore);
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(spendStore);
+    }
+
+    @Test
+    void testPost_FailedLedgerInsertRollsBackBalance() {
+        // Given - the balance update runs in the database; the ledger insert then hits a concurrent duplicate
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO point_balances (user_id, available_points) VALUES (?, 100)", userId);
+        PointTransaction earn = new PointTransaction(userId, TransactionType.EARN, Points.of(30), "PURCHASE", UUID.randomUUID(), "Earn");
+        when(balanceRepository.applyDelta(eq(userId), any())).thenAnswer(invocation -> {
+            BalanceDelta delta = invocation.getArgument(1);
+            jdbcTemplate.update("UPDATE point_balances SET available_points = available_points + ? WHERE user_id = ?",
+                delta.getAvailable(), userId);
+            PointBalance after = new PointBalance(userId);
+            after.addPoints(Points.of(130));
+            return Optional.of(after);
+        });
+        earn.setTierSpendMinor(5_000_000L);
+        doAnswer(invocation -> jdbcTemplate.update("UPDATE point_balances SET tier_spend_minor = tier_spend_minor + ? "
+            + "WHERE user_id = ?", earn.getTierSpendMinor(), userId)).when(spendStore).record(List.of(earn));
+        when(transactionRepository.save(earn)).thenThrow(new DuplicateKeyException("points_transaction_keys_pkey"));
+
+        // When
+        assertThrows(DuplicateKeyException.class, () -> ledger.post(earn));
+
+        // Then - the credit and the tier spending are rolled back with the ledger row and no event is written
+        assertEquals(100L, jdbcTemplate.queryForObject(
+            "SELECT available_points FROM point_balances WHERE user_id = ?", Long.class, userId));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+            "SELECT tier_spend_minor FROM point_balances WHERE user_id = ?", Long.class, userId));
+        verifyNoInteractions(eventPublisher);
+    }
+}
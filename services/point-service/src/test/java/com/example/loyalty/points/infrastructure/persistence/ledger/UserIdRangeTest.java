@@ -0,0 +1,27 @@
+package com.example.loyalty.points.infrastructure.persistence.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdRangeTest {
+
+    @Test
+    void testSplit_RangesCoverTheWholeIdSpaceInOrder() {
+        // When
+        List<UserIdRange> ranges = UserIdRange.split(4);
+
+        // Then - contiguous, starting at zero, the last one open
+        assertEquals(4, ranges.size());
+        assertEquals(new UUID(0, 0), ranges.get(0).lower());
+        assertEquals(UUID.fromString("40000000-0000-0000-0000-000000000000"), ranges.get(0).upper());
+        assertEquals(UUID.fromString("c0000000-0000-0000-0000-000000000000"), ranges.get(3).lower());
+        assertNull(ranges.get(3).upper());
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1).upper(), ranges.get(i).lower());
+        }
+    }
+}
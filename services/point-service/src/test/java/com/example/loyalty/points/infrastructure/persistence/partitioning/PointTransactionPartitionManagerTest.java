@@ -0,0 +1,80 @@
+package com.example.loyalty.points.infrastructure.persistence.partitioning;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointTransactionPartitionManagerTest {
+
+    @Test
+    void testPartitionName_RoundTripsThroughParseMonth() {
+        // Given
+        YearMonth month = YearMonth.of(2026, 1);
+
+        // When
+        String name = PointTransactionPartitionManager.partitionName(month);
+
+        // Then
+        assertEquals("points_transactions_p2026_01", name);
+        assertEquals(Optional.of(month), PointTransactionPartitionManager.parseMonth(name));
+        assertTrue(PointTransactionPartitionManager.parseMonth("points_transactions_default").isEmpty());
+    }
+
+    @Test
+    void testMonthsToCreate_ReturnsMissingMonthsAcrossYearEnd() {
+        // Given - current month exists, the default partition is not a month
+        List<String> existing = List.of("points_transactions_p2026_11", "points_transactions_default");
+
+        // When
+        List<YearMonth> missing = PointTransactionPartitionManager.monthsToCreate(YearMonth.of(2026, 11), 3, existing);
+
+        // Then
+        assertEquals(List.of(YearMonth.of(2026, 12), YearMonth.of(2027, 1), YearMonth.of(2027, 2)), missing);
+    }
+
+    @Test
+    void testCreatePartitionSql_CoversExactlyOneMonth() {
+        // When
+        String sql = PointTransactionPartitionManager.createPartitionSql(YearMonth.of(2026, 12));
+
+        // Then
+        assertEquals("CREATE TABLE IF NOT EXISTS points_transactions_p2026_12 PARTITION OF points_transactions "
+            + "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')", sql);
+    }
+
+    @Test
+    void testPartitionsToRetire_OnlyMonthsBeforeRetentionWindow() {
+        // Given - 12 months of retention from October 2026 keeps October 2025 onwards
+        List<String> existing = List.of(
+            "points_transactions_p2025_10",
+            "points_transactions_p2025_09",
+            "points_transactions_p2025_08",
+            "points_transactions_default");
+        Optional<YearMonth> retireBefore = PointTransactionPartitionManager.retireBefore(YearMonth.of(2026, 10), 12,
+            Optional.of(LocalDateTime.of(2026, 10, 1, 0, 0)));
+
+        // When
+        List<String> retired = PointTransactionPartitionManager.partitionsToRetire(retireBefore.orElseThrow(), existing);
+
+        // Then - oldest first, default partition never retired
+        assertEquals(Optional.of(YearMonth.of(2025, 10)), retireBefore);
+        assertEquals(List.of("points_transactions_p2025_08", "points_transactions_p2025_09"), retired);
+    }
+
+    @Test
+    void testRetireBefore_KeepsMonthsNotYetSnapshotted() {
+        // Given - the retention window alone would retire everything before October 2025
+        YearMonth current = YearMonth.of(2026, 10);
+
+        // When / Then - without a completed snapshot nothing is retired
+        assertEquals(Optional.empty(), PointTransactionPartitionManager.retireBefore(current, 12, Optional.empty()));
+        // The last boundary folded in months before June 2025 only
+        assertEquals(Optional.of(YearMonth.of(2025, 6)), PointTransactionPartitionManager.retireBefore(current, 12,
+            Optional.of(LocalDateTime.of(2025, 6, 1, 0, 0))));
+    }
+}
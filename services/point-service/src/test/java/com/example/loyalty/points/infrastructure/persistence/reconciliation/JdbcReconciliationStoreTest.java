@@ -0,0 +1,46 @@
+package com.example.loyalty.points.infrastructure.persistence.reconciliation;
+
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore.Comparison;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcReconciliationStoreTest {
+
+    @Test
+    void testMatches_BalanceMustEqualLedgerAndAddUp() {
+        UUID userId = UUID.randomUUID();
+
+        assertTrue(new Comparison(userId, 70L, 50L, 20L, 150L, 80L, 70, 150, 80).matches());
+        // Lost update: the ledger has an earn the balance never saw
+        assertFalse(new Comparison(userId, 60L, 40L, 20L, 140L, 80L, 70, 150, 80).matches());
+        // Held points that no longer add up to the total
+        assertFalse(new Comparison(userId, 70L, 60L, 20L, 150L, 80L, 70, 150, 80).matches());
+        // Ledger rows without a balance
+        assertFalse(new Comparison(userId, null, null, null, null, null, 10, 10, 0).matches());
+        assertTrue(new Comparison(userId, null, null, null, null, null, 0, 0, 0).matches());
+    }
+
+    @Test
+    void testCovers_RetiredPartitionNeedsBoundaryAtOldestAttachedMonth() {
+        // Given - months up to March 2024 were retired, April 2024 is the oldest still attached
+        List<String> attached = List.of(
+            "points_transactions_p2024_05",
+            "points_transactions_p2024_04",
+            "points_transactions_default");
+        LocalDateTime april = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+        // Then - the whole ledger, or sums from a snapshot before April, would miss the retired months
+        assertFalse(JdbcReconciliationStore.covers(Optional.empty(), attached));
+        assertFalse(JdbcReconciliationStore.covers(Optional.of(april.minusMonths(1)), attached));
+        assertTrue(JdbcReconciliationStore.covers(Optional.of(april), attached));
+        assertTrue(JdbcReconciliationStore.covers(Optional.of(april.plusMonths(1)), attached));
+        // A ledger that is not partitioned by month has nothing retired
+        assertTrue(JdbcReconciliationStore.covers(Optional.empty(), List.of()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.services.CompiledEarningRules;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcEarningRuleRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+        "jdbc:h2:mem:rules-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+    private final JdbcEarningRuleRepository repository = new JdbcEarningRuleRepository(jdbcTemplate, new ObjectMapper());
+
+    @BeforeEach
+    void createRules() {
+        jdbcTemplate.execute("CREATE TABLE earning_rules (id UUID PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+            + "rule_type VARCHAR(30) NOT NULL, points_per_unit DECIMAL(10,2) NOT NULL, unit_type VARCHAR(20) NOT NULL, "
+            + "multiplier DECIMAL(5,2) NOT NULL DEFAULT 1.0, min_amount DECIMAL(10,2), max_points BIGINT, "
+            + "tier_restrictions VARCHAR(1000), partner_id VARCHAR(50), start_date TIMESTAMP WITH TIME ZONE NOT NULL, "
+            + "end_date TIMESTAMP WITH TIME ZONE, is_active BOOLEAN NOT NULL DEFAULT true, "
+            + "created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+            + "updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        insert("Default Purchase Rule", "PURCHASE", 1, null, null, "now() - INTERVAL '1' DAY", true);
+        insert("Acme Purchase Rule", "PURCHASE", 3, "acme", "{\"allowedTiers\":[\"GOLD\"]}",
+            "now() - INTERVAL '1' DAY", true);
+        insert("Retired Rule", "REFERRAL", 500, null, null, "now() - INTERVAL '1' DAY", false);
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void testFindAll_MapsPartnerRulesIntoTheirOwnRuleSet() {
+        // When
+        List<EarningRule> rules = repository.findAll();
+        CompiledEarningRules compiled = CompiledEarningRules.compile(rules);
+
+        // Then - acme's gold members earn by acme's rule, everyone else by the common one
+        EarningRule acme = rules.stream().filter(rule -> "acme".equals(rule.getPartnerId())).findFirst().orElseThrow();
+        assertEquals(Set.of("GOLD"), acme.getAllowedTiers());
+        long now = System.currentTimeMillis();
+        assertEquals(30L, compiled.evaluate("acme", EarningType.PURCHASE, "GOLD", 1_000_000L, now));
+        assertEquals(10L, compiled.evaluate(EarningType.PURCHASE, "GOLD", 1_000_000L, now));
+        assertEquals(3, rules.size());
+    }
+
+    @Test
+    void testFindActiveRules_SkipsInactiveRules() {
+        // When
+        List<EarningRule> active = repository.findActiveRules();
+
+        // Then
+        assertEquals(2, active.size());
+        assertTrue(active.stream().noneMatch(rule -> rule.getRuleType() == EarningType.REFERRAL));
+        assertEquals(1, repository.findByRuleType(EarningType.PURCHASE).stream()
+            .filter(rule -> rule.getPartnerId() == null).count());
+    }
+
+    private void insert(String name, String ruleType, long pointsPerUnit, String partnerId, String tierRestrictions,
+                        String startDate, boolean active) {
+        String unitType = "PURCHASE".equals(ruleType) ? "DOLLAR" : "ACTION";
+        jdbcTemplate.update("INSERT INTO earning_rules (id, name, rule_type, points_per_unit, unit_type, "
+            + "tier_restrictions, partner_id, start_date, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, " + startDate + ", ?)",
+            UUID.randomUUID(), name, ruleType, pointsPerUnit, unitType, tierRestrictions, partnerId, active);
+    }
+}
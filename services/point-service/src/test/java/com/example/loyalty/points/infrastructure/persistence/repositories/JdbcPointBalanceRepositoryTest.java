@@ -0,0 +1,82 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JdbcPointBalanceRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JdbcPointBalanceRepository repository = new JdbcPointBalanceRepository(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLockByUserIdOrCreate_InsertsMissingBalance() {
+        // Given - no row yet
+        UUID userId = UUID.randomUUID();
+        PointBalance inserted = new PointBalance(userId);
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(RowMapper.class), eq(userId))).thenReturn(List.of());
+        when(jdbcTemplate.query(contains("DO NOTHING"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenReturn(List.of(inserted));
+
+        // When
+        PointBalance balance = repository.lockByUserIdOrCreate(userId);
+
+        // Then
+        assertSame(inserted, balance);
+        verify(jdbcTemplate, times(1)).query(contains("FOR UPDATE"), any(RowMapper.class), eq(userId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLockByUserIdOrCreate_ReadsRowInsertedConcurrently() {
+        // Given - another request inserts the row between the lookup and the insert
+        UUID userId = UUID.randomUUID();
+        PointBalance existing = new PointBalance(userId);
+        existing.addPoints(Points.of(40));
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(RowMapper.class), eq(userId)))
+            .thenReturn(List.of())
+            .thenReturn(List.of(existing));
+        when(jdbcTemplate.query(contains("DO NOTHING"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenReturn(List.of());
+
+        // When
+        PointBalance balance = repository.lockByUserIdOrCreate(userId);
+
+        // Then - the winner's row, locked by the second read
+        assertEquals(40L, balance.getAvailablePoints().longValue());
+        verify(jdbcTemplate, times(2)).query(contains("FOR UPDATE"), any(RowMapper.class), eq(userId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApplyDelta_DebitNeverOpensABalance() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(jdbcTemplate.query(eq(JdbcPointBalanceRepository.APPLY_DEBIT), any(RowMapper.class),
+            any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        Optional<PointBalance> balance = repository.applyDelta(userId, new BalanceDelta(-50, -50, 0, 0, 50));
+
+        // Then - guarded update only, with the available delta repeated in the guard
+        assertTrue(balance.isEmpty());
+        verify(jdbcTemplate).query(eq(JdbcPointBalanceRepository.APPLY_DEBIT), any(RowMapper.class),
+            eq(-50L), eq(-50L), eq(0L), eq(0L), eq(50L), eq(userId), eq(-50L), eq(0L));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
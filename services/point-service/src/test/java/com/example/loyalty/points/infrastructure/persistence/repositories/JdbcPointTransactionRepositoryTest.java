@@ -0,0 +1,75 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JdbcPointTransactionRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JdbcPointTransactionRepository repository = new JdbcPointTransactionRepository(
+        jdbcTemplate, mock(DataSource.class), mock(PlatformTransactionManager.class), 1000);
+
+    @Test
+    void testSaveAll_SendsOneBatch() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<PointTransaction> transactions = List.of(
+            new PointTransaction(userId, TransactionType.EARN, Points.of(10), "PURCHASE", UUID.randomUUID(), "First"),
+            new PointTransaction(userId, TransactionType.EARN, Points.of(20), "PURCHASE", UUID.randomUUID(), "Second"));
+
+        // When
+        List<PointTransaction> saved = repository.saveAll(transactions);
+
+        // Then
+        assertSame(transactions, saved);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (id, created_at)"), eq(transactions), eq(2), any());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testMapTransaction_KeepsStoredCreationTimeAndStatus() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 15, 9, 30);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1, UUID.class)).thenReturn(id);
+        when(rs.getObject(2, UUID.class)).thenReturn(userId);
+        when(rs.getString(3)).thenReturn("SPEND");
+        when(rs.getLong(4)).thenReturn(25L);
+        when(rs.getLong(5)).thenReturn(75L);
+        when(rs.getString(6)).thenReturn("REDEMPTION");
+        when(rs.getTimestamp(11)).thenReturn(Timestamp.valueOf(createdAt));
+        when(rs.getTimestamp(12)).thenReturn(Timestamp.valueOf(createdAt.plusSeconds(1)));
+        when(rs.getString(13)).thenReturn("PROCESSED");
+
+        // When
+        PointTransaction transaction = JdbcPointTransactionRepository.mapTransaction(rs);
+
+        // Then
+        assertEquals(id, transaction.getId());
+        assertEquals(TransactionType.SPEND, transaction.getTransactionType());
+        assertEquals(25L, transaction.getPointsAmount().longValue());
+        assertEquals(75L, transaction.getBalanceAfter().longValue());
+        assertEquals(createdAt, transaction.getCreatedAt());
+        assertTrue(transaction.isProcessed());
+        assertNull(transaction.getExpiryDate());
+    }
+}
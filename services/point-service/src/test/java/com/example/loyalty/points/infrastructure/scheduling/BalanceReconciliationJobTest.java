@@ -0,0 +1,100 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.infrastructure.persistence.ledger.UserIdRange;
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore;
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore.Comparison;
+import com.example.loyalty.points.infrastructure.persistence.reconciliation.JdbcReconciliationStore.Discrepancy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BalanceReconciliationJobTest {
+
+    private final JdbcReconciliationStore store = mock(JdbcReconciliationStore.class);
+    private final BalanceCache balanceCache = mock(BalanceCache.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcile_RecordsOnlyMismatchedBalances() throws InterruptedException {
+        // Given - one range holding a matching and a drifted balance
+        BalanceReconciliationJob job = job(false);
+        UUID runId = UUID.randomUUID();
+        Comparison matching = new Comparison(UUID.randomUUID(), 10L, 10L, 0L, 10L, 0L, 10, 10, 0);
+        Comparison drifted = new Comparison(UUID.randomUUID(), 20L, 20L, 0L, 20L, 0L, 30, 30, 0);
+        when(store.scan(any(), any())).thenAnswer(invocation -> {
+            Consumer<Comparison> consumer = invocation.getArgument(1);
+            consumer.accept(matching);
+            consumer.accept(drifted);
+            return 2;
+        });
+
+        // When
+        int found = job.reconcile(runId, new ConcurrentLinkedQueue<>(List.of(new UserIdRange(new UUID(0, 0), null))), false);
+
+        // Then - reported, left alone
+        assertEquals(1, found);
+        verify(store).record(runId, List.of(new Discrepancy(drifted, false)));
+        verify(store, never()).correct(any());
+        job.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSettle_CorrectsAndEvictsWhenEnabled() {
+        // Given
+        BalanceReconciliationJob job = job(true);
+        UUID runId = UUID.randomUUID();
+        Comparison drifted = new Comparison(UUID.randomUUID(), 20L, 20L, 0L, 20L, 0L, 30, 30, 0);
+        Comparison stillDrifted = new Comparison(drifted.userId(), 25L, 25L, 0L, 25L, 0L, 35, 35, 0);
+        when(store.correct(drifted.userId())).thenReturn(stillDrifted);
+
+        // When
+        job.settle(runId, List.of(drifted), true);
+
+        // Then - the comparison seen under the lock is what gets recorded
+        ArgumentCaptor<List<Discrepancy>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(store).record(eq(runId), recorded.capture());
+        assertEquals(List.of(new Discrepancy(stillDrifted, true)), recorded.getValue());
+        verify(balanceCache).evict(drifted.userId());
+        job.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRun_OnlyRecordsWhenLedgerIsNotCovered() {
+        // Given - auto-correct is on but old partitions were retired without a covering snapshot
+        BalanceReconciliationJob job = job(true);
+        Comparison drifted = new Comparison(UUID.randomUUID(), 500L, 500L, 0L, 500L, 0L, 200, 200, 0);
+        when(store.ledgerCovered()).thenReturn(false);
+        when(store.scan(any(), any())).thenAnswer(invocation -> {
+            Consumer<Comparison> consumer = invocation.getArgument(1);
+            consumer.accept(drifted);
+            return 1;
+        }).thenReturn(0);
+
+        // When
+        job.run();
+
+        // Then - the short ledger never overwrites the balance
+        verify(store, never()).correct(any());
+        verify(store).record(any(), eq(List.of(new Discrepancy(drifted, false))));
+        job.destroy();
+    }
+
+    private BalanceReconciliationJob job(boolean autoCorrect) {
+        return new BalanceReconciliationJob(store, balanceCache, new LoyaltyMetrics(new SimpleMeterRegistry()),
+            1, 4, 1_000_000, autoCorrect);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.infrastructure.persistence.snapshot.JdbcBalanceSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BalanceSnapshotJobTest {
+
+    private final JdbcBalanceSnapshotStore store = mock(JdbcBalanceSnapshotStore.class);
+    private final BalanceSnapshotJob job = new BalanceSnapshotJob(store, new LoyaltyMetrics(new SimpleMeterRegistry()), 4, 60);
+
+    @Test
+    void testRun_FirstRunSumsWholeLedgerUpToCurrentBoundary() {
+        // Given
+        when(store.lastBoundary()).thenReturn(Optional.empty());
+
+        // When
+        int completed = job.run(LocalDateTime.of(2026, 10, 1, 2, 0));
+
+        // Then
+        LocalDateTime boundary = LocalDateTime.of(2026, 10, 1, 0, 0);
+        assertEquals(1, completed);
+        verify(store, times(4)).write(any(), eq(BalanceSnapshotJob.LEDGER_START), eq(boundary));
+        verify(store).complete(boundary);
+    }
+
+    @Test
+    void testRun_CatchesUpMissedMonthsInOrder() {
+        // Given - August was the last completed boundary
+        LocalDateTime august = LocalDateTime.of(2026, 8, 1, 0, 0);
+        LocalDateTime september = august.plusMonths(1);
+        LocalDateTime october = september.plusMonths(1);
+        when(store.lastBoundary()).thenReturn(Optional.of(august));
+
+        // When
+        int completed = job.run(LocalDateTime.of(2026, 10, 1, 2, 0));
+
+        // Then - each month builds on the one before
+        assertEquals(2, completed);
+        InOrder order = inOrder(store);
+        order.verify(store, times(4)).write(any(), eq(august), eq(september));
+        order.verify(store).complete(september);
+        order.verify(store, times(4)).write(any(), eq(september), eq(october));
+        order.verify(store).complete(october);
+    }
+
+    @Test
+    void testRun_BoundaryIsNotWrittenBeforeItSettled() {
+        // Given - thirty minutes after midnight on the first, settle time is an hour
+        when(store.lastBoundary()).thenReturn(Optional.of(LocalDateTime.of(2026, 9, 1, 0, 0)));
+
+        // When
+        int completed = job.run(LocalDateTime.of(2026, 10, 1, 0, 30));
+
+        // Then
+        assertEquals(0, completed);
+        verify(store, never()).write(any(), any(), any());
+    }
+
+    @Test
+    void testRun_FailedRangeLeavesBoundaryIncomplete() {
+        // Given
+        LocalDateTime september = LocalDateTime.of(2026, 9, 1, 0, 0);
+        when(store.lastBoundary()).thenReturn(Optional.of(september));
+        when(store.write(any(), any(), any())).thenReturn(10).thenThrow(new IllegalStateException("connection lost"));
+
+        // When
+        int completed = job.run(LocalDateTime.of(2026, 10, 1, 2, 0));
+
+        // Then
+        assertEquals(0, completed);
+        verify(store, never()).complete(any());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.loyalty.points.infrastructure.scheduling;
+
+import com.example.loyalty.common.monitoring.LoyaltyMetrics;
+import com.example.loyalty.points.application.cache.BalanceCache;
+import com.example.loyalty.points.application.ledger.PointLedger;
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.infrastructure.persistence.expiry.JdbcExpiryLotStore;
+import com.example.loyalty.points.infrastructure.persistence.ledger.JdbcLedgerBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PointExpirySweeperTest {
+
+    private final JdbcExpiryLotStore lotStore = mock(JdbcExpiryLotStore.class);
+    private final JdbcLedgerBatchWriter batchWriter = mock(JdbcLedgerBatchWriter.class);
+    private final BalanceCache balanceCache = mock(BalanceCache.class);
+    private final PointExpirySweeper sweeper = new PointExpirySweeper(lotStore, batchWriter, balanceCache,
+        new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        new LoyaltyMetrics(new SimpleMeterRegistry()), 2, 3, 100, 400);
+
+    @AfterEach
+    void tearDown() {
+        sweeper.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSweepChunk_PostsOneCappedExpiryPerUser() {
+        // Given - two lots of one user, one lot of a user who already spent most of it
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        when(lotStore.expireDue(now, 3)).thenReturn(List.of(
+            new JdbcExpiryLotStore.ExpiredLot(first, 100),
+            new JdbcExpiryLotStore.ExpiredLot(second, 80),
+            new JdbcExpiryLotStore.ExpiredLot(first, 50)));
+        when(lotStore.lockAvailablePoints(any())).thenReturn(Map.of(first, 500L, second, 30L));
+        when(batchWriter.write(anyList())).thenAnswer(invocation -> {
+            List<PointTransaction> transactions = invocation.getArgument(0);
+            List<PointLedger.Result> results = new ArrayList<>();
+            for (PointTransaction tx : transactions) {
+                results.add(PointLedger.Result.posted(new PointLedger.Entry(tx, new PointBalance(tx.getUserId()))));
+            }
+            return results;
+        });
+
+        // When
+        int closed = sweeper.sweepChunk(now);
+
+        // Then
+        assertEquals(3, closed);
+        ArgumentCaptor<List<PointTransaction>> posted = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter).write(posted.capture());
+        assertEquals(2, posted.getValue().size());
+        PointTransaction firstExpiry = posted.getValue().get(0);
+        assertEquals(first, firstExpiry.getUserId());
+        assertEquals(TransactionType.EXPIRE, firstExpiry.getTransactionType());
+        assertEquals(150L, firstExpiry.getPointsAmount().longValue());
+        assertEquals(30L, posted.getValue().get(1).getPointsAmount().longValue());
+        verify(balanceCache, times(2)).put(any());
+    }
+
+    @Test
+    void testSweep_StopsWhenChunkIsNotFull() {
+        // Given - a full chunk, then a partial one
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        JdbcExpiryLotStore.ExpiredLot lot = new JdbcExpiryLotStore.ExpiredLot(userId, 10);
+        when(lotStore.expireDue(now, 3))
+            .thenReturn(List.of(lot, lot, lot))
+            .thenReturn(List.of(lot))
+            .thenReturn(List.of());
+        when(lotStore.lockAvailablePoints(any())).thenReturn(Map.of());
+        when(batchWriter.write(anyList())).thenReturn(List.of());
+
+        // When
+        int closed = sweeper.sweep(now);
+
+        // Then - nothing available, so nothing posted, but all lots are closed
+        assertEquals(4, closed);
+        verify(lotStore, times(2)).expireDue(now, 3);
+    }
+}
@@ -1,8 +1,25 @@
 package com.example.loyalty.points.interfaces;
 
+import com.example.loyalty.points.application.dto.EarnPointsBatchDTO;
 import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import com.example.loyalty.points.application.dto.RedeemPointsDTO;
+import com.example.loyalty.points.application.dto.ReferralRequest;
+import com.example.loyalty.points.application.dto.TransactionHistoryDTO;
+import com.example.loyalty.points.application.execution.AdmissionRejectedException;
+import com.example.loyalty.points.application.fraud.FraudBlockedException;
+import com.example.loyalty.points.application.history.HistoryQuery;
+import com.example.loyalty.points.application.partner.PartnerThrottledException;
+import com.example.loyalty.points.application.redemption.BalanceBusyException;
+import com.example.loyalty.points.application.redemption.HoldNotFoundException;
+import com.example.loyalty.points.application.redemption.InsufficientPointsException;
+import com.example.loyalty.points.application.usecases.EarnPointsBatchUseCase;
 import com.example.loyalty.points.application.usecases.EarnPointsUseCase;
 import com.example.loyalty.points.application.usecases.GetBalanceUseCase;
+import com.example.loyalty.points.application.usecases.GetTierUseCase;
+import com.example.loyalty.points.application.usecases.GetTransactionHistoryUseCase;
+import com.example.loyalty.points.application.usecases.RedeemPointsUseCase;
+import com.example.loyalty.points.domain.enums.TransactionType;
 import com.example.loyalty.points.config.TestSecurityConfig;
 import com.example.loyalty.points.domain.repositories.EarningRuleRepository;
 import com.example.loyalty.common.exceptions.GlobalExceptionHandler;
@@ -14,12 +31,25 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,12 +67,85 @@ class PointControllerTest {
     @MockBean
     private EarnPointsUseCase earnPointsUseCase;
 
+    @MockBean
+    private EarnPointsBatchUseCase earnPointsBatchUseCase;
+
     @MockBean
     private GetBalanceUseCase getBalanceUseCase;
 
+    @MockBean
+    private GetTierUseCase getTierUseCase;
+
+    @MockBean
+    private GetTransactionHistoryUseCase getTransactionHistoryUseCase;
+
+    @MockBean
+    private RedeemPointsUseCase redeemPointsUseCase;
+
     @MockBean
     private EarningRuleRepository earningRuleRepository;
 
+    @Test
+    void testReservePoints_InsufficientPoints() throws Exception {
+        // Given
+        RedeemPointsDTO.Request request = new RedeemPointsDTO.Request(UUID.randomUUID(), 500L, UUID.randomUUID());
+        when(redeemPointsUseCase.reserve(any(RedeemPointsDTO.Request.class)))
+            .thenThrow(new InsufficientPointsException());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/points/redemptions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error.code").value("INSUFFICIENT_POINTS"));
+    }
+
+    @Test
+    void testConfirmRedemption_Success() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(redeemPointsUseCase.confirm(holdId, userId)).thenReturn(new RedeemPointsDTO.Response(
+            UUID.randomUUID().toString(), holdId, userId, 500L, 1000L, "Points redeemed successfully"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/points/redemptions/{holdId}/confirm", holdId)
+                .param("userId", userId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pointsRedeemed").value(500))
+                .andExpect(jsonPath("$.data.newBalance").value(1000));
+    }
+
+    @Test
+    void testConfirmRedemption_HoldNotFound() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(redeemPointsUseCase.confirm(holdId, userId)).thenThrow(new HoldNotFoundException(holdId));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/points/redemptions/{holdId}/confirm", holdId)
+                .param("userId", userId.toString()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.code").value("HOLD_NOT_FOUND"));
+    }
+
+    @Test
+    void testReleaseRedemption_BalanceBusy() throws Exception {
+        // Given
+        UUID holdId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(redeemPointsUseCase.release(holdId, userId))
+            .thenThrow(new BalanceBusyException("Balance stayed locked", null));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/points/redemptions/{holdId}/release", holdId)
+                .param("userId", userId.toString()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error.code").value("BALANCE_BUSY"));
+    }
+
     @Test
     void testEarnPoints_Success() throws Exception {
         // Given
@@ -61,13 +164,18 @@ class PointControllerTest {
             "Points earned successfully"
         );
 
-        when(earnPointsUseCase.execute(any(EarnPointsDTO.Request.class)))
-            .thenReturn(mockResponse);
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
 
-        // When & Then
-        mockMvc.perform(post("/api/v1/points/earn")
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/earn")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.pointsEarned").value(5))
@@ -75,6 +183,76 @@ class PointControllerTest {
                 .andExpect(jsonPath("$.message").value("Points earned successfully"));
     }
 
+    @Test
+    void testEarnPoints_Overloaded() throws Exception {
+        // Given
+        EarnPointsDTO.Request request = new EarnPointsDTO.Request(
+            UUID.randomUUID(), BigDecimal.valueOf(5000), "PURCHASE");
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.failedFuture(
+                new AdmissionRejectedException("Too many requests waiting for the database")));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/earn")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error.code").value("OVERLOADED"));
+    }
+
+    @Test
+    void testEarnPoints_PartnerThrottled() throws Exception {
+        // Given
+        EarnPointsDTO.Request request = new EarnPointsDTO.Request(
+            UUID.randomUUID(), BigDecimal.valueOf(5000), "PURCHASE");
+        request.setPartnerId("acme");
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.failedFuture(new PartnerThrottledException(
+                "acme", "Partner acme is over its earn rate budget", Duration.ofMillis(2500))));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/earn")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.error.code").value("PARTNER_THROTTLED"));
+    }
+
+    @Test
+    void testEarnPoints_FraudBlocked() throws Exception {
+        // Given
+        EarnPointsDTO.Request request = new EarnPointsDTO.Request(
+            UUID.randomUUID(), BigDecimal.valueOf(5000), "PURCHASE");
+        request.setDeviceFingerprint("laptop-1");
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.failedFuture(
+                new FraudBlockedException(List.of("Large point amount", "New device"))));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/earn")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error.code").value("FRAUD_BLOCKED"));
+    }
+
     @Test
     void testEarnPoints_InvalidRequest() throws Exception {
         // Given - invalid request (negative amount)
@@ -85,8 +263,9 @@ class PointControllerTest {
             "PURCHASE"
         );
 
-        when(earnPointsUseCase.execute(any(EarnPointsDTO.Request.class)))
-            .thenThrow(new IllegalArgumentException("Transaction amount must be positive"));
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.failedFuture(
+                new IllegalArgumentException("Transaction amount must be positive")));
 
         // When & Then
         mockMvc.perform(post("/api/v1/points/earn")
@@ -108,6 +287,20 @@ class PointControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testGetBalanceAt_Success() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2026, 1, 31, 23, 59, 59);
+        when(getBalanceUseCase.executeAt(userId, at))
+            .thenReturn(new PointBalanceDTO.AtTime(userId, at, 1200, 1500, 300));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/points/balance/{userId}/as-of", userId).param("at", "2026-01-31T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalPoints").value(1200));
+    }
+
     @Test
     void testGetEarningRules_Success() throws Exception {
         // Given
@@ -135,15 +328,183 @@ class PointControllerTest {
             "Referral points awarded successfully"
         );
 
-        when(earnPointsUseCase.execute(any(EarnPointsDTO.Request.class)))
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/referral")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.pointsEarned").value(500));
+    }
+
+    @Test
+    void testAwardReferralPoints_FraudBlocked() throws Exception {
+        // Given
+        ReferralRequest request = new ReferralRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setReferrerId(UUID.randomUUID());
+        request.setPoints(BigDecimal.valueOf(500));
+        when(earnPointsUseCase.submit(any(EarnPointsDTO.Request.class)))
+            .thenReturn(CompletableFuture.failedFuture(
+                new FraudBlockedException(List.of("High transaction velocity", "New device"))));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/referral")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value("FRAUD_BLOCKED"));
+    }
+
+    @Test
+    void testEarnPointsBatch_Success() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        EarnPointsDTO.Request item = new EarnPointsDTO.Request(userId, BigDecimal.valueOf(5000), "PURCHASE");
+        item.setReferenceId(UUID.randomUUID());
+        EarnPointsBatchDTO.Request request = new EarnPointsBatchDTO.Request(List.of(item, item));
+
+        EarnPointsDTO.Response earned = new EarnPointsDTO.Response(
+            UUID.randomUUID().toString(), userId, 5L, 1505L, "Points earned successfully");
+        EarnPointsBatchDTO.Response mockResponse = new EarnPointsBatchDTO.Response(List.of(
+            EarnPointsBatchDTO.ItemResult.posted(0, item, earned),
+            EarnPointsBatchDTO.ItemResult.rejected(1, item, "Insufficient points")
+        ));
+
+        when(earnPointsBatchUseCase.execute(any(EarnPointsBatchDTO.Request.class)))
             .thenReturn(mockResponse);
 
         // When & Then
-        mockMvc.perform(post("/api/v1/points/referral")
+        mockMvc.perform(post("/api/v1/points/earn/batch")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.data.pointsEarned").value(500));
+                .andExpect(jsonPath("$.data.posted").value(1))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.results[0].referenceId").value(item.getReferenceId().toString()))
+                .andExpect(jsonPath("$.data.results[1].status").value("REJECTED"));
+    }
+
+    @Test
+    void testEarnPointsStream_WritesOneResultPerLine() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        EarnPointsDTO.Request item = new EarnPointsDTO.Request(userId, BigDecimal.valueOf(5000), "PURCHASE");
+        EarnPointsDTO.Response earned = new EarnPointsDTO.Response(
+            UUID.randomUUID().toString(), userId, 5L, 1505L, "Points earned successfully");
+
+        when(earnPointsBatchUseCase.getChunkSize()).thenReturn(1000);
+        when(earnPointsBatchUseCase.executeChunk(anyList(), anyInt()))
+            .thenAnswer(invocation -> {
+                List<EarnPointsDTO.Request> chunk = invocation.getArgument(0);
+                int first = invocation.getArgument(1);
+                List<EarnPointsBatchDTO.ItemResult> results = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(EarnPointsBatchDTO.ItemResult.posted(first + i, chunk.get(i), earned));
+                }
+                return results;
+            });
+
+        String body = objectMapper.writeValueAsString(item) + "\n"
+            + "{not json\n"
+            + objectMapper.writeValueAsString(item) + "\n";
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/points/earn/batch")
+                .contentType("application/x-ndjson")
+                .accept("application/x-ndjson")
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String[] lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().trim().split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("POSTED", objectMapper.readTree(lines[0]).get("status").asText());
+        assertEquals("REJECTED", objectMapper.readTree(lines[1]).get("status").asText());
+        assertEquals(2, objectMapper.readTree(lines[2]).get("index").asInt());
+    }
+
+    @Test
+    void testGetTransactions_ReturnsPageWithCursor() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        TransactionHistoryDTO.Item item = historyItem("Purchase");
+        when(getTransactionHistoryUseCase.execute(
+                argThat((HistoryQuery q) -> userId.equals(q.getUserId())
+                    && q.getTypes().equals(Set.of(TransactionType.EARN))),
+                eq(20)))
+            .thenReturn(new TransactionHistoryDTO.Page(List.of(item), "next-token"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/points/transactions")
+                .param("userId", userId.toString())
+                .param("type", "earn")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].transactionId").value(item.getTransactionId().toString()))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+    }
+
+    @Test
+    void testGetTransactions_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/points/transactions")
+                .param("userId", UUID.randomUUID().toString())
+                .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("INVALID_REQUEST"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportTransactions_StreamsCsv() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        TransactionHistoryDTO.Item item = historyItem("Store \"A\", Jakarta");
+        doAnswer(invocation -> {
+            ((Consumer<TransactionHistoryDTO.Item>) invocation.getArgument(1)).accept(item);
+            return null;
+        }).when(getTransactionHistoryUseCase).export(any(HistoryQuery.class), any());
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/points/transactions/export")
+                .param("userId", userId.toString())
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String[] lines = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn().getResponse().getContentAsString().trim().split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(item.getTransactionId() + "," + item.getCreatedAt()
+            + ",EARN,10,110,PURCHASE,,PROCESSED,\"Store \"\"A\"\", Jakarta\"", lines[1]);
+    }
+
+    private static TransactionHistoryDTO.Item historyItem(String description) {
+        return new TransactionHistoryDTO.Item(UUID.randomUUID(), "EARN", 10, 110, "PURCHASE", null,
+                                              description, "PROCESSED", LocalDateTime.of(2024, 12, 1, 10, 30));
     }
-}
\ No newline at end of file
+}
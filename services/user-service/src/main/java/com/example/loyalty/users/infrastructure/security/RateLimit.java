@@ -1,5 +1,6 @@
 package com.example.loyalty.users.infrastructure.security;
 
+import com.example.loyalty.common.security.RateLimitAlgorithm;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -23,7 +24,15 @@ public @interface RateLimit {
   int window() default 60;
   
   /**
-   * Key for rate limiting (default uses IP address)
+   * SpEL expression for the key to limit by, counted separately per annotated method.
+   * {@code #ip}, {@code #userId} and {@code #endpoint} hold the client address, the
+   * authenticated user id (null if anonymous) and the request method and path pattern; method
+   * arguments are available by name. Requests whose key evaluates to null are limited by IP.
    */
-  String key() default "ip";
-}
\ No newline at end of file
+  String key() default "#ip";
+  
+  /**
+   * How requests are counted against the limit
+   */
+  RateLimitAlgorithm algorithm() default RateLimitAlgorithm.SLIDING_WINDOW;
+}
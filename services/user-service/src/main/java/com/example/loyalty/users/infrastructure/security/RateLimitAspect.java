@@ -1,89 +1,132 @@
 package com.example.loyalty.users.infrastructure.security;
 
-import com.example.loyalty.common.exceptions.ValidationException;
+import com.example.loyalty.common.exceptions.RateLimitExceededException;
+import com.example.loyalty.common.security.RateLimitDecision;
+import com.example.loyalty.common.security.RateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-
-import java.time.Duration;
+import org.springframework.web.servlet.HandlerMapping;
 
 /**
- * Rate limiting aspect using Redis for distributed rate limiting
+ * Rate limiting aspect using the shared {@link RateLimiter} for distributed rate limiting.
+ *
+ * Each check is a single atomic script call in Redis. Responses carry the
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} and
+ * {@code RateLimit-Policy} headers; requests over the limit get a 429 with {@code Retry-After}.
  */
 @Aspect
 @Component
-@ConditionalOnClass(RedisTemplate.class)
-@ConditionalOnBean(RedisTemplate.class)
 public class RateLimitAspect {
   
   private static final Logger logger = LoggerFactory.getLogger(RateLimitAspect.class);
   
-  private final RedisTemplate<String, String> redisTemplate;
+  private final RateLimiter rateLimiter;
+  private final ExpressionParser parser = new SpelExpressionParser();
+  private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+  private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
   
-  public RateLimitAspect(RedisTemplate<String, String> redisTemplate) {
-    this.redisTemplate = redisTemplate;
+  public RateLimitAspect(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
   }
   
   @Around("@annotation(rateLimit)")
   public Object around(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
-    HttpServletRequest request = getCurrentRequest();
-    if (request == null) {
+    ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
       return joinPoint.proceed();
     }
     
-    String key = generateKey(request, rateLimit);
-    String rateLimitKey = "rate_limit:" + key;
-    
+    String key = generateKey(joinPoint, rateLimit, attributes.getRequest());
+    RateLimitDecision decision;
     try {
-      // Get current count
-      String currentCountStr = redisTemplate.opsForValue().get(rateLimitKey);
-      int currentCount = currentCountStr != null ? Integer.parseInt(currentCountStr) : 0;
-      
-      if (currentCount >= rateLimit.limit()) {
-        logger.warn("Rate limit exceeded for key: {} (count: {}, limit: {})", key, currentCount, rateLimit.limit());
-        throw new ValidationException("Rate limit exceeded. Please try again later.");
-      }
-      
-      // Increment counter
-      if (currentCount == 0) {
-        // Set with expiration
-        redisTemplate.opsForValue().set(rateLimitKey, "1", Duration.ofSeconds(rateLimit.window()));
-      } else {
-        // Increment existing
-        redisTemplate.opsForValue().increment(rateLimitKey);
-      }
-      
-      return joinPoint.proceed();
-      
+      decision = rateLimiter.tryAcquire(key, rateLimit.algorithm(), rateLimit.limit(),
+          Duration.ofSeconds(rateLimit.window()));
     } catch (Exception e) {
-      if (e instanceof ValidationException) {
-        throw e;
-      }
       // If Redis is not available, allow the request to proceed
       logger.warn("Rate limiting failed, allowing request: {}", e.getMessage());
       return joinPoint.proceed();
     }
+    
+    writeHeaders(attributes.getResponse(), rateLimit, decision);
+    if (!decision.isAllowed()) {
+      logger.warn("Rate limit exceeded for key: {} (limit: {})", key, rateLimit.limit());
+      throw new RateLimitExceededException("Rate limit exceeded. Please try again later.",
+          toSeconds(decision.retryAfterMillis()));
+    }
+    return joinPoint.proceed();
   }
   
-  private HttpServletRequest getCurrentRequest() {
-    ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-    return attributes != null ? attributes.getRequest() : null;
+  /**
+   * The annotated method followed by the value of the key expression
+   */
+  String generateKey(ProceedingJoinPoint joinPoint, RateLimit rateLimit, HttpServletRequest request) {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    Method method = signature.getMethod();
+    String ip = clientIp(request);
+    
+    MethodBasedEvaluationContext context =
+        new MethodBasedEvaluationContext(joinPoint.getTarget(), method, joinPoint.getArgs(), parameterNames);
+    context.setVariable("ip", ip);
+    context.setVariable("userId", currentUserId());
+    context.setVariable("endpoint", endpoint(request));
+    
+    Object value = expressions.computeIfAbsent(rateLimit.key(), parser::parseExpression).getValue(context);
+    return method.getDeclaringClass().getSimpleName() + "." + method.getName() + ":"
+        + (value != null ? value : ip);
+  }
+  
+  private static void writeHeaders(HttpServletResponse response, RateLimit rateLimit, RateLimitDecision decision) {
+    if (response == null) {
+      return;
+    }
+    response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+    response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+    response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetMillis())));
+    response.setHeader("RateLimit-Policy", decision.limit() + ";w=" + rateLimit.window());
+  }
+  
+  private static long toSeconds(long millis) {
+    return (millis + 999) / 1000;
+  }
+  
+  private static String clientIp(HttpServletRequest request) {
+    String xForwardedFor = request.getHeader("X-Forwarded-For");
+    return xForwardedFor != null ? xForwardedFor.split(",")[0].trim() : request.getRemoteAddr();
   }
   
-  private String generateKey(HttpServletRequest request, RateLimit rateLimit) {
-    if ("ip".equals(rateLimit.key())) {
-      String xForwardedFor = request.getHeader("X-Forwarded-For");
-      return xForwardedFor != null ? xForwardedFor.split(",")[0].trim() : request.getRemoteAddr();
+  private static String currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
     }
-    return rateLimit.key();
+    return authentication.getName();
+  }
+  
+  private static String endpoint(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
   }
-}
\ No newline at end of file
+}
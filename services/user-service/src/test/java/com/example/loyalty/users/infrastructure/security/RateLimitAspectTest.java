@@ -0,0 +1,135 @@
+package com.example.loyalty.users.infrastructure.security;
+
+import com.example.loyalty.common.exceptions.RateLimitExceededException;
+import com.example.loyalty.common.security.RateLimitAlgorithm;
+import com.example.loyalty.common.security.RateLimitDecision;
+import com.example.loyalty.common.security.RateLimiter;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the rate limit aspect
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitAspectTest {
+
+  @Mock
+  private RateLimiter rateLimiter;
+
+  @Mock
+  private ProceedingJoinPoint joinPoint;
+
+  @Mock
+  private MethodSignature signature;
+
+  private RateLimitAspect aspect;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() throws Throwable {
+    aspect = new RateLimitAspect(rateLimiter);
+    request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+    request.setRemoteAddr("10.0.0.1");
+    response = new MockHttpServletResponse();
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+    Method login = Endpoints.class.getMethod("login", String.class);
+    lenient().when(joinPoint.getSignature()).thenReturn(signature);
+    lenient().when(signature.getMethod()).thenReturn(login);
+    lenient().when(joinPoint.getTarget()).thenReturn(new Endpoints());
+    lenient().when(joinPoint.getArgs()).thenReturn(new Object[] {"user@example.com"});
+    lenient().when(joinPoint.proceed()).thenReturn("ok");
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("Should limit by the key expression and write rate limit headers")
+  void should_limit_by_key_expression_and_write_headers() throws Throwable {
+    // Given
+    RateLimit rateLimit = rateLimit();
+    given(rateLimiter.tryAcquire(anyString(), any(), any(Integer.class), any()))
+        .willReturn(new RateLimitDecision(5, 1, 3, 240500, 0));
+
+    // When
+    Object result = aspect.around(joinPoint, rateLimit);
+
+    // Then
+    assertThat(result).isEqualTo("ok");
+    verify(rateLimiter).tryAcquire(eq("Endpoints.login:10.0.0.1:user@example.com"),
+        eq(RateLimitAlgorithm.GCRA), eq(5), eq(Duration.ofSeconds(300)));
+    assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("5");
+    assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("3");
+    assertThat(response.getHeader("RateLimit-Reset")).isEqualTo("241");
+    assertThat(response.getHeader("RateLimit-Policy")).isEqualTo("5;w=300");
+  }
+
+  @Test
+  @DisplayName("Should reject requests over the limit with the time to retry")
+  void should_reject_requests_over_limit() throws Throwable {
+    // Given
+    given(rateLimiter.tryAcquire(anyString(), any(), any(Integer.class), any()))
+        .willReturn(new RateLimitDecision(5, 0, 0, 300000, 60000));
+
+    // When / Then
+    assertThatThrownBy(() -> aspect.around(joinPoint, rateLimit()))
+        .isInstanceOf(RateLimitExceededException.class)
+        .extracting("retryAfterSeconds").isEqualTo(60L);
+    verify(joinPoint, never()).proceed();
+    assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("0");
+  }
+
+  @Test
+  @DisplayName("Should allow requests when the limiter is unavailable")
+  void should_fail_open_when_limiter_unavailable() throws Throwable {
+    // Given
+    given(rateLimiter.tryAcquire(anyString(), any(), any(Integer.class), any()))
+        .willThrow(new RedisConnectionFailureException("down"));
+
+    // When
+    Object result = aspect.around(joinPoint, rateLimit());
+
+    // Then
+    assertThat(result).isEqualTo("ok");
+  }
+
+  private static RateLimit rateLimit() throws NoSuchMethodException {
+    return Endpoints.class.getMethod("login", String.class).getAnnotation(RateLimit.class);
+  }
+
+  static class Endpoints {
+
+    @RateLimit(limit = 5, window = 300, key = "#ip + ':' + #email", algorithm = RateLimitAlgorithm.GCRA)
+    public String login(String email) {
+      return "ok";
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -42,6 +43,17 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(ex.getStatusCode()).body(response);
   }
 
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<ApiResponse<Object>> handleRateLimitExceeded(
+      RateLimitExceededException ex, WebRequest request) {
+
+    String correlationId = request.getHeader("X-Correlation-ID");
+    ApiResponse<Object> response = ApiResponse.error(ex.getCode(), ex.getMessage(), correlationId);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(response);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ApiResponse<Object>> handleValidationException(
       MethodArgumentNotValidException ex, WebRequest request) {
@@ -0,0 +1,17 @@
+package com.example.loyalty.common.exceptions;
+
+/** Exception thrown when a caller has used up a rate limit */
+public class RateLimitExceededException extends LoyaltyException {
+
+  private final long retryAfterSeconds;
+
+  public RateLimitExceededException(String message, long retryAfterSeconds) {
+    super(message, "RATE_LIMIT_EXCEEDED", 429);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Seconds until the request could be allowed */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
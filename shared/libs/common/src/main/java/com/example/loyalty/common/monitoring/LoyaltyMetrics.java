@@ -1,8 +1,10 @@
 package com.example.loyalty.common.monitoring;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Component;
 
 /**
@@ -73,4 +75,13 @@ public class LoyaltyMetrics {
   public Timer createTimer(String name, String description, String... tags) {
     return Timer.builder(name).description(description).tags(tags).register(meterRegistry);
   }
+
+  /** Create custom gauge sampled from the supplier on every scrape */
+  public Gauge createGauge(
+      String name, String description, Supplier<Number> supplier, String... tags) {
+    return Gauge.builder(name, supplier)
+        .description(description)
+        .tags(tags)
+        .register(meterRegistry);
+  }
 }
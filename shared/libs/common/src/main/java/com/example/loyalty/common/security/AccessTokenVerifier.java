@@ -0,0 +1,113 @@
+package com.example.loyalty.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Verifies access tokens for {@link JwtAuthenticationFilter} and remembers the ones it verified.
+ *
+ * <p>A verified token's claims and authorities are kept until the token expires, keyed by the
+ * SHA-256 of the token, so further requests with the same token skip signature verification and
+ * JSON parsing. Authorities are built once per role and shared. Rotating a signing key leaves the
+ * cache alone, as tokens signed with the previous key stay valid until they expire.
+ *
+ * <p>The cache is bounded. Once it is full, expired tokens are swept out at most once a second, and
+ * tokens verified while it stays full are not cached. Tokens failing verification are never cached.
+ */
+public class AccessTokenVerifier {
+
+  private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+  private final JwtTokenService jwtTokenService;
+  private final int maxEntries;
+  private final LongSupplier clock;
+  private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, GrantedAuthority> roleAuthorities =
+      new ConcurrentHashMap<>();
+  private volatile long lastSweep;
+
+  public AccessTokenVerifier(JwtTokenService jwtTokenService, int maxEntries) {
+    this(jwtTokenService, maxEntries, System::currentTimeMillis);
+  }
+
+  AccessTokenVerifier(JwtTokenService jwtTokenService, int maxEntries, LongSupplier clock) {
+    this.jwtTokenService = jwtTokenService;
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+  }
+
+  /**
+   * Verify the token, or return its earlier verification if it has not expired since
+   *
+   * @throws com.example.loyalty.common.exceptions.AuthenticationException if the token is invalid
+   */
+  public VerifiedToken verify(String token) {
+    String key = hash(token);
+    long now = clock.getAsLong();
+    VerifiedToken cached = verified.get(key);
+    if (cached != null) {
+      if (cached.expiresAtMillis() > now) {
+        return cached;
+      }
+      verified.remove(key, cached);
+    }
+
+    JwtTokenService.JwtClaims claims = jwtTokenService.validateAccessToken(token);
+    VerifiedToken fresh =
+        new VerifiedToken(claims, authorities(claims.getRoles()), claims.getExpiration().getTime());
+    remember(key, fresh, now);
+    return fresh;
+  }
+
+  int size() {
+    return verified.size();
+  }
+
+  private void remember(String key, VerifiedToken token, long now) {
+    if (verified.size() >= maxEntries) {
+      if (now - lastSweep < SWEEP_INTERVAL_MILLIS) {
+        return;
+      }
+      lastSweep = now;
+      verified.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+      if (verified.size() >= maxEntries) {
+        return;
+      }
+    }
+    verified.put(key, token);
+  }
+
+  private List<GrantedAuthority> authorities(List<String> roles) {
+    if (roles == null || roles.isEmpty()) {
+      return List.of();
+    }
+    List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+    for (String role : roles) {
+      authorities.add(
+          roleAuthorities.computeIfAbsent(role, r -> new SimpleGrantedAuthority("ROLE_" + r)));
+    }
+    return List.copyOf(authorities);
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Claims of a verified access token with the authorities of its roles */
+  public record VerifiedToken(
+      JwtTokenService.JwtClaims claims, List<GrantedAuthority> authorities, long expiresAtMillis) {}
+}
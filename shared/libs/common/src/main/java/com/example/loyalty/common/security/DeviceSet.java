@@ -0,0 +1,67 @@
+package com.example.loyalty.common.security;
+
+/**
+ * Bloom filter of the device fingerprints a user has transacted from.
+ *
+ * <p>256 bits and three hash functions per user keep a handful of devices at a false positive rate
+ * of a few percent; a false positive lets a new device pass as known, never the reverse. Sets from
+ * other nodes merge by OR. Not thread safe; callers hold the user's state lock.
+ */
+final class DeviceSet {
+
+  private static final int WORDS = 4;
+  private static final int BITS = WORDS * Long.SIZE;
+  private static final int HASHES = 3;
+
+  private final long[] words = new long[WORDS];
+
+  /** Add the fingerprint and return true if it was not in the set */
+  boolean add(String fingerprint) {
+    long hash = hash(fingerprint);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    boolean added = false;
+    for (int i = 0; i < HASHES; i++) {
+      int bit = Math.floorMod(h1 + i * h2, BITS);
+      long mask = 1L << bit;
+      if ((words[bit >>> 6] & mask) == 0) {
+        words[bit >>> 6] |= mask;
+        added = true;
+      }
+    }
+    return added;
+  }
+
+  /** The bits as hex words separated by dots */
+  String encode() {
+    StringBuilder encoded = new StringBuilder();
+    for (int i = 0; i < WORDS; i++) {
+      if (i > 0) {
+        encoded.append('.');
+      }
+      encoded.append(Long.toHexString(words[i]));
+    }
+    return encoded.toString();
+  }
+
+  /** OR in a set written by {@link #encode} */
+  void decode(String encoded) {
+    if (encoded == null || encoded.isEmpty()) {
+      return;
+    }
+    String[] parts = encoded.split("\\.");
+    for (int i = 0; i < Math.min(WORDS, parts.length); i++) {
+      words[i] |= Long.parseUnsignedLong(parts[i], 16);
+    }
+  }
+
+  // 64-bit FNV-1a over the chars, without copying the string
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+}
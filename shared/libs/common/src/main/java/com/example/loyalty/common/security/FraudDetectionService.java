@@ -1,130 +1,260 @@
 package com.example.loyalty.common.security;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 /**
  * Basic fraud detection service for point transactions Implements velocity checks, pattern
  * analysis, and anomaly detection
+ *
+ * <p>Assessments never wait on Redis. Each user's recent transactions are counted in a ring of
+ * one-minute buckets and their devices kept in a small Bloom filter, both in memory, and every
+ * feature is computed in one pass under the user's lock. Every {@code sync-interval-ms} the users
+ * that transacted are written to Redis in one pipeline, one hash per user with a field per node,
+ * and read back so each node also counts the other nodes' transactions and knows their devices. A
+ * user is only scored for a new device once their devices have been read from Redis. Users idle for
+ * the velocity window are dropped from memory; with {@code max-users} in memory, further users are
+ * scored without history until some are dropped.
+ *
+ * <p>The features are scored by {@link FraudRules}, {@link FraudRules#DEFAULT_RULES} until other
+ * rules are set. Rules can be replaced at any time; an assessment uses the rules it started with.
  */
 @Service
-public class FraudDetectionService {
+public class FraudDetectionService implements DisposableBean {
+
+  private static final Logger logger = LoggerFactory.getLogger(FraudDetectionService.class);
+
+  static final String KEY_PREFIX = "fraud_state:";
+  // One-minute buckets covering the longest velocity window a rule can use
+  private static final int VELOCITY_BUCKETS = FraudFeatures.MAX_VELOCITY_MINUTES;
+  private static final long VELOCITY_WINDOW_MILLIS =
+      Duration.ofMinutes(VELOCITY_BUCKETS).toMillis();
+  private static final Duration STATE_TTL = Duration.ofDays(30);
 
   private final RedisTemplate<String, String> redisTemplate;
   private final SecurityAuditService auditService;
+  private final int maxUsers;
+  private final LongSupplier clock;
+  private final Map<String, UserRiskState> states = new ConcurrentHashMap<>();
+  private final String velocityField;
+  private final String devicesField;
+  private final ScheduledExecutorService syncer;
+  private volatile FraudRules rules = FraudRules.defaults();
 
   public FraudDetectionService(
       RedisTemplate<String, String> redisTemplate, SecurityAuditService auditService) {
+    this(redisTemplate, auditService, 1000, 100_000);
+  }
+
+  @Autowired
+  public FraudDetectionService(
+      RedisTemplate<String, String> redisTemplate,
+      SecurityAuditService auditService,
+      @Value("${app.fraud.sync-interval-ms:1000}") long syncIntervalMillis,
+      @Value("${app.fraud.max-users:100000}") int maxUsers) {
+    this(redisTemplate, auditService, syncIntervalMillis, maxUsers, System::currentTimeMillis);
+  }
+
+  FraudDetectionService(
+      RedisTemplate<String, String> redisTemplate,
+      SecurityAuditService auditService,
+      long syncIntervalMillis,
+      int maxUsers,
+      LongSupplier clock) {
+    if (maxUsers <= 0 || syncIntervalMillis < 0) {
+      throw new IllegalArgumentException(
+          "Fraud max users must be positive and the sync interval not negative");
+    }
     this.redisTemplate = redisTemplate;
     this.auditService = auditService;
+    this.maxUsers = maxUsers;
+    this.clock = clock;
+    String nodeId = UUID.randomUUID().toString();
+    this.velocityField = nodeId + ":v";
+    this.devicesField = nodeId + ":d";
+    if (syncIntervalMillis > 0) {
+      this.syncer =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "fraud-state-sync");
+                thread.setDaemon(true);
+                return thread;
+              });
+      this.syncer.scheduleWithFixedDelay(
+          this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    } else {
+      this.syncer = null;
+    }
   }
 
   /** Assess transaction for fraud risk */
   public FraudAssessment assessTransaction(TransactionRequest request) {
-    FraudScore score = calculateFraudScore(request);
+    FraudAssessment assessment = rules.assess(extractFeatures(request));
 
-    if (score.getScore() > 0.8) {
-      // Block transaction
-      blockTransaction(request, "High fraud score: " + score.getScore());
-      return FraudAssessment.blocked(score);
-    } else if (score.getScore() > 0.5) {
-      // Require additional verification
-      return FraudAssessment.requiresVerification(score);
+    if (assessment.getResult() == FraudAssessment.FraudResult.BLOCKED) {
+      blockTransaction(request, "High fraud score: " + assessment.getScore().getScore());
     }
+    return assessment;
+  }
 
-    return FraudAssessment.approved(score);
+  /** Score with these rules from now on */
+  public void setRules(FraudRules rules) {
+    this.rules = Objects.requireNonNull(rules);
   }
 
-  private FraudScore calculateFraudScore(TransactionRequest request) {
-    double score = 0.0;
-    List<String> reasons = new ArrayList<>();
+  public FraudRules getRules() {
+    return rules;
+  }
 
-    // Check velocity patterns
-    if (isHighVelocity(request.getUserId())) {
-      score += 0.3;
-      reasons.add("High transaction velocity");
+  private FraudFeatures extractFeatures(TransactionRequest request) {
+    // Velocity and device are read and updated together
+    long now = request.getTimestamp().toEpochMilli();
+    UserRiskState state = state(request.getUserId());
+    int[] byMinute = new int[VELOCITY_BUCKETS];
+    boolean newDevice;
+    synchronized (state) {
+      state.velocity.record(now, byMinute);
+      state.otherNodes.count(now, byMinute);
+      newDevice =
+          request.getDeviceFingerprint() != null
+              && state.devices.add(request.getDeviceFingerprint())
+              && state.loaded;
     }
+    state.lastSeen = clock.getAsLong();
+    state.dirty.set(true);
 
-    // Check unusual time patterns
-    if (isUnusualTime(request.getTimestamp())) {
-      score += 0.2;
-      reasons.add("Unusual transaction time");
-    }
+    int secondOfDay =
+        LocalTime.ofInstant(request.getTimestamp(), ZoneId.systemDefault()).toSecondOfDay();
+    return new FraudFeatures(byMinute, request.getPointAmount(), secondOfDay, newDevice);
+  }
 
-    // Check large point amounts
-    if (isLargeAmount(request.getPointAmount())) {
-      score += 0.3;
-      reasons.add("Large point amount");
+  private UserRiskState state(String userId) {
+    UserRiskState state = states.get(userId);
+    if (state != null) {
+      return state;
     }
-
-    // Check device/location patterns (simplified)
-    if (isNewDevice(request.getUserId(), request.getDeviceFingerprint())) {
-      score += 0.3;
-      reasons.add("New device");
+    boolean loaded = syncer == null;
+    long now = clock.getAsLong();
+    if (states.size() >= maxUsers) {
+      // Scored without history and not kept
+      return new UserRiskState(VELOCITY_WINDOW_MILLIS, VELOCITY_BUCKETS, loaded, now);
     }
-
-    return new FraudScore(Math.min(score, 1.0), reasons);
+    return states.computeIfAbsent(
+        userId, id -> new UserRiskState(VELOCITY_WINDOW_MILLIS, VELOCITY_BUCKETS, loaded, now));
   }
 
-  private boolean isHighVelocity(String userId) {
-    String key = "transaction_velocity:" + userId;
+  /**
+   * Write the users that transacted since the last round to Redis and read back what the other
+   * nodes wrote for them, in one pipeline. Users idle for the velocity window are dropped.
+   */
+  void sync() {
+    long now = clock.getAsLong();
+    List<String> userIds = new ArrayList<>();
+    List<UserRiskState> due = new ArrayList<>();
+    List<String[]> written = new ArrayList<>();
+    for (Map.Entry<String, UserRiskState> entry : states.entrySet()) {
+      UserRiskState state = entry.getValue();
+      if (state.dirty.compareAndSet(true, false)) {
+        synchronized (state) {
+          written.add(new String[] {state.velocity.encode(now), state.devices.encode()});
+        }
+        userIds.add(entry.getKey());
+        due.add(state);
+      } else if (now - state.lastSeen > VELOCITY_WINDOW_MILLIS) {
+        states.remove(entry.getKey(), state);
+      }
+    }
+    if (due.isEmpty()) {
+      return;
+    }
 
+    List<Object> replies;
     try {
-      String countStr = redisTemplate.opsForValue().get(key);
-      int count = countStr != null ? Integer.parseInt(countStr) : 0;
-
-      // Increment counter
-      Long newCount = redisTemplate.opsForValue().increment(key);
+      replies =
+          redisTemplate.executePipelined(
+              (RedisCallback<Object>)
+                  connection -> {
+                    for (int i = 0; i < userIds.size(); i++) {
+                      byte[] key = bytes(KEY_PREFIX + userIds.get(i));
+                      connection
+                          .hashCommands()
+                          .hSet(key, bytes(velocityField), bytes(written.get(i)[0]));
+                      connection
+                          .hashCommands()
+                          .hSet(key, bytes(devicesField), bytes(written.get(i)[1]));
+                      connection.keyCommands().pExpire(key, STATE_TTL.toMillis());
+                      connection.hashCommands().hGetAll(key);
+                    }
+                    return null;
+                  });
+    } catch (Exception e) {
+      // Written on the next round instead
+      due.forEach(state -> state.dirty.set(true));
+      logger.warn("Fraud state sync of {} users failed: {}", due.size(), e.getMessage());
+      return;
+    }
 
-      // Set expiration for 10 minutes window
-      if (newCount == 1) {
-        redisTemplate.expire(key, 10, TimeUnit.MINUTES);
+    // One hash per user, in order; other replies are the writes
+    int next = 0;
+    for (Object reply : replies) {
+      if (reply instanceof Map<?, ?> fields && next < due.size()) {
+        merge(due.get(next++), fields, now);
       }
-
-      // Flag as high velocity if more than 5 transactions in 10 minutes
-      return newCount > 5;
-
-    } catch (Exception e) {
-      return false;
     }
   }
 
-  private boolean isUnusualTime(Instant timestamp) {
-    LocalTime time = LocalTime.ofInstant(timestamp, java.time.ZoneId.systemDefault());
-
-    // Flag transactions between 1 AM and 6 AM as unusual
-    return time.isAfter(LocalTime.of(1, 0)) && time.isBefore(LocalTime.of(6, 0));
+  private void merge(UserRiskState state, Map<?, ?> fields, long now) {
+    VelocityWindow otherNodes = new VelocityWindow(VELOCITY_WINDOW_MILLIS, VELOCITY_BUCKETS);
+    synchronized (state) {
+      for (Map.Entry<?, ?> field : fields.entrySet()) {
+        String name = string(field.getKey());
+        String value = string(field.getValue());
+        if (name.endsWith(":d")) {
+          state.devices.decode(value);
+        } else if (name.endsWith(":v") && !name.equals(velocityField)) {
+          otherNodes.decode(value, now);
+        }
+      }
+      state.otherNodes = otherNodes;
+      state.loaded = true;
+    }
   }
 
-  private boolean isLargeAmount(int pointAmount) {
-    // Flag transactions above 10,000 points as potentially fraudulent
-    return pointAmount > 10000;
+  private static String string(Object value) {
+    return value instanceof byte[] raw
+        ? new String(raw, StandardCharsets.UTF_8)
+        : String.valueOf(value);
   }
 
-  private boolean isNewDevice(String userId, String deviceFingerprint) {
-    if (deviceFingerprint == null) return false;
-
-    String key = "user_devices:" + userId;
-
-    try {
-      String devices = redisTemplate.opsForValue().get(key);
-      if (devices == null) {
-        // First time seeing this user, store device
-        redisTemplate.opsForValue().set(key, deviceFingerprint, Duration.ofDays(30));
-        return true;
-      }
-
-      // Check if device fingerprint is in known devices
-      return !devices.contains(deviceFingerprint);
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
 
-    } catch (Exception e) {
-      return false;
+  @Override
+  public void destroy() {
+    if (syncer != null) {
+      syncer.shutdownNow();
     }
   }
 
@@ -211,22 +341,28 @@ public class FraudDetectionService {
   public static class FraudAssessment {
     private final FraudResult result;
     private final FraudScore score;
+    private final FraudFeatures features;
 
-    private FraudAssessment(FraudResult result, FraudScore score) {
+    private FraudAssessment(FraudResult result, FraudScore score, FraudFeatures features) {
       this.result = result;
       this.score = score;
+      this.features = features;
     }
 
     public static FraudAssessment approved(FraudScore score) {
-      return new FraudAssessment(FraudResult.APPROVED, score);
+      return new FraudAssessment(FraudResult.APPROVED, score, null);
     }
 
     public static FraudAssessment requiresVerification(FraudScore score) {
-      return new FraudAssessment(FraudResult.REQUIRES_VERIFICATION, score);
+      return new FraudAssessment(FraudResult.REQUIRES_VERIFICATION, score, null);
     }
 
     public static FraudAssessment blocked(FraudScore score) {
-      return new FraudAssessment(FraudResult.BLOCKED, score);
+      return new FraudAssessment(FraudResult.BLOCKED, score, null);
+    }
+
+    static FraudAssessment of(FraudResult result, FraudScore score, FraudFeatures features) {
+      return new FraudAssessment(result, score, features);
     }
 
     public FraudResult getResult() {
@@ -237,6 +373,11 @@ public class FraudDetectionService {
       return score;
     }
 
+    /** What the transaction was scored on, so other rules can score it the same way */
+    public FraudFeatures getFeatures() {
+      return features;
+    }
+
     public enum FraudResult {
       APPROVED,
       REQUIRES_VERIFICATION,
@@ -0,0 +1,56 @@
+package com.example.loyalty.common.security;
+
+/**
+ * What {@link FraudRules} score a transaction on, taken once per assessment so the live and a
+ * candidate rule set see the same values.
+ */
+public final class FraudFeatures {
+
+  /** Longest velocity window a rule can ask for, in minutes */
+  public static final int MAX_VELOCITY_MINUTES = 10;
+
+  private final int[] velocity;
+  private final int points;
+  private final int secondOfDay;
+  private final boolean newDevice;
+
+  /**
+   * @param transactionsByMinute the user's transactions by age in whole minutes, the current minute
+   *     first, at most {@link #MAX_VELOCITY_MINUTES} long
+   * @param secondOfDay local time of the transaction
+   */
+  public FraudFeatures(int[] transactionsByMinute, int points, int secondOfDay, boolean newDevice) {
+    if (transactionsByMinute.length > MAX_VELOCITY_MINUTES) {
+      throw new IllegalArgumentException(
+          "Velocity is kept for at most " + MAX_VELOCITY_MINUTES + " minutes");
+    }
+    this.velocity = new int[MAX_VELOCITY_MINUTES];
+    int total = 0;
+    for (int minute = 0; minute < MAX_VELOCITY_MINUTES; minute++) {
+      if (minute < transactionsByMinute.length) {
+        total += transactionsByMinute[minute];
+      }
+      velocity[minute] = total;
+    }
+    this.points = points;
+    this.secondOfDay = secondOfDay;
+    this.newDevice = newDevice;
+  }
+
+  /** Transactions by the user in the last {@code minutes}, including this one */
+  public int getVelocity(int minutes) {
+    return velocity[Math.min(Math.max(minutes, 1), MAX_VELOCITY_MINUTES) - 1];
+  }
+
+  public int getPoints() {
+    return points;
+  }
+
+  public int getSecondOfDay() {
+    return secondOfDay;
+  }
+
+  public boolean isNewDevice() {
+    return newDevice;
+  }
+}
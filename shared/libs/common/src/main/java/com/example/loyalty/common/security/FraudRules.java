@@ -0,0 +1,410 @@
+package com.example.loyalty.common.security;
+
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment;
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment.FraudResult;
+import com.example.loyalty.common.security.FraudDetectionService.FraudScore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fraud scoring rules compiled from a small text format, one statement per line:
+ *
+ * <pre>
+ * # Comments start with '#'
+ * rule "High transaction velocity" when velocity(10m) &gt; 5 score 0.3
+ * rule "Unusual transaction time" when time between 01:00 and 06:00 score 0.2
+ * rule "Large point amount" when points &gt; 10000 score 0.3
+ * rule "New device" when new_device score 0.3
+ * block when score &gt; 0.8
+ * verify when score &gt; 0.5
+ * </pre>
+ *
+ * <p>A rule adds its score when all its conditions, joined by {@code and}, hold. The total is
+ * capped at 1 and compared with the {@code block} and then the {@code verify} threshold. Conditions
+ * are {@code points} or {@code velocity(<n>m)}, the user's transactions in the last n minutes, up
+ * to {@link FraudFeatures#MAX_VELOCITY_MINUTES}, compared with {@code > >= < <= =}; {@code time
+ * between HH:MM and HH:MM}, strictly inside the range, which may wrap midnight; and {@code
+ * new_device}. Tokens are separated by spaces.
+ *
+ * <p>Compiled rules are flat arrays walked in order, immutable and safe to share between threads.
+ */
+public final class FraudRules {
+
+  /** The rules {@link FraudDetectionService} scores with until others are set */
+  public static final String DEFAULT_RULES =
+      String.join(
+          "\n",
+          "rule \"High transaction velocity\" when velocity(10m) > 5 score 0.3",
+          "rule \"Unusual transaction time\" when time between 01:00 and 06:00 score 0.2",
+          "rule \"Large point amount\" when points > 10000 score 0.3",
+          "rule \"New device\" when new_device score 0.3",
+          "block when score > 0.8",
+          "verify when score > 0.5");
+
+  private static final Pattern VELOCITY = Pattern.compile("velocity\\((\\d{1,2})m\\)");
+  private static final Pattern TIME = Pattern.compile("(\\d{2}):(\\d{2})");
+
+  private static final int POINTS_FEATURE = 0;
+  private static final int VELOCITY_FEATURE = 1;
+  private static final int TIME_FEATURE = 2;
+  private static final int NEW_DEVICE_FEATURE = 3;
+
+  private static final int GT = 0;
+  private static final int GE = 1;
+  private static final int LT = 2;
+  private static final int LE = 3;
+  private static final int EQ = 4;
+
+  private final String source;
+
+  // One entry per condition
+  private final int[] features;
+  private final int[] operators;
+  private final int[] minutes;
+  private final double[] operands;
+  private final double[] upperOperands;
+
+  // One entry per rule; a rule's conditions run from the previous rule's end to its own
+  private final int[] conditionEnds;
+  private final double[] weights;
+  private final String[] reasons;
+
+  private final double blockThreshold;
+  private final boolean blockInclusive;
+  private final double verifyThreshold;
+  private final boolean verifyInclusive;
+
+  private FraudRules(String source, Builder builder) {
+    this.source = source;
+    int conditions = builder.features.size();
+    this.features = new int[conditions];
+    this.operators = new int[conditions];
+    this.minutes = new int[conditions];
+    this.operands = new double[conditions];
+    this.upperOperands = new double[conditions];
+    for (int i = 0; i < conditions; i++) {
+      features[i] = builder.features.get(i);
+      operators[i] = builder.operators.get(i);
+      minutes[i] = builder.minutes.get(i);
+      operands[i] = builder.operands.get(i);
+      upperOperands[i] = builder.upperOperands.get(i);
+    }
+    int rules = builder.weights.size();
+    this.conditionEnds = new int[rules];
+    this.weights = new double[rules];
+    this.reasons = builder.reasons.toArray(new String[0]);
+    for (int i = 0; i < rules; i++) {
+      conditionEnds[i] = builder.conditionEnds.get(i);
+      weights[i] = builder.weights.get(i);
+    }
+    this.blockThreshold = builder.blockThreshold;
+    this.blockInclusive = builder.blockInclusive;
+    this.verifyThreshold = builder.verifyThreshold;
+    this.verifyInclusive = builder.verifyInclusive;
+  }
+
+  public static FraudRules defaults() {
+    return compile(DEFAULT_RULES);
+  }
+
+  /**
+   * Compile rules written in the format above
+   *
+   * @throws IllegalArgumentException naming the line of the first error
+   */
+  public static FraudRules compile(String source) {
+    if (source == null) {
+      throw new IllegalArgumentException("Fraud rules are missing");
+    }
+    Builder builder = new Builder();
+    String[] lines = source.split("\\R");
+    for (int number = 1; number <= lines.length; number++) {
+      Line line = new Line(lines[number - 1], number);
+      if (line.atEnd()) {
+        continue;
+      }
+      String statement = line.next();
+      switch (statement) {
+        case "rule" -> parseRule(line, builder);
+        case "block", "verify" -> parseThreshold(statement, line, builder);
+        default -> throw line.error(
+            "expected 'rule', 'block' or 'verify' but found '" + statement + "'");
+      }
+      if (!line.atEnd()) {
+        throw line.error("unexpected '" + line.next() + "'");
+      }
+    }
+    if (Double.isNaN(builder.blockThreshold) || Double.isNaN(builder.verifyThreshold)) {
+      throw new IllegalArgumentException("Fraud rules need a block and a verify threshold");
+    }
+    if (builder.verifyThreshold > builder.blockThreshold) {
+      throw new IllegalArgumentException(
+          "The verify threshold must not be above the block threshold");
+    }
+    return new FraudRules(source, builder);
+  }
+
+  private static void parseRule(Line line, Builder builder) {
+    String reason = line.next();
+    if (reason.length() < 2 || !reason.startsWith("\"")) {
+      throw line.error("expected the rule's quoted reason but found '" + reason + "'");
+    }
+    line.expect("when");
+    parseCondition(line, builder);
+    while ("and".equals(line.peek())) {
+      line.next();
+      parseCondition(line, builder);
+    }
+    line.expect("score");
+    double weight = line.number();
+    if (weight < 0) {
+      throw line.error("a rule's score must not be negative");
+    }
+    builder.conditionEnds.add(builder.features.size());
+    builder.weights.add(weight);
+    builder.reasons.add(reason.substring(1, reason.length() - 1));
+  }
+
+  private static void parseCondition(Line line, Builder builder) {
+    String feature = line.next();
+    if ("new_device".equals(feature)) {
+      builder.condition(NEW_DEVICE_FEATURE, EQ, 0, 0, 0);
+      return;
+    }
+    if ("time".equals(feature)) {
+      line.expect("between");
+      int from = line.time();
+      line.expect("and");
+      int to = line.time();
+      builder.condition(TIME_FEATURE, EQ, 0, from, to);
+      return;
+    }
+    int window = 0;
+    int code = POINTS_FEATURE;
+    Matcher velocity = VELOCITY.matcher(feature);
+    if (velocity.matches()) {
+      window = Integer.parseInt(velocity.group(1));
+      if (window < 1 || window > FraudFeatures.MAX_VELOCITY_MINUTES) {
+        throw line.error(
+            "velocity windows are 1 to " + FraudFeatures.MAX_VELOCITY_MINUTES + " minutes");
+      }
+      code = VELOCITY_FEATURE;
+    } else if (!"points".equals(feature)) {
+      throw line.error(
+          "expected 'points', 'velocity(<n>m)', 'time' or 'new_device' but found '"
+              + feature
+              + "'");
+    }
+    int operator = operator(line);
+    builder.condition(code, operator, window, line.number(), 0);
+  }
+
+  private static void parseThreshold(String statement, Line line, Builder builder) {
+    line.expect("when");
+    line.expect("score");
+    int operator = operator(line);
+    if (operator != GT && operator != GE) {
+      throw line.error("thresholds are written as 'score >' or 'score >='");
+    }
+    double threshold = line.number();
+    if ("block".equals(statement)) {
+      builder.blockThreshold = threshold;
+      builder.blockInclusive = operator == GE;
+    } else {
+      builder.verifyThreshold = threshold;
+      builder.verifyInclusive = operator == GE;
+    }
+  }
+
+  private static int operator(Line line) {
+    String operator = line.next();
+    return switch (operator) {
+      case ">" -> GT;
+      case ">=" -> GE;
+      case "<" -> LT;
+      case "<=" -> LE;
+      case "=" -> EQ;
+      default -> throw line.error("expected one of > >= < <= = but found '" + operator + "'");
+    };
+  }
+
+  /** Score the features and decide, in one walk over the rules */
+  public FraudAssessment assess(FraudFeatures transaction) {
+    double score = 0.0;
+    List<String> matched = new ArrayList<>(4);
+    int condition = 0;
+    for (int rule = 0; rule < weights.length; rule++) {
+      boolean holds = true;
+      for (; condition < conditionEnds[rule]; condition++) {
+        holds = holds && holds(condition, transaction);
+      }
+      if (holds) {
+        score += weights[rule];
+        matched.add(reasons[rule]);
+      }
+    }
+    score = Math.min(score, 1.0);
+
+    FraudResult result;
+    if (exceeds(score, blockThreshold, blockInclusive)) {
+      result = FraudResult.BLOCKED;
+    } else if (exceeds(score, verifyThreshold, verifyInclusive)) {
+      result = FraudResult.REQUIRES_VERIFICATION;
+    } else {
+      result = FraudResult.APPROVED;
+    }
+    return FraudAssessment.of(result, new FraudScore(score, matched), transaction);
+  }
+
+  private boolean holds(int condition, FraudFeatures transaction) {
+    switch (features[condition]) {
+      case NEW_DEVICE_FEATURE:
+        return transaction.isNewDevice();
+      case TIME_FEATURE:
+        {
+          int second = transaction.getSecondOfDay();
+          double from = operands[condition];
+          double to = upperOperands[condition];
+          return from < to ? second > from && second < to : second > from || second < to;
+        }
+      case VELOCITY_FEATURE:
+        return compare(transaction.getVelocity(minutes[condition]), condition);
+      default:
+        return compare(transaction.getPoints(), condition);
+    }
+  }
+
+  private boolean compare(double value, int condition) {
+    double operand = operands[condition];
+    return switch (operators[condition]) {
+      case GT -> value > operand;
+      case GE -> value >= operand;
+      case LT -> value < operand;
+      case LE -> value <= operand;
+      default -> value == operand;
+    };
+  }
+
+  private static boolean exceeds(double score, double threshold, boolean inclusive) {
+    return inclusive ? score >= threshold : score > threshold;
+  }
+
+  /** The text the rules were compiled from */
+  public String getSource() {
+    return source;
+  }
+
+  public int getRuleCount() {
+    return weights.length;
+  }
+
+  private static final class Builder {
+    private final List<Integer> features = new ArrayList<>();
+    private final List<Integer> operators = new ArrayList<>();
+    private final List<Integer> minutes = new ArrayList<>();
+    private final List<Double> operands = new ArrayList<>();
+    private final List<Double> upperOperands = new ArrayList<>();
+    private final List<Integer> conditionEnds = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+    private final List<String> reasons = new ArrayList<>();
+    private double blockThreshold = Double.NaN;
+    private boolean blockInclusive;
+    private double verifyThreshold = Double.NaN;
+    private boolean verifyInclusive;
+
+    void condition(int feature, int operator, int window, double operand, double upperOperand) {
+      features.add(feature);
+      operators.add(operator);
+      minutes.add(window);
+      operands.add(operand);
+      upperOperands.add(upperOperand);
+    }
+  }
+
+  /** The tokens of one line: quoted strings or runs of non-blank characters, up to a '#' */
+  private static final class Line {
+    private final List<String> tokens = new ArrayList<>();
+    private final int number;
+    private int position;
+
+    Line(String text, int number) {
+      this.number = number;
+      int i = 0;
+      while (i < text.length()) {
+        char c = text.charAt(i);
+        if (c == '#') {
+          break;
+        }
+        if (Character.isWhitespace(c)) {
+          i++;
+        } else if (c == '"') {
+          int end = text.indexOf('"', i + 1);
+          if (end < 0) {
+            throw error("unterminated string");
+          }
+          tokens.add(text.substring(i, end + 1));
+          i = end + 1;
+        } else {
+          int start = i;
+          while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+            i++;
+          }
+          tokens.add(text.substring(start, i));
+        }
+      }
+    }
+
+    boolean atEnd() {
+      return position >= tokens.size();
+    }
+
+    String peek() {
+      return atEnd() ? null : tokens.get(position);
+    }
+
+    String next() {
+      if (atEnd()) {
+        throw error("unexpected end of line");
+      }
+      return tokens.get(position++);
+    }
+
+    void expect(String word) {
+      String token = next();
+      if (!word.equals(token)) {
+        throw error("expected '" + word + "' but found '" + token + "'");
+      }
+    }
+
+    double number() {
+      String token = next();
+      try {
+        double value = Double.parseDouble(token);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+          throw new NumberFormatException();
+        }
+        return value;
+      } catch (NumberFormatException e) {
+        throw error("expected a number but found '" + token + "'");
+      }
+    }
+
+    /** A time of day as seconds since midnight */
+    int time() {
+      String token = next();
+      Matcher time = TIME.matcher(token);
+      if (!time.matches()
+          || Integer.parseInt(time.group(1)) > 24
+          || Integer.parseInt(time.group(2)) > 59) {
+        throw error("expected a time as HH:MM but found '" + token + "'");
+      }
+      return Integer.parseInt(time.group(1)) * 3600 + Integer.parseInt(time.group(2)) * 60;
+    }
+
+    IllegalArgumentException error(String message) {
+      return new IllegalArgumentException("Fraud rules line " + number + ": " + message);
+    }
+  }
+}
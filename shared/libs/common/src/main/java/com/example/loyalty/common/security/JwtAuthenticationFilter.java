@@ -6,10 +6,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,10 +18,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-  private final JwtTokenService jwtTokenService;
+  private final AccessTokenVerifier accessTokenVerifier;
 
-  public JwtAuthenticationFilter(JwtTokenService jwtTokenService) {
-    this.jwtTokenService = jwtTokenService;
+  public JwtAuthenticationFilter(
+      JwtTokenService jwtTokenService,
+      @Value("${app.jwt.verification-cache.max-entries:10000}") int verificationCacheSize) {
+    this.accessTokenVerifier = new AccessTokenVerifier(jwtTokenService, verificationCacheSize);
   }
 
   @Override
@@ -35,22 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       String token = extractTokenFromRequest(request);
 
       if (token != null) {
-        JwtTokenService.JwtClaims claims = jwtTokenService.validateAccessToken(token);
-
-        // Create authorities from roles
-        List<SimpleGrantedAuthority> authorities =
-            claims.getRoles() != null
-                ? claims.getRoles().stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                    .collect(Collectors.toList())
-                : List.of();
+        // Claims and authorities are reused while the token is valid
+        AccessTokenVerifier.VerifiedToken verified = accessTokenVerifier.verify(token);
 
         // Create authentication token
         UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(claims.getUserId(), null, authorities);
+            new UsernamePasswordAuthenticationToken(
+                verified.claims().getUserId(), null, verified.authorities());
 
         // Add claims as details
-        authentication.setDetails(claims);
+        authentication.setDetails(verified.claims());
 
         // Set security context
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,84 @@
+package com.example.loyalty.common.security;
+
+import io.jsonwebtoken.JweHeader;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.SecretKey;
+
+/**
+ * HMAC keys for signing and verifying tokens, selected by the {@code kid} header.
+ *
+ * <p>Tokens are signed with the current secret. Previous secrets stay accepted for verification, so
+ * rotating a secret means moving it to the previous list: tokens issued before the rotation keep
+ * verifying until they expire instead of all failing at once. Key ids are derived from the secrets,
+ * so every service holding the same secrets agrees on them without extra configuration. Tokens
+ * without a {@code kid}, issued before key ids were added, are verified with the current key.
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+  private final SecretKey signingKey;
+  private final String signingKeyId;
+  private final Map<String, SecretKey> keys;
+
+  public JwtKeyRing(String currentSecret, List<String> previousSecrets) {
+    this.signingKey = Keys.hmacShaKeyFor(currentSecret.getBytes(StandardCharsets.UTF_8));
+    this.signingKeyId = keyId(currentSecret);
+    Map<String, SecretKey> byId = new HashMap<>();
+    byId.put(signingKeyId, signingKey);
+    for (String secret : previousSecrets) {
+      if (!secret.isBlank()) {
+        byId.putIfAbsent(
+            keyId(secret), Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+      }
+    }
+    this.keys = Map.copyOf(byId);
+  }
+
+  public SecretKey getSigningKey() {
+    return signingKey;
+  }
+
+  public String getSigningKeyId() {
+    return signingKeyId;
+  }
+
+  @Override
+  protected Key locate(JwsHeader header) {
+    String keyId = header.getKeyId();
+    if (keyId == null) {
+      return signingKey;
+    }
+    SecretKey key = keys.get(keyId);
+    if (key == null) {
+      throw new JwtException("Unknown signing key " + keyId);
+    }
+    return key;
+  }
+
+  @Override
+  protected Key locate(JweHeader header) {
+    throw new JwtException("Encrypted tokens are not supported");
+  }
+
+  /** First 8 bytes of the secret's SHA-256, which identify it without revealing it */
+  static String keyId(String secret) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
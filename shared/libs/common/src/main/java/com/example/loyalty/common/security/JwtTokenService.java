@@ -3,11 +3,14 @@ package com.example.loyalty.common.security;
 import com.example.loyalty.common.exceptions.AuthenticationException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -18,25 +21,57 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtTokenService {
 
-  private final SecretKey accessTokenKey;
+  private final JwtKeyRing accessTokenKeys;
   private final SecretKey refreshTokenKey;
   private final long accessTokenExpiration;
   private final long refreshTokenExpiration;
   private final String issuer;
 
+  // Parsers are immutable and thread-safe, so they are built once
+  private final JwtParser accessTokenParser;
+  private final JwtParser refreshTokenParser;
+  private final JwtParser expiryParser;
+
+  public JwtTokenService(
+      String jwtSecret,
+      String refreshSecret,
+      long accessTokenExpiration,
+      long refreshTokenExpiration,
+      String issuer) {
+    this(
+        jwtSecret,
+        new String[0],
+        refreshSecret,
+        accessTokenExpiration,
+        refreshTokenExpiration,
+        issuer);
+  }
+
+  /**
+   * @param previousSecrets access token secrets rotated out, still accepted until the tokens signed
+   *     with them expire
+   */
+  @Autowired
   public JwtTokenService(
       @Value("${app.jwt.secret:default-secret-key-change-in-production}") String jwtSecret,
+      @Value("${app.jwt.previous-secrets:}") String[] previousSecrets,
       @Value("${app.jwt.refresh-secret:default-refresh-secret-change-in-production}")
           String refreshSecret,
       @Value("${app.jwt.access-expiration:900000}") long accessTokenExpiration, // 15 minutes
       @Value("${app.jwt.refresh-expiration:604800000}") long refreshTokenExpiration, // 7 days
       @Value("${app.jwt.issuer:loyalty-system}") String issuer) {
 
-    this.accessTokenKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-    this.refreshTokenKey = Keys.hmacShaKeyFor(refreshSecret.getBytes());
+    this.accessTokenKeys = new JwtKeyRing(jwtSecret, Arrays.asList(previousSecrets));
+    this.refreshTokenKey = Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
     this.accessTokenExpiration = accessTokenExpiration;
     this.refreshTokenExpiration = refreshTokenExpiration;
     this.issuer = issuer;
+
+    this.accessTokenParser =
+        Jwts.parser().keyLocator(accessTokenKeys).requireIssuer(issuer).build();
+    this.refreshTokenParser =
+        Jwts.parser().verifyWith(refreshTokenKey).requireIssuer(issuer).build();
+    this.expiryParser = Jwts.parser().keyLocator(accessTokenKeys).build();
   }
 
   /** Generate access token for authenticated user */
@@ -44,6 +79,9 @@ public class JwtTokenService {
     Date expirationDate = new Date(System.currentTimeMillis() + accessTokenExpiration);
 
     return Jwts.builder()
+        .header()
+        .keyId(accessTokenKeys.getSigningKeyId())
+        .and()
         .subject(userId)
         .claim("email", email)
         .claim("roles", roles)
@@ -53,7 +91,7 @@ public class JwtTokenService {
         .and()
         .issuedAt(new Date())
         .expiration(expirationDate)
-        .signWith(accessTokenKey)
+        .signWith(accessTokenKeys.getSigningKey())
         .compact();
   }
 
@@ -73,13 +111,7 @@ public class JwtTokenService {
   /** Validate and parse access token */
   public JwtClaims validateAccessToken(String token) {
     try {
-      Claims claims =
-          Jwts.parser()
-              .verifyWith(accessTokenKey)
-              .requireIssuer(issuer)
-              .build()
-              .parseSignedClaims(token)
-              .getPayload();
+      Claims claims = accessTokenParser.parseSignedClaims(token).getPayload();
 
       return new JwtClaims(
           claims.getSubject(),
@@ -95,13 +127,7 @@ public class JwtTokenService {
   /** Validate and parse refresh token */
   public JwtClaims validateRefreshToken(String token) {
     try {
-      Claims claims =
-          Jwts.parser()
-              .verifyWith(refreshTokenKey)
-              .requireIssuer(issuer)
-              .build()
-              .parseSignedClaims(token)
-              .getPayload();
+      Claims claims = refreshTokenParser.parseSignedClaims(token).getPayload();
 
       return new JwtClaims(
           claims.getSubject(),
@@ -144,8 +170,7 @@ public class JwtTokenService {
   /** Check if token is expired */
   public boolean isTokenExpired(String token) {
     try {
-      Claims claims =
-          Jwts.parser().verifyWith(accessTokenKey).build().parseSignedClaims(token).getPayload();
+      Claims claims = expiryParser.parseSignedClaims(token).getPayload();
 
       return claims.getExpiration().before(new Date());
     } catch (ExpiredJwtException ex) {
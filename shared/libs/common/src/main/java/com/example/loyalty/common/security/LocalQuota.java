@@ -0,0 +1,97 @@
+package com.example.loyalty.common.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requests leased from the global limit of one key, handed out without contacting Redis.
+ *
+ * <p>Taking a request is a compare-and-set on the remaining count. Leased requests are only valid
+ * until the lease expires, which bounds how far a node's use can trail the window they were counted
+ * in.
+ */
+final class LocalQuota {
+
+  private final int limit;
+  private final long windowMillis;
+  private final int slice;
+  private final long leaseMillis;
+
+  private final AtomicInteger remaining = new AtomicInteger();
+  private volatile long expiresAt;
+  private volatile long deniedUntil;
+  private volatile long lastUsed;
+
+  LocalQuota(int limit, long windowMillis, double tolerance, long now) {
+    this.limit = limit;
+    this.windowMillis = windowMillis;
+    this.slice = Math.max(1, (int) (limit * tolerance));
+    this.leaseMillis = Math.max(1, (long) (windowMillis * tolerance));
+    this.lastUsed = now;
+  }
+
+  /** True if the quota was created for this limit and window */
+  boolean matches(int limit, long windowMillis) {
+    return this.limit == limit && this.windowMillis == windowMillis;
+  }
+
+  /** Take one leased request, if the lease has any left and has not expired */
+  boolean tryTake(long now) {
+    lastUsed = now;
+    if (now >= expiresAt) {
+      return false;
+    }
+    int left;
+    do {
+      left = remaining.get();
+      if (left <= 0) {
+        return false;
+      }
+    } while (!remaining.compareAndSet(left, left - 1));
+    return true;
+  }
+
+  /** Add requests granted by Redis and extend the lease */
+  void grant(int granted, long now) {
+    if (now >= expiresAt) {
+      remaining.set(granted);
+    } else {
+      remaining.addAndGet(granted);
+    }
+    expiresAt = now + leaseMillis;
+  }
+
+  /** Remember that Redis had nothing left to lease, so checks are denied until the lease time */
+  void deny(long now) {
+    deniedUntil = now + leaseMillis;
+  }
+
+  /** True if Redis recently had nothing left to lease for the key */
+  boolean isDenied(long now) {
+    return now < deniedUntil;
+  }
+
+  /** True if the lease is running low while the key is in use, so it is worth refilling ahead */
+  boolean isLow(long now) {
+    return slice > 1
+        && now - lastUsed < leaseMillis
+        && now >= deniedUntil
+        && remaining.get() <= slice / 4;
+  }
+
+  /** True if the key has not been used for a whole window */
+  boolean isIdle(long now) {
+    return now - lastUsed > windowMillis;
+  }
+
+  int getLimit() {
+    return limit;
+  }
+
+  long getWindowMillis() {
+    return windowMillis;
+  }
+
+  int getSlice() {
+    return slice;
+  }
+}
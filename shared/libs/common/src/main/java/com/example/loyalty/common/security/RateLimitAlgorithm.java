@@ -0,0 +1,25 @@
+package com.example.loyalty.common.security;
+
+/** How {@link RateLimiter} counts requests against a limit per window */
+public enum RateLimitAlgorithm {
+
+  /** A counter per window; up to twice the limit can pass around a window boundary */
+  FIXED_WINDOW("fixed"),
+
+  /** The current window's count plus the previous one's, weighted by how much still overlaps */
+  SLIDING_WINDOW("sliding"),
+
+  /** Requests evenly spaced at window / limit, with bursts of up to the limit */
+  GCRA("gcra");
+
+  private final String scriptName;
+
+  RateLimitAlgorithm(String scriptName) {
+    this.scriptName = scriptName;
+  }
+
+  /** Name of the algorithm in the limiter script and in its Redis keys */
+  String getScriptName() {
+    return scriptName;
+  }
+}
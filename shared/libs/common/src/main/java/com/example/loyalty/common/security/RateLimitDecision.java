@@ -0,0 +1,19 @@
+package com.example.loyalty.common.security;
+
+/**
+ * Outcome of a rate limit check.
+ *
+ * @param limit requests allowed per window
+ * @param granted requests granted, possibly fewer than asked for
+ * @param remaining requests left after this check
+ * @param resetMillis time until the key is back to its full limit
+ * @param retryAfterMillis time until the requests not granted could be, 0 if all were
+ */
+public record RateLimitDecision(
+    int limit, int granted, int remaining, long resetMillis, long retryAfterMillis) {
+
+  /** True if any request was granted */
+  public boolean isAllowed() {
+    return granted > 0;
+  }
+}
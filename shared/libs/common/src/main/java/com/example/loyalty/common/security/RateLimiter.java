@@ -0,0 +1,203 @@
+package com.example.loyalty.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limiter engine shared by {@link RateLimitingService} and the services' rate limit aspects.
+ *
+ * <p>Every check is one call of {@code scripts/rate-limit.lua}, which reads and updates the key
+ * atomically in Redis, so concurrent requests cannot pass the limit between a read and a write. The
+ * script is sent as EVALSHA and implements each {@link RateLimitAlgorithm}. Several checks can be
+ * sent in one pipeline with {@link #acquireAll}. Errors from Redis are thrown to the caller, which
+ * decides whether to fail open.
+ */
+@Component
+public class RateLimiter {
+
+  static final String KEY_PREFIX = "rate_limit:";
+
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> SCRIPT =
+      RedisScript.of(new ClassPathResource("scripts/rate-limit.lua"), List.class);
+
+  private final ScriptRunner runner;
+
+  @Autowired
+  public RateLimiter(RedisTemplate<String, String> redisTemplate) {
+    this(new RedisScriptRunner(redisTemplate));
+  }
+
+  RateLimiter(ScriptRunner runner) {
+    this.runner = runner;
+  }
+
+  /** Ask for one request */
+  public RateLimitDecision tryAcquire(
+      String key, RateLimitAlgorithm algorithm, int limit, Duration window) {
+    return acquire(new Request(key, algorithm, limit, window, 1));
+  }
+
+  /** Read the state of a key without using any of its limit */
+  public RateLimitDecision status(
+      String key, RateLimitAlgorithm algorithm, int limit, Duration window) {
+    return acquire(new Request(key, algorithm, limit, window, 0));
+  }
+
+  /** Ask for the request's permits, granting as many as are left */
+  public RateLimitDecision acquire(Request request) {
+    return toDecision(request, runner.eval(redisKey(request), request.arguments()));
+  }
+
+  /** Run the checks in one pipeline, returning their decisions in order */
+  public List<RateLimitDecision> acquireAll(List<Request> requests) {
+    if (requests.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> keys = new ArrayList<>(requests.size());
+    List<String[]> arguments = new ArrayList<>(requests.size());
+    for (Request request : requests) {
+      keys.add(redisKey(request));
+      arguments.add(request.arguments());
+    }
+    List<List<Long>> results = runner.evalAll(keys, arguments);
+    List<RateLimitDecision> decisions = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      decisions.add(toDecision(requests.get(i), results.get(i)));
+    }
+    return decisions;
+  }
+
+  /** Forget everything counted for the key */
+  public void reset(String key, RateLimitAlgorithm algorithm) {
+    runner.delete(redisKey(key, algorithm));
+  }
+
+  private static String redisKey(Request request) {
+    return redisKey(request.key(), request.algorithm());
+  }
+
+  // Each algorithm keeps a different Redis type, so they never share a key
+  private static String redisKey(String key, RateLimitAlgorithm algorithm) {
+    return KEY_PREFIX + algorithm.getScriptName() + ":" + key;
+  }
+
+  private static RateLimitDecision toDecision(Request request, List<Long> result) {
+    if (result == null || result.size() < 4) {
+      throw new IllegalStateException("Unexpected rate limit script result " + result);
+    }
+    return new RateLimitDecision(
+        request.limit(),
+        result.get(0).intValue(),
+        result.get(1).intValue(),
+        result.get(2),
+        result.get(3));
+  }
+
+  /**
+   * One check against a key.
+   *
+   * @param permits requests asked for; 0 reads the key without using its limit
+   */
+  public record Request(
+      String key, RateLimitAlgorithm algorithm, int limit, Duration window, int permits) {
+
+    public Request {
+      if (limit <= 0 || window.toMillis() <= 0 || permits < 0) {
+        throw new IllegalArgumentException(
+            "Rate limit and window must be positive and permits not negative");
+      }
+    }
+
+    String[] arguments() {
+      return new String[] {
+        algorithm.getScriptName(),
+        String.valueOf(limit),
+        String.valueOf(window.toMillis()),
+        String.valueOf(permits)
+      };
+    }
+  }
+
+  /** Runs the limiter script against one key at a time or against several in one pipeline */
+  interface ScriptRunner {
+
+    List<Long> eval(String key, String[] arguments);
+
+    List<List<Long>> evalAll(List<String> keys, List<String[]> arguments);
+
+    void delete(String key);
+  }
+
+  private static final class RedisScriptRunner implements ScriptRunner {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    RedisScriptRunner(RedisTemplate<String, String> redisTemplate) {
+      this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> eval(String key, String[] arguments) {
+      return redisTemplate.execute(SCRIPT, Collections.singletonList(key), (Object[]) arguments);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<List<Long>> evalAll(List<String> keys, List<String[]> arguments) {
+      List<Object> results;
+      try {
+        results = pipeline(keys, arguments);
+      } catch (RuntimeException e) {
+        // NOSCRIPT after a Redis restart fails the pipeline; load the script and send it again
+        redisTemplate.execute(
+            (RedisCallback<String>)
+                connection ->
+                    connection
+                        .scriptingCommands()
+                        .scriptLoad(SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+        results = pipeline(keys, arguments);
+      }
+      List<List<Long>> decisions = new ArrayList<>(results.size());
+      for (Object result : results) {
+        decisions.add((List<Long>) result);
+      }
+      return decisions;
+    }
+
+    private List<Object> pipeline(List<String> keys, List<String[]> arguments) {
+      return redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                for (int i = 0; i < keys.size(); i++) {
+                  String[] args = arguments.get(i);
+                  byte[][] keyAndArgs = new byte[args.length + 1][];
+                  keyAndArgs[0] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+                  for (int j = 0; j < args.length; j++) {
+                    keyAndArgs[j + 1] = args[j].getBytes(StandardCharsets.UTF_8);
+                  }
+                  connection
+                      .scriptingCommands()
+                      .evalSha(SCRIPT.getSha1(), ReturnType.MULTI, 1, keyAndArgs);
+                }
+                return null;
+              });
+    }
+
+    @Override
+    public void delete(String key) {
+      redisTemplate.delete(key);
+    }
+  }
+}
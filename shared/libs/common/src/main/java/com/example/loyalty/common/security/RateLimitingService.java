@@ -1,23 +1,76 @@
 package com.example.loyalty.common.security;
 
 import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
- * Rate limiting service using Redis for distributed rate limiting Implements sliding window rate
- * limiting for API protection
+ * Rate limiting service using Redis for distributed rate limiting.
+ *
+ * <p>Limits are counted in Redis by the {@link RateLimiter} with its sliding window algorithm. Each
+ * node leases a slice of a key's limit at a time and hands it out locally with a lock-free counter,
+ * so most checks never leave the process. A slice is {@code tolerance} of the limit and stays valid
+ * for {@code tolerance} of the window. Leased requests are counted when leased, so nodes never
+ * admit more than the limit inside a window. Requests leased near the end of a window may still be
+ * used during the lease, which can exceed the limit of a later window by up to a slice per node.
+ * Once Redis has nothing left to lease, a key is denied locally for the lease time. Leases of keys
+ * in use that are running low are renewed ahead of time, all in one pipeline. Limits too small for
+ * a slice of more than one request go to Redis on every check.
  */
 @Service
-public class RateLimitingService {
+public class RateLimitingService implements DisposableBean {
 
-  private final RedisTemplate<String, String> redisTemplate;
+  private static final Logger logger = LoggerFactory.getLogger(RateLimitingService.class);
 
-  public RateLimitingService(RedisTemplate<String, String> redisTemplate) {
-    this.redisTemplate = redisTemplate;
+  private static final RateLimitAlgorithm ALGORITHM = RateLimitAlgorithm.SLIDING_WINDOW;
+
+  private final RateLimiter rateLimiter;
+  private final double tolerance;
+  private final LongSupplier clock;
+  private final Map<String, LocalQuota> quotas = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService refiller;
+
+  @Autowired
+  public RateLimitingService(
+      RateLimiter rateLimiter,
+      @Value("${app.rate-limit.tolerance:0.05}") double tolerance,
+      @Value("${app.rate-limit.refill-interval-ms:100}") long refillIntervalMillis) {
+    this(rateLimiter, tolerance, refillIntervalMillis, System::currentTimeMillis);
+  }
+
+  RateLimitingService(
+      RateLimiter rateLimiter, double tolerance, long refillIntervalMillis, LongSupplier clock) {
+    if (tolerance < 0 || tolerance >= 1) {
+      throw new IllegalArgumentException("Rate limit tolerance must be at least 0 and below 1");
+    }
+    this.rateLimiter = rateLimiter;
+    this.tolerance = tolerance;
+    this.clock = clock;
+    if (refillIntervalMillis > 0) {
+      this.refiller =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "rate-limit-refill");
+                thread.setDaemon(true);
+                return thread;
+              });
+      this.refiller.scheduleWithFixedDelay(
+          this::refill, refillIntervalMillis, refillIntervalMillis, TimeUnit.MILLISECONDS);
+    } else {
+      this.refiller = null;
+    }
   }
 
   /**
@@ -29,37 +82,48 @@ public class RateLimitingService {
    * @return true if request is allowed, false if rate limit exceeded
    */
   public boolean isAllowed(String identifier, int maxRequests, Duration duration) {
-    String key = "rate_limit:" + identifier;
-    try {
-      // Lua script for atomic increment and check
-      String luaScript =
-          "local current = redis.call('incr', KEYS[1])\n"
-              + "if tonumber(current) == 1 then\n"
-              + "  redis.call('expire', KEYS[1], ARGV[2])\n"
-              + "end\n"
-              + "if tonumber(current) > tonumber(ARGV[1]) then\n"
-              + "  return 0\n"
-              + "else\n"
-              + "  return 1\n"
-              + "end";
-
-      DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>();
-      redisScript.setScriptText(luaScript);
-      redisScript.setResultType(Long.class);
-
-      Long allowed =
-          redisTemplate.execute(
-              redisScript,
-              Collections.singletonList(key),
-              String.valueOf(maxRequests),
-              String.valueOf(duration.getSeconds()));
-
-      return allowed != null && allowed == 1L;
-    } catch (Exception e) {
-      // If Redis is unavailable, allow the request (fail open for availability)
-      // But log the error for monitoring
+    long windowMillis = duration.toMillis();
+    long now = clock.getAsLong();
+    LocalQuota quota = quotas.get(identifier);
+    if (quota == null || !quota.matches(maxRequests, windowMillis)) {
+      // Atomic, so a quota another caller just created, and the slice it leased, is kept
+      quota =
+          quotas.compute(
+              identifier,
+              (key, current) ->
+                  current != null && current.matches(maxRequests, windowMillis)
+                      ? current
+                      : new LocalQuota(maxRequests, windowMillis, tolerance, now));
+    }
+    if (quota.tryTake(now)) {
       return true;
     }
+    if (quota.isDenied(now)) {
+      return false;
+    }
+    // One lease per key at a time; callers arriving meanwhile take from it
+    synchronized (quota) {
+      if (quota.tryTake(now)) {
+        return true;
+      }
+      if (quota.isDenied(now)) {
+        return false;
+      }
+      try {
+        RateLimitDecision decision = rateLimiter.acquire(lease(identifier, quota));
+        if (!decision.isAllowed()) {
+          quota.deny(now);
+          return false;
+        }
+        quota.grant(decision.granted(), now);
+        return quota.tryTake(now);
+      } catch (Exception e) {
+        // If Redis is unavailable, allow the request (fail open for availability)
+        // But log the error for monitoring
+        logger.warn("Rate limit check for {} failed, allowing: {}", identifier, e.getMessage());
+        return true;
+      }
+    }
   }
 
   /** Check rate limit for authentication attempts */
@@ -86,14 +150,26 @@ public class RateLimitingService {
     return isAllowed("password_reset:" + identifier, 3, Duration.ofHours(1));
   }
 
-  /** Get remaining requests for identifier */
+  /**
+   * Get remaining requests for identifier, counted in Redis across nodes. Keys this node has not
+   * checked within their window are taken as unused.
+   */
   public int getRemainingRequests(String identifier, int maxRequests) {
-    String key = "rate_limit:" + identifier;
+    LocalQuota quota = quotas.get(identifier);
+    if (quota == null) {
+      return maxRequests;
+    }
 
     try {
-      String currentCountStr = redisTemplate.opsForValue().get(key);
-      int currentCount = currentCountStr != null ? Integer.parseInt(currentCountStr) : 0;
-      return Math.max(0, maxRequests - currentCount);
+      return Math.min(
+          maxRequests,
+          rateLimiter
+              .status(
+                  identifier,
+                  ALGORITHM,
+                  quota.getLimit(),
+                  Duration.ofMillis(quota.getWindowMillis()))
+              .remaining());
     } catch (Exception e) {
       return maxRequests; // If Redis error, assume no usage
     }
@@ -101,11 +177,20 @@ public class RateLimitingService {
 
   /** Get time until rate limit resets */
   public Duration getTimeUntilReset(String identifier) {
-    String key = "rate_limit:" + identifier;
+    LocalQuota quota = quotas.get(identifier);
+    if (quota == null) {
+      return Duration.ZERO;
+    }
 
     try {
-      Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
-      return ttl != null && ttl > 0 ? Duration.ofSeconds(ttl) : Duration.ZERO;
+      return Duration.ofMillis(
+          rateLimiter
+              .status(
+                  identifier,
+                  ALGORITHM,
+                  quota.getLimit(),
+                  Duration.ofMillis(quota.getWindowMillis()))
+              .resetMillis());
     } catch (Exception e) {
       return Duration.ZERO;
     }
@@ -113,7 +198,59 @@ public class RateLimitingService {
 
   /** Reset rate limit for identifier (for admin use) */
   public void resetRateLimit(String identifier) {
-    String key = "rate_limit:" + identifier;
-    redisTemplate.delete(key);
+    quotas.remove(identifier);
+    rateLimiter.reset(identifier, ALGORITHM);
+  }
+
+  /** Renew the leases of keys in use that are running low in one pipeline, and forget idle keys */
+  void refill() {
+    long now = clock.getAsLong();
+    List<LocalQuota> due = new ArrayList<>();
+    List<RateLimiter.Request> leases = new ArrayList<>();
+    for (Map.Entry<String, LocalQuota> entry : quotas.entrySet()) {
+      LocalQuota quota = entry.getValue();
+      if (quota.isIdle(now)) {
+        quotas.remove(entry.getKey(), quota);
+      } else if (quota.isLow(now)) {
+        due.add(quota);
+        leases.add(lease(entry.getKey(), quota));
+      }
+    }
+    if (due.isEmpty()) {
+      return;
+    }
+
+    List<RateLimitDecision> decisions;
+    try {
+      decisions = rateLimiter.acquireAll(leases);
+    } catch (Exception e) {
+      logger.debug("Rate limit refill failed: {}", e.getMessage());
+      return;
+    }
+    for (int i = 0; i < due.size(); i++) {
+      RateLimitDecision decision = decisions.get(i);
+      if (decision.isAllowed()) {
+        LocalQuota quota = due.get(i);
+        synchronized (quota) {
+          quota.grant(decision.granted(), now);
+        }
+      }
+    }
+  }
+
+  private static RateLimiter.Request lease(String identifier, LocalQuota quota) {
+    return new RateLimiter.Request(
+        identifier,
+        ALGORITHM,
+        quota.getLimit(),
+        Duration.ofMillis(quota.getWindowMillis()),
+        quota.getSlice());
+  }
+
+  @Override
+  public void destroy() {
+    if (refiller != null) {
+      refiller.shutdownNow();
+    }
   }
 }
@@ -0,0 +1,27 @@
+package com.example.loyalty.common.security;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * What {@link FraudDetectionService} knows about one user: transactions in the velocity window on
+ * this node and on the others, and the devices seen. Fields are guarded by the object's lock.
+ */
+final class UserRiskState {
+
+  final VelocityWindow velocity;
+  final DeviceSet devices = new DeviceSet();
+  final AtomicBoolean dirty = new AtomicBoolean();
+  VelocityWindow otherNodes;
+
+  /** True once the user's state from Redis has been merged in */
+  boolean loaded;
+
+  volatile long lastSeen;
+
+  UserRiskState(long windowMillis, int buckets, boolean loaded, long now) {
+    this.velocity = new VelocityWindow(windowMillis, buckets);
+    this.otherNodes = new VelocityWindow(windowMillis, buckets);
+    this.loaded = loaded;
+    this.lastSeen = now;
+  }
+}
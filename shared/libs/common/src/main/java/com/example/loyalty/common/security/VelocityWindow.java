@@ -0,0 +1,117 @@
+package com.example.loyalty.common.security;
+
+import java.util.Arrays;
+
+/**
+ * Sliding count of a user's transactions in a ring of time buckets.
+ *
+ * <p>The window is split into buckets that are reused as time moves on, so recording and counting
+ * touch a fixed number of slots and nothing is allocated. Counts are exact to a bucket's width. Not
+ * thread safe; callers hold the user's state lock.
+ */
+final class VelocityWindow {
+
+  private final long bucketMillis;
+  private final long[] indices;
+  private final int[] counts;
+
+  VelocityWindow(long windowMillis, int buckets) {
+    this.bucketMillis = Math.max(1, windowMillis / buckets);
+    this.indices = new long[buckets];
+    this.counts = new int[buckets];
+    Arrays.fill(indices, Long.MIN_VALUE);
+  }
+
+  /** Record one transaction and return the count in the window, including it */
+  int record(long now) {
+    return record(now, null);
+  }
+
+  /**
+   * Record one transaction and return the count in the window, including it
+   *
+   * @param byAge when not null, the count of each live bucket is added at its age in buckets
+   */
+  int record(long now, int[] byAge) {
+    long current = now / bucketMillis;
+    return add(current, 1, current, byAge);
+  }
+
+  /** Count the transactions in the window */
+  int count(long now) {
+    return count(now, null);
+  }
+
+  /**
+   * Count the transactions in the window
+   *
+   * @param byAge when not null, the count of each live bucket is added at its age in buckets
+   */
+  int count(long now, int[] byAge) {
+    long current = now / bucketMillis;
+    return add(current, 0, current, byAge);
+  }
+
+  /** Add a count recorded elsewhere to its bucket, if that bucket is still in the window */
+  void merge(long index, int count, long now) {
+    long current = now / bucketMillis;
+    if (count > 0 && isLive(index, current)) {
+      add(index, count, current, null);
+    }
+  }
+
+  // Adds to the bucket and sums the live ones in the same pass over the ring
+  private int add(long index, int amount, long current, int[] byAge) {
+    int target = Math.floorMod(index, counts.length);
+    int total = 0;
+    for (int slot = 0; slot < counts.length; slot++) {
+      if (slot == target && amount > 0) {
+        if (indices[slot] != index) {
+          indices[slot] = index;
+          counts[slot] = 0;
+        }
+        counts[slot] += amount;
+      }
+      if (isLive(indices[slot], current)) {
+        total += counts[slot];
+        if (byAge != null) {
+          byAge[(int) (current - indices[slot])] += counts[slot];
+        }
+      }
+    }
+    return total;
+  }
+
+  private boolean isLive(long index, long current) {
+    return index > current - counts.length && index <= current;
+  }
+
+  /** Live buckets as {@code index=count} pairs separated by commas */
+  String encode(long now) {
+    long current = now / bucketMillis;
+    StringBuilder encoded = new StringBuilder();
+    for (int slot = 0; slot < counts.length; slot++) {
+      if (counts[slot] > 0 && isLive(indices[slot], current)) {
+        if (encoded.length() > 0) {
+          encoded.append(',');
+        }
+        encoded.append(indices[slot]).append('=').append(counts[slot]);
+      }
+    }
+    return encoded.toString();
+  }
+
+  /** Merge buckets written by {@link #encode} */
+  void decode(String encoded, long now) {
+    if (encoded == null || encoded.isEmpty()) {
+      return;
+    }
+    for (String bucket : encoded.split(",")) {
+      int separator = bucket.indexOf('=');
+      merge(
+          Long.parseLong(bucket.substring(0, separator)),
+          Integer.parseInt(bucket.substring(separator + 1)),
+          now);
+    }
+  }
+}
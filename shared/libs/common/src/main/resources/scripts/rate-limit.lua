@@ -0,0 +1,100 @@
+-- Rate limit check for one key, run atomically by Redis.
+--
+-- KEYS[1]  state of the key: a counter (fixed), a hash of per-window counters (sliding)
+--          or the theoretical arrival time as seconds:microseconds (gcra)
+-- ARGV[1]  algorithm: fixed, sliding or gcra
+-- ARGV[2]  requests allowed per window
+-- ARGV[3]  window in milliseconds
+-- ARGV[4]  requests asked for; 0 reads the state without changing it
+--
+-- Returns {granted, remaining, reset ms, retry after ms}. Fewer requests than asked for are
+-- granted when fewer are left. Reset is the time until the key is back to its full limit, retry
+-- after the time until the requests not granted could be.
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local algorithm = ARGV[1]
+local limit = tonumber(ARGV[2])
+local window = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+local granted, remaining, reset, retry
+
+if algorithm == 'fixed' then
+  local used = tonumber(redis.call('GET', KEYS[1]) or '0')
+  local ttl = redis.call('PTTL', KEYS[1])
+  granted = math.max(0, math.min(requested, limit - used))
+  if granted > 0 then
+    used = redis.call('INCRBY', KEYS[1], granted)
+    if ttl < 0 then
+      redis.call('PEXPIRE', KEYS[1], window)
+    end
+  end
+  if ttl < 0 then
+    ttl = window
+  end
+  remaining = limit - used
+  reset = ttl
+  retry = granted < requested and ttl or 0
+
+elseif algorithm == 'sliding' then
+  -- The previous window's count, weighted by how much of it still overlaps the sliding window
+  local index = math.floor(now / window)
+  local elapsed = now - index * window
+  local current = tonumber(redis.call('HGET', KEYS[1], tostring(index)) or '0')
+  local previous = tonumber(redis.call('HGET', KEYS[1], tostring(index - 1)) or '0')
+  local weighted = math.floor(previous * (window - elapsed) / window)
+  granted = math.max(0, math.min(requested, limit - current - weighted))
+  if granted > 0 then
+    current = redis.call('HINCRBY', KEYS[1], tostring(index), granted)
+    if redis.call('HLEN', KEYS[1]) > 2 then
+      for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do
+        if tonumber(field) < index - 1 then
+          redis.call('HDEL', KEYS[1], field)
+        end
+      end
+    end
+    redis.call('PEXPIRE', KEYS[1], 2 * window)
+  end
+  remaining = math.max(0, limit - current - weighted)
+  reset = current > 0 and 2 * window - elapsed or window - elapsed
+  retry = 0
+  local missing = requested - granted
+  if missing > 0 then
+    if current + missing > limit or previous == 0 then
+      retry = window - elapsed
+    else
+      -- When the previous window's weight has dropped enough
+      retry = math.max(1, math.ceil(window - elapsed - (limit - current - missing) * window / previous))
+    end
+  end
+
+else
+  -- GCRA in whole microseconds: one request per interval, bursts of up to the limit
+  local interval = math.ceil(window * 1000 / limit)
+  local burst = interval * limit
+  local nowMicros = tonumber(time[1]) * 1000000 + tonumber(time[2])
+  -- Kept in two parts, as Lua prints numbers this large with too few digits
+  local tat = 0
+  local stored = redis.call('GET', KEYS[1])
+  if stored then
+    local seconds, micros = string.match(stored, '^(%d+):(%d+)$')
+    tat = tonumber(seconds) * 1000000 + tonumber(micros)
+  end
+  if tat < nowMicros then
+    tat = nowMicros
+  end
+  granted = math.max(0, math.min(requested, math.floor((nowMicros + burst - tat) / interval)))
+  if granted > 0 then
+    tat = tat + granted * interval
+    local value = math.floor(tat / 1000000) .. ':' .. tat % 1000000
+    redis.call('SET', KEYS[1], value, 'PX', math.ceil((tat - nowMicros) / 1000))
+  end
+  remaining = math.floor((nowMicros + burst - tat) / interval)
+  reset = math.ceil((tat - nowMicros) / 1000)
+  retry = 0
+  if granted < requested then
+    retry = math.ceil((tat + (requested - granted) * interval - burst - nowMicros) / 1000)
+  end
+end
+
+return {granted, remaining, reset, retry}
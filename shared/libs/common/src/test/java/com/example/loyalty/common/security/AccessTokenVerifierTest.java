@@ -0,0 +1,80 @@
+package com.example.loyalty.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.loyalty.common.exceptions.AuthenticationException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AccessTokenVerifierTest {
+
+  private JwtTokenService jwtTokenService;
+  private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+  @BeforeEach
+  void setUp() {
+    jwtTokenService =
+        new JwtTokenService(
+            "test-secret-key-for-jwt-signing-minimum-256-bits",
+            "test-refresh-secret-key-for-jwt-signing-minimum-256-bits",
+            900000L, // 15 minutes
+            604800000L, // 7 days
+            "loyalty-test");
+  }
+
+  @Test
+  void shouldReuseVerificationUntilTokenExpires() {
+    // Given
+    AccessTokenVerifier verifier = new AccessTokenVerifier(jwtTokenService, 10, clock::get);
+    String token =
+        jwtTokenService.generateAccessToken("user123", "test@example.com", List.of("USER"));
+
+    // When
+    AccessTokenVerifier.VerifiedToken first = verifier.verify(token);
+    AccessTokenVerifier.VerifiedToken second = verifier.verify(token);
+
+    // Then
+    assertSame(first, second);
+    assertEquals("user123", first.claims().getUserId());
+    assertEquals("ROLE_USER", first.authorities().get(0).getAuthority());
+
+    // Once the cached entry expires the token is verified again
+    clock.set(first.expiresAtMillis());
+    assertNotSame(first, verifier.verify(token));
+    assertEquals(1, verifier.size());
+  }
+
+  @Test
+  void shouldShareAuthoritiesAcrossTokens() {
+    // Given
+    AccessTokenVerifier verifier = new AccessTokenVerifier(jwtTokenService, 10, clock::get);
+
+    // When
+    AccessTokenVerifier.VerifiedToken first =
+        verifier.verify(jwtTokenService.generateAccessToken("a", "a@example.com", List.of("USER")));
+    AccessTokenVerifier.VerifiedToken second =
+        verifier.verify(jwtTokenService.generateAccessToken("b", "b@example.com", List.of("USER")));
+
+    // Then
+    assertSame(first.authorities().get(0), second.authorities().get(0));
+  }
+
+  @Test
+  void shouldNotCacheInvalidTokensOrGrowBeyondLimit() {
+    // Given
+    AccessTokenVerifier verifier = new AccessTokenVerifier(jwtTokenService, 2, clock::get);
+
+    // When
+    assertThrows(AuthenticationException.class, () -> verifier.verify("invalid.jwt.token"));
+    for (int i = 0; i < 5; i++) {
+      String token =
+          jwtTokenService.generateAccessToken("user" + i, "test@example.com", List.of("USER"));
+      assertEquals("user" + i, verifier.verify(token).claims().getUserId());
+    }
+
+    // Then
+    assertEquals(2, verifier.size());
+  }
+}
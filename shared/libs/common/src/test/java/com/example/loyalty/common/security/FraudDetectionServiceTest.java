@@ -0,0 +1,163 @@
+package com.example.loyalty.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment.FraudResult;
+import com.example.loyalty.common.security.FraudDetectionService.TransactionRequest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+class FraudDetectionServiceTest {
+
+  private static final long HOUR = 3_600_000L;
+
+  private RedisTemplate<String, String> redisTemplate;
+  private SecurityAuditService auditService;
+  private final Instant noon =
+      LocalDateTime.of(2026, 1, 15, 12, 0).atZone(ZoneId.systemDefault()).toInstant();
+  private final AtomicLong clock = new AtomicLong(noon.toEpochMilli());
+  private FraudDetectionService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redisTemplate = mock(RedisTemplate.class);
+    auditService = mock(SecurityAuditService.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.destroy();
+  }
+
+  @Test
+  void shouldFlagVelocityWithinWindowOnly() {
+    // Given
+    service = new FraudDetectionService(redisTemplate, auditService, 0, 100, clock::get);
+    for (int i = 0; i < 5; i++) {
+      assertFalse(
+          assess("user-1", 100, "phone-1", noon)
+              .getScore()
+              .getReasons()
+              .contains("High transaction velocity"));
+    }
+
+    // When
+    FraudDetectionService.FraudAssessment sixth = assess("user-1", 100, "phone-1", noon);
+    FraudDetectionService.FraudAssessment later =
+        assess("user-1", 100, "phone-1", noon.plusSeconds(11 * 60));
+
+    // Then
+    assertEquals(List.of("High transaction velocity"), sixth.getScore().getReasons());
+    assertTrue(later.getScore().getReasons().isEmpty());
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @Test
+  void shouldBlockAndAuditHighScores() {
+    // Given
+    service = new FraudDetectionService(redisTemplate, auditService, 0, 100, clock::get);
+    for (int i = 0; i < 5; i++) {
+      assess("user-1", 100, "phone-1", noon);
+    }
+
+    // When
+    FraudDetectionService.FraudAssessment assessment =
+        assess("user-1", 20_000, "laptop-1", noon.plusSeconds(60));
+
+    // Then
+    assertEquals(FraudResult.BLOCKED, assessment.getResult());
+    assertEquals(
+        List.of("High transaction velocity", "Large point amount", "New device"),
+        assessment.getScore().getReasons());
+    verify(auditService)
+        .logPointTransaction(eq("user-1"), eq("EARN"), eq(20_000), eq("BLOCKED"), anyString());
+  }
+
+  @Test
+  void shouldScoreWithRulesSetAtRuntime() {
+    // Given
+    service = new FraudDetectionService(redisTemplate, auditService, 0, 100, clock::get);
+    assess("user-1", 100, "phone-1", noon);
+    service.setRules(
+        FraudRules.compile(
+            "rule \"Burst\" when velocity(1m) > 1 score 0.9\n"
+                + "block when score > 0.8\n"
+                + "verify when score > 0.5"));
+
+    // When
+    FraudDetectionService.FraudAssessment assessment = assess("user-1", 100, "phone-1", noon);
+
+    // Then
+    assertEquals(FraudResult.BLOCKED, assessment.getResult());
+    assertEquals(List.of("Burst"), assessment.getScore().getReasons());
+    assertEquals(2, assessment.getFeatures().getVelocity(1));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldScoreDevicesOnceSyncedWithOtherNodes() {
+    // Given a user seen by another node on a phone, with two recent transactions there
+    service = new FraudDetectionService(redisTemplate, auditService, HOUR, 100, clock::get);
+    DeviceSet otherDevices = new DeviceSet();
+    otherDevices.add("phone-1");
+    long bucket = noon.toEpochMilli() / 60_000;
+    when(redisTemplate.executePipelined(any(RedisCallback.class)))
+        .thenReturn(
+            List.of(
+                true,
+                true,
+                true,
+                Map.of("other:v", bucket + "=2", "other:d", otherDevices.encode())));
+
+    // Devices are not scored before the user's state is read
+    assertTrue(assess("user-1", 100, "tablet-1", noon).getScore().getReasons().isEmpty());
+
+    // When
+    service.sync();
+
+    // Then
+    verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    assertTrue(assess("user-1", 100, "phone-1", noon).getScore().getReasons().isEmpty());
+    assertTrue(assess("user-1", 100, "tablet-1", noon).getScore().getReasons().isEmpty());
+    assertEquals(
+        List.of("High transaction velocity", "New device"),
+        assess("user-1", 100, "laptop-1", noon).getScore().getReasons());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldKeepStateDirtyWhenSyncFails() {
+    // Given
+    service = new FraudDetectionService(redisTemplate, auditService, HOUR, 100, clock::get);
+    when(redisTemplate.executePipelined(any(RedisCallback.class)))
+        .thenThrow(new IllegalStateException("down"))
+        .thenReturn(List.of(true, true, true, Map.of()));
+    assess("user-1", 100, "phone-1", noon);
+
+    // When
+    service.sync();
+    service.sync();
+    service.sync();
+
+    // Then the state was written again after the failure and not after it succeeded
+    verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+  }
+
+  private FraudDetectionService.FraudAssessment assess(
+      String userId, int points, String device, Instant at) {
+    return service.assessTransaction(
+        new TransactionRequest(userId, "EARN", points, at, device, "10.0.0.1"));
+  }
+}
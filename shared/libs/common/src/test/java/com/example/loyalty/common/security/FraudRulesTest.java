@@ -0,0 +1,103 @@
+package com.example.loyalty.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment;
+import com.example.loyalty.common.security.FraudDetectionService.FraudAssessment.FraudResult;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FraudRulesTest {
+
+  private static final int NOON = 12 * 3600;
+
+  @Test
+  void shouldScoreDefaultsLikeTheFixedRules() {
+    // Given
+    FraudRules rules = FraudRules.defaults();
+
+    // When
+    FraudAssessment quiet = rules.assess(features(1, 100, NOON, false));
+    FraudAssessment review = rules.assess(features(6, 20_000, NOON, false));
+    FraudAssessment atNight = rules.assess(features(6, 20_000, 3 * 3600, false));
+    FraudAssessment blocked = rules.assess(features(6, 20_000, NOON, true));
+
+    // Then
+    assertEquals(FraudResult.APPROVED, quiet.getResult());
+    assertTrue(quiet.getScore().getReasons().isEmpty());
+    assertEquals(FraudResult.REQUIRES_VERIFICATION, review.getResult());
+    assertEquals(
+        List.of("High transaction velocity", "Large point amount"), review.getScore().getReasons());
+    // 0.3 + 0.2 + 0.3 is not above 0.8
+    assertEquals(FraudResult.REQUIRES_VERIFICATION, atNight.getResult());
+    assertEquals(FraudResult.BLOCKED, blocked.getResult());
+    assertEquals(4, rules.getRuleCount());
+  }
+
+  @Test
+  void shouldMatchAllConditionsOfARule() {
+    // Given
+    FraudRules rules =
+        FraudRules.compile(
+            String.join(
+                "\n",
+                "# Large earns from new devices",
+                "rule \"New device, large earn\" when new_device and points >= 5000 score 0.6",
+                "rule \"Burst\" when velocity(2m) > 3 score 0.5  # short window",
+                "",
+                "block when score >= 0.6",
+                "verify when score > 0.4"));
+
+    // When & Then
+    assertEquals(FraudResult.APPROVED, rules.assess(features(1, 4_999, NOON, true)).getResult());
+    assertEquals(FraudResult.BLOCKED, rules.assess(features(1, 5_000, NOON, true)).getResult());
+    assertEquals(
+        FraudResult.REQUIRES_VERIFICATION,
+        rules.assess(new FraudFeatures(new int[] {2, 2}, 0, NOON, false)).getResult());
+    // Transactions three minutes ago are outside the 2 minute window
+    assertEquals(
+        FraudResult.APPROVED,
+        rules.assess(new FraudFeatures(new int[] {1, 0, 5}, 0, NOON, false)).getResult());
+  }
+
+  @Test
+  void shouldMatchTimeRangesAcrossMidnight() {
+    // Given
+    FraudRules rules =
+        FraudRules.compile(
+            "rule \"Night\" when time between 22:00 and 02:00 score 0.6\n"
+                + "block when score > 0.9\n"
+                + "verify when score > 0.5");
+
+    // When & Then
+    assertEquals(FraudResult.APPROVED, rules.assess(features(1, 0, 22 * 3600, false)).getResult());
+    assertEquals(
+        FraudResult.REQUIRES_VERIFICATION,
+        rules.assess(features(1, 0, 23 * 3600, false)).getResult());
+    assertEquals(
+        FraudResult.REQUIRES_VERIFICATION, rules.assess(features(1, 0, 3600, false)).getResult());
+    assertEquals(FraudResult.APPROVED, rules.assess(features(1, 0, NOON, false)).getResult());
+  }
+
+  @Test
+  void shouldRejectInvalidRulesNamingTheLine() {
+    assertError("line 1", "rule \"Large\" when points > lots score 0.3\nblock when score > 0.8");
+    assertError("line 2", "block when score > 0.8\nrule \"Burst\" when velocity(30m) > 5 score 1");
+    assertError("line 1", "rule \"Odd\" when weather = 1 score 0.1");
+    assertError("line 1", "rule \"Unterminated when new_device score 0.1");
+    assertError("line 1", "verify when score < 0.5");
+    assertError("threshold", "rule \"New device\" when new_device score 0.3");
+    assertError("above", "block when score > 0.5\nverify when score > 0.8");
+  }
+
+  private static void assertError(String expected, String source) {
+    IllegalArgumentException error =
+        assertThrows(IllegalArgumentException.class, () -> FraudRules.compile(source));
+    assertTrue(error.getMessage().contains(expected), error.getMessage());
+  }
+
+  private static FraudFeatures features(
+      int velocity, int points, int secondOfDay, boolean newDevice) {
+    return new FraudFeatures(new int[] {velocity}, points, secondOfDay, newDevice);
+  }
+}
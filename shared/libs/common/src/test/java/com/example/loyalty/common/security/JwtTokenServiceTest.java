@@ -110,4 +110,35 @@ class JwtTokenServiceTest {
     // When & Then
     assertTrue(shortExpiryService.isTokenExpired(token));
   }
+
+  @Test
+  void shouldVerifyTokensSignedWithRotatedOutSecret() {
+    // Given - a token signed before the secret was rotated
+    String oldSecret = "test-secret-key-for-jwt-signing-minimum-256-bits";
+    String token =
+        jwtTokenService.generateAccessToken("user123", "test@example.com", List.of("USER"));
+    JwtTokenService rotated =
+        new JwtTokenService(
+            "rotated-secret-key-for-jwt-signing-minimum-256-bits",
+            new String[] {oldSecret},
+            "test-refresh-secret-key-for-jwt-signing-minimum-256-bits",
+            900000L,
+            604800000L,
+            "loyalty-test");
+    JwtTokenService withoutOldSecret =
+        new JwtTokenService(
+            "rotated-secret-key-for-jwt-signing-minimum-256-bits",
+            "test-refresh-secret-key-for-jwt-signing-minimum-256-bits",
+            900000L,
+            604800000L,
+            "loyalty-test");
+
+    // When & Then
+    assertEquals("user123", rotated.validateAccessToken(token).getUserId());
+    String newToken = rotated.generateAccessToken("user456", "new@example.com", List.of("USER"));
+    assertEquals("user456", rotated.validateAccessToken(newToken).getUserId());
+    assertThrows(AuthenticationException.class, () -> withoutOldSecret.validateAccessToken(token));
+    assertThrows(
+        AuthenticationException.class, () -> jwtTokenService.validateAccessToken(newToken));
+  }
 }
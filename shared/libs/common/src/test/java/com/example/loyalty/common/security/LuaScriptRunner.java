@@ -0,0 +1,196 @@
+package com.example.loyalty.common.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+
+/**
+ * Runs {@code scripts/rate-limit.lua} against an in-memory stand-in for Redis.
+ *
+ * <p>Scripts run one at a time, as they do in Redis, and {@code TIME} reads a settable clock in
+ * microseconds. Only the commands the script uses are supported.
+ */
+class LuaScriptRunner implements RateLimiter.ScriptRunner {
+
+  final AtomicLong micros = new AtomicLong(1_700_000_000_000_000L);
+
+  private final Map<String, Object> values = new HashMap<>();
+  private final Map<String, Long> expiresAtMicros = new HashMap<>();
+  private final Globals globals = JsePlatform.standardGlobals();
+  private final LuaValue script;
+
+  LuaScriptRunner() {
+    try (InputStream in =
+        getClass().getClassLoader().getResourceAsStream("scripts/rate-limit.lua")) {
+      script = globals.load(new String(in.readAllBytes(), StandardCharsets.UTF_8), "rate-limit");
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    LuaTable redis = new LuaTable();
+    redis.set(
+        "call",
+        new VarArgFunction() {
+          @Override
+          public Varargs invoke(Varargs args) {
+            String[] command = new String[args.narg()];
+            for (int i = 0; i < command.length; i++) {
+              command[i] = args.arg(i + 1).tojstring();
+            }
+            return execute(command);
+          }
+        });
+    globals.set("redis", redis);
+  }
+
+  @Override
+  public synchronized List<Long> eval(String key, String[] arguments) {
+    LuaTable keys = new LuaTable();
+    keys.set(1, LuaValue.valueOf(key));
+    LuaTable argv = new LuaTable();
+    for (int i = 0; i < arguments.length; i++) {
+      argv.set(i + 1, LuaValue.valueOf(arguments[i]));
+    }
+    globals.set("KEYS", keys);
+    globals.set("ARGV", argv);
+    LuaValue result = script.call();
+    // Redis truncates numbers to integers in replies
+    List<Long> reply = new ArrayList<>();
+    for (int i = 1; i <= result.length(); i++) {
+      reply.add((long) result.get(i).todouble());
+    }
+    return reply;
+  }
+
+  @Override
+  public synchronized List<List<Long>> evalAll(List<String> keys, List<String[]> arguments) {
+    List<List<Long>> replies = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i++) {
+      replies.add(eval(keys.get(i), arguments.get(i)));
+    }
+    return replies;
+  }
+
+  @Override
+  public synchronized void delete(String key) {
+    values.remove(key);
+    expiresAtMicros.remove(key);
+  }
+
+  synchronized boolean exists(String key) {
+    expire(key);
+    return values.containsKey(key);
+  }
+
+  private LuaValue execute(String[] command) {
+    long now = micros.get();
+    if (command.length > 1) {
+      expire(command[1]);
+    }
+    String key = command.length > 1 ? command[1] : null;
+    switch (command[0].toUpperCase()) {
+      case "TIME":
+        return LuaValue.listOf(
+            new LuaValue[] {
+              LuaValue.valueOf(String.valueOf(now / 1_000_000)),
+              LuaValue.valueOf(String.valueOf(now % 1_000_000))
+            });
+      case "GET":
+        return values.containsKey(key)
+            ? LuaValue.valueOf((String) values.get(key))
+            : LuaValue.FALSE;
+      case "SET":
+        values.put(key, command[2]);
+        expiresAtMicros.remove(key);
+        if (command.length > 4 && "PX".equalsIgnoreCase(command[3])) {
+          expiresAtMicros.put(key, now + parse(command[4]) * 1000);
+        }
+        return LuaValue.valueOf("OK");
+      case "INCRBY":
+        {
+          long value = Long.parseLong((String) values.getOrDefault(key, "0")) + parse(command[2]);
+          values.put(key, String.valueOf(value));
+          return LuaValue.valueOf(value);
+        }
+      case "PEXPIRE":
+        if (!values.containsKey(key)) {
+          return LuaValue.valueOf(0);
+        }
+        expiresAtMicros.put(key, now + parse(command[2]) * 1000);
+        return LuaValue.valueOf(1);
+      case "PTTL":
+        if (!values.containsKey(key)) {
+          return LuaValue.valueOf(-2);
+        }
+        Long expiresAt = expiresAtMicros.get(key);
+        return LuaValue.valueOf(expiresAt == null ? -1 : (expiresAt - now) / 1000);
+      case "HGET":
+        {
+          String field = hash(key, false) == null ? null : hash(key, false).get(command[2]);
+          return field != null ? LuaValue.valueOf(field) : LuaValue.FALSE;
+        }
+      case "HINCRBY":
+        {
+          Map<String, String> hash = hash(key, true);
+          long value = Long.parseLong(hash.getOrDefault(command[2], "0")) + parse(command[3]);
+          hash.put(command[2], String.valueOf(value));
+          return LuaValue.valueOf(value);
+        }
+      case "HDEL":
+        {
+          Map<String, String> hash = hash(key, false);
+          return LuaValue.valueOf(hash != null && hash.remove(command[2]) != null ? 1 : 0);
+        }
+      case "HLEN":
+        return LuaValue.valueOf(hash(key, false) == null ? 0 : hash(key, false).size());
+      case "HKEYS":
+        {
+          LuaTable fields = new LuaTable();
+          if (hash(key, false) != null) {
+            for (String field : hash(key, false).keySet()) {
+              fields.set(fields.length() + 1, LuaValue.valueOf(field));
+            }
+          }
+          return fields;
+        }
+      default:
+        throw new LuaError("Unsupported command " + command[0]);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, String> hash(String key, boolean create) {
+    if (create) {
+      return (Map<String, String>) values.computeIfAbsent(key, k -> new HashMap<String, String>());
+    }
+    return (Map<String, String>) values.get(key);
+  }
+
+  private void expire(String key) {
+    Long expiresAt = expiresAtMicros.get(key);
+    if (expiresAt != null && expiresAt <= micros.get()) {
+      values.remove(key);
+      expiresAtMicros.remove(key);
+    }
+  }
+
+  // Redis accepts integral arguments only
+  private static long parse(String value) {
+    double number = Double.parseDouble(value);
+    if (number != Math.floor(number)) {
+      throw new LuaError("value is not an integer: " + value);
+    }
+    return (long) number;
+  }
+}
@@ -0,0 +1,179 @@
+package com.example.loyalty.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RateLimiterTest {
+
+  private static final Duration MINUTE = Duration.ofMinutes(1);
+
+  private LuaScriptRunner redis;
+  private RateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    redis = new LuaScriptRunner();
+    rateLimiter = new RateLimiter(redis);
+  }
+
+  @ParameterizedTest
+  @EnumSource(RateLimitAlgorithm.class)
+  void shouldNeverAllowMoreThanLimitUnderConcurrency(RateLimitAlgorithm algorithm)
+      throws Exception {
+    // Given
+    int threads = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+
+    // When
+    for (int i = 0; i < threads; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                start.await();
+                int allowed = 0;
+                for (int j = 0; j < 200; j++) {
+                  if (rateLimiter.tryAcquire("user-1", algorithm, 100, MINUTE).isAllowed()) {
+                    allowed++;
+                  }
+                }
+                return allowed;
+              }));
+    }
+    start.countDown();
+    int allowed = 0;
+    for (Future<Integer> result : results) {
+      allowed += result.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // Then
+    assertEquals(100, allowed);
+    assertEquals(0, rateLimiter.status("user-1", algorithm, 100, MINUTE).remaining());
+  }
+
+  @Test
+  void shouldResetFixedWindowOnceItExpires() {
+    // Given
+    for (int i = 0; i < 3; i++) {
+      assertTrue(
+          rateLimiter.tryAcquire("ip-1", RateLimitAlgorithm.FIXED_WINDOW, 3, MINUTE).isAllowed());
+    }
+
+    // When
+    RateLimitDecision denied =
+        rateLimiter.tryAcquire("ip-1", RateLimitAlgorithm.FIXED_WINDOW, 3, MINUTE);
+    redis.micros.addAndGet(MINUTE.toNanos() / 1000);
+
+    // Then
+    assertFalse(denied.isAllowed());
+    assertEquals(0, denied.remaining());
+    assertEquals(60000, denied.retryAfterMillis());
+    RateLimitDecision allowed =
+        rateLimiter.tryAcquire("ip-1", RateLimitAlgorithm.FIXED_WINDOW, 3, MINUTE);
+    assertTrue(allowed.isAllowed());
+    assertEquals(2, allowed.remaining());
+  }
+
+  @Test
+  void shouldWeighPreviousWindowInSlidingWindow() {
+    // Given the start of a window with its limit used
+    redis.micros.set(28_333_333L * 60_000_000L);
+    assertEquals(
+        10,
+        rateLimiter
+            .acquire(
+                new RateLimiter.Request("ip-1", RateLimitAlgorithm.SLIDING_WINDOW, 10, MINUTE, 10))
+            .granted());
+
+    // When 30% into the next window, 70% of the previous one still counts
+    redis.micros.addAndGet(78_000_000L);
+    RateLimitDecision decision =
+        rateLimiter.acquire(
+            new RateLimiter.Request("ip-1", RateLimitAlgorithm.SLIDING_WINDOW, 10, MINUTE, 5));
+
+    // Then
+    assertEquals(3, decision.granted());
+    assertEquals(0, decision.remaining());
+    assertTrue(decision.retryAfterMillis() > 0);
+  }
+
+  @Test
+  void shouldSpaceRequestsEvenlyWithGcra() {
+    // Given a burst using the whole limit
+    Duration window = Duration.ofSeconds(10);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(rateLimiter.tryAcquire("user-1", RateLimitAlgorithm.GCRA, 10, window).isAllowed());
+    }
+
+    // When
+    RateLimitDecision denied =
+        rateLimiter.tryAcquire("user-1", RateLimitAlgorithm.GCRA, 10, window);
+    redis.micros.addAndGet(1_000_000L);
+
+    // Then one request is allowed per window / limit
+    assertFalse(denied.isAllowed());
+    assertEquals(1000, denied.retryAfterMillis());
+    assertEquals(10000, denied.resetMillis());
+    assertTrue(rateLimiter.tryAcquire("user-1", RateLimitAlgorithm.GCRA, 10, window).isAllowed());
+    assertFalse(rateLimiter.tryAcquire("user-1", RateLimitAlgorithm.GCRA, 10, window).isAllowed());
+  }
+
+  @Test
+  void shouldGrantWhatIsLeftInPipeline() {
+    // Given
+    RateLimiter.Request lease =
+        new RateLimiter.Request("user-1", RateLimitAlgorithm.SLIDING_WINDOW, 5, MINUTE, 3);
+    RateLimiter.Request other =
+        new RateLimiter.Request("user-2", RateLimitAlgorithm.SLIDING_WINDOW, 5, MINUTE, 3);
+
+    // When
+    List<RateLimitDecision> decisions = rateLimiter.acquireAll(List.of(lease, lease, other));
+
+    // Then
+    assertEquals(3, decisions.get(0).granted());
+    assertEquals(2, decisions.get(1).granted());
+    assertEquals(3, decisions.get(2).granted());
+  }
+
+  @Test
+  void shouldReadStatusWithoutUsingLimit() {
+    // Given
+    rateLimiter.tryAcquire("ip-1", RateLimitAlgorithm.FIXED_WINDOW, 3, MINUTE);
+
+    // When
+    RateLimitDecision status =
+        rateLimiter.status("ip-1", RateLimitAlgorithm.FIXED_WINDOW, 3, MINUTE);
+
+    // Then
+    assertEquals(0, status.granted());
+    assertEquals(2, status.remaining());
+    assertEquals(
+        2, rateLimiter.status("ip-1", RateLimitAlgorithm.FIXED_WINDOW, 3, MINUTE).remaining());
+  }
+
+  @Test
+  void shouldForgetKeyOnReset() {
+    // Given
+    rateLimiter.tryAcquire("ip-1", RateLimitAlgorithm.GCRA, 3, MINUTE);
+
+    // When
+    rateLimiter.reset("ip-1", RateLimitAlgorithm.GCRA);
+
+    // Then
+    assertFalse(redis.exists("rate_limit:gcra:ip-1"));
+  }
+}
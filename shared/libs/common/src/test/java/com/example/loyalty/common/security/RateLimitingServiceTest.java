@@ -0,0 +1,154 @@
+package com.example.loyalty.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+class RateLimitingServiceTest {
+
+  private RateLimiter rateLimiter;
+  private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+  @BeforeEach
+  void setUp() {
+    rateLimiter = mock(RateLimiter.class);
+  }
+
+  @Test
+  void shouldAnswerFromLocalLeaseUntilItRunsOut() {
+    // Given
+    RateLimitingService service = new RateLimitingService(rateLimiter, 0.05, 0, clock::get);
+    lease(20, 0);
+
+    // When
+    int allowed = 0;
+    for (int i = 0; i < 25; i++) {
+      if (service.isAllowed("user-1", 400, Duration.ofMinutes(1))) {
+        allowed++;
+      }
+    }
+
+    // Then
+    assertEquals(20, allowed);
+    ArgumentCaptor<RateLimiter.Request> leases = ArgumentCaptor.forClass(RateLimiter.Request.class);
+    verify(rateLimiter, times(2)).acquire(leases.capture());
+    assertEquals(
+        new RateLimiter.Request(
+            "user-1", RateLimitAlgorithm.SLIDING_WINDOW, 400, Duration.ofMinutes(1), 20),
+        leases.getValue());
+  }
+
+  @Test
+  void shouldAskRedisForEveryRequestOfSmallLimits() {
+    // Given
+    RateLimitingService service = new RateLimitingService(rateLimiter, 0.05, 0, clock::get);
+    lease(1, 1, 1, 0);
+
+    // When
+    boolean[] allowed = new boolean[4];
+    for (int i = 0; i < allowed.length; i++) {
+      allowed[i] = service.isAllowed("ip-1", 3, Duration.ofMinutes(15));
+    }
+
+    // Then
+    assertArrayEquals(new boolean[] {true, true, true, false}, allowed);
+    verify(rateLimiter, times(4)).acquire(argThat(request -> request.permits() == 1));
+  }
+
+  @Test
+  void shouldLeaseAgainOnceLeaseExpires() {
+    // Given
+    RateLimitingService service = new RateLimitingService(rateLimiter, 0.05, 0, clock::get);
+    lease(20, 20);
+    assertTrue(service.isAllowed("user-1", 400, Duration.ofMinutes(1)));
+
+    // When
+    clock.addAndGet(3_000L);
+
+    // Then
+    assertTrue(service.isAllowed("user-1", 400, Duration.ofMinutes(1)));
+    verify(rateLimiter, times(2)).acquire(any());
+  }
+
+  @Test
+  void shouldRefillLowLeasesInOnePipeline() {
+    // Given
+    RateLimitingService service = new RateLimitingService(rateLimiter, 0.05, 0, clock::get);
+    lease(20);
+    for (int i = 0; i < 18; i++) {
+      service.isAllowed("user-1", 400, Duration.ofMinutes(1));
+    }
+    when(rateLimiter.acquireAll(anyList()))
+        .thenReturn(List.of(new RateLimitDecision(400, 20, 360, 60000, 0)));
+
+    // When
+    service.refill();
+
+    // Then
+    for (int i = 0; i < 22; i++) {
+      assertTrue(service.isAllowed("user-1", 400, Duration.ofMinutes(1)));
+    }
+    verify(rateLimiter, times(1)).acquire(any());
+    verify(rateLimiter, times(1)).acquireAll(anyList());
+  }
+
+  @Test
+  void shouldKeepOneQuotaForConcurrentFirstRequests() throws Exception {
+    // Given - one lease covers every caller, a second lease would be empty
+    RateLimitingService service = new RateLimitingService(rateLimiter, 0.05, 0, clock::get);
+    lease(20, 0);
+    int callers = 16;
+    CyclicBarrier start = new CyclicBarrier(callers);
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+    // When
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < callers; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return service.isAllowed("user-1", 400, Duration.ofMinutes(1));
+              }));
+    }
+
+    // Then - nobody is denied below the limit by a quota that replaced the leased one
+    for (Future<Boolean> result : results) {
+      assertTrue(result.get());
+    }
+    executor.shutdown();
+    verify(rateLimiter, times(1)).acquire(any());
+  }
+
+  @Test
+  void shouldFailOpenWhenRedisIsUnavailable() {
+    // Given
+    RateLimitingService service = new RateLimitingService(rateLimiter, 0.05, 0, clock::get);
+    when(rateLimiter.acquire(any())).thenThrow(new RedisConnectionFailureException("down"));
+
+    // When & Then
+    assertTrue(service.isAuthAttemptAllowed("10.0.0.1"));
+  }
+
+  private void lease(int first, int... rest) {
+    RateLimitDecision[] next = new RateLimitDecision[rest.length];
+    for (int i = 0; i < rest.length; i++) {
+      next[i] = new RateLimitDecision(400, rest[i], 0, 60000, rest[i] > 0 ? 0 : 60000);
+    }
+    when(rateLimiter.acquire(any()))
+        .thenReturn(new RateLimitDecision(400, first, 0, 60000, 0), next);
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.common.response.ApiResponse;
+import com.example.loyalty.points.application.dto.EarnPointsDTO;
+import com.example.loyalty.points.application.dto.PointBalanceDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialization of the {@link ApiResponse} envelopes returned by the balance and earn
+ * endpoints, using a mapper configured like Spring Boot's default.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+  private ObjectMapper objectMapper;
+  private ObjectWriter writer;
+  private ApiResponse<PointBalanceDTO.Response> balanceResponse;
+  private ApiResponse<EarnPointsDTO.Response> earnResponse;
+
+  @Setup
+  public void setUp() {
+    objectMapper =
+        JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    writer = objectMapper.writer();
+
+    UUID userId = UUID.randomUUID();
+    balanceResponse =
+        ApiResponse.success(
+            new PointBalanceDTO.Response(
+                userId, 125_000, 120_000, 5_000, 540_000, 415_000, LocalDateTime.now()),
+            "Balance retrieved successfully");
+
+    EarnPointsDTO.Response earned =
+        new EarnPointsDTO.Response(
+            UUID.randomUUID().toString(), userId, 1_375, 126_375, "Points earned successfully");
+    earned.setEarningType("PURCHASE");
+    earned.setTransactionAmount(BigDecimal.valueOf(1_375_000));
+    earnResponse = ApiResponse.success(earned, "Points earned successfully");
+  }
+
+  @Benchmark
+  public byte[] balanceResponse() throws JsonProcessingException {
+    return writer.writeValueAsBytes(balanceResponse);
+  }
+
+  @Benchmark
+  public byte[] earnResponse() throws JsonProcessingException {
+    return writer.writeValueAsBytes(earnResponse);
+  }
+
+  @Benchmark
+  public byte[] earnResponseThroughMapper() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(earnResponse);
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.loyalty.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Baseline copy of the BigDecimal-backed {@code Points} value object that the long-backed one
+ * replaced, kept so {@link PointsArithmeticBenchmark} can compare the two in the same run.
+ */
+final class BigDecimalPoints {
+  private final BigDecimal value;
+
+  BigDecimalPoints(BigDecimal value) {
+    if (value == null || value.compareTo(BigDecimal.ZERO) < 0) {
+      throw new IllegalArgumentException("Points value cannot be null or negative");
+    }
+    this.value = value;
+  }
+
+  BigDecimalPoints(long value) {
+    this(BigDecimal.valueOf(value));
+  }
+
+  BigDecimalPoints add(BigDecimalPoints other) {
+    return new BigDecimalPoints(this.value.add(other.value));
+  }
+
+  BigDecimalPoints subtract(BigDecimalPoints other) {
+    BigDecimal result = this.value.subtract(other.value);
+    if (result.compareTo(BigDecimal.ZERO) < 0) {
+      throw new IllegalArgumentException("Points cannot be negative");
+    }
+    return new BigDecimalPoints(result);
+  }
+
+  BigDecimalPoints multiply(BigDecimal multiplier) {
+    if (multiplier.compareTo(BigDecimal.ZERO) < 0) {
+      throw new IllegalArgumentException("Multiplier cannot be negative");
+    }
+    return new BigDecimalPoints(this.value.multiply(multiplier));
+  }
+
+  boolean isGreaterThanOrEqual(BigDecimalPoints other) {
+    return this.value.compareTo(other.value) >= 0;
+  }
+
+  long longValue() {
+    return value.longValue();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    return Objects.equals(value, ((BigDecimalPoints) o).value);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(value);
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Single {@link EarningRule#calculatePoints} evaluation for the common rule shapes */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EarningRuleBenchmark {
+
+  private EarningRule purchaseRule;
+  private EarningRule tierRule;
+  private EarningRule actionRule;
+  private BigDecimal amount;
+
+  @Setup
+  public void setUp() {
+    purchaseRule =
+        new EarningRule("Purchase", EarningType.PURCHASE, BigDecimal.ONE, "DOLLAR", BigDecimal.ONE);
+    purchaseRule.setStartDate(LocalDateTime.now().minusDays(1));
+
+    tierRule =
+        new EarningRule(
+            "Gold bonus", EarningType.PURCHASE, BigDecimal.ONE, "DOLLAR", new BigDecimal("1.25"));
+    tierRule.setStartDate(LocalDateTime.now().minusDays(1));
+    tierRule.setTierRestrictions(Map.of("allowedTiers", List.of("GOLD")));
+    tierRule.setMaxPoints(Points.of(100));
+
+    actionRule =
+        new EarningRule(
+            "Referral", EarningType.REFERRAL, BigDecimal.valueOf(500), "ACTION", BigDecimal.ONE);
+    actionRule.setStartDate(LocalDateTime.now().minusDays(1));
+
+    amount = BigDecimal.valueOf(125_000);
+  }
+
+  @Benchmark
+  public Points purchaseRule() {
+    return purchaseRule.calculatePoints(amount, null);
+  }
+
+  @Benchmark
+  public Points tierRestrictedRule() {
+    return tierRule.calculatePoints(amount, "GOLD");
+  }
+
+  @Benchmark
+  public Points fixedActionRule() {
+    return actionRule.calculatePoints(amount, null);
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.common.logging.StructuredLogger;
+import com.example.loyalty.common.security.FraudDetectionService;
+import com.example.loyalty.common.security.SecurityAuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One {@link FraudDetectionService#assessTransaction} on the earn path, sampled so the p99 can be
+ * checked against the 1 ms budget. Assessments read and update only the in-memory user state;
+ * the Redis sync is disabled, as it runs on its own thread. Each user has a few devices and
+ * earns small amounts, so nothing is blocked and no audit is written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class FraudAssessmentBenchmark {
+
+  @Param({"1000", "100000"})
+  public int users;
+
+  @Param({"4"})
+  public int devicesPerUser;
+
+  private FraudDetectionService fraudDetection;
+
+  @Setup
+  public void setUp() {
+    SecurityAuditService auditService =
+        new SecurityAuditService(
+            new StructuredLogger(SecurityAuditService.class), new ObjectMapper());
+    // With a sync interval of 0 the Redis template is never used
+    fraudDetection = new FraudDetectionService(null, auditService, 0, users);
+  }
+
+  @TearDown
+  public void tearDown() {
+    fraudDetection.destroy();
+  }
+
+  @Benchmark
+  public FraudDetectionService.FraudAssessment assessTransaction() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return fraudDetection.assessTransaction(
+        new FraudDetectionService.TransactionRequest(
+            "user-" + random.nextInt(users),
+            "EARN",
+            100,
+            Instant.now(),
+            "device-" + random.nextInt(devicesPerUser),
+            "10.0.0.1"));
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.repositories.EarningRuleRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/** Fixed rule set for benchmarks, without the seeded defaults of the in-memory repository */
+final class ListEarningRuleRepository implements EarningRuleRepository {
+
+  private final List<EarningRule> rules;
+
+  ListEarningRuleRepository(List<EarningRule> rules) {
+    this.rules = new ArrayList<>(rules);
+  }
+
+  @Override
+  public EarningRule save(EarningRule rule) {
+    rules.add(rule);
+    return rule;
+  }
+
+  @Override
+  public Optional<EarningRule> findById(UUID id) {
+    return rules.stream().filter(rule -> rule.getId().equals(id)).findFirst();
+  }
+
+  @Override
+  public List<EarningRule> findAll() {
+    return List.copyOf(rules);
+  }
+
+  @Override
+  public List<EarningRule> findActiveRules() {
+    return rules.stream().filter(EarningRule::isApplicable).toList();
+  }
+
+  @Override
+  public List<EarningRule> findByRuleType(EarningType ruleType) {
+    return rules.stream().filter(rule -> rule.getRuleType() == ruleType).toList();
+  }
+
+  @Override
+  public void deleteById(UUID id) {
+    rules.removeIf(rule -> rule.getId().equals(id));
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.services.PointCalculationService;
+import com.example.loyalty.points.domain.valueobjects.Money;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Earn-path rule evaluation: the compiled engine behind {@link
+ * PointCalculationService#calculateEarnedPoints} against the per-rule {@link
+ * EarningRule#calculatePoints} loop it replaced, for growing rule sets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointCalculationBenchmark {
+
+  @Param({"1", "10", "100", "500"})
+  public int ruleCount;
+
+  private PointCalculationService calculationService;
+  private List<EarningRule> rules;
+  private Money[] amounts;
+  private BigDecimal[] decimalAmounts;
+  private final UUID userId = UUID.randomUUID();
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    rules = Rules.generate(ruleCount, 42L);
+    calculationService = new PointCalculationService(new ListEarningRuleRepository(rules));
+    amounts = new Money[64];
+    decimalAmounts = new BigDecimal[64];
+    for (int i = 0; i < amounts.length; i++) {
+      decimalAmounts[i] = BigDecimal.valueOf(1_000L + i * 7_919L);
+      amounts[i] = new Money(decimalAmounts[i]);
+    }
+  }
+
+  @Benchmark
+  public Points calculateEarnedPoints() {
+    int i = cursor++ & 63;
+    return calculationService.calculateEarnedPoints(
+        amounts[i], userId, EarningType.PURCHASE, Rules.tier(i));
+  }
+
+  @Benchmark
+  public long earningRuleLoop() {
+    int i = cursor++ & 63;
+    String tier = Rules.tier(i);
+    long total = 0;
+    for (EarningRule rule : rules) {
+      if (rule.getRuleType() == EarningType.PURCHASE) {
+        total += rule.calculatePoints(decimalAmounts[i], tier).longValue();
+      }
+    }
+    return total;
+  }
+}
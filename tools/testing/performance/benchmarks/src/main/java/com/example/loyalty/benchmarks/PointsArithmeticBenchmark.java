@@ -0,0 +1,87 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Points} arithmetic against the BigDecimal-backed baseline. The {@code balanceUpdate}
+ * pair mirrors {@code PointBalance.addPoints}: three additions per earned transaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointsArithmeticBenchmark {
+
+  private Points total;
+  private Points available;
+  private Points lifetime;
+  private Points earned;
+  private BigDecimalPoints decimalTotal;
+  private BigDecimalPoints decimalAvailable;
+  private BigDecimalPoints decimalLifetime;
+  private BigDecimalPoints decimalEarned;
+  private BigDecimal multiplier;
+
+  @Setup
+  public void setUp() {
+    total = Points.of(1_250_000);
+    available = Points.of(1_200_000);
+    lifetime = Points.of(5_400_000);
+    earned = Points.of(1_375);
+    decimalTotal = new BigDecimalPoints(1_250_000);
+    decimalAvailable = new BigDecimalPoints(1_200_000);
+    decimalLifetime = new BigDecimalPoints(5_400_000);
+    decimalEarned = new BigDecimalPoints(1_375);
+    multiplier = new BigDecimal("1.5");
+  }
+
+  @Benchmark
+  public long balanceUpdate() {
+    return total.add(earned).longValue()
+        + available.add(earned).longValue()
+        + lifetime.add(earned).longValue();
+  }
+
+  @Benchmark
+  public long balanceUpdateBaseline() {
+    return decimalTotal.add(decimalEarned).longValue()
+        + decimalAvailable.add(decimalEarned).longValue()
+        + decimalLifetime.add(decimalEarned).longValue();
+  }
+
+  @Benchmark
+  public long spend() {
+    return available.isGreaterThanOrEqual(earned) ? available.subtract(earned).longValue() : 0;
+  }
+
+  @Benchmark
+  public long spendBaseline() {
+    return decimalAvailable.isGreaterThanOrEqual(decimalEarned)
+        ? decimalAvailable.subtract(decimalEarned).longValue()
+        : 0;
+  }
+
+  @Benchmark
+  public long multiply() {
+    return earned.multiply(multiplier).longValue();
+  }
+
+  @Benchmark
+  public long multiplyBaseline() {
+    return decimalEarned.multiply(multiplier).longValue();
+  }
+}
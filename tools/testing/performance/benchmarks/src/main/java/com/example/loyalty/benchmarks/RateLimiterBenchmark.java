@@ -0,0 +1,124 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.common.security.RateLimitAlgorithm;
+import com.example.loyalty.common.security.RateLimitDecision;
+import com.example.loyalty.common.security.RateLimiter;
+import com.example.loyalty.common.security.RateLimitingService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * The shared {@link RateLimiter} on a live Redis, per algorithm.
+ *
+ * {@code tryAcquire} is one atomic script call. {@code getThenIncrement} is the GET then SET or
+ * INCR the user-service aspect used before, two round trips that let concurrent requests pass
+ * the limit. {@code acquireAll} sends {@code batch} checks in one pipeline, as the local quota
+ * refill does, and {@code localQuota} is a {@link RateLimitingService} check answered from its
+ * leased slice. Limits are high enough that checks are allowed; keys are removed on tear-down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+  private static final String KEY_PREFIX = "benchmark:";
+  private static final Duration WINDOW = Duration.ofMinutes(1);
+  private static final int LIMIT = 1_000_000_000;
+
+  @Param({"FIXED_WINDOW", "SLIDING_WINDOW", "GCRA"})
+  public RateLimitAlgorithm algorithm;
+
+  @Param({"localhost"})
+  public String host;
+
+  @Param({"6379"})
+  public int port;
+
+  @Param({"1000"})
+  public int keys;
+
+  @Param({"16"})
+  public int batch;
+
+  private LettuceConnectionFactory connectionFactory;
+  private StringRedisTemplate redisTemplate;
+  private RateLimiter rateLimiter;
+  private RateLimitingService rateLimitingService;
+
+  @Setup
+  public void setUp() {
+    connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+    connectionFactory.afterPropertiesSet();
+    redisTemplate = new StringRedisTemplate(connectionFactory);
+    redisTemplate.afterPropertiesSet();
+    rateLimiter = new RateLimiter(redisTemplate);
+    rateLimitingService = new RateLimitingService(rateLimiter, 0.05, 100);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    rateLimitingService.destroy();
+    for (String key : redisTemplate.keys("rate_limit:*" + KEY_PREFIX + "*")) {
+      redisTemplate.delete(key);
+    }
+    connectionFactory.destroy();
+  }
+
+  @Benchmark
+  public RateLimitDecision tryAcquire() {
+    return rateLimiter.tryAcquire(nextKey(), algorithm, LIMIT, WINDOW);
+  }
+
+  @Benchmark
+  public boolean getThenIncrement() {
+    String key = "rate_limit:" + nextKey();
+    String count = redisTemplate.opsForValue().get(key);
+    if (count == null) {
+      redisTemplate.opsForValue().set(key, "1", WINDOW);
+    } else {
+      redisTemplate.opsForValue().increment(key);
+    }
+    return count == null || Integer.parseInt(count) < LIMIT;
+  }
+
+  @Benchmark
+  public List<RateLimitDecision> acquireAll() {
+    List<RateLimiter.Request> requests = new ArrayList<>(batch);
+    for (int i = 0; i < batch; i++) {
+      requests.add(new RateLimiter.Request(nextKey(), algorithm, LIMIT, WINDOW, 100));
+    }
+    return rateLimiter.acquireAll(requests);
+  }
+
+  @Benchmark
+  public boolean localQuota() {
+    return rateLimitingService.isAllowed(nextKey(), LIMIT, WINDOW);
+  }
+
+  private String nextKey() {
+    return KEY_PREFIX + ThreadLocalRandom.current().nextInt(keys);
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.loyalty.benchmarks;
+
+import com.example.loyalty.points.domain.entities.EarningRule;
+import com.example.loyalty.points.domain.enums.EarningType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/** Deterministic earning rule sets shaped like production configuration */
+final class Rules {
+
+  private static final EarningType[] TYPES = EarningType.values();
+  private static final String[] TIERS = {"BRONZE", "SILVER", "GOLD", "PLATINUM"};
+
+  private Rules() {}
+
+  /**
+   * Generate rules spread across earning types. Roughly half are PURCHASE rules, a quarter are
+   * tier restricted, and a few are expired or capped.
+   */
+  static List<EarningRule> generate(int count, long seed) {
+    Random random = new Random(seed);
+    List<EarningRule> rules = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      EarningType type = i % 2 == 0 ? EarningType.PURCHASE : TYPES[random.nextInt(TYPES.length)];
+      boolean perAmount = type == EarningType.PURCHASE;
+      EarningRule rule =
+          new EarningRule(
+              "Rule " + i,
+              type,
+              perAmount ? BigDecimal.ONE : BigDecimal.valueOf(10 + random.nextInt(500)),
+              perAmount ? "DOLLAR" : "ACTION",
+              BigDecimal.valueOf(100 + random.nextInt(200), 2));
+      rule.setStartDate(LocalDateTime.now().minusDays(30));
+      if (i % 10 == 9) {
+        rule.setEndDate(LocalDateTime.now().minusDays(1));
+      }
+      if (i % 4 == 3) {
+        rule.setTierRestrictions(Map.of("allowedTiers", List.of(TIERS[random.nextInt(TIERS.length)])));
+      }
+      if (i % 5 == 4) {
+        rule.setMaxPoints(Points.of(1_000));
+      }
+      if (i % 3 == 2) {
+        rule.setMinAmount(BigDecimal.valueOf(10_000));
+      }
+      rules.add(rule);
+    }
+    return rules;
+  }
+
+  static String tier(int i) {
+    return TIERS[i & (TIERS.length - 1)];
+  }
+}
@@ -0,0 +1,172 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.PointBalance;
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.repositories.PointBalanceRepository;
+import com.example.loyalty.points.domain.repositories.PointTransactionRepository;
+import com.example.loyalty.points.domain.valueobjects.BalanceDelta;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The balance and ledger repositories on a live PostgreSQL with the point-service schema,
+ * JPA ({@code impl=jpa}) against the hand-written JDBC implementations ({@code impl=jdbc}).
+ *
+ * {@code post} is the per-request write of the transactional ledger: add an earn to the balance
+ * in the database and save the transaction. {@code postLocked} is the read-modify-write it
+ * replaced: lock the balance, apply the earn in memory, save transaction and balance. Both implementations
+ * share one data source and transaction manager. Rows written are removed on tear-down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepositoryBenchmark {
+
+  private static final String SOURCE = "BENCHMARK";
+
+  @Param({"jpa", "jdbc"})
+  public String impl;
+
+  @Param({"jdbc:postgresql://localhost:5432/loyalty?reWriteBatchedInserts=true"})
+  public String url;
+
+  @Param({"loyalty_user"})
+  public String username;
+
+  @Param({"loyalty_pass"})
+  public String password;
+
+  @Param({"1000"})
+  public int users;
+
+  private HikariDataSource dataSource;
+  private EntityManagerFactory entityManagerFactory;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transactionTemplate;
+  private PointBalanceRepository balances;
+  private PointTransactionRepository transactions;
+  private final List<UUID> userIds = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(url);
+    dataSource.setUsername(username);
+    dataSource.setPassword(password);
+    dataSource.setMaximumPoolSize(4);
+    if ("jdbc".equals(impl)) {
+      dataSource.addDataSourceProperty("prepareThreshold", "1");
+    }
+
+    LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setPackagesToScan("com.example.loyalty.points.infrastructure.persistence.entities");
+    factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    factoryBean.afterPropertiesSet();
+    entityManagerFactory = factoryBean.getObject();
+
+    JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+    transactionManager.setDataSource(dataSource);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+
+    switch (impl) {
+      case "jpa" -> {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        balances = new JpaPointBalanceRepository(repositories.getRepository(SpringDataPointBalanceRepository.class));
+        transactions = new JpaPointTransactionRepository(
+            repositories.getRepository(SpringDataPointTransactionRepository.class));
+      }
+      case "jdbc" -> {
+        balances = new JdbcPointBalanceRepository(jdbcTemplate);
+        transactions = new JdbcPointTransactionRepository(jdbcTemplate, dataSource, transactionManager, 1000);
+      }
+      default -> throw new IllegalArgumentException("Unknown impl " + impl);
+    }
+
+    for (int i = 0; i < users; i++) {
+      UUID userId = UUID.randomUUID();
+      userIds.add(userId);
+      transactionTemplate.executeWithoutResult(status -> balances.findByUserIdOrCreate(userId));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    jdbcTemplate.update("DELETE FROM points_transaction_keys WHERE source = ?", SOURCE);
+    jdbcTemplate.update("DELETE FROM points_transactions WHERE source = ?", SOURCE);
+    jdbcTemplate.batchUpdate("DELETE FROM points_balance WHERE user_id = ?", userIds, userIds.size(),
+        (ps, userId) -> ps.setObject(1, userId));
+    entityManagerFactory.close();
+    dataSource.close();
+  }
+
+  @Benchmark
+  public PointBalance post() {
+    PointTransaction transaction = earn();
+    return transactionTemplate.execute(status -> {
+      BalanceDelta delta = BalanceDelta.of(transaction);
+      PointBalance balance = balances.applyDelta(transaction.getUserId(), delta).orElseThrow();
+      transaction.process(Points.of(balance.getAvailablePoints().longValue() - delta.getAvailable()));
+      transactions.save(transaction);
+      return balance;
+    });
+  }
+
+  @Benchmark
+  public PointBalance postLocked() {
+    PointTransaction transaction = earn();
+    return transactionTemplate.execute(status -> {
+      PointBalance balance = balances.lockByUserIdOrCreate(transaction.getUserId());
+      balance.apply(transaction);
+      transactions.save(transaction);
+      return balances.save(balance);
+    });
+  }
+
+  @Benchmark
+  public Optional<PointBalance> findBalance() {
+    return balances.findByUserId(nextUser());
+  }
+
+  private PointTransaction earn() {
+    return new PointTransaction(nextUser(), TransactionType.EARN, Points.of(10), SOURCE, UUID.randomUUID(),
+        "Benchmark earn");
+  }
+
+  private UUID nextUser() {
+    return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.loyalty.points.infrastructure.persistence.repositories;
+
+import com.example.loyalty.points.domain.entities.PointTransaction;
+import com.example.loyalty.points.domain.enums.TransactionType;
+import com.example.loyalty.points.domain.valueobjects.Points;
+import com.example.loyalty.points.infrastructure.persistence.entities.PointTransactionEntity;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity/domain mapping in {@link JpaPointTransactionRepository}. Lives in the repository's
+ * package to reach the package-private mappers; the Spring Data repository is not used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+  private JpaPointTransactionRepository repository;
+  private PointTransaction transaction;
+  private PointTransactionEntity entity;
+
+  @Setup
+  public void setUp() {
+    repository = new JpaPointTransactionRepository(null);
+    transaction =
+        new PointTransaction(
+            UUID.randomUUID(),
+            TransactionType.EARN,
+            Points.of(1_375),
+            "PURCHASE",
+            UUID.randomUUID(),
+            "Purchase at store 42");
+    transaction.process(Points.of(120_000));
+    entity = repository.mapToEntity(transaction);
+  }
+
+  @Benchmark
+  public PointTransactionEntity mapToEntity() {
+    return repository.mapToEntity(transaction);
+  }
+
+  @Benchmark
+  public PointTransaction mapToDomain() {
+    return repository.mapToDomain(entity);
+  }
+}